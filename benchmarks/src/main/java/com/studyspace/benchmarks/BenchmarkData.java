@@ -0,0 +1,210 @@
+package com.studyspace.benchmarks;
+
+import com.studyspace.models.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+//============ benchmark data =============
+//this is where deterministic benchmark inputs are generated
+
+/**
+ * Seeded generators for benchmark inputs, so every run and every release
+ * measures exactly the same data.
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 20240901L;
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private static final String[] SUBJECTS = {
+        "Mathematics", "Biology", "Chemistry", "Physics", "History",
+        "Programming", "Literature", "Economics", "Geography", "Psychology"
+    };
+
+    private static final String[] WORDS = {
+        "algorithm", "photosynthesis", "derivative", "mitochondria", "revolution",
+        "equilibrium", "recursion", "metaphor", "inflation", "tectonic",
+        "integral", "enzyme", "velocity", "empire", "polymorphism",
+        "catalyst", "sonnet", "supply", "erosion", "cognition"
+    };
+
+    /**
+     * Key orderings the sorts and searches are measured on
+     */
+    public enum Distribution {
+        RANDOM, SORTED, REVERSED, DUPLICATES
+    }
+
+    private BenchmarkData() {}
+
+    public static List<Integer> integers(int size, Distribution distribution) {
+        Random random = new Random(SEED);
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case SORTED -> values.add(i);
+                case REVERSED -> values.add(size - i);
+                // About ten distinct values, like difficulty or priority columns
+                case DUPLICATES -> values.add(random.nextInt(10));
+                default -> values.add(random.nextInt());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Ascending keys; DUPLICATES repeats each key, the other distributions are evenly spread
+     * apart from RANDOM, whose gaps are random
+     */
+    public static long[] sortedKeys(int size, Distribution distribution) {
+        Random random = new Random(SEED);
+        long[] keys = new long[size];
+        long next = 0;
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case DUPLICATES -> next = i / 16;
+                case RANDOM -> next += 1 + random.nextInt(2000);
+                default -> next = i * 1000L;
+            }
+            keys[i] = next;
+        }
+        return keys;
+    }
+
+    public static List<Flashcard> flashcards(int size) {
+        Random random = new Random(SEED);
+        Flashcard.Difficulty[] difficulties = Flashcard.Difficulty.values();
+        List<Flashcard> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Flashcard card = new Flashcard(
+                "What is " + word(random) + " in " + subject(random) + "?",
+                "It is the " + word(random) + " of " + word(random),
+                difficulties[random.nextInt(difficulties.length)]);
+            // Model ids come from the clock, so generated items get their own
+            card.setId("bench_card_" + i);
+            card.setTimesStudied(random.nextInt(50));
+            card.setCreatedAt(BASE_TIME.plusMinutes(random.nextInt(500_000)));
+            if (random.nextInt(4) != 0) {
+                card.setLastStudied(BASE_TIME.plusMinutes(random.nextInt(500_000)));
+            }
+            cards.add(card);
+        }
+        return cards;
+    }
+
+    public static List<FlashcardDeck> flashcardDecks(int size, int cardsPerDeck) {
+        Random random = new Random(SEED);
+        Flashcard.Difficulty[] difficulties = Flashcard.Difficulty.values();
+        List<Flashcard> cards = flashcards(Math.min(size * cardsPerDeck, 10_000));
+        List<FlashcardDeck> decks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            FlashcardDeck deck = new FlashcardDeck(
+                subject(random) + " " + word(random) + " deck " + i,
+                "Review of " + word(random),
+                subject(random),
+                difficulties[random.nextInt(difficulties.length)]);
+            deck.setId("bench_deck_" + i);
+            deck.setCreatedAt(BASE_TIME.plusMinutes(random.nextInt(500_000)));
+            // Cards are shared between decks so large sizes stay within the heap
+            for (int c = 0; c < cardsPerDeck && !cards.isEmpty(); c++) {
+                deck.addFlashcard(cards.get(random.nextInt(cards.size())));
+            }
+            decks.add(deck);
+        }
+        return decks;
+    }
+
+    public static List<Note> notes(int size) {
+        Random random = new Random(SEED);
+        List<Note> notes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime created = BASE_TIME.plusMinutes(random.nextInt(500_000));
+            Note note = new Note(
+                word(random) + " notes " + i,
+                subject(random),
+                sentence(random, 40),
+                created,
+                created.plusMinutes(random.nextInt(10_000)));
+            note.setId("bench_note_" + i);
+            notes.add(note);
+        }
+        return notes;
+    }
+
+    public static List<Quiz> quizzes(int size) {
+        Random random = new Random(SEED);
+        Flashcard.Difficulty[] difficulties = Flashcard.Difficulty.values();
+        List<Quiz> quizzes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Quiz quiz = new Quiz(
+                subject(random) + " quiz " + i,
+                "Covers " + word(random) + " and " + word(random),
+                subject(random),
+                difficulties[random.nextInt(difficulties.length)],
+                10 + random.nextInt(50));
+            quiz.setId("bench_quiz_" + i);
+            quiz.setCreatedAt(BASE_TIME.plusMinutes(random.nextInt(500_000)));
+            int questions = 1 + random.nextInt(5);
+            for (int q = 0; q < questions; q++) {
+                quiz.addQuestion(question(random));
+            }
+            quizzes.add(quiz);
+        }
+        return quizzes;
+    }
+
+    public static List<TodoItem> todoItems(int size) {
+        Random random = new Random(SEED);
+        TodoItem.Priority[] priorities = TodoItem.Priority.values();
+        LocalDate today = BASE_TIME.toLocalDate();
+        List<TodoItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDate due = random.nextInt(5) == 0 ? null : today.plusDays(random.nextInt(365));
+            TodoItem item = new TodoItem(
+                "Review " + word(random) + " " + i,
+                sentence(random, 8),
+                priorities[random.nextInt(priorities.length)],
+                subject(random),
+                due);
+            item.setId("bench_todo_" + i);
+            items.add(item);
+        }
+        return items;
+    }
+
+    public static Question question(Random random) {
+        List<String> options = new ArrayList<>(4);
+        for (int o = 0; o < 4; o++) {
+            options.add(sentence(random, 3));
+        }
+        return new Question("Which describes " + word(random) + "?", options,
+            random.nextInt(4), sentence(random, 12), Flashcard.Difficulty.MEDIUM);
+    }
+
+    /**
+     * A search term from the generators' vocabulary, so a realistic share of items match
+     */
+    public static String searchTerm() {
+        return WORDS[3];
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String subject(Random random) {
+        return SUBJECTS[random.nextInt(SUBJECTS.length)];
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(' ');
+            text.append(word(random));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.studyspace.benchmarks;
+
+import java.util.*;
+
+//============ benchmark main =============
+//this is where the benchmark jar starts and JSON results are written
+
+/**
+ * Runs JMH with JSON results on by default, written to
+ * jmh-results-&lt;version&gt;.json so results from different releases can be compared.
+ * Any JMH option passed on the command line (including -rf / -rff) overrides these defaults.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!options.contains("-rff")) {
+            options.add("-rff");
+            options.add("jmh-results-" + version() + ".json");
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+
+    private static String version() {
+        String version = BenchmarkMain.class.getPackage().getImplementationVersion();
+        return version != null ? version : "dev";
+    }
+}
@@ -0,0 +1,48 @@
+package com.studyspace.benchmarks;
+
+import com.studyspace.models.Flashcard;
+import com.studyspace.models.Note;
+import com.studyspace.utils.ClozeFlashcardGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//============ cloze generator benchmark =============
+//this is where turning notes into fill-in-the-blank cards is measured
+
+/**
+ * The notes are joined into one text, as when a long note is pasted in. Both
+ * passes are linear in the text, so time per note should stay flat as it grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ClozeGeneratorBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int notes;
+
+    private List<String> texts;
+    private ClozeFlashcardGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder text = new StringBuilder();
+        for (Note note : BenchmarkData.notes(notes)) {
+            text.append("# ").append(note.getTitle()).append('\n')
+                .append(note.getContent()).append(".\n");
+        }
+        texts = List.of(text.toString());
+        // Every term counts as appearing in one library document
+        generator = new ClozeFlashcardGenerator(term -> 1, notes, Flashcard.Difficulty.MEDIUM);
+    }
+
+    @Benchmark
+    public List<Flashcard> generate() {
+        return generator.generate(texts, ClozeFlashcardGenerator.DEFAULT_MAX_CARDS);
+    }
+}
@@ -0,0 +1,108 @@
+package com.studyspace.benchmarks;
+
+import com.studyspace.models.*;
+import com.studyspace.utils.InMemoryDataStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//============ in-memory data store benchmark =============
+//this is where the offline store's reads and writes are measured
+
+/**
+ * The store is a singleton, so the trial adds its items next to the demo data
+ * and removes them again afterwards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class InMemoryDataStoreBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private InMemoryDataStore store;
+    private List<FlashcardDeck> decks;
+    private List<Note> notes;
+    private List<TodoItem> todoItems;
+    private String[] lookupIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = InMemoryDataStore.getInstance();
+        decks = BenchmarkData.flashcardDecks(size, 20);
+        notes = BenchmarkData.notes(size);
+        todoItems = BenchmarkData.todoItems(size);
+        for (FlashcardDeck deck : decks) {
+            store.saveFlashcardDeck(deck);
+        }
+        for (Note note : notes) {
+            store.saveNote(note);
+        }
+        for (TodoItem item : todoItems) {
+            store.saveTodoItem(item);
+        }
+
+        Random random = new Random(BenchmarkData.SEED);
+        lookupIds = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookupIds[i] = decks.get(random.nextInt(size)).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (FlashcardDeck deck : decks) {
+            store.deleteFlashcardDeck(deck.getId());
+        }
+        for (Note note : notes) {
+            store.deleteNote(note.getId());
+        }
+        for (TodoItem item : todoItems) {
+            store.deleteTodoItem(item.getId());
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public FlashcardDeck getFlashcardDeck() {
+        return store.getFlashcardDeck(lookupIds[nextIndex()]);
+    }
+
+    @Benchmark
+    public void saveFlashcardDeck() {
+        // Overwrites an existing deck, so the store's size stays fixed
+        store.saveFlashcardDeck(decks.get(nextIndex() % size));
+    }
+
+    @Benchmark
+    public List<FlashcardDeck> getAllFlashcardDecks() {
+        return store.getAllFlashcardDecks();
+    }
+
+    @Benchmark
+    public List<Note> getAllNotes() {
+        return store.getAllNotes();
+    }
+
+    @Benchmark
+    public List<TodoItem> getAllTodoItems() {
+        return store.getAllTodoItems();
+    }
+
+    @Benchmark
+    public int getTotalFlashcards() {
+        return store.getTotalFlashcards();
+    }
+}
@@ -0,0 +1,50 @@
+package com.studyspace.benchmarks;
+
+import com.studyspace.models.Flashcard;
+import com.studyspace.utils.DuplicateDetectionService;
+import com.studyspace.utils.NearDuplicateIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//============ near duplicate benchmark =============
+//this is where building the MinHash index and clustering near-duplicate cards is measured
+
+/**
+ * The generated cards draw on a small vocabulary, so large libraries hold many
+ * exact and near-identical copies, like decks generated from the same notes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class NearDuplicateBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Flashcard> flashcards;
+    private NearDuplicateIndex<Flashcard> index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        flashcards = BenchmarkData.flashcards(size);
+        index = buildIndex();
+    }
+
+    @Benchmark
+    public NearDuplicateIndex<Flashcard> buildIndex() {
+        NearDuplicateIndex<Flashcard> built = new NearDuplicateIndex<>(
+            Flashcard::getId, DuplicateDetectionService::flashcardText);
+        built.putAll(flashcards);
+        return built;
+    }
+
+    @Benchmark
+    public List<List<Flashcard>> findClusters() {
+        return index.findClusters(NearDuplicateIndex.DEFAULT_THRESHOLD);
+    }
+}
@@ -0,0 +1,43 @@
+package com.studyspace.benchmarks;
+
+import com.studyspace.models.Flashcard;
+import com.studyspace.models.Question;
+import com.studyspace.utils.OfflineQuizGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//============ offline quiz benchmark =============
+//this is where building quiz questions from flashcards without the AI service is measured
+
+/**
+ * One operation is what the quiz dialog does when the AI service is off: index the
+ * selected cards and draw the questions with their distractors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class OfflineQuizBenchmark {
+
+    @Param({"100", "5000", "100000"})
+    public int cards;
+
+    @Param({"10", "50"})
+    public int questions;
+
+    private List<Flashcard> flashcards;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        flashcards = BenchmarkData.flashcards(cards);
+    }
+
+    @Benchmark
+    public List<Question> generate() {
+        return new OfflineQuizGenerator(flashcards, new Random(BenchmarkData.SEED)).generate(questions, null);
+    }
+}
@@ -0,0 +1,57 @@
+package com.studyspace.benchmarks;
+
+import com.studyspace.utils.AlgorithmUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//============ quadratic sort benchmark =============
+//this is where the O(n^2) teaching sorts are measured
+
+/**
+ * Bubble, insertion and selection sort stop at 10,000 elements; at a million
+ * a single operation would run for hours.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuadraticSortBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "DUPLICATES"})
+    public BenchmarkData.Distribution distribution;
+
+    private List<Integer> input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = BenchmarkData.integers(size, distribution);
+    }
+
+    @Benchmark
+    public List<Integer> bubbleSort() {
+        List<Integer> list = new ArrayList<>(input);
+        AlgorithmUtils.bubbleSort(list);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> insertionSort() {
+        List<Integer> list = new ArrayList<>(input);
+        AlgorithmUtils.insertionSort(list);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> selectionSort() {
+        List<Integer> list = new ArrayList<>(input);
+        AlgorithmUtils.selectionSort(list);
+        return list;
+    }
+}
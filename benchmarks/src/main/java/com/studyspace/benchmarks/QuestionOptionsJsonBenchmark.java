@@ -0,0 +1,87 @@
+package com.studyspace.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//============ question options json benchmark =============
+//this is where the JSON round trip of quiz question options is measured
+
+/**
+ * MySQLDataStore stores each question's options as a JSON array and parses it
+ * once per row when a quiz is loaded. One operation here handles a whole batch,
+ * the way loading every quiz does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class QuestionOptionsJsonBenchmark {
+
+    private static final TypeReference<List<String>> OPTIONS_TYPE = new TypeReference<List<String>>() {};
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int questions;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader optionsReader;
+    private List<List<String>> options;
+    private String[] optionsJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new ObjectMapper();
+        optionsReader = objectMapper.readerFor(OPTIONS_TYPE);
+
+        Random random = new Random(BenchmarkData.SEED);
+        options = new ArrayList<>(questions);
+        optionsJson = new String[questions];
+        for (int i = 0; i < questions; i++) {
+            List<String> questionOptions = BenchmarkData.question(random).getOptions();
+            options.add(questionOptions);
+            optionsJson[i] = objectMapper.writeValueAsString(questionOptions);
+        }
+    }
+
+    /**
+     * What MySQLDataStore does per row today: readValue with a TypeReference
+     */
+    @Benchmark
+    public int parseWithTypeReference() throws JsonProcessingException {
+        int total = 0;
+        for (String json : optionsJson) {
+            List<String> parsed = objectMapper.readValue(json, OPTIONS_TYPE);
+            total += parsed.size();
+        }
+        return total;
+    }
+
+    /**
+     * Same parse through a reader built once for the type
+     */
+    @Benchmark
+    public int parseWithReader() throws JsonProcessingException {
+        int total = 0;
+        for (String json : optionsJson) {
+            List<String> parsed = optionsReader.readValue(json);
+            total += parsed.size();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int write() throws JsonProcessingException {
+        int total = 0;
+        for (List<String> questionOptions : options) {
+            total += objectMapper.writeValueAsString(questionOptions).length();
+        }
+        return total;
+    }
+}
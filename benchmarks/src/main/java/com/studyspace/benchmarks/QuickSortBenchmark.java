@@ -0,0 +1,67 @@
+package com.studyspace.benchmarks;
+
+import com.studyspace.utils.AlgorithmUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//============ quick sort benchmark =============
+//this is where quick sort is measured, on the inputs it can finish
+
+/**
+ * Quick sort takes the last element as its pivot, so sorted, reversed and
+ * duplicate-heavy inputs are its worst case: quadratic time and one stack frame
+ * per element. Those inputs stop at 10,000 elements; random input goes up to a
+ * million like the other sorts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class QuickSortBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RandomInput {
+        @Param({"10", "1000", "100000", "1000000"})
+        public int size;
+
+        private List<Integer> input;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            input = BenchmarkData.integers(size, BenchmarkData.Distribution.RANDOM);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class WorstCaseInput {
+        @Param({"10", "1000", "10000"})
+        public int size;
+
+        @Param({"SORTED", "REVERSED", "DUPLICATES"})
+        public BenchmarkData.Distribution distribution;
+
+        private List<Integer> input;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            input = BenchmarkData.integers(size, distribution);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> quickSortRandom(RandomInput state) {
+        List<Integer> list = new ArrayList<>(state.input);
+        AlgorithmUtils.quickSort(list);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> quickSortWorstCase(WorstCaseInput state) {
+        List<Integer> list = new ArrayList<>(state.input);
+        AlgorithmUtils.quickSort(list);
+        return list;
+    }
+}
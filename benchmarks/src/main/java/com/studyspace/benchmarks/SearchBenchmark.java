@@ -0,0 +1,104 @@
+package com.studyspace.benchmarks;
+
+import com.studyspace.utils.AlgorithmUtils;
+import com.studyspace.utils.PrimitiveSearch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//============ search benchmark =============
+//this is where single-key lookups over sorted data are measured
+
+/**
+ * Every operation looks up the next key from a fixed, shuffled query set (half
+ * hits, half misses), so the branch predictor can't learn a single path.
+ * SORTED gives evenly spaced keys; RANDOM has random gaps and DUPLICATES long
+ * runs of equal keys, which is where interpolation search falls back to halving.
+ * (Search inputs are always ascending, so there is no REVERSED case.)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "DUPLICATES"})
+    public BenchmarkData.Distribution distribution;
+
+    private long[] keys;
+    private long[] eytzinger;
+    private List<Long> boxedKeys;
+    private long[] queries;
+    private Long[] boxedQueries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = BenchmarkData.sortedKeys(size, distribution);
+        eytzinger = PrimitiveSearch.eytzinger(keys);
+        boxedKeys = new ArrayList<>(size);
+        for (long key : keys) {
+            boxedKeys.add(key);
+        }
+
+        Random random = new Random(BenchmarkData.SEED);
+        queries = new long[QUERIES];
+        boxedQueries = new Long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long key = keys[random.nextInt(size)];
+            queries[i] = i % 2 == 0 ? key : key + 1;
+            boxedQueries[i] = queries[i];
+        }
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public int linearSearch() {
+        return AlgorithmUtils.linearSearch(boxedKeys, boxedQueries[nextQuery()]);
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        return AlgorithmUtils.binarySearch(boxedKeys, boxedQueries[nextQuery()]);
+    }
+
+    @Benchmark
+    public int interpolationSearch() {
+        return AlgorithmUtils.interpolationSearch(boxedKeys, boxedQueries[nextQuery()]);
+    }
+
+    @Benchmark
+    public int primitiveInterpolationSearch() {
+        return PrimitiveSearch.interpolationSearch(keys, queries[nextQuery()]);
+    }
+
+    @Benchmark
+    public int primitiveLowerBound() {
+        return PrimitiveSearch.lowerBound(keys, queries[nextQuery()]);
+    }
+
+    @Benchmark
+    public int eytzingerLowerBound() {
+        return PrimitiveSearch.eytzingerLowerBound(eytzinger, queries[nextQuery()]);
+    }
+
+    /**
+     * Baseline: the JDK's binary search on the same long[]
+     */
+    @Benchmark
+    public int arraysBinarySearch() {
+        return Arrays.binarySearch(keys, queries[nextQuery()]);
+    }
+}
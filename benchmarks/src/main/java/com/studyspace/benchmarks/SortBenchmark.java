@@ -0,0 +1,88 @@
+package com.studyspace.benchmarks;
+
+import com.studyspace.utils.AlgorithmUtils;
+import com.studyspace.utils.SortEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//============ sort benchmark =============
+//this is where the O(n log n) sorts are measured
+
+/**
+ * Each operation sorts a fresh copy of the input; {@link #copyOnly} measures
+ * the copy by itself so it can be subtracted. Quick sort has its own sizes in
+ * {@link QuickSortBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SortBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "DUPLICATES"})
+    public BenchmarkData.Distribution distribution;
+
+    private List<Integer> input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = BenchmarkData.integers(size, distribution);
+    }
+
+    @Benchmark
+    public List<Integer> copyOnly() {
+        return new ArrayList<>(input);
+    }
+
+    @Benchmark
+    public List<Integer> mergeSort() {
+        List<Integer> list = new ArrayList<>(input);
+        AlgorithmUtils.mergeSort(list);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> heapSort() {
+        List<Integer> list = new ArrayList<>(input);
+        AlgorithmUtils.heapSort(list);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> smartSort() {
+        List<Integer> list = new ArrayList<>(input);
+        AlgorithmUtils.smartSort(list);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> parallelMergeSort() {
+        List<Integer> list = new ArrayList<>(input);
+        AlgorithmUtils.parallelMergeSort(list);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> sortEngine() {
+        List<Integer> list = new ArrayList<>(input);
+        SortEngine.sort(list);
+        return list;
+    }
+
+    /**
+     * Baseline: the JDK's TimSort
+     */
+    @Benchmark
+    public List<Integer> listSort() {
+        List<Integer> list = new ArrayList<>(input);
+        list.sort(null);
+        return list;
+    }
+}
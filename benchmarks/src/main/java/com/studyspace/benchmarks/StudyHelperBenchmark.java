@@ -0,0 +1,97 @@
+package com.studyspace.benchmarks;
+
+import com.studyspace.models.*;
+import com.studyspace.utils.AlgorithmUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//============ study helper benchmark =============
+//this is where the sortX / filterX helpers behind the list views are measured
+
+/**
+ * One content type per trial, so a million-item run only holds that type in memory.
+ * The text sort re-collates titles; the number sort runs on the radix path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class StudyHelperBenchmark {
+
+    public enum Content {
+        FLASHCARDS, DECKS, NOTES, QUIZZES, TODO_ITEMS
+    }
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"FLASHCARDS", "DECKS", "NOTES", "QUIZZES", "TODO_ITEMS"})
+    public Content content;
+
+    private List<Flashcard> flashcards;
+    private List<FlashcardDeck> decks;
+    private List<Note> notes;
+    private List<Quiz> quizzes;
+    private List<TodoItem> todoItems;
+    private String searchTerm;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (content) {
+            case FLASHCARDS -> flashcards = BenchmarkData.flashcards(size);
+            case DECKS -> decks = BenchmarkData.flashcardDecks(size, 20);
+            case NOTES -> notes = BenchmarkData.notes(size);
+            case QUIZZES -> quizzes = BenchmarkData.quizzes(size);
+            case TODO_ITEMS -> todoItems = BenchmarkData.todoItems(size);
+        }
+        searchTerm = BenchmarkData.searchTerm();
+    }
+
+    @Benchmark
+    public List<?> sortByText() {
+        return switch (content) {
+            case FLASHCARDS -> AlgorithmUtils.sortFlashcards(flashcards, "Alphabetical (A-Z)");
+            case DECKS -> AlgorithmUtils.sortFlashcardDecks(decks, "Title (A-Z)");
+            case NOTES -> AlgorithmUtils.sortNotes(notes, "Title (A-Z)");
+            case QUIZZES -> AlgorithmUtils.sortQuizzes(quizzes, "Title (A-Z)");
+            case TODO_ITEMS -> AlgorithmUtils.sortTodoItems(todoItems, "Title (A-Z)");
+        };
+    }
+
+    @Benchmark
+    public List<?> sortByNumber() {
+        return switch (content) {
+            case FLASHCARDS -> AlgorithmUtils.sortFlashcards(flashcards, "Recently Studied");
+            case DECKS -> AlgorithmUtils.sortFlashcardDecks(decks, "Card Count (High to Low)");
+            case NOTES -> AlgorithmUtils.sortNotes(notes, "Last Modified (Newest)");
+            case QUIZZES -> AlgorithmUtils.sortQuizzes(quizzes, "Date Created (Newest)");
+            case TODO_ITEMS -> AlgorithmUtils.sortTodoItems(todoItems, "Due Date (Earliest)");
+        };
+    }
+
+    @Benchmark
+    public List<?> filter() {
+        return switch (content) {
+            case FLASHCARDS -> AlgorithmUtils.filterFlashcards(flashcards, searchTerm);
+            case DECKS -> AlgorithmUtils.filterFlashcardDecks(decks, searchTerm);
+            case NOTES -> AlgorithmUtils.filterNotes(notes, searchTerm);
+            case QUIZZES -> AlgorithmUtils.filterQuizzes(quizzes, searchTerm);
+            case TODO_ITEMS -> AlgorithmUtils.filterTodoItems(todoItems, searchTerm);
+        };
+    }
+
+    @Benchmark
+    public List<?> parallelFilter() {
+        return switch (content) {
+            case FLASHCARDS -> AlgorithmUtils.parallelFilterFlashcards(flashcards, searchTerm);
+            case DECKS -> AlgorithmUtils.parallelFilterFlashcardDecks(decks, searchTerm);
+            case NOTES -> AlgorithmUtils.parallelFilterNotes(notes, searchTerm);
+            case QUIZZES -> AlgorithmUtils.parallelFilterQuizzes(quizzes, searchTerm);
+            case TODO_ITEMS -> AlgorithmUtils.parallelFilterTodoItems(todoItems, searchTerm);
+        };
+    }
+}
@@ -22,7 +22,10 @@ CREATE TABLE users (
     flashcards_studied INT DEFAULT 0,
     quizzes_taken INT DEFAULT 0,
     current_streak INT DEFAULT 0,
-    total_study_hours INT DEFAULT 0
+    total_study_hours INT DEFAULT 0,
+    -- One bit per active day since registration (see ActivityCalendar); existing databases can add this with
+    -- ALTER TABLE users ADD COLUMN activity_days BLOB NULL;
+    activity_days BLOB NULL
 );
 
 -- **NEW: User Files Table - Stores uploaded files with user ownership**
@@ -82,9 +85,30 @@ CREATE TABLE flashcards (
     last_studied TIMESTAMP NULL,
     times_studied INT DEFAULT 0,
     is_correct BOOLEAN DEFAULT FALSE,
+    -- Spaced-repetition state; existing databases can add these with
+    -- ALTER TABLE flashcards ADD COLUMN ease_factor DOUBLE DEFAULT 2.5, ADD COLUMN interval_days DOUBLE DEFAULT 0,
+    --     ADD COLUMN repetitions INT DEFAULT 0, ADD COLUMN lapses INT DEFAULT 0, ADD COLUMN due_at TIMESTAMP NULL;
+    ease_factor DOUBLE DEFAULT 2.5,
+    interval_days DOUBLE DEFAULT 0,
+    repetitions INT DEFAULT 0,
+    lapses INT DEFAULT 0,
+    due_at TIMESTAMP NULL,
     FOREIGN KEY (deck_id) REFERENCES flashcard_decks(id) ON DELETE CASCADE
 );
 
+-- Review Log Table - each row is one batch of fixed-width flashcard review records
+-- (card key, reviewed at ms, response ms, grade: 21 bytes each)
+CREATE TABLE review_log_batches (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    first_reviewed_at BIGINT NOT NULL,
+    last_reviewed_at BIGINT NOT NULL,
+    record_count INT NOT NULL,
+    records MEDIUMBLOB NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_review_log_user_time (user_id, first_reviewed_at)
+);
+
 -- Quizzes Table
 CREATE TABLE quizzes (
     id VARCHAR(50) PRIMARY KEY,
@@ -114,6 +138,37 @@ CREATE TABLE questions (
     FOREIGN KEY (quiz_id) REFERENCES quizzes(id) ON DELETE CASCADE
 );
 
+-- Quiz Attempts Table - one row per finished run through a quiz
+CREATE TABLE quiz_attempts (
+    id VARCHAR(50) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    quiz_id VARCHAR(50) NOT NULL,
+    score INT NOT NULL,
+    correct_count INT NOT NULL,
+    question_count INT NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP NOT NULL,
+    -- Adaptive practice answers, stored per source quiz; existing databases can add this with
+    -- ALTER TABLE quiz_attempts ADD COLUMN is_practice BOOLEAN DEFAULT FALSE;
+    is_practice BOOLEAN DEFAULT FALSE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (quiz_id) REFERENCES quizzes(id) ON DELETE CASCADE,
+    INDEX idx_quiz_attempts_user_time (user_id, finished_at)
+);
+
+-- Quiz Attempt Answers Table - each answer given in an attempt, in the order asked
+-- (chosen_option indexes the question's stored options; -1 when none was chosen)
+CREATE TABLE quiz_attempt_answers (
+    attempt_id VARCHAR(50) NOT NULL,
+    position INT NOT NULL,
+    question_id VARCHAR(50) NOT NULL,
+    chosen_option INT NOT NULL,
+    is_correct BOOLEAN NOT NULL,
+    time_spent_ms INT NOT NULL,
+    PRIMARY KEY (attempt_id, position),
+    FOREIGN KEY (attempt_id) REFERENCES quiz_attempts(id) ON DELETE CASCADE
+);
+
 
 -- Todo Items Table
 CREATE TABLE todo_items (
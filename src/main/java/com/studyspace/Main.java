@@ -1,7 +1,11 @@
 package com.studyspace;
 
 import com.studyspace.auth.AuthView;
+import com.studyspace.utils.DataStore;
+import com.studyspace.utils.QuizAttemptStore;
+import com.studyspace.utils.ReviewLog;
 import com.studyspace.utils.SceneManager;
+import com.studyspace.utils.StudySession;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -45,6 +49,11 @@ public class Main extends Application {
 
             primaryStage.setOnCloseRequest(event -> {
                 try {
+                    // Write the open study session, then reviews still waiting for their batch
+                    StudySession.finishActive();
+                    StudySession.awaitWrites(DataStore.SHUTDOWN_WAIT_SECONDS);
+                    ReviewLog.getInstance().flush(true);
+                    QuizAttemptStore.getInstance().flush();
                     System.exit(0);
                 } catch (Exception e) {
                     System.err.println("Error during application shutdown: " + e.getMessage());
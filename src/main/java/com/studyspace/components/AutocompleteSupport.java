@@ -0,0 +1,88 @@
+package com.studyspace.components;
+
+import com.studyspace.utils.AutocompleteIndex;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.CustomMenuItem;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Attaches a suggestion popup to a TextField.
+ * Suggestions come from the AutocompleteIndex and are shown below the field while typing.
+ */
+public class AutocompleteSupport {
+
+    private static final int MAX_SUGGESTIONS = 8;
+
+    private AutocompleteSupport() {}
+
+    /**
+     * Completes the field against a single vocabulary (e.g. subjects in a create dialog)
+     */
+    public static void attach(TextField textField, AutocompleteIndex.Field field) {
+        AutocompleteIndex index = AutocompleteIndex.getInstance();
+        index.ensureLoaded();
+        attach(textField, text -> index.complete(field, text, MAX_SUGGESTIONS));
+    }
+
+    /**
+     * Completes the field against several vocabularies at once (e.g. a search box)
+     */
+    public static void attachSearch(TextField textField, AutocompleteIndex.Field... fields) {
+        AutocompleteIndex index = AutocompleteIndex.getInstance();
+        index.ensureLoaded();
+        attach(textField, text -> index.complete(text, MAX_SUGGESTIONS, fields));
+    }
+
+    /**
+     * Attaches a popup fed by an arbitrary suggestion provider
+     */
+    public static void attach(TextField textField, Function<String, List<String>> provider) {
+        ContextMenu popup = new ContextMenu();
+        popup.getStyleClass().add("autocomplete-popup");
+        // Set while a suggestion is being applied so the text change doesn't reopen the popup
+        boolean[] applying = { false };
+
+        textField.textProperty().addListener((observable, oldValue, newValue) -> {
+            if (applying[0] || !textField.isFocused() || newValue == null || newValue.trim().isEmpty()) {
+                popup.hide();
+                return;
+            }
+
+            List<String> suggestions = provider.apply(newValue);
+            // Nothing to add if the only suggestion is exactly what was typed
+            if (suggestions.isEmpty() || (suggestions.size() == 1 && suggestions.get(0).equals(newValue))) {
+                popup.hide();
+                return;
+            }
+
+            popup.getItems().clear();
+            for (String suggestion : suggestions) {
+                Label label = new Label(suggestion);
+                CustomMenuItem item = new CustomMenuItem(label, true);
+                item.setOnAction(e -> {
+                    applying[0] = true;
+                    textField.setText(suggestion);
+                    textField.positionCaret(suggestion.length());
+                    applying[0] = false;
+                    popup.hide();
+                });
+                popup.getItems().add(item);
+            }
+
+            if (!popup.isShowing()) {
+                popup.show(textField, Side.BOTTOM, 0, 0);
+            }
+        });
+
+        textField.focusedProperty().addListener((observable, wasFocused, isFocused) -> {
+            if (!isFocused) {
+                popup.hide();
+            }
+        });
+    }
+}
@@ -2,9 +2,13 @@ package com.studyspace.components;
 
 import com.studyspace.auth.AuthView;
 import com.studyspace.models.User;
-import com.studyspace.models.Quiz;
+import com.studyspace.utils.AlgorithmUtils;
 import com.studyspace.utils.DataStore;
+import com.studyspace.utils.RadixSort;
 import com.studyspace.utils.SceneManager;
+import com.studyspace.utils.StudyAnalytics;
+import com.studyspace.utils.StudySession;
+import com.studyspace.utils.TodoReminderScheduler;
 import com.studyspace.utils.IconUtils;
 import com.studyspace.views.TodoListView;
 import com.studyspace.models.Activity;
@@ -29,6 +33,11 @@ public class SidebarView {
     
     private static SidebarView currentInstance;
     
+    // Overdue items named in the notification before it cuts off
+    private static final int OVERDUE_ITEMS_LISTED = 5;
+    // Studied cards not reviewed for this long count as needing a refresh
+    private static final int STALE_CARD_DAYS = 30;
+    
     private final DataStore dataStore;
     private final SceneManager sceneManager;
     
@@ -257,15 +266,20 @@ public class SidebarView {
      * Checks for overdue todo items and updates notification
      */
     private void checkOverdueItems() {
-        overdueCount = 0;
-        java.time.LocalDate today = java.time.LocalDate.now();
-        
-        for (com.studyspace.models.TodoItem item : dataStore.getTodoItems()) {
-            if (!item.isCompleted() && item.getDueDate() != null && item.getDueDate().isBefore(today)) {
-                overdueCount++;
+        // The reminder scheduler pushes the new count when a todo becomes overdue at midnight
+        TodoReminderScheduler.getInstance().setListener(count -> javafx.application.Platform.runLater(() -> {
+            if (currentInstance != null) {
+                currentInstance.showOverdueCount(count);
             }
-        }
-        
+        }));
+        showOverdueCount(dataStore.getOverdueTodoCount());
+    }
+    
+    /**
+     * Shows or hides the notification badge for the given overdue count
+     */
+    private void showOverdueCount(int count) {
+        overdueCount = count;
         if (overdueCount > 0) {
             notificationButton.setVisible(true);
             notificationButton.setManaged(true);
@@ -280,19 +294,23 @@ public class SidebarView {
      * Shows overdue notification dialog
      */
     private void showOverdueNotification() {
-        // Recalculate overdue count to ensure accuracy
-        int currentOverdueCount = 0;
-        java.time.LocalDate today = java.time.LocalDate.now();
-        
-        for (com.studyspace.models.TodoItem item : dataStore.getTodoItems()) {
-            if (!item.isCompleted() && item.getDueDate() != null && item.getDueDate().isBefore(today)) {
-                currentOverdueCount++;
-            }
-        }
+        // Read the current count in case a todo changed since the badge was drawn
+        int currentOverdueCount = dataStore.getOverdueTodoCount();
         
         if (currentOverdueCount > 0) {
             String message = "You have " + currentOverdueCount + " overdue todo item" + (currentOverdueCount > 1 ? "s" : "") + "!\n\n";
-            message += "Please check your Todo List to complete them.";
+            // Earliest first, straight from the due-date index
+            int listed = 0;
+            for (com.studyspace.models.TodoItem item : dataStore.getTodoItemsDueBefore(LocalDate.now())) {
+                if (item.isCompleted()) continue;
+                if (listed == OVERDUE_ITEMS_LISTED) {
+                    message += "• ...\n";
+                    break;
+                }
+                message += "• " + item.getTitle() + " (due " + item.getDueDate().format(DateTimeFormatter.ofPattern("MMM dd")) + ")\n";
+                listed++;
+            }
+            message += (listed > 0 ? "\n" : "") + "Please check your Todo List to complete them.";
             
             sceneManager.showInfoDialog("Todo List Overdue", message);
         } else {
@@ -326,13 +344,19 @@ public class SidebarView {
         aboutButton.setMaxWidth(Double.MAX_VALUE);
         aboutButton.setOnAction(e -> handleAboutUs());
         
+        // Diagnostics button
+        Button diagnosticsButton = new Button("📊 Diagnostics");
+        diagnosticsButton.getStyleClass().add("dropdown-menu-item");
+        diagnosticsButton.setMaxWidth(Double.MAX_VALUE);
+        diagnosticsButton.setOnAction(e -> handleDiagnostics());
+        
         // Sign out button
         signOutButton = new Button("🚪 Sign Out");
         signOutButton.getStyleClass().add("dropdown-menu-item");
         signOutButton.setMaxWidth(Double.MAX_VALUE);
         signOutButton.setOnAction(e -> handleSignOut());
         
-        userProfileDropdown.getChildren().addAll(settingsButton, aboutButton, signOutButton);
+        userProfileDropdown.getChildren().addAll(settingsButton, aboutButton, diagnosticsButton, signOutButton);
     }
     
     /**
@@ -391,7 +415,7 @@ public class SidebarView {
      */
     private void loadProfileSettingsView() {
         try {
-            contentArea.getChildren().clear();
+            clearContentArea();
             
             // Create the profile settings view
             com.studyspace.views.ProfileSettingsView profileSettingsView = new com.studyspace.views.ProfileSettingsView();
@@ -417,7 +441,7 @@ public class SidebarView {
         hideUserProfileDropdown();
         
         // Load About Us view
-        contentArea.getChildren().clear();
+        clearContentArea();
         
         com.studyspace.views.AboutUsView aboutUsView = new com.studyspace.views.AboutUsView();
         VBox aboutUsContent = aboutUsView.getView();
@@ -425,6 +449,23 @@ public class SidebarView {
         contentArea.getChildren().add(aboutUsContent);
     }
     
+    /**
+     * Handles diagnostics button click
+     */
+    private void handleDiagnostics() {
+        hideUserProfileDropdown();
+        
+        // Load the algorithm benchmark view
+        clearContentArea();
+        
+        com.studyspace.views.AlgorithmBenchmarkView benchmarkView = new com.studyspace.views.AlgorithmBenchmarkView();
+        ScrollPane benchmarkScroll = new ScrollPane(benchmarkView.getView());
+        benchmarkScroll.setFitToWidth(true);
+        
+        contentArea.getChildren().add(benchmarkScroll);
+        StackPane.setAlignment(benchmarkScroll, Pos.TOP_LEFT);
+    }
+    
     /**
      * Handles sign out button click
      */
@@ -662,7 +703,7 @@ public class SidebarView {
      */
     private void loadHomeView() {
         try {
-            contentArea.getChildren().clear();
+            clearContentArea();
             
             // Create the home dashboard
             VBox homeView = createHomeDashboard();
@@ -691,7 +732,7 @@ public class SidebarView {
         try {
             System.out.println("=== loadNotesView called ===");
             // Only load NotesView when the notes navigation is clicked
-            contentArea.getChildren().clear();
+            clearContentArea();
             com.studyspace.views.NotesView notesView = new com.studyspace.views.NotesView();
             StackPane notesViewContainer = notesView.getView();
             // Add to StackPane with proper alignment
@@ -715,7 +756,7 @@ public class SidebarView {
      */
     private void loadFlashcardsView() {
         try {
-            contentArea.getChildren().clear();
+            clearContentArea();
             
             // Create the flashcard list view
             com.studyspace.views.FlashcardListView flashcardListView = new com.studyspace.views.FlashcardListView();
@@ -741,7 +782,7 @@ public class SidebarView {
      */
     private void loadQuizzesView() {
         try {
-            contentArea.getChildren().clear();
+            clearContentArea();
             
             // Create the quiz list view
             com.studyspace.views.QuizListView quizListView = new com.studyspace.views.QuizListView();
@@ -763,7 +804,7 @@ public class SidebarView {
      */
     private void loadTodoView() {
         try {
-            contentArea.getChildren().clear();
+            clearContentArea();
             
             TodoListView todoView = new TodoListView();
             
@@ -782,7 +823,7 @@ public class SidebarView {
      */
     private void loadTimerView() {
         try {
-            contentArea.getChildren().clear();
+            clearContentArea();
             
             // Create the snake game view
             com.studyspace.views.SnakeGameView snakeGameView = new com.studyspace.views.SnakeGameView();
@@ -803,7 +844,7 @@ public class SidebarView {
      */
     private void loadProgressView() {
         try {
-            contentArea.getChildren().clear();
+            clearContentArea();
             
             VBox progressView = createProgressDashboard();
             
@@ -1215,15 +1256,12 @@ public class SidebarView {
             dayButton.setStyle("-fx-text-fill: #000000;"); // Black text for current month
         }
         
-        // Check if there are activities on this date
-        if (currentUser != null) {
-            List<Activity> dayActivities = dataStore.getActivitiesForUser(currentUser.getId(), date);
-            if (!dayActivities.isEmpty()) {
-                dayButton.getStyleClass().add("calendar-has-activities");
-                // Keep text color black even with activity highlight
-                if (!date.equals(LocalDate.now()) && !date.equals(selectedDate)) {
-                    dayButton.setStyle("-fx-text-fill: #000000;");
-                }
+        // Check if there are activities on this date (one bit lookup, no activity query)
+        if (currentUser != null && currentUser.isActiveOn(date)) {
+            dayButton.getStyleClass().add("calendar-has-activities");
+            // Keep text color black even with activity highlight
+            if (!date.equals(LocalDate.now()) && !date.equals(selectedDate)) {
+                dayButton.setStyle("-fx-text-fill: #000000;");
             }
         }
         
@@ -1312,8 +1350,9 @@ public class SidebarView {
                 recentActivities.addAll(dayActivities);
             }
             
-            // Sort by timestamp (most recent first)
-            recentActivities.sort((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
+            // Only the 15 most recent are shown, so select them instead of sorting everything
+            List<Activity> mostRecent = AlgorithmUtils.topKByKey(recentActivities, 15,
+                activity -> RadixSort.timeKey(activity.getTimestamp(), true, RadixSort.NULLS_LAST));
             
             if (recentActivities.isEmpty()) {
                 Label noActivityLabel = new Label("No recent activities found.");
@@ -1323,9 +1362,7 @@ public class SidebarView {
                 activityList.getChildren().add(noActivityLabel);
             } else {
                 // Limit to 15 most recent activities (increased for better space utilization)
-                int limit = Math.min(15, recentActivities.size());
-                for (int i = 0; i < limit; i++) {
-                    Activity activity = recentActivities.get(i);
+                for (Activity activity : mostRecent) {
                     activityList.getChildren().add(createHomeActivityItem(activity));
                     System.out.println("➕ Added recent activity: " + activity.getDescription());
                 }
@@ -1700,6 +1737,14 @@ public class SidebarView {
         Label title = new Label("Your Tasks");
         title.getStyleClass().addAll("text-xl", "font-semibold", "text-primary");
         
+        LocalDate today = LocalDate.now();
+        long dueThisWeek = dataStore.getTodoItemsDueBetween(today, today.plusDays(7)).stream()
+            .filter(item -> !item.isCompleted())
+            .count();
+        Label dueThisWeekLabel = new Label(dueThisWeek == 0 ? "Nothing due in the next 7 days"
+            : dueThisWeek + " due in the next 7 days");
+        dueThisWeekLabel.getStyleClass().addAll("text-sm", "text-muted");
+        
         // Get todo items from DataStore
         List<com.studyspace.models.TodoItem> todoItems = new ArrayList<>(dataStore.getTodoItems());
         
@@ -1734,7 +1779,7 @@ public class SidebarView {
         viewAllButton.setMaxWidth(Double.MAX_VALUE);
         viewAllButton.setOnAction(e -> handleNavigation("todo", todoNav));
         
-        card.getChildren().addAll(title, todoList, viewAllButton);
+        card.getChildren().addAll(title, dueThisWeekLabel, todoList, viewAllButton);
         
         return card;
     }
@@ -1836,12 +1881,15 @@ public class SidebarView {
             VBox notesCard = createStatCard("📝", "Notes Created", String.valueOf(getNotesCount()), "#3b82f6");
             VBox cardsCard = createStatCard("📚", "Cards Reviewed", String.valueOf(getCardsReviewedCount()), "#10b981");
             VBox quizzesCard = createStatCard("❓", "Quizzes Taken", String.valueOf(getQuizzesTakenCount()), "#f59e0b");
+            VBox staleCard = createStatCard("🕒", "Not Studied in " + STALE_CARD_DAYS + " Days",
+                String.valueOf(getStaleCardsCount()), "#8b5cf6");
             
             HBox.setHgrow(notesCard, Priority.ALWAYS);
             HBox.setHgrow(cardsCard, Priority.ALWAYS);
             HBox.setHgrow(quizzesCard, Priority.ALWAYS);
+            HBox.setHgrow(staleCard, Priority.ALWAYS);
             
-            topStatsRow.getChildren().addAll(notesCard, cardsCard, quizzesCard);
+            topStatsRow.getChildren().addAll(notesCard, cardsCard, quizzesCard, staleCard);
             
             // Bottom row - Additional statistics
             HBox bottomStatsRow = new HBox();
@@ -1994,45 +2042,15 @@ public class SidebarView {
     }
     
     /**
-     * Gets the average score percentage from actual quiz scores
+     * Gets the average best score of the quizzes taken, from the running totals
      */
     private double getAverageScorePercentage() {
-        try {
-            if (dataStore == null) {
-                return 0.0;
-            }
-            
-            // Get all quizzes from the database
-            List<com.studyspace.models.Quiz> quizzes = dataStore.getAllQuizzes();
-            
-            if (quizzes.isEmpty()) {
-                return 0.0;
-            }
-            
-            // Calculate average from quizzes that have been taken (bestScore > 0)
-            List<com.studyspace.models.Quiz> takenQuizzes = quizzes.stream()
-                .filter(quiz -> quiz.getBestScore() > 0)
-                .collect(java.util.stream.Collectors.toList());
-            
-            if (takenQuizzes.isEmpty()) {
-                return 0.0;
-            }
-            
-            // Calculate average score
-            double totalScore = takenQuizzes.stream()
-                .mapToInt(com.studyspace.models.Quiz::getBestScore)
-                .sum();
-            
-            double average = totalScore / takenQuizzes.size();
-            
-            System.out.println("Calculated average score: " + average + "% from " + takenQuizzes.size() + " quizzes");
-            
-            return average;
-            
-        } catch (Exception e) {
-            System.err.println("Error calculating average score: " + e.getMessage());
+        if (dataStore == null || dataStore.getCurrentUser() == null) {
             return 0.0;
         }
+        StudyAnalytics analytics = StudyAnalytics.getInstance();
+        analytics.ensureLoaded();
+        return analytics.getBestScores().getMean();
     }
     
     /**
@@ -2056,6 +2074,22 @@ public class SidebarView {
         return 0;
     }
     
+    /**
+     * Gets the number of studied cards whose last review is older than STALE_CARD_DAYS;
+     * cards never studied are not counted
+     */
+    private int getStaleCardsCount() {
+        try {
+            if (dataStore != null) {
+                return dataStore.getFlashcardsLastStudiedBefore(LocalDateTime.now().minusDays(STALE_CARD_DAYS)).size();
+            }
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Error getting stale cards count: " + e.getMessage());
+            return 0;
+        }
+    }
+    
     /**
      * Gets the number of tasks completed
      */
@@ -2224,37 +2258,12 @@ public class SidebarView {
      * Calculates the average score for a specific subject
      */
     private double calculateSubjectAverage(String subject) {
-        try {
-            if (dataStore == null) {
-                System.err.println("DataStore is null, cannot calculate subject average");
-                return 0.0;
-            }
-            
-            List<Quiz> quizzes = dataStore.getAllQuizzes();
-            if (quizzes == null || quizzes.isEmpty()) {
-                return 0.0;
-            }
-            
-            List<Quiz> subjectQuizzes = quizzes.stream()
-                .filter(quiz -> quiz != null && quiz.getSubject() != null)
-                .filter(quiz -> quiz.getSubject().toLowerCase().contains(subject.toLowerCase()))
-                .filter(quiz -> quiz.getBestScore() > 0) // Only quizzes that have been taken
-                .collect(java.util.stream.Collectors.toList());
-            
-            if (subjectQuizzes.isEmpty()) {
-                return 0.0;
-            }
-            
-            double totalScore = subjectQuizzes.stream()
-                .mapToInt(Quiz::getBestScore)
-                .sum();
-            
-            return totalScore / subjectQuizzes.size();
-        } catch (Exception e) {
-            System.err.println("Error calculating subject average for " + subject + ": " + e.getMessage());
-            e.printStackTrace();
+        if (dataStore == null || dataStore.getCurrentUser() == null || subject == null) {
             return 0.0;
         }
+        StudyAnalytics analytics = StudyAnalytics.getInstance();
+        analytics.ensureLoaded();
+        return analytics.getBestScores(subject).getMean();
     }
     
     /**
@@ -2352,13 +2361,22 @@ public class SidebarView {
         return contentArea;
     }
     
+    /**
+     * Empties the content area for the next view; an open study session saves its
+     * pending answers first
+     */
+    private void clearContentArea() {
+        StudySession.finishActive();
+        contentArea.getChildren().clear();
+    }
+    
     /**
      * Utility method to safely switch content in StackPane
      */
     private void switchContentInStackPane(Node newContent) {
         try {
             if (contentArea != null && newContent != null) {
-                contentArea.getChildren().clear();
+                clearContentArea();
                 contentArea.getChildren().add(newContent);
                 StackPane.setAlignment(newContent, Pos.TOP_LEFT);
             }
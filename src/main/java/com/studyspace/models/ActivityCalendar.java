@@ -0,0 +1,196 @@
+package com.studyspace.models;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+//============ activity calendar model =============
+//this is where the days a user was active are kept, one bit per calendar day
+
+/**
+ * Bitmap of active days: bit i of the map is the day origin + i, packed 64 days
+ * to a long. Streaks and day counts are worked out a word at a time with bit
+ * operations instead of walking activities. The origin starts at the user's
+ * registration day and moves back a whole word at a time if an earlier day is
+ * marked (e.g. when history is rebuilt from old activities).
+ *
+ * Stored form: origin as epoch day (8 bytes), then the words (8 bytes each).
+ */
+public class ActivityCalendar {
+
+    private static final long ALL_SET = -1L;
+
+    private long origin;
+    private long[] words;
+
+    public ActivityCalendar(LocalDate origin) {
+        this.origin = origin.toEpochDay();
+        this.words = new long[1];
+    }
+
+    private ActivityCalendar(long origin, long[] words) {
+        this.origin = origin;
+        this.words = words.length > 0 ? words : new long[1];
+    }
+
+    public static ActivityCalendar fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long origin = buffer.getLong();
+        long[] words = new long[buffer.remaining() / Long.BYTES];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        return new ActivityCalendar(origin, words);
+    }
+
+    public byte[] toBytes() {
+        int used = usedWords();
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * (1 + used));
+        buffer.putLong(origin);
+        for (int i = 0; i < used; i++) {
+            buffer.putLong(words[i]);
+        }
+        return buffer.array();
+    }
+
+    public LocalDate getOrigin() {
+        return LocalDate.ofEpochDay(origin);
+    }
+
+    // ===================================================================
+    // UPDATES
+    // ===================================================================
+
+    /**
+     * Marks the day as active; returns false if it already was
+     */
+    public boolean mark(LocalDate day) {
+        long offset = day.toEpochDay() - origin;
+        if (offset < 0) {
+            // Move the origin back by whole words so existing bits keep their word offsets
+            int extraWords = (int) ((-offset + 63) / 64);
+            long[] grown = new long[words.length + extraWords];
+            System.arraycopy(words, 0, grown, extraWords, words.length);
+            words = grown;
+            origin -= 64L * extraWords;
+            offset = day.toEpochDay() - origin;
+        }
+        int word = (int) (offset >>> 6);
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        long bit = 1L << offset;
+        if ((words[word] & bit) != 0) return false;
+        words[word] |= bit;
+        return true;
+    }
+
+    // ===================================================================
+    // QUERIES
+    // ===================================================================
+
+    public boolean isActive(LocalDate day) {
+        long offset = day.toEpochDay() - origin;
+        if (offset < 0 || (offset >>> 6) >= words.length) return false;
+        return (words[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Consecutive active days ending today, or ending yesterday while today has no
+     * activity yet (the streak is not broken until the day is over)
+     */
+    public int currentStreak(LocalDate today) {
+        LocalDate end = isActive(today) ? today : today.minusDays(1);
+        return runEndingAt(end.toEpochDay() - origin);
+    }
+
+    /**
+     * Longest run of consecutive active days
+     */
+    public int longestStreak() {
+        int best = 0;
+        int run = 0; // ones carried in from the top of earlier words
+        for (long word : words) {
+            if (word == ALL_SET) {
+                run += 64;
+                continue;
+            }
+            // Ones at the bottom of the word continue the carried run
+            best = Math.max(best, run + Long.numberOfTrailingZeros(~word));
+            best = Math.max(best, longestRunInWord(word));
+            // Ones at the top start the run carried into the next word
+            run = Long.numberOfLeadingZeros(~word);
+        }
+        return Math.max(best, run);
+    }
+
+    /**
+     * Number of active days from from to to, both included
+     */
+    public int countActiveDays(LocalDate from, LocalDate to) {
+        long start = Math.max(0, from.toEpochDay() - origin);
+        long end = Math.min(64L * words.length - 1, to.toEpochDay() - origin);
+        if (start > end) return 0;
+
+        int firstWord = (int) (start >>> 6);
+        int lastWord = (int) (end >>> 6);
+        long firstMask = ALL_SET << start;
+        long lastMask = ALL_SET >>> (63 - (end & 63));
+        if (firstWord == lastWord) {
+            return Long.bitCount(words[firstWord] & firstMask & lastMask);
+        }
+        int count = Long.bitCount(words[firstWord] & firstMask) + Long.bitCount(words[lastWord] & lastMask);
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Length of the run of ones that ends at the given bit offset, walking down a word at a time
+     */
+    private int runEndingAt(long offset) {
+        if (offset < 0 || (offset >>> 6) >= words.length) return 0;
+        int word = (int) (offset >>> 6);
+        int bit = (int) (offset & 63);
+        // Shift the end bit to the top; leading ones of the shifted word are the run within this word
+        long shifted = words[word] << (63 - bit);
+        int run = Long.numberOfLeadingZeros(~shifted);
+        if (run <= bit) return run;
+        for (int i = word - 1; i >= 0; i--) {
+            if (words[i] == ALL_SET) {
+                run += 64;
+                continue;
+            }
+            return run + Long.numberOfLeadingZeros(~words[i]);
+        }
+        return run;
+    }
+
+    /**
+     * Longest run of ones inside one word: each x &= x >>> 1 shortens every run by one
+     */
+    private static int longestRunInWord(long word) {
+        int length = 0;
+        while (word != 0) {
+            word &= word >>> 1;
+            length++;
+        }
+        return length;
+    }
+
+    private int usedWords() {
+        int used = words.length;
+        while (used > 1 && words[used - 1] == 0) {
+            used--;
+        }
+        return used;
+    }
+}
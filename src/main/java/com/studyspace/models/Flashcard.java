@@ -6,6 +6,8 @@ import java.time.LocalDateTime;
 //this is where flashcard data and study progress is stored
 
 public class Flashcard {
+    public static final double DEFAULT_EASE_FACTOR = 2.5;
+    
     private String id;
     private String question;
     private String answer;
@@ -15,6 +17,13 @@ public class Flashcard {
     private int timesStudied;
     private boolean isCorrect; // For tracking last answer
     
+    // Spaced-repetition state, maintained by ReviewScheduler
+    private double easeFactor;
+    private double intervalDays;
+    private int repetitions;
+    private int lapses;
+    private LocalDateTime dueAt; // null until the card is first reviewed
+    
     public enum Difficulty {
         EASY("Easy", "#10b981"),
         MEDIUM("Medium", "#f59e0b"),
@@ -36,6 +45,7 @@ public class Flashcard {
         this.createdAt = LocalDateTime.now();
         this.timesStudied = 0;
         this.difficulty = Difficulty.MEDIUM;
+        this.easeFactor = DEFAULT_EASE_FACTOR;
     }
     
     public Flashcard(String question, String answer, Difficulty difficulty) {
@@ -46,6 +56,24 @@ public class Flashcard {
         this.difficulty = difficulty;
     }
     
+    /**
+     * A detached card with this card's id, review statistics and spaced-repetition
+     * state, for saving on another thread while this one keeps changing
+     */
+    public Flashcard copySchedule() {
+        Flashcard copy = new Flashcard();
+        copy.id = id;
+        copy.lastStudied = lastStudied;
+        copy.timesStudied = timesStudied;
+        copy.isCorrect = isCorrect;
+        copy.easeFactor = easeFactor;
+        copy.intervalDays = intervalDays;
+        copy.repetitions = repetitions;
+        copy.lapses = lapses;
+        copy.dueAt = dueAt;
+        return copy;
+    }
+    
     private String generateId() {
         return "flashcard_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
     }
@@ -75,6 +103,21 @@ public class Flashcard {
     public boolean isCorrect() { return isCorrect; }
     public void setCorrect(boolean correct) { isCorrect = correct; }
     
+    public double getEaseFactor() { return easeFactor; }
+    public void setEaseFactor(double easeFactor) { this.easeFactor = easeFactor; }
+    
+    public double getIntervalDays() { return intervalDays; }
+    public void setIntervalDays(double intervalDays) { this.intervalDays = intervalDays; }
+    
+    public int getRepetitions() { return repetitions; }
+    public void setRepetitions(int repetitions) { this.repetitions = repetitions; }
+    
+    public int getLapses() { return lapses; }
+    public void setLapses(int lapses) { this.lapses = lapses; }
+    
+    public LocalDateTime getDueAt() { return dueAt; }
+    public void setDueAt(LocalDateTime dueAt) { this.dueAt = dueAt; }
+    
     // Utility methods
     public void markAsStudied() {
         this.lastStudied = LocalDateTime.now();
@@ -2,7 +2,9 @@ package com.studyspace.models;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 //============ flashcard deck model =============
 //this is where flashcard collections and study progress are stored
@@ -17,6 +19,8 @@ public class FlashcardDeck {
     private LocalDateTime createdAt;
     private LocalDateTime lastStudied;
     private int totalStudySessions;
+    // Ids of cards removed since the deck was last saved; the store deletes only these
+    private final Set<String> removedFlashcardIds = new LinkedHashSet<>();
     
     public FlashcardDeck() {
         this.flashcards = new ArrayList<>();
@@ -70,8 +74,18 @@ public class FlashcardDeck {
         this.flashcards.add(flashcard);
     }
     
-    public void removeFlashcard(Flashcard flashcard) {
-        this.flashcards.remove(flashcard);
+    public boolean removeFlashcard(Flashcard flashcard) {
+        boolean removed = this.flashcards.remove(flashcard);
+        if (removed && flashcard.getId() != null) {
+            removedFlashcardIds.add(flashcard.getId());
+        }
+        return removed;
+    }
+    
+    public Set<String> getRemovedFlashcardIds() { return removedFlashcardIds; }
+    
+    public void clearRemovedFlashcardIds() {
+        removedFlashcardIds.clear();
     }
     
     public int getCardCount() {
@@ -2,7 +2,9 @@ package com.studyspace.models;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 //============ quiz model =============
 //this is where quiz data and question collections are stored
@@ -19,6 +21,8 @@ public class Quiz {
     private LocalDateTime lastTaken;
     private int bestScore; // percentage
     private int timesTaken;
+    // Ids of questions removed since the quiz was last saved; the store deletes only these
+    private final Set<String> removedQuestionIds = new LinkedHashSet<>();
     
     public Quiz() {
         this.questions = new ArrayList<>();
@@ -80,8 +84,18 @@ public class Quiz {
         this.questions.add(question);
     }
     
-    public void removeQuestion(Question question) {
-        this.questions.remove(question);
+    public boolean removeQuestion(Question question) {
+        boolean removed = this.questions.remove(question);
+        if (removed && question.getId() != null) {
+            removedQuestionIds.add(question.getId());
+        }
+        return removed;
+    }
+    
+    public Set<String> getRemovedQuestionIds() { return removedQuestionIds; }
+    
+    public void clearRemovedQuestionIds() {
+        removedQuestionIds.clear();
     }
     
     public int getQuestionCount() {
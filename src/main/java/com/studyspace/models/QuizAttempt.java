@@ -0,0 +1,114 @@
+package com.studyspace.models;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//============ quiz attempt model =============
+//this is where one run through a quiz and each answer given in it are stored
+
+public class QuizAttempt {
+
+    /**
+     * One submitted answer. The chosen option is an index into the question's own
+     * option list, not the shuffled order it was shown in; -1 when none was chosen.
+     */
+    public static class Answer {
+        private final String questionId;
+        private final int chosenOption;
+        private final boolean correct;
+        private final int timeSpentMillis;
+
+        public Answer(String questionId, int chosenOption, boolean correct, int timeSpentMillis) {
+            this.questionId = questionId;
+            this.chosenOption = chosenOption;
+            this.correct = correct;
+            this.timeSpentMillis = timeSpentMillis;
+        }
+
+        public String getQuestionId() { return questionId; }
+        public int getChosenOption() { return chosenOption; }
+        public boolean isCorrect() { return correct; }
+        public int getTimeSpentMillis() { return timeSpentMillis; }
+    }
+
+    private String id;
+    private String userId;
+    private String quizId;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int score;
+    // Adaptive practice draws from many quizzes; such attempts leave the quiz's own score alone
+    private boolean practice;
+    private List<Answer> answers;
+
+    public QuizAttempt() {
+        this.answers = new ArrayList<>();
+    }
+
+    public QuizAttempt(String userId, String quizId) {
+        this();
+        this.id = generateId();
+        this.userId = userId;
+        this.quizId = quizId;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    private String generateId() {
+        return "attempt_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getQuizId() { return quizId; }
+    public void setQuizId(String quizId) { this.quizId = quizId; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
+
+    public boolean isPractice() { return practice; }
+    public void setPractice(boolean practice) { this.practice = practice; }
+
+    public List<Answer> getAnswers() { return answers; }
+    public void setAnswers(List<Answer> answers) { this.answers = answers; }
+
+    // Utility methods
+    public void addAnswer(Answer answer) {
+        answers.add(answer);
+    }
+
+    public int getCorrectCount() {
+        int correct = 0;
+        for (Answer answer : answers) {
+            if (answer.isCorrect()) correct++;
+        }
+        return correct;
+    }
+
+    public void finish(int score) {
+        this.score = score;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "QuizAttempt{" +
+                "id='" + id + '\'' +
+                ", quizId='" + quizId + '\'' +
+                ", score=" + score +
+                ", answers=" + answers.size() +
+                ", finishedAt=" + finishedAt +
+                '}';
+    }
+}
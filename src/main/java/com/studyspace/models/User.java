@@ -1,5 +1,6 @@
 package com.studyspace.models;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -19,6 +20,8 @@ public class User {
     private int quizzesTaken;
     private int currentStreak;
     private int totalStudyHours;
+    // One bit per day with activity; created on first use, starting at registration
+    private ActivityCalendar activityDays;
     
     public User() {
         this.createdAt = LocalDateTime.now();
@@ -72,6 +75,14 @@ public class User {
     public int getTotalStudyHours() { return totalStudyHours; }
     public void setTotalStudyHours(int totalStudyHours) { this.totalStudyHours = totalStudyHours; }
     
+    public ActivityCalendar getActivityDays() {
+        if (activityDays == null) {
+            activityDays = new ActivityCalendar(createdAt != null ? createdAt.toLocalDate() : LocalDate.now());
+        }
+        return activityDays;
+    }
+    public void setActivityDays(ActivityCalendar activityDays) { this.activityDays = activityDays; }
+    
     // Utility methods
     public void updateLastLogin() {
         this.lastLoginAt = LocalDateTime.now();
@@ -99,14 +110,44 @@ public class User {
     }
     
     /**
-     * Checks and updates streak based on daily login pattern
-     * Increments streak if user was online yesterday and logs in today
-     * Resets streak if user missed a day
+     * Marks the day as active and refreshes the current streak from the activity days
+     */
+    public void recordActivity(LocalDate day) {
+        getActivityDays().mark(day);
+        this.currentStreak = activityDays.currentStreak(LocalDate.now());
+    }
+    
+    public boolean isActiveOn(LocalDate day) {
+        return activityDays != null && activityDays.isActive(day);
+    }
+    
+    public int getLongestStreak() {
+        return activityDays != null ? activityDays.longestStreak() : currentStreak;
+    }
+    
+    /**
+     * Number of days with activity from from to to, both included
+     */
+    public int getActiveDays(LocalDate from, LocalDate to) {
+        return activityDays != null ? activityDays.countActiveDays(from, to) : 0;
+    }
+    
+    /**
+     * Checks and updates streak on login
+     * With recorded activity days the streak is read from them, so a missed day
+     * shows up on the next login; without any (new or not yet migrated users) it
+     * follows the daily login pattern: +1 after logging in yesterday, back to 1
+     * after a missed day
      */
     public void updateStreakOnLogin() {
+        if (activityDays != null && !activityDays.isEmpty()) {
+            this.currentStreak = activityDays.currentStreak(LocalDate.now());
+            return;
+        }
+        
         if (lastLoginAt == null) {
-            // First time login - no streak yet
-            this.currentStreak = 0;
+            // First time login - today is day one
+            this.currentStreak = 1;
             return;
         }
         
@@ -133,10 +174,10 @@ public class User {
             
             if (daysSinceLastLogin > 1) {
                 // User missed a day or more - reset streak
-                this.currentStreak = 0; // Start fresh with today's login
+                this.currentStreak = 1; // Start fresh with today's login
             } else {
                 // This shouldn't happen given our logic above, but just in case
-                this.currentStreak = 0;
+                this.currentStreak = 1;
             }
         }
     }
@@ -166,35 +207,10 @@ public class User {
     
     /**
      * Updates streak when user completes activities (for users already logged in)
-     * This ensures streak is updated even if user doesn't log out/in
+     * Today is recorded as an active day and the streak is recounted from the activity days
      */
     public void updateStreakOnActivity() {
-        if (lastLoginAt == null) {
-            // First time activity - no streak yet
-            this.currentStreak = 0;
-            return;
-        }
-        
-        LocalDateTime now = LocalDateTime.now();
-        
-        // Check if last login was today
-        boolean loggedInToday = lastLoginAt.toLocalDate().equals(now.toLocalDate());
-        
-        if (loggedInToday) {
-            // User is active today - check if this is their first day
-            if (this.currentStreak == 0) {
-                // Check if they were active yesterday to determine streak
-                if (wasActiveYesterday()) {
-                    this.currentStreak = 2; // They were active yesterday and today
-                } else {
-                    this.currentStreak = 0; // First day of activity, no streak yet
-                }
-            }
-        } else {
-            // User wasn't logged in today - this shouldn't happen if they're completing activities
-            // But just in case, update the streak logic
-            updateStreakOnLogin();
-        }
+        recordActivity(LocalDate.now());
     }
     
     public boolean isValidForRegistration() {
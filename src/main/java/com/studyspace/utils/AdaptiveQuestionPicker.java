@@ -0,0 +1,147 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Question;
+import com.studyspace.models.Quiz;
+
+import java.util.*;
+import java.util.function.Function;
+
+//============ adaptive question picker =============
+//this is where adaptive practice chooses the next question, leaning towards weak and long-unseen ones
+
+/**
+ * Picks questions from a pool (usually every question in every quiz) with
+ * probability proportional to a weakness weight:
+ *   weight = smoothed error rate * (1 + days since last answered / {@value #RECENCY_SCALE_DAYS})
+ * The error rate starts from the stored per-question statistics and takes in
+ * each new answer; days since last answered is capped at {@value #MAX_RECENCY_DAYS}
+ * and counts as the cap for questions never answered.
+ *
+ * A picked question rests for the next few picks, so the same weak question is
+ * not asked twice in a row. Each pick and each answer changes at most two
+ * weights in a {@link WeightedSampler}, so both are O(log n) however large the pool.
+ */
+public class AdaptiveQuestionPicker {
+
+    public static final double RECENCY_SCALE_DAYS = 7;
+    public static final double MAX_RECENCY_DAYS = 30;
+    public static final int REST_PICKS = 5;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private final List<Question> pool = new ArrayList<>();
+    private final List<String> quizIds = new ArrayList<>();
+    private final Map<Question, Integer> indexes = new IdentityHashMap<>();
+    private final int[] answered;
+    private final int[] wrong;
+    private final double[] daysSinceAnswered;
+    private final WeightedSampler sampler;
+    private final Deque<Integer> resting = new ArrayDeque<>();
+    private final int restPicks;
+    private final Random random;
+
+    /**
+     * @param stats stored statistics of a question id, or null if it was never answered
+     */
+    public AdaptiveQuestionPicker(List<Quiz> quizzes, Function<String, QuizAttemptStore.ItemStats> stats,
+                                  long nowMillis, Random random) {
+        for (Quiz quiz : quizzes) {
+            for (Question question : quiz.getQuestions()) {
+                if (indexes.containsKey(question)) continue;
+                indexes.put(question, pool.size());
+                pool.add(question);
+                quizIds.add(quiz.getId());
+            }
+        }
+
+        int size = pool.size();
+        this.answered = new int[size];
+        this.wrong = new int[size];
+        this.daysSinceAnswered = new double[size];
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            QuizAttemptStore.ItemStats itemStats = pool.get(i).getId() != null ? stats.apply(pool.get(i).getId()) : null;
+            daysSinceAnswered[i] = MAX_RECENCY_DAYS;
+            if (itemStats != null) {
+                // Practice answers count here, though the item statistics leave them out
+                answered[i] = itemStats.getAnswered() + itemStats.getPracticeAnswered();
+                wrong[i] = answered[i] - itemStats.getCorrect() - itemStats.getPracticeCorrect();
+                if (itemStats.getLastAnsweredMillis() > 0) {
+                    double days = (double) (nowMillis - itemStats.getLastAnsweredMillis()) / DAY_MILLIS;
+                    daysSinceAnswered[i] = Math.max(0, Math.min(MAX_RECENCY_DAYS, days));
+                }
+            }
+            weights[i] = weight(i);
+        }
+        this.sampler = new WeightedSampler(weights);
+        this.restPicks = Math.min(REST_PICKS, Math.max(0, size - 1));
+        this.random = random;
+    }
+
+    /**
+     * Builds a picker over every question of the given quizzes using the user's
+     * stored answer statistics
+     */
+    public static AdaptiveQuestionPicker forQuizzes(List<Quiz> quizzes) {
+        QuizAttemptStore store = QuizAttemptStore.getInstance();
+        store.ensureLoaded();
+        return new AdaptiveQuestionPicker(quizzes, store::getStats, System.currentTimeMillis(), new Random());
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    /**
+     * Draws the next question, or null when the pool is empty
+     */
+    public Question next() {
+        int index = sampler.sample(random);
+        if (index < 0) return null;
+
+        // The picked question rests; the one that has rested longest comes back
+        sampler.setWeight(index, 0);
+        resting.addLast(index);
+        if (resting.size() > restPicks) {
+            int back = resting.removeFirst();
+            sampler.setWeight(back, weight(back));
+        }
+        return pool.get(index);
+    }
+
+    /**
+     * Takes in an answer to a question from this pool; its weight is applied when
+     * it stops resting
+     */
+    public void recordAnswer(Question question, boolean correct) {
+        Integer index = indexes.get(question);
+        if (index == null) return;
+        answered[index]++;
+        if (!correct) wrong[index]++;
+        daysSinceAnswered[index] = 0;
+        if (!resting.contains(index)) {
+            sampler.setWeight(index, weight(index));
+        }
+    }
+
+    /**
+     * Id of the quiz the question was drawn from
+     */
+    public String getQuizId(Question question) {
+        Integer index = indexes.get(question);
+        return index != null ? quizIds.get(index) : null;
+    }
+
+    /**
+     * Current sampling weight of a question; 0 while it rests
+     */
+    public double getWeight(Question question) {
+        Integer index = indexes.get(question);
+        return index != null ? sampler.getWeight(index) : 0;
+    }
+
+    private double weight(int index) {
+        // Laplace smoothing: an unseen question counts as half wrong
+        double errorRate = (wrong[index] + 1.0) / (answered[index] + 2.0);
+        return errorRate * (1 + daysSinceAnswered[index] / RECENCY_SCALE_DAYS);
+    }
+}
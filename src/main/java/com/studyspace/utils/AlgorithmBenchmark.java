@@ -0,0 +1,389 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+//============ algorithm benchmark =============
+//this is where AlgorithmUtils' sorts and searches are raced on the user's own data
+
+/**
+ * Runs every AlgorithmUtils sort and search on snapshots of the current user's
+ * decks, notes and todos. Each algorithm gets warmup runs, then measured runs
+ * whose median time is reported, plus one instrumented run for comparison and
+ * swap counts. Each dataset also records how presorted it already was (its
+ * average ascending run length), which is the property smartSort's choice
+ * between run merging and introsort depends on.
+ * Runs on the caller's thread; the diagnostics view calls it from a background executor.
+ */
+public class AlgorithmBenchmark {
+
+    public static final int DEFAULT_WARMUP_RUNS = 3;
+    public static final int DEFAULT_MEASURED_RUNS = 5;
+    // The O(n^2) sorts are skipped above this size
+    public static final int QUADRATIC_LIMIT = 5_000;
+    // quickSort on input that degrades it (see degradesQuickSort) is skipped above this size
+    public static final int DEGRADED_QUICKSORT_LIMIT = 1_000;
+    private static final int SEARCH_QUERIES = 200;
+
+    private final int warmupRuns;
+    private final int measuredRuns;
+
+    public AlgorithmBenchmark() {
+        this(DEFAULT_WARMUP_RUNS, DEFAULT_MEASURED_RUNS);
+    }
+
+    public AlgorithmBenchmark(int warmupRuns, int measuredRuns) {
+        this.warmupRuns = Math.max(0, warmupRuns);
+        this.measuredRuns = Math.max(1, measuredRuns);
+    }
+
+    // ===================================================================
+    // SNAPSHOTS
+    // ===================================================================
+
+    /**
+     * Copies the sort keys the list views use out of the current user's data
+     */
+    public static List<Dataset<?>> snapshot(DataStore dataStore) {
+        List<FlashcardDeck> decks = dataStore.getAllFlashcardDecks();
+        List<Note> notes = dataStore.getAllNotes();
+        List<TodoItem> todoItems = dataStore.getAllTodoItems();
+
+        List<String> deckTitles = new ArrayList<>();
+        List<String> questions = new ArrayList<>();
+        List<Long> lastStudied = new ArrayList<>();
+        for (FlashcardDeck deck : decks) {
+            deckTitles.add(lower(deck.getTitle()));
+            for (Flashcard card : deck.getFlashcards()) {
+                questions.add(lower(card.getQuestion()));
+                lastStudied.add(RadixSort.timeKey(card.getLastStudied(), false, RadixSort.NULLS_LAST));
+            }
+        }
+
+        List<String> noteTitles = new ArrayList<>();
+        List<Long> noteModified = new ArrayList<>();
+        for (Note note : notes) {
+            noteTitles.add(lower(note.getTitle()));
+            noteModified.add(RadixSort.timeKey(note.getLastModified(), false, RadixSort.NULLS_LAST));
+        }
+
+        List<Long> todoDue = new ArrayList<>();
+        for (TodoItem item : todoItems) {
+            todoDue.add(RadixSort.dayKey(item.getDueDate(), false, RadixSort.NULLS_LAST));
+        }
+
+        List<Dataset<?>> datasets = new ArrayList<>();
+        datasets.add(new Dataset<>("Deck titles", deckTitles));
+        datasets.add(new Dataset<>("Flashcard questions", questions));
+        datasets.add(new Dataset<>("Flashcards by last studied", lastStudied));
+        datasets.add(new Dataset<>("Note titles", noteTitles));
+        datasets.add(new Dataset<>("Notes by last modified", noteModified));
+        datasets.add(new Dataset<>("Todos by due date", todoDue));
+        return datasets;
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+
+    // ===================================================================
+    // RUNNING
+    // ===================================================================
+
+    /**
+     * Benchmarks every dataset; stops early (returning what it has) once cancelled is true.
+     * The instrumented runs record into a private recorder, not the app-wide one.
+     */
+    public Report run(List<Dataset<?>> datasets, BooleanSupplier cancelled, Consumer<String> progress) {
+        Report report = new Report();
+        PerformanceRecorder previous = PerformanceRecorder.useOnCurrentThread(PerformanceRecorder.createPrivate());
+        try {
+            for (Dataset<?> dataset : datasets) {
+                if (cancelled.getAsBoolean()) break;
+                DatasetProfile profile = profile(dataset);
+                report.profiles.add(profile);
+                runDataset(dataset, profile, report, cancelled, progress);
+            }
+        } finally {
+            PerformanceRecorder.useOnCurrentThread(previous);
+        }
+        return report;
+    }
+
+    /**
+     * quickSort pivots on the last element, so mostly sorted, mostly reversed or
+     * mostly repeated keys make it quadratic and its recursion about n deep
+     */
+    static boolean degradesQuickSort(DatasetProfile profile) {
+        long size = profile.getSize();
+        long runs = profile.getAscendingRuns();
+        return runs * 4 <= size || runs * 4 >= size * 3 || profile.getDistinct() * 4L <= size;
+    }
+
+    private <T extends Comparable<T>> void runDataset(Dataset<T> dataset, DatasetProfile profile, Report report,
+                                                      BooleanSupplier cancelled, Consumer<String> progress) {
+        int size = dataset.values.size();
+        for (SortCase<T> sortCase : this.<T>sortCases()) {
+            if (cancelled.getAsBoolean()) return;
+            if (size < 2) break;
+            progress.accept(dataset.name + ": " + sortCase.name);
+            // Decided before running: a degraded quickSort can overflow the stack of the worker thread
+            if (sortCase.skip.test(profile)) {
+                report.results.add(Result.skipped(dataset.name, sortCase.name, Kind.SORT, size));
+                continue;
+            }
+
+            long[] times = new long[measuredRuns];
+            for (int run = 0; run < warmupRuns + measuredRuns; run++) {
+                List<T> copy = new ArrayList<>(dataset.values);
+                long start = System.nanoTime();
+                sortCase.plain.accept(copy);
+                long elapsed = System.nanoTime() - start;
+                if (run >= warmupRuns) {
+                    times[run - warmupRuns] = elapsed;
+                }
+            }
+
+            AlgorithmUtils.PerformanceMetrics metrics = sortCase.instrumented.apply(new ArrayList<>(dataset.values));
+            report.results.add(new Result(dataset.name, sortCase.name, Kind.SORT, size, median(times),
+                metrics.getComparisons(), metrics.getSwaps(), metrics.getAllocatedBytes(), false));
+        }
+
+        if (size == 0 || cancelled.getAsBoolean()) return;
+        List<T> sorted = new ArrayList<>(dataset.values);
+        SortEngine.sort(sorted);
+        List<T> queries = new ArrayList<>(SEARCH_QUERIES);
+        Random random = new Random(size);
+        for (int i = 0; i < SEARCH_QUERIES; i++) {
+            queries.add(sorted.get(random.nextInt(size)));
+        }
+
+        for (SearchCase<T> searchCase : this.<T>searchCases()) {
+            if (cancelled.getAsBoolean()) return;
+            progress.accept(dataset.name + ": " + searchCase.name);
+
+            long[] times = new long[measuredRuns];
+            for (int run = 0; run < warmupRuns + measuredRuns; run++) {
+                long start = System.nanoTime();
+                for (T query : queries) {
+                    searchCase.plain.search(sorted, query);
+                }
+                long perQuery = (System.nanoTime() - start) / SEARCH_QUERIES;
+                if (run >= warmupRuns) {
+                    times[run - warmupRuns] = perQuery;
+                }
+            }
+
+            long comparisons = 0;
+            for (T query : queries) {
+                comparisons += searchCase.instrumented.search(sorted, query).getMetrics().getComparisons();
+            }
+            report.results.add(new Result(dataset.name, searchCase.name, Kind.SEARCH, size, median(times),
+                comparisons / SEARCH_QUERIES, 0, -1, false));
+        }
+    }
+
+    private <T extends Comparable<T>> List<SortCase<T>> sortCases() {
+        Predicate<DatasetProfile> never = profile -> false;
+        Predicate<DatasetProfile> quadratic = profile -> profile.getSize() > QUADRATIC_LIMIT;
+        Predicate<DatasetProfile> degradedQuickSort =
+            profile -> profile.getSize() > DEGRADED_QUICKSORT_LIMIT && degradesQuickSort(profile);
+        return List.of(
+            new SortCase<>("smartSort", AlgorithmUtils::smartSort, AlgorithmUtils::smartSortWithMetrics, never),
+            new SortCase<>("quickSort", AlgorithmUtils::quickSort, AlgorithmUtils::quickSortWithMetrics, degradedQuickSort),
+            new SortCase<>("mergeSort", AlgorithmUtils::mergeSort, AlgorithmUtils::mergeSortWithMetrics, never),
+            new SortCase<>("heapSort", AlgorithmUtils::heapSort, AlgorithmUtils::heapSortWithMetrics, never),
+            new SortCase<>("parallelMergeSort", AlgorithmUtils::parallelMergeSort,
+                AlgorithmUtils::parallelMergeSortWithMetrics, never),
+            new SortCase<>("insertionSort", AlgorithmUtils::insertionSort, AlgorithmUtils::insertionSortWithMetrics, quadratic),
+            new SortCase<>("selectionSort", AlgorithmUtils::selectionSort, AlgorithmUtils::selectionSortWithMetrics, quadratic),
+            new SortCase<>("bubbleSort", AlgorithmUtils::bubbleSort, AlgorithmUtils::bubbleSortWithMetrics, quadratic));
+    }
+
+    private <T extends Comparable<T>> List<SearchCase<T>> searchCases() {
+        return List.of(
+            new SearchCase<T>("binarySearch", AlgorithmUtils::binarySearch, AlgorithmUtils::binarySearchWithMetrics),
+            new SearchCase<T>("interpolationSearch", AlgorithmUtils::interpolationSearch,
+                AlgorithmUtils::interpolationSearchWithMetrics),
+            new SearchCase<T>("linearSearch", AlgorithmUtils::linearSearch, AlgorithmUtils::linearSearchWithMetrics));
+    }
+
+    private static <T extends Comparable<T>> DatasetProfile profile(Dataset<T> dataset) {
+        List<T> values = dataset.values;
+        int runs = values.isEmpty() ? 0 : 1;
+        for (int i = 1; i < values.size(); i++) {
+            if (values.get(i).compareTo(values.get(i - 1)) < 0) {
+                runs++;
+            }
+        }
+        return new DatasetProfile(dataset.name, values.size(), new HashSet<>(values).size(), runs);
+    }
+
+    private static long median(long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    // ===================================================================
+    // RESULTS
+    // ===================================================================
+
+    public enum Kind { SORT, SEARCH }
+
+    /**
+     * A named snapshot of sort keys; the benchmark only ever sorts copies of it
+     */
+    public static class Dataset<T extends Comparable<T>> {
+        private final String name;
+        private final List<T> values;
+
+        public Dataset(String name, List<T> values) {
+            this.name = name;
+            this.values = Collections.unmodifiableList(new ArrayList<>(values));
+        }
+
+        public String getName() { return name; }
+        public int size() { return values.size(); }
+    }
+
+    /**
+     * Shape of a dataset: how many distinct keys and how much existing order it has
+     */
+    public static class DatasetProfile {
+        private final String dataset;
+        private final int size;
+        private final int distinct;
+        private final int ascendingRuns;
+
+        DatasetProfile(String dataset, int size, int distinct, int ascendingRuns) {
+            this.dataset = dataset;
+            this.size = size;
+            this.distinct = distinct;
+            this.ascendingRuns = ascendingRuns;
+        }
+
+        public String getDataset() { return dataset; }
+        public int getSize() { return size; }
+        public int getDistinct() { return distinct; }
+        public int getAscendingRuns() { return ascendingRuns; }
+
+        public double getAverageRunLength() {
+            return ascendingRuns == 0 ? 0 : (double) size / ascendingRuns;
+        }
+    }
+
+    /**
+     * One algorithm on one dataset; for searches the time and comparisons are per lookup
+     */
+    public static class Result {
+        private final String dataset;
+        private final String algorithm;
+        private final Kind kind;
+        private final int size;
+        private final long medianNanos;
+        private final long comparisons;
+        private final long swaps;
+        private final long allocatedBytes;
+        private final boolean skipped;
+
+        Result(String dataset, String algorithm, Kind kind, int size, long medianNanos,
+               long comparisons, long swaps, long allocatedBytes, boolean skipped) {
+            this.dataset = dataset;
+            this.algorithm = algorithm;
+            this.kind = kind;
+            this.size = size;
+            this.medianNanos = medianNanos;
+            this.comparisons = comparisons;
+            this.swaps = swaps;
+            this.allocatedBytes = allocatedBytes;
+            this.skipped = skipped;
+        }
+
+        static Result skipped(String dataset, String algorithm, Kind kind, int size) {
+            return new Result(dataset, algorithm, kind, size, -1, -1, -1, -1, true);
+        }
+
+        public String getDataset() { return dataset; }
+        public String getAlgorithm() { return algorithm; }
+        public Kind getKind() { return kind; }
+        public int getSize() { return size; }
+        public long getMedianNanos() { return medianNanos; }
+        public double getMedianMillis() { return medianNanos / 1_000_000.0; }
+        public long getComparisons() { return comparisons; }
+        public long getSwaps() { return swaps; }
+        public long getAllocatedBytes() { return allocatedBytes; }
+        public boolean isSkipped() { return skipped; }
+    }
+
+    public static class Report {
+        private final List<DatasetProfile> profiles = new ArrayList<>();
+        private final List<Result> results = new ArrayList<>();
+
+        public List<DatasetProfile> getProfiles() { return profiles; }
+        public List<Result> getResults() { return results; }
+
+        public List<Result> getResults(Kind kind) {
+            List<Result> matching = new ArrayList<>();
+            for (Result result : results) {
+                if (result.kind == kind && !result.skipped) {
+                    matching.add(result);
+                }
+            }
+            return matching;
+        }
+
+        /**
+         * Fastest algorithm of the given kind on a dataset, or null if nothing ran
+         */
+        public Result getWinner(String dataset, Kind kind) {
+            Result best = null;
+            for (Result result : getResults(kind)) {
+                if (result.dataset.equals(dataset) && (best == null || result.medianNanos < best.medianNanos)) {
+                    best = result;
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class SortCase<T extends Comparable<T>> {
+        private final String name;
+        private final Consumer<List<T>> plain;
+        private final Function<List<T>, AlgorithmUtils.PerformanceMetrics> instrumented;
+        private final Predicate<DatasetProfile> skip;
+
+        SortCase(String name, Consumer<List<T>> plain,
+                 Function<List<T>, AlgorithmUtils.PerformanceMetrics> instrumented, Predicate<DatasetProfile> skip) {
+            this.name = name;
+            this.plain = plain;
+            this.instrumented = instrumented;
+            this.skip = skip;
+        }
+    }
+
+    private static final class SearchCase<T extends Comparable<T>> {
+        private final String name;
+        private final PlainSearch<T> plain;
+        private final InstrumentedSearch<T> instrumented;
+
+        SearchCase(String name, PlainSearch<T> plain, InstrumentedSearch<T> instrumented) {
+            this.name = name;
+            this.plain = plain;
+            this.instrumented = instrumented;
+        }
+    }
+
+    private interface PlainSearch<T> {
+        int search(List<T> sorted, T target);
+    }
+
+    private interface InstrumentedSearch<T> {
+        AlgorithmUtils.MeasuredResult<Integer> search(List<T> sorted, T target);
+    }
+}
@@ -70,39 +70,9 @@ public class AlgorithmUtils {
      */
     public static <T extends Comparable<T>> void mergeSort(List<T> list) {
         if (list == null || list.size() <= 1) return;
-        mergeSortHelper(list, 0, list.size() - 1);
-    }
-    
-    private static <T extends Comparable<T>> void mergeSortHelper(List<T> list, int left, int right) {
-        if (left < right) {
-            int mid = left + (right - left) / 2;
-            mergeSortHelper(list, left, mid);
-            mergeSortHelper(list, mid + 1, right);
-            merge(list, left, mid, right);
-        }
-    }
-    
-    private static <T extends Comparable<T>> void merge(List<T> list, int left, int mid, int right) {
-        List<T> leftArray = new ArrayList<>(list.subList(left, mid + 1));
-        List<T> rightArray = new ArrayList<>(list.subList(mid + 1, right + 1));
-        
-        int i = 0, j = 0, k = left;
-        
-        while (i < leftArray.size() && j < rightArray.size()) {
-            if (leftArray.get(i).compareTo(rightArray.get(j)) <= 0) {
-                list.set(k++, leftArray.get(i++));
-            } else {
-                list.set(k++, rightArray.get(j++));
-            }
-        }
-        
-        while (i < leftArray.size()) {
-            list.set(k++, leftArray.get(i++));
-        }
-        
-        while (j < rightArray.size()) {
-            list.set(k++, rightArray.get(j++));
-        }
+        // Same top-down stable merge, but over an array with one shared scratch buffer
+        ParallelMergeSort.sort(list, Comparator.naturalOrder(), Integer.MAX_VALUE,
+            java.util.concurrent.ForkJoinPool.commonPool());
     }
     
     /**
@@ -231,302 +201,118 @@ public class AlgorithmUtils {
     /**
      * Interpolation Search - O(log log n) average case
      * Best for: Uniformly distributed sorted data
+     * Only integral numbers (Integer, Long, ...) can be interpolated; other
+     * element types fall back to binary search.
      */
     public static <T extends Comparable<T>> int interpolationSearch(List<T> sortedList, T target) {
-        if (sortedList == null || sortedList.isEmpty()) return -1;
-        
+        if (sortedList == null || sortedList.isEmpty() || target == null) return -1;
+        if (!isIntegral(target)) {
+            return binarySearch(sortedList, target);
+        }
+
+        long key = ((Number) target).longValue();
         int left = 0;
         int right = sortedList.size() - 1;
-        
-        while (left <= right && sortedList.get(left).compareTo(target) <= 0 && 
-               sortedList.get(right).compareTo(target) >= 0) {
-            
-            // Calculate interpolation position
-            int pos = left + ((right - left) / 2);
-            
-            int comparison = sortedList.get(pos).compareTo(target);
-            if (comparison == 0) {
+        boolean bisect = false;
+
+        while (left <= right) {
+            long leftKey = ((Number) sortedList.get(left)).longValue();
+            long rightKey = ((Number) sortedList.get(right)).longValue();
+            if (key < leftKey || key > rightKey) return -1;
+
+            // Calculate interpolation position from where the key sits between the ends
+            int pos;
+            if (bisect || leftKey == rightKey) {
+                pos = left + (right - left) / 2;
+            } else {
+                double fraction = ((double) key - (double) leftKey) / ((double) rightKey - (double) leftKey);
+                pos = Math.max(left, Math.min(right, left + (int) (fraction * (right - left))));
+            }
+
+            int before = right - left;
+            long posKey = ((Number) sortedList.get(pos)).longValue();
+            if (posKey == key) {
                 return pos;
-            } else if (comparison < 0) {
+            } else if (posKey < key) {
                 left = pos + 1;
             } else {
                 right = pos - 1;
             }
+            // Skewed data: a guess that didn't halve the range is followed by a halving step
+            bisect = !bisect && (right - left) > before / 2;
         }
         return -1;
     }
+
+    /**
+     * Interpolation search over sorted primitive keys (timestamps, epoch days).
+     * Returns the index, or -(insertion point) - 1 like Arrays.binarySearch.
+     */
+    public static int interpolationSearch(long[] sorted, long key) {
+        return PrimitiveSearch.interpolationSearch(sorted, key);
+    }
+
+    public static int interpolationSearch(int[] sorted, int key) {
+        return PrimitiveSearch.interpolationSearch(sorted, key);
+    }
+
+    /**
+     * Binary search over an Eytzinger layout (see PrimitiveSearch.eytzinger).
+     * Returns the layout slot holding the key, or 0 when it is absent.
+     */
+    public static int eytzingerSearch(long[] layout, long key) {
+        int slot = PrimitiveSearch.eytzingerLowerBound(layout, key);
+        return slot != 0 && layout[slot] == key ? slot : 0;
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long
+            || value instanceof Short || value instanceof Byte;
+    }
     
     // ===================================================================
     // STUDY SPACE SPECIFIC SORTING UTILITIES
     // ===================================================================
     
     /**
-     * Sort flashcards by various criteria
+     * Sort flashcards by various criteria (see SortOptions.FLASHCARDS)
      */
     public static List<Flashcard> sortFlashcards(List<Flashcard> flashcards, String sortOption) {
         if (flashcards == null || sortOption == null) return flashcards;
-        
-        List<Flashcard> sortedList = new ArrayList<>(flashcards);
-        
-        switch (sortOption) {
-            case "Recently Studied":
-                sortedList.sort((a, b) -> {
-                    if (a.getLastStudied() == null && b.getLastStudied() == null) return 0;
-                    if (a.getLastStudied() == null) return 1;
-                    if (b.getLastStudied() == null) return -1;
-                    return b.getLastStudied().compareTo(a.getLastStudied());
-                });
-                break;
-            case "Least Recently Studied":
-                sortedList.sort((a, b) -> {
-                    if (a.getLastStudied() == null && b.getLastStudied() == null) return 0;
-                    if (a.getLastStudied() == null) return -1;
-                    if (b.getLastStudied() == null) return 1;
-                    return a.getLastStudied().compareTo(b.getLastStudied());
-                });
-                break;
-            case "Most Studied":
-                sortedList.sort((a, b) -> Integer.compare(b.getTimesStudied(), a.getTimesStudied()));
-                break;
-            case "Least Studied":
-                sortedList.sort((a, b) -> Integer.compare(a.getTimesStudied(), b.getTimesStudied()));
-                break;
-            case "Alphabetical (A-Z)":
-                sortedList.sort((a, b) -> a.getQuestion().compareToIgnoreCase(b.getQuestion()));
-                break;
-            case "Alphabetical (Z-A)":
-                sortedList.sort((a, b) -> b.getQuestion().compareToIgnoreCase(a.getQuestion()));
-                break;
-            case "Difficulty (Easy-Hard)":
-                sortedList.sort((a, b) -> a.getDifficulty().compareTo(b.getDifficulty()));
-                break;
-            case "Difficulty (Hard-Easy)":
-                sortedList.sort((a, b) -> b.getDifficulty().compareTo(a.getDifficulty()));
-                break;
-            case "Date Created (Newest)":
-                sortedList.sort((a, b) -> {
-                    if (a.getCreatedAt() == null && b.getCreatedAt() == null) return 0;
-                    if (a.getCreatedAt() == null) return 1;
-                    if (b.getCreatedAt() == null) return -1;
-                    return b.getCreatedAt().compareTo(a.getCreatedAt());
-                });
-                break;
-            case "Date Created (Oldest)":
-                sortedList.sort((a, b) -> {
-                    if (a.getCreatedAt() == null && b.getCreatedAt() == null) return 0;
-                    if (a.getCreatedAt() == null) return 1;
-                    if (b.getCreatedAt() == null) return -1;
-                    return a.getCreatedAt().compareTo(b.getCreatedAt());
-                });
-                break;
-        }
-        
-        return sortedList;
-    }
-    
-    /**
-     * Sort flashcard decks by various criteria
+        return SortOptions.FLASHCARDS.sort(flashcards, sortOption);
+    }
+    
+    /**
+     * Sort flashcard decks by various criteria (see SortOptions.FLASHCARD_DECKS)
      */
     public static List<FlashcardDeck> sortFlashcardDecks(List<FlashcardDeck> decks, String sortOption) {
         if (decks == null || sortOption == null) return decks;
-        
-        List<FlashcardDeck> sortedList = new ArrayList<>(decks);
-        
-        switch (sortOption) {
-            case "Title (A-Z)":
-                sortedList.sort((a, b) -> a.getTitle().compareToIgnoreCase(b.getTitle()));
-                break;
-            case "Title (Z-A)":
-                sortedList.sort((a, b) -> b.getTitle().compareToIgnoreCase(a.getTitle()));
-                break;
-            case "Date Created (Newest)":
-                sortedList.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
-                break;
-            case "Date Created (Oldest)":
-                sortedList.sort((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()));
-                break;
-            case "Subject (A-Z)":
-                sortedList.sort((a, b) -> a.getSubject().compareToIgnoreCase(b.getSubject()));
-                break;
-            case "Subject (Z-A)":
-                sortedList.sort((a, b) -> b.getSubject().compareToIgnoreCase(a.getSubject()));
-                break;
-            case "Difficulty (Easy to Hard)":
-                sortedList.sort((a, b) -> a.getDifficulty().compareTo(b.getDifficulty()));
-                break;
-            case "Difficulty (Hard to Easy)":
-                sortedList.sort((a, b) -> b.getDifficulty().compareTo(a.getDifficulty()));
-                break;
-            case "Card Count (Low to High)":
-                sortedList.sort((a, b) -> Integer.compare(a.getCardCount(), b.getCardCount()));
-                break;
-            case "Card Count (High to Low)":
-                sortedList.sort((a, b) -> Integer.compare(b.getCardCount(), a.getCardCount()));
-                break;
-        }
-        
-        return sortedList;
-    }
-    
-    /**
-     * Sort notes by various criteria
+        return SortOptions.FLASHCARD_DECKS.sort(decks, sortOption);
+    }
+    
+    /**
+     * Sort notes by various criteria (see SortOptions.NOTES)
      */
     public static List<Note> sortNotes(List<Note> notes, String sortOption) {
         if (notes == null || sortOption == null) return notes;
-        
-        List<Note> sortedList = new ArrayList<>(notes);
-        
-        switch (sortOption) {
-            case "Date Created (Newest)":
-                sortedList.sort((a, b) -> {
-                    if (a.getCreatedAt() == null && b.getCreatedAt() == null) return 0;
-                    if (a.getCreatedAt() == null) return 1;
-                    if (b.getCreatedAt() == null) return -1;
-                    return b.getCreatedAt().compareTo(a.getCreatedAt());
-                });
-                break;
-            case "Date Created (Oldest)":
-                sortedList.sort((a, b) -> {
-                    if (a.getCreatedAt() == null && b.getCreatedAt() == null) return 0;
-                    if (a.getCreatedAt() == null) return 1;
-                    if (b.getCreatedAt() == null) return -1;
-                    return a.getCreatedAt().compareTo(b.getCreatedAt());
-                });
-                break;
-            case "Title (A-Z)":
-                sortedList.sort((a, b) -> a.getTitle().compareToIgnoreCase(b.getTitle()));
-                break;
-            case "Title (Z-A)":
-                sortedList.sort((a, b) -> b.getTitle().compareToIgnoreCase(a.getTitle()));
-                break;
-            case "Subject (A-Z)":
-                sortedList.sort((a, b) -> a.getCategory().compareToIgnoreCase(b.getCategory()));
-                break;
-            case "Subject (Z-A)":
-                sortedList.sort((a, b) -> b.getCategory().compareToIgnoreCase(a.getCategory()));
-                break;
-            case "Last Modified (Newest)":
-                sortedList.sort((a, b) -> {
-                    if (a.getModifiedAt() == null && b.getModifiedAt() == null) return 0;
-                    if (a.getModifiedAt() == null) return 1;
-                    if (b.getModifiedAt() == null) return -1;
-                    return b.getModifiedAt().compareTo(a.getModifiedAt());
-                });
-                break;
-            case "Last Modified (Oldest)":
-                sortedList.sort((a, b) -> {
-                    if (a.getModifiedAt() == null && b.getModifiedAt() == null) return 0;
-                    if (a.getModifiedAt() == null) return 1;
-                    if (b.getModifiedAt() == null) return -1;
-                    return a.getModifiedAt().compareTo(b.getModifiedAt());
-                });
-                break;
-        }
-        
-        return sortedList;
-    }
-    
-    /**
-     * Sort quizzes by various criteria
+        return SortOptions.NOTES.sort(notes, sortOption);
+    }
+    
+    /**
+     * Sort quizzes by various criteria (see SortOptions.QUIZZES)
      */
     public static List<Quiz> sortQuizzes(List<Quiz> quizzes, String sortOption) {
         if (quizzes == null || sortOption == null) return quizzes;
-        
-        List<Quiz> sortedList = new ArrayList<>(quizzes);
-        
-        switch (sortOption) {
-            case "Title (A-Z)":
-                sortedList.sort((a, b) -> a.getTitle().compareToIgnoreCase(b.getTitle()));
-                break;
-            case "Title (Z-A)":
-                sortedList.sort((a, b) -> b.getTitle().compareToIgnoreCase(a.getTitle()));
-                break;
-            case "Date Created (Newest)":
-                sortedList.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
-                break;
-            case "Date Created (Oldest)":
-                sortedList.sort((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()));
-                break;
-            case "Subject (A-Z)":
-                sortedList.sort((a, b) -> a.getSubject().compareToIgnoreCase(b.getSubject()));
-                break;
-            case "Subject (Z-A)":
-                sortedList.sort((a, b) -> b.getSubject().compareToIgnoreCase(a.getSubject()));
-                break;
-            case "Difficulty (Easy to Hard)":
-                sortedList.sort((a, b) -> a.getDifficulty().compareTo(b.getDifficulty()));
-                break;
-            case "Difficulty (Hard to Easy)":
-                sortedList.sort((a, b) -> b.getDifficulty().compareTo(a.getDifficulty()));
-                break;
-            case "Question Count (Low to High)":
-                sortedList.sort((a, b) -> Integer.compare(a.getQuestionCount(), b.getQuestionCount()));
-                break;
-            case "Question Count (High to Low)":
-                sortedList.sort((a, b) -> Integer.compare(b.getQuestionCount(), a.getQuestionCount()));
-                break;
-        }
-        
-        return sortedList;
-    }
-    
-    
-    /**
-     * Sort todo items by various criteria
+        return SortOptions.QUIZZES.sort(quizzes, sortOption);
+    }
+    
+    
+    /**
+     * Sort todo items by various criteria (see SortOptions.TODO_ITEMS)
      */
     public static List<TodoItem> sortTodoItems(List<TodoItem> items, String sortOption) {
         if (items == null || sortOption == null) return items;
-        
-        List<TodoItem> sortedList = new ArrayList<>(items);
-        
-        switch (sortOption) {
-            case "Priority (High to Low)":
-                sortedList.sort((a, b) -> b.getPriority().compareTo(a.getPriority()));
-                break;
-            case "Priority (Low to High)":
-                sortedList.sort((a, b) -> a.getPriority().compareTo(b.getPriority()));
-                break;
-            case "Due Date (Earliest)":
-                sortedList.sort((a, b) -> {
-                    if (a.getDueDate() == null && b.getDueDate() == null) return 0;
-                    if (a.getDueDate() == null) return 1;
-                    if (b.getDueDate() == null) return -1;
-                    return a.getDueDate().compareTo(b.getDueDate());
-                });
-                break;
-            case "Due Date (Latest)":
-                sortedList.sort((a, b) -> {
-                    if (a.getDueDate() == null && b.getDueDate() == null) return 0;
-                    if (a.getDueDate() == null) return -1;
-                    if (b.getDueDate() == null) return 1;
-                    return b.getDueDate().compareTo(a.getDueDate());
-                });
-                break;
-            case "Title (A-Z)":
-                sortedList.sort((a, b) -> a.getTitle().compareToIgnoreCase(b.getTitle()));
-                break;
-            case "Title (Z-A)":
-                sortedList.sort((a, b) -> b.getTitle().compareToIgnoreCase(a.getTitle()));
-                break;
-            case "Date Created (Newest)":
-                sortedList.sort((a, b) -> {
-                    if (a.getCreatedAt() == null && b.getCreatedAt() == null) return 0;
-                    if (a.getCreatedAt() == null) return 1;
-                    if (b.getCreatedAt() == null) return -1;
-                    return b.getCreatedAt().compareTo(a.getCreatedAt());
-                });
-                break;
-            case "Date Created (Oldest)":
-                sortedList.sort((a, b) -> {
-                    if (a.getCreatedAt() == null && b.getCreatedAt() == null) return 0;
-                    if (a.getCreatedAt() == null) return 1;
-                    if (b.getCreatedAt() == null) return -1;
-                    return a.getCreatedAt().compareTo(b.getCreatedAt());
-                });
-                break;
-        }
-        
-        return sortedList;
+        return SortOptions.TODO_ITEMS.sort(items, sortOption);
     }
     
     // ===================================================================
@@ -543,9 +329,7 @@ public class AlgorithmUtils {
         
         String lowerCaseFilter = searchText.toLowerCase();
         return flashcards.stream()
-            .filter(flashcard -> 
-                flashcard.getQuestion().toLowerCase().contains(lowerCaseFilter) ||
-                flashcard.getAnswer().toLowerCase().contains(lowerCaseFilter))
+            .filter(flashcard -> flashcardMatches(flashcard, lowerCaseFilter))
             .collect(Collectors.toList());
     }
     
@@ -559,10 +343,7 @@ public class AlgorithmUtils {
         
         String lowerCaseFilter = searchText.toLowerCase();
         return decks.stream()
-            .filter(deck -> 
-                deck.getTitle().toLowerCase().contains(lowerCaseFilter) ||
-                deck.getDescription().toLowerCase().contains(lowerCaseFilter) ||
-                deck.getSubject().toLowerCase().contains(lowerCaseFilter))
+            .filter(deck -> deckMatches(deck, lowerCaseFilter))
             .collect(Collectors.toList());
     }
     
@@ -576,10 +357,7 @@ public class AlgorithmUtils {
         
         String lowerCaseFilter = searchText.toLowerCase();
         return notes.stream()
-            .filter(note -> 
-                note.getTitle().toLowerCase().contains(lowerCaseFilter) ||
-                note.getContent().toLowerCase().contains(lowerCaseFilter) ||
-                note.getCategory().toLowerCase().contains(lowerCaseFilter))
+            .filter(note -> noteMatches(note, lowerCaseFilter))
             .collect(Collectors.toList());
     }
     
@@ -593,10 +371,7 @@ public class AlgorithmUtils {
         
         String lowerCaseFilter = searchText.toLowerCase();
         return quizzes.stream()
-            .filter(quiz -> 
-                quiz.getTitle().toLowerCase().contains(lowerCaseFilter) ||
-                quiz.getDescription().toLowerCase().contains(lowerCaseFilter) ||
-                quiz.getSubject().toLowerCase().contains(lowerCaseFilter))
+            .filter(quiz -> quizMatches(quiz, lowerCaseFilter))
             .collect(Collectors.toList());
     }
     
@@ -611,38 +386,151 @@ public class AlgorithmUtils {
         
         String lowerCaseFilter = searchText.toLowerCase();
         return items.stream()
-            .filter(item -> 
-                item.getTitle().toLowerCase().contains(lowerCaseFilter) ||
-                item.getDescription().toLowerCase().contains(lowerCaseFilter) ||
-                item.getCategory().toLowerCase().contains(lowerCaseFilter))
+            .filter(item -> todoItemMatches(item, lowerCaseFilter))
             .collect(Collectors.toList());
     }
     
+    private static boolean flashcardMatches(Flashcard flashcard, String lowerCaseFilter) {
+        return flashcard.getQuestion().toLowerCase().contains(lowerCaseFilter) ||
+               flashcard.getAnswer().toLowerCase().contains(lowerCaseFilter);
+    }
+    
+    private static boolean deckMatches(FlashcardDeck deck, String lowerCaseFilter) {
+        return deck.getTitle().toLowerCase().contains(lowerCaseFilter) ||
+               deck.getDescription().toLowerCase().contains(lowerCaseFilter) ||
+               deck.getSubject().toLowerCase().contains(lowerCaseFilter);
+    }
+    
+    private static boolean noteMatches(Note note, String lowerCaseFilter) {
+        return note.getTitle().toLowerCase().contains(lowerCaseFilter) ||
+               note.getContent().toLowerCase().contains(lowerCaseFilter) ||
+               note.getCategory().toLowerCase().contains(lowerCaseFilter);
+    }
+    
+    private static boolean quizMatches(Quiz quiz, String lowerCaseFilter) {
+        return quiz.getTitle().toLowerCase().contains(lowerCaseFilter) ||
+               quiz.getDescription().toLowerCase().contains(lowerCaseFilter) ||
+               quiz.getSubject().toLowerCase().contains(lowerCaseFilter);
+    }
+    
+    private static boolean todoItemMatches(TodoItem item, String lowerCaseFilter) {
+        return item.getTitle().toLowerCase().contains(lowerCaseFilter) ||
+               item.getDescription().toLowerCase().contains(lowerCaseFilter) ||
+               item.getCategory().toLowerCase().contains(lowerCaseFilter);
+    }
+    
+    // ===================================================================
+    // PARALLEL BULK OPERATIONS
+    // ===================================================================
+    
+    /**
+     * Lists at or above this size are filtered across cores
+     */
+    public static final int PARALLEL_FILTER_THRESHOLD = 10_000;
+    
+    /**
+     * Filter any list in parallel once it is large enough; keeps the original order
+     */
+    public static <T> List<T> parallelFilter(List<T> list, java.util.function.Predicate<? super T> predicate) {
+        if (list == null) return null;
+        if (list.size() < PARALLEL_FILTER_THRESHOLD) {
+            return list.stream().filter(predicate).collect(Collectors.toList());
+        }
+        return list.parallelStream().filter(predicate).collect(Collectors.toList());
+    }
+    
+    /**
+     * Parallel variant of filterFlashcards for bulk work (export, duplicate scans, analytics)
+     */
+    public static List<Flashcard> parallelFilterFlashcards(List<Flashcard> flashcards, String searchText) {
+        if (flashcards == null || searchText == null || searchText.trim().isEmpty()) {
+            return flashcards;
+        }
+        String lowerCaseFilter = searchText.toLowerCase();
+        return parallelFilter(flashcards, flashcard -> flashcardMatches(flashcard, lowerCaseFilter));
+    }
+    
+    /**
+     * Parallel variant of filterFlashcardDecks
+     */
+    public static List<FlashcardDeck> parallelFilterFlashcardDecks(List<FlashcardDeck> decks, String searchText) {
+        if (decks == null || searchText == null || searchText.trim().isEmpty()) {
+            return decks;
+        }
+        String lowerCaseFilter = searchText.toLowerCase();
+        return parallelFilter(decks, deck -> deckMatches(deck, lowerCaseFilter));
+    }
+    
+    /**
+     * Parallel variant of filterNotes
+     */
+    public static List<Note> parallelFilterNotes(List<Note> notes, String searchText) {
+        if (notes == null || searchText == null || searchText.trim().isEmpty()) {
+            return notes;
+        }
+        String lowerCaseFilter = searchText.toLowerCase();
+        return parallelFilter(notes, note -> noteMatches(note, lowerCaseFilter));
+    }
+    
+    /**
+     * Parallel variant of filterQuizzes
+     */
+    public static List<Quiz> parallelFilterQuizzes(List<Quiz> quizzes, String searchText) {
+        if (quizzes == null || searchText == null || searchText.trim().isEmpty()) {
+            return quizzes;
+        }
+        String lowerCaseFilter = searchText.toLowerCase();
+        return parallelFilter(quizzes, quiz -> quizMatches(quiz, lowerCaseFilter));
+    }
+    
+    /**
+     * Parallel variant of filterTodoItems
+     */
+    public static List<TodoItem> parallelFilterTodoItems(List<TodoItem> items, String searchText) {
+        if (items == null || searchText == null || searchText.trim().isEmpty()) {
+            return items;
+        }
+        String lowerCaseFilter = searchText.toLowerCase();
+        return parallelFilter(items, item -> todoItemMatches(item, lowerCaseFilter));
+    }
+    
+    /**
+     * Parallel stable merge sort on the common fork/join pool
+     * Falls back to a sequential merge below ParallelMergeSort.DEFAULT_THRESHOLD elements
+     */
+    public static <T extends Comparable<T>> void parallelMergeSort(List<T> list) {
+        if (list == null || list.size() <= 1) return;
+        ParallelMergeSort.sort(list);
+    }
+    
+    /**
+     * Parallel stable merge sort with a comparator and a tunable sequential threshold
+     */
+    public static <T> void parallelMergeSort(List<T> list, Comparator<? super T> comparator, int threshold) {
+        if (list == null || list.size() <= 1) return;
+        ParallelMergeSort.sort(list, comparator, threshold, java.util.concurrent.ForkJoinPool.commonPool());
+    }
+    
     // ===================================================================
     // PERFORMANCE UTILITIES
     // ===================================================================
     
     /**
-     * Choose the best sorting algorithm based on data size and characteristics
+     * Sort any list in O(n log n), adapting to existing order
+     * Copies into an array, merges pre-sorted runs or falls back to introsort,
+     * then writes back in one pass (see SortEngine)
      */
     public static <T extends Comparable<T>> void smartSort(List<T> list) {
         if (list == null || list.size() <= 1) return;
-        
-        int size = list.size();
-        
-        if (size <= 10) {
-            // Use insertion sort for very small lists
-            insertionSort(list);
-        } else if (size <= 50) {
-            // Use selection sort for small lists
-            selectionSort(list);
-        } else if (size <= 1000) {
-            // Use heap sort for medium lists (guaranteed O(n log n))
-            heapSort(list);
-        } else {
-            // Use quick sort for large lists (average O(n log n))
-            quickSort(list);
-        }
+        SortEngine.sort(list);
+    }
+    
+    /**
+     * Sort any list by a comparator with the same engine as smartSort
+     */
+    public static <T> void smartSort(List<T> list, Comparator<? super T> comparator) {
+        if (list == null || list.size() <= 1) return;
+        SortEngine.sort(list, comparator);
     }
     
     /**
@@ -663,13 +551,20 @@ public class AlgorithmUtils {
      * Get the median of a list (for pivot selection in quick sort)
      */
     public static <T extends Comparable<T>> T getMedian(List<T> list, int left, int right) {
+        return getMedian(list, left, right, Comparator.naturalOrder());
+    }
+    
+    /**
+     * Get the median of first, middle and last element under a comparator
+     */
+    public static <T> T getMedian(List<T> list, int left, int right, Comparator<? super T> comparator) {
         int mid = left + (right - left) / 2;
         T a = list.get(left);
         T b = list.get(mid);
         T c = list.get(right);
         
-        if (a.compareTo(b) <= 0 && b.compareTo(c) <= 0) return b;
-        if (a.compareTo(c) <= 0 && c.compareTo(b) <= 0) return c;
+        if (comparator.compare(a, b) <= 0 && comparator.compare(b, c) <= 0) return b;
+        if (comparator.compare(a, c) <= 0 && comparator.compare(c, b) <= 0) return c;
         return a;
     }
     
@@ -708,52 +603,369 @@ public class AlgorithmUtils {
     
     /**
      * Get the k-th smallest element using quick select
+     * (iterative introselect over an array copy; the list itself is untouched)
      */
+    @SuppressWarnings("unchecked")
     public static <T extends Comparable<T>> T quickSelect(List<T> list, int k) {
         if (list == null || k < 0 || k >= list.size()) {
             throw new IllegalArgumentException("Invalid parameters");
         }
         
-        List<T> copy = new ArrayList<>(list);
-        return quickSelectHelper(copy, 0, copy.size() - 1, k);
+        Object[] copy = list.toArray();
+        TopK.select(copy, k, (a, b) -> ((T) a).compareTo((T) b));
+        return (T) copy[k];
     }
     
-    private static <T extends Comparable<T>> T quickSelectHelper(List<T> list, int left, int right, int k) {
-        if (left == right) return list.get(left);
+    // ===================================================================
+    // TOP-K SELECTION
+    // ===================================================================
+    
+    /**
+     * The k first elements under the comparator, first element first, without
+     * sorting the rest. Runs in O(n log k) with O(k) extra memory over any Iterable,
+     * so DataStore results (or a stream's iterator) can be fed in directly.
+     */
+    public static <T> List<T> topK(Iterable<? extends T> items, int k, Comparator<? super T> comparator) {
+        if (items == null) return new ArrayList<>();
+        return TopK.smallest(items, k, comparator);
+    }
+    
+    /**
+     * The k first elements of a list sort option, e.g. topK(decks, 10, SortOptions.FLASHCARD_DECKS.get("Card Count (High to Low)"))
+     */
+    public static <T> List<T> topK(Iterable<? extends T> items, int k, SortOption<T> sortOption) {
+        return topK(items, k, sortOption.comparator());
+    }
+    
+    /**
+     * The k elements with the smallest primitive key; keys are read once per element.
+     * Combine with the RadixSort key helpers for "most" or "latest" (descending) orders.
+     */
+    public static <T> List<T> topKByKey(Iterable<? extends T> items, int k, java.util.function.ToLongFunction<? super T> keyExtractor) {
+        if (items == null) return new ArrayList<>();
+        return TopK.smallestByKey(items, k, keyExtractor);
+    }
+    
+    /**
+     * Collector form of topK for streams
+     */
+    public static <T> java.util.stream.Collector<T, ?, List<T>> topKCollector(int k, Comparator<? super T> comparator) {
+        return TopK.collector(k, comparator);
+    }
+    
+    /**
+     * Reorders the list in place so its first k elements are the k smallest, in order
+     * (introselect, then a sort of just those k). Expected O(n + k log k).
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void selectTopK(List<T> list, int k, Comparator<? super T> comparator) {
+        if (list == null || list.size() <= 1 || k <= 0) return;
         
-        int pivotIndex = partition(list, left, right);
+        T[] array = (T[]) list.toArray();
+        TopK.selectSmallest(array, k, comparator);
         
-        if (k == pivotIndex) {
-            return list.get(k);
-        } else if (k < pivotIndex) {
-            return quickSelectHelper(list, left, pivotIndex - 1, k);
-        } else {
-            return quickSelectHelper(list, pivotIndex + 1, right, k);
+        ListIterator<T> iterator = list.listIterator();
+        for (T element : array) {
+            iterator.next();
+            iterator.set(element);
         }
     }
     
+    /**
+     * Hardest flashcards first: highest difficulty, then least studied
+     */
+    public static List<Flashcard> hardestFlashcards(Iterable<Flashcard> flashcards, int k) {
+        return topKByKey(flashcards, k, card -> {
+            long difficulty = card.getDifficulty() == null ? 0 : card.getDifficulty().ordinal();
+            // Difficulty in the high bits (descending), times studied in the low bits (ascending)
+            return -(difficulty << 32) + Math.min(card.getTimesStudied(), Integer.MAX_VALUE);
+        });
+    }
+    
+    /**
+     * Most recently studied decks first; decks never studied are left out
+     */
+    public static List<FlashcardDeck> recentlyStudiedDecks(Iterable<FlashcardDeck> decks, int k) {
+        List<FlashcardDeck> recent = topKByKey(decks, k,
+            deck -> RadixSort.timeKey(deck.getLastStudied(), true, RadixSort.NULLS_LAST));
+        recent.removeIf(deck -> deck.getLastStudied() == null);
+        return recent;
+    }
+    
+    // ===================================================================
+    // EXTERNAL SORTING
+    // ===================================================================
+    
+    /**
+     * Default run budget for external sorts: an eighth of the maximum heap
+     */
+    public static long defaultExternalSortBudget() {
+        return Runtime.getRuntime().maxMemory() / 8;
+    }
+    
+    /**
+     * Sorts input that may not fit in the heap: runs within the memory budget are
+     * spilled to temp files and merged back with a loser tree, and the records are
+     * streamed to the consumer in order (stable)
+     */
+    public static <T> void externalSort(Iterator<? extends T> input, Comparator<? super T> comparator,
+                                        ExternalSort.Codec<T> codec, long memoryBudget,
+                                        java.util.function.Consumer<? super T> output) throws java.io.IOException {
+        new ExternalSort<>(comparator, codec, memoryBudget, null).sort(input, output);
+    }
+    
+    public static <T> void externalSort(Iterator<? extends T> input, Comparator<? super T> comparator,
+                                        ExternalSort.Codec<T> codec,
+                                        java.util.function.Consumer<? super T> output) throws java.io.IOException {
+        externalSort(input, comparator, codec, defaultExternalSortBudget(), output);
+    }
+    
+    /**
+     * Streams an activity history in timestamp order, oldest first
+     */
+    public static void externalSortActivities(Iterator<Activity> activities,
+                                              java.util.function.Consumer<Activity> output) throws java.io.IOException {
+        externalSort(activities,
+            Comparator.comparing(Activity::getTimestamp, Comparator.nullsLast(Comparator.naturalOrder())),
+            ExternalSort.ACTIVITY_CODEC, output);
+    }
+    
+    // ===================================================================
+    // INSTRUMENTED ALGORITHMS
+    // ===================================================================
+    
+    /*
+     * Each variant runs the same algorithm as its plain counterpart and returns what
+     * it cost. With the thread's PerformanceRecorder (PerformanceRecorder.current())
+     * enabled, the elements are wrapped so every compareTo goes through a
+     * CountingComparator, and the list is wrapped in a CountingList that counts writes. Allocation is read from ThreadMXBean around
+     * the algorithm only, so the wrappers themselves are not counted. With the
+     * recorder disabled only the time is measured, and the counts are -1.
+     */
+    
+    public static <T extends Comparable<T>> PerformanceMetrics bubbleSortWithMetrics(List<T> list) {
+        return measureSort("bubbleSort", list, AlgorithmUtils::bubbleSort, AlgorithmUtils::bubbleSort);
+    }
+    
+    public static <T extends Comparable<T>> PerformanceMetrics quickSortWithMetrics(List<T> list) {
+        return measureSort("quickSort", list, AlgorithmUtils::quickSort, AlgorithmUtils::quickSort);
+    }
+    
+    public static <T extends Comparable<T>> PerformanceMetrics mergeSortWithMetrics(List<T> list) {
+        return measureSort("mergeSort", list, AlgorithmUtils::mergeSort, AlgorithmUtils::mergeSort);
+    }
+    
+    public static <T extends Comparable<T>> PerformanceMetrics heapSortWithMetrics(List<T> list) {
+        return measureSort("heapSort", list, AlgorithmUtils::heapSort, AlgorithmUtils::heapSort);
+    }
+    
+    public static <T extends Comparable<T>> PerformanceMetrics insertionSortWithMetrics(List<T> list) {
+        return measureSort("insertionSort", list, AlgorithmUtils::insertionSort, AlgorithmUtils::insertionSort);
+    }
+    
+    public static <T extends Comparable<T>> PerformanceMetrics selectionSortWithMetrics(List<T> list) {
+        return measureSort("selectionSort", list, AlgorithmUtils::selectionSort, AlgorithmUtils::selectionSort);
+    }
+    
+    public static <T extends Comparable<T>> PerformanceMetrics smartSortWithMetrics(List<T> list) {
+        return measureSort("smartSort", list, AlgorithmUtils::smartSort, AlgorithmUtils::smartSort);
+    }
+    
+    /**
+     * Comparisons from the worker threads are counted; their allocation is not
+     */
+    public static <T extends Comparable<T>> PerformanceMetrics parallelMergeSortWithMetrics(List<T> list) {
+        return measureSort("parallelMergeSort", list, AlgorithmUtils::parallelMergeSort, AlgorithmUtils::parallelMergeSort);
+    }
+    
+    /**
+     * smartSort by a comparator; the comparator itself is counted, no element wrapping needed
+     */
+    public static <T> PerformanceMetrics smartSortWithMetrics(List<T> list, Comparator<? super T> comparator) {
+        PerformanceRecorder recorder = PerformanceRecorder.current();
+        int size = list == null ? 0 : list.size();
+        if (!recorder.isEnabled() || list == null) {
+            long start = System.nanoTime();
+            smartSort(list, comparator);
+            return new PerformanceMetrics("smartSort", size, System.nanoTime() - start, -1, -1, -1);
+        }
+        
+        CountingComparator<T> counting = new CountingComparator<>(comparator);
+        CountingList<T> view = new CountingList<>(list);
+        long startBytes = PerformanceRecorder.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        smartSort(view, counting);
+        long nanos = System.nanoTime() - start;
+        PerformanceMetrics metrics = new PerformanceMetrics("smartSort", size, nanos,
+            counting.getComparisons(), swapsFor(view), allocatedSince(startBytes));
+        recorder.record(metrics);
+        return metrics;
+    }
+    
+    /**
+     * The searches read each probed element once and compare it once, so for
+     * them comparisons are counted as element reads
+     */
+    public static <T> MeasuredResult<Integer> linearSearchWithMetrics(List<T> list, T target) {
+        return measureSearch("linearSearch", list, view -> linearSearch(view, target));
+    }
+    
+    public static <T extends Comparable<T>> MeasuredResult<Integer> binarySearchWithMetrics(List<T> sortedList, T target) {
+        return measureSearch("binarySearch", sortedList, view -> binarySearch(view, target));
+    }
+    
+    public static <T extends Comparable<T>> MeasuredResult<Integer> interpolationSearchWithMetrics(List<T> sortedList, T target) {
+        return measureSearch("interpolationSearch", sortedList, view -> interpolationSearch(view, target));
+    }
+    
+    private static <T extends Comparable<T>> PerformanceMetrics measureSort(
+            String operation, List<T> list,
+            java.util.function.Consumer<List<T>> plain,
+            java.util.function.Consumer<List<Counted<T>>> instrumented) {
+        PerformanceRecorder recorder = PerformanceRecorder.current();
+        int size = list == null ? 0 : list.size();
+        if (!recorder.isEnabled() || list == null) {
+            long start = System.nanoTime();
+            plain.accept(list);
+            return new PerformanceMetrics(operation, size, System.nanoTime() - start, -1, -1, -1);
+        }
+        
+        CountingComparator<T> comparator = CountingComparator.natural();
+        List<Counted<T>> wrapped = new ArrayList<>(size);
+        for (T item : list) {
+            wrapped.add(new Counted<>(item, comparator));
+        }
+        CountingList<Counted<T>> view = new CountingList<>(wrapped);
+        
+        long startBytes = PerformanceRecorder.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        instrumented.accept(view);
+        long nanos = System.nanoTime() - start;
+        long allocated = allocatedSince(startBytes);
+        
+        ListIterator<T> iterator = list.listIterator();
+        for (Counted<T> element : wrapped) {
+            iterator.next();
+            iterator.set(element.value);
+        }
+        PerformanceMetrics metrics = new PerformanceMetrics(operation, size, nanos,
+            comparator.getComparisons(), swapsFor(view), allocated);
+        recorder.record(metrics);
+        return metrics;
+    }
+    
+    private static <T> MeasuredResult<Integer> measureSearch(
+            String operation, List<T> list, java.util.function.ToIntFunction<List<T>> search) {
+        PerformanceRecorder recorder = PerformanceRecorder.current();
+        int size = list == null ? 0 : list.size();
+        if (!recorder.isEnabled() || list == null) {
+            long start = System.nanoTime();
+            int index = search.applyAsInt(list);
+            return new MeasuredResult<>(index,
+                new PerformanceMetrics(operation, size, System.nanoTime() - start, -1, -1, -1));
+        }
+        
+        CountingList<T> view = new CountingList<>(list);
+        long startBytes = PerformanceRecorder.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        int index = search.applyAsInt(view);
+        long nanos = System.nanoTime() - start;
+        PerformanceMetrics metrics = new PerformanceMetrics(operation, size, nanos,
+            view.getReads(), 0, allocatedSince(startBytes));
+        recorder.record(metrics);
+        return new MeasuredResult<>(index, metrics);
+    }
+    
+    /**
+     * Swaps are not counted directly: they are estimated from the list's writes as
+     * (writes + 1) / 2. That is exact for the swapping sorts (bubble, selection,
+     * heap, quick). Insertion sort's shifts count as half a swap each, and the merge
+     * sorts only write every element back once, so for them this is (n + 1) / 2
+     * write-backs, not swaps.
+     */
+    private static long swapsFor(CountingList<?> view) {
+        return (view.getWrites() + 1) / 2;
+    }
+    
+    private static long allocatedSince(long startBytes) {
+        if (startBytes < 0) return -1;
+        long now = PerformanceRecorder.currentThreadAllocatedBytes();
+        return now < 0 ? -1 : now - startBytes;
+    }
+    
+    /**
+     * Element wrapper whose compareTo goes through a counting comparator
+     */
+    private static final class Counted<T> implements Comparable<Counted<T>> {
+        private final T value;
+        private final CountingComparator<T> comparator;
+        
+        Counted(T value, CountingComparator<T> comparator) {
+            this.value = value;
+            this.comparator = comparator;
+        }
+        
+        @Override
+        public int compareTo(Counted<T> other) {
+            return comparator.compare(value, other.value);
+        }
+    }
+    
+    /**
+     * A search result together with what the search cost
+     */
+    public static class MeasuredResult<R> {
+        private final R result;
+        private final PerformanceMetrics metrics;
+        
+        public MeasuredResult(R result, PerformanceMetrics metrics) {
+            this.result = result;
+            this.metrics = metrics;
+        }
+        
+        public R getResult() { return result; }
+        public PerformanceMetrics getMetrics() { return metrics; }
+    }
+    
     /**
      * Calculate the performance metrics for sorting algorithms
+     * Counts are -1 when they were not measured (instrumentation off). Swaps are
+     * estimated from list writes (see swapsFor), and searches report 0.
      */
     public static class PerformanceMetrics {
-        private final long executionTime;
-        private final int comparisons;
-        private final int swaps;
+        private final String operation;
+        private final int inputSize;
+        private final long executionNanos;
+        private final long comparisons;
+        private final long swaps;
+        private final long allocatedBytes;
         
         public PerformanceMetrics(long executionTime, int comparisons, int swaps) {
-            this.executionTime = executionTime;
+            this("unnamed", 0, executionTime * 1_000_000L, comparisons, swaps, -1);
+        }
+        
+        public PerformanceMetrics(String operation, int inputSize, long executionNanos,
+                                  long comparisons, long swaps, long allocatedBytes) {
+            this.operation = operation;
+            this.inputSize = inputSize;
+            this.executionNanos = executionNanos;
             this.comparisons = comparisons;
             this.swaps = swaps;
+            this.allocatedBytes = allocatedBytes;
         }
         
-        public long getExecutionTime() { return executionTime; }
-        public int getComparisons() { return comparisons; }
-        public int getSwaps() { return swaps; }
+        public String getOperation() { return operation; }
+        public int getInputSize() { return inputSize; }
+        public long getExecutionTime() { return executionNanos / 1_000_000L; }
+        public long getExecutionNanos() { return executionNanos; }
+        public long getComparisons() { return comparisons; }
+        public long getSwaps() { return swaps; }
+        public long getAllocatedBytes() { return allocatedBytes; }
         
         @Override
         public String toString() {
-            return String.format("Execution Time: %dms, Comparisons: %d, Swaps: %d", 
-                executionTime, comparisons, swaps);
+            return String.format("Execution Time: %dms, Comparisons: %d, Swaps: %d, Allocated: %d bytes", 
+                getExecutionTime(), comparisons, swaps, allocatedBytes);
         }
     }
 }
@@ -0,0 +1,446 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+
+import java.util.*;
+
+//============ autocomplete index =============
+//this is where titles, subjects, categories and tags are kept in prefix tries for fast completion
+
+public class AutocompleteIndex {
+
+    /**
+     * Vocabularies that can be completed independently
+     */
+    public enum Field {
+        TITLE,
+        SUBJECT,
+        CATEGORY,
+        TAG
+    }
+
+    private static AutocompleteIndex instance;
+
+    private final Map<Field, PrefixTrie> tries;
+    // Terms contributed by each item ("note:<id>", "deck:<id>", ...) so re-saves replace old terms
+    private final Map<String, List<Contribution>> contributions;
+    private String loadedUserId;
+
+    private AutocompleteIndex() {
+        this.tries = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            tries.put(field, new PrefixTrie());
+        }
+        this.contributions = new HashMap<>();
+    }
+
+    public static AutocompleteIndex getInstance() {
+        if (instance == null) {
+            instance = new AutocompleteIndex();
+        }
+        return instance;
+    }
+
+    // ===================================================================
+    // LOADING
+    // ===================================================================
+
+    /**
+     * Builds the index from the current user's data the first time it is needed,
+     * and again whenever a different user signs in
+     */
+    public synchronized void ensureLoaded() {
+        DataStore dataStore = DataStore.getInstance();
+        User user = dataStore.getCurrentUser();
+        String userId = user != null ? user.getId() : null;
+
+        if (loadedUserId != null && loadedUserId.equals(userId)) {
+            return;
+        }
+
+        clear();
+        if (userId == null) {
+            return;
+        }
+
+        for (FlashcardDeck deck : dataStore.getAllFlashcardDecks()) {
+            indexDeck(deck);
+        }
+        for (Quiz quiz : dataStore.getAllQuizzes()) {
+            indexQuiz(quiz);
+        }
+        for (Note note : dataStore.getAllNotes()) {
+            indexNote(note);
+        }
+        for (TodoItem item : dataStore.getAllTodoItems()) {
+            indexTodoItem(item);
+        }
+        loadedUserId = userId;
+    }
+
+    /**
+     * Whether the index currently mirrors a user's data
+     */
+    public synchronized boolean isLoaded() {
+        return loadedUserId != null;
+    }
+
+    /**
+     * Drops all terms; the next ensureLoaded() rebuilds from the data store
+     */
+    public synchronized void clear() {
+        for (PrefixTrie trie : tries.values()) {
+            trie.clear();
+        }
+        contributions.clear();
+        loadedUserId = null;
+    }
+
+    // ===================================================================
+    // INCREMENTAL UPDATES
+    // ===================================================================
+
+    public synchronized void indexDeck(FlashcardDeck deck) {
+        if (deck == null || deck.getId() == null) return;
+        List<Contribution> terms = new ArrayList<>();
+        addTerm(terms, Field.TITLE, deck.getTitle());
+        addTerm(terms, Field.SUBJECT, deck.getSubject());
+        replace("deck:" + deck.getId(), terms);
+    }
+
+    public synchronized void indexQuiz(Quiz quiz) {
+        if (quiz == null || quiz.getId() == null) return;
+        List<Contribution> terms = new ArrayList<>();
+        addTerm(terms, Field.TITLE, quiz.getTitle());
+        addTerm(terms, Field.SUBJECT, quiz.getSubject());
+        replace("quiz:" + quiz.getId(), terms);
+    }
+
+    public synchronized void indexNote(Note note) {
+        if (note == null || note.getId() == null) return;
+        List<Contribution> terms = new ArrayList<>();
+        addTerm(terms, Field.TITLE, note.getTitle());
+        // Notes store their subject in the category column
+        addTerm(terms, Field.SUBJECT, note.getCategory());
+        if (note.getTags() != null) {
+            for (String tag : note.getTags()) {
+                addTerm(terms, Field.TAG, tag);
+            }
+        }
+        replace("note:" + note.getId(), terms);
+    }
+
+    public synchronized void indexTodoItem(TodoItem item) {
+        if (item == null || item.getId() == null) return;
+        List<Contribution> terms = new ArrayList<>();
+        addTerm(terms, Field.CATEGORY, item.getCategory());
+        replace("todo:" + item.getId(), terms);
+    }
+
+    public synchronized void removeDeck(String id) {
+        replace("deck:" + id, Collections.emptyList());
+    }
+
+    public synchronized void removeQuiz(String id) {
+        replace("quiz:" + id, Collections.emptyList());
+    }
+
+    public synchronized void removeNote(String id) {
+        replace("note:" + id, Collections.emptyList());
+    }
+
+    public synchronized void removeTodoItem(String id) {
+        replace("todo:" + id, Collections.emptyList());
+    }
+
+    private void addTerm(List<Contribution> terms, Field field, String value) {
+        String key = normalize(value);
+        if (!key.isEmpty()) {
+            terms.add(new Contribution(field, key, value.trim().replaceAll("\\s+", " ")));
+        }
+    }
+
+    private void replace(String itemKey, List<Contribution> newTerms) {
+        List<Contribution> oldTerms = contributions.remove(itemKey);
+        if (oldTerms != null) {
+            for (Contribution term : oldTerms) {
+                tries.get(term.field).remove(term.key);
+            }
+        }
+        for (Contribution term : newTerms) {
+            tries.get(term.field).add(term.key, term.display);
+        }
+        if (!newTerms.isEmpty()) {
+            contributions.put(itemKey, newTerms);
+        }
+    }
+
+    // ===================================================================
+    // QUERIES
+    // ===================================================================
+
+    /**
+     * Returns up to limit completions of prefix, most frequently used first
+     */
+    public synchronized List<String> complete(Field field, String prefix, int limit) {
+        return tries.get(field).topK(normalize(prefix), limit);
+    }
+
+    /**
+     * Completes across several vocabularies, merging by frequency (used by search boxes)
+     */
+    public synchronized List<String> complete(String prefix, int limit, Field... fields) {
+        String key = normalize(prefix);
+        List<PrefixTrie.Completion> merged = new ArrayList<>();
+        for (Field field : fields) {
+            merged.addAll(tries.get(field).topKCompletions(key, limit));
+        }
+        merged.sort((a, b) -> b.count != a.count ? Integer.compare(b.count, a.count) : a.key.compareTo(b.key));
+
+        List<String> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (PrefixTrie.Completion completion : merged) {
+            if (result.size() >= limit) break;
+            if (seen.add(completion.key)) {
+                result.add(completion.display);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Maps a typed value onto the spelling already in use (e.g. "math " -> "Math"),
+     * so case and whitespace variants don't split a subject in two
+     */
+    public synchronized String canonicalize(Field field, String value) {
+        if (value == null) return null;
+        String display = tries.get(field).displayOf(normalize(value));
+        return display != null ? display : value.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * All known values of a field, most frequent first
+     */
+    public synchronized List<String> getAll(Field field) {
+        return tries.get(field).topK("", Integer.MAX_VALUE);
+    }
+
+    static String normalize(String value) {
+        if (value == null) return "";
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static class Contribution {
+        final Field field;
+        final String key;
+        final String display;
+
+        Contribution(Field field, String key, String display) {
+            this.field = field;
+            this.key = key;
+            this.display = display;
+        }
+    }
+
+    // ===================================================================
+    // PREFIX TRIE
+    // ===================================================================
+
+    /**
+     * Counted prefix trie. Every node caches the highest term count in its subtree,
+     * so top-k is a best-first walk that only opens branches able to beat the
+     * current k-th result instead of enumerating every completion.
+     */
+    static class PrefixTrie {
+        private Node root = new Node();
+        private int size;
+
+        static class Completion {
+            final String key;
+            final String display;
+            final int count;
+
+            Completion(String key, String display, int count) {
+                this.key = key;
+                this.display = display;
+                this.count = count;
+            }
+        }
+
+        private static class SearchEntry implements Comparable<SearchEntry> {
+            final Node node;
+            final boolean term;
+            final int priority;
+
+            SearchEntry(Node node, boolean term) {
+                this.node = node;
+                this.term = term;
+                this.priority = term ? node.count : node.maxCount;
+            }
+
+            @Override
+            public int compareTo(SearchEntry other) {
+                if (priority != other.priority) return Integer.compare(other.priority, priority);
+                // Prefer finished terms on ties, then alphabetical for stable output
+                if (term != other.term) return term ? -1 : 1;
+                return term ? node.key.compareTo(other.node.key) : 0;
+            }
+        }
+
+        private static class Node {
+            // Children kept in parallel arrays sorted by label: compact and binary-searchable
+            char[] labels = new char[0];
+            Node[] children = new Node[0];
+            int count;
+            int maxCount;
+            String key;
+            String display;
+
+            Node child(char c) {
+                int i = Arrays.binarySearch(labels, c);
+                return i >= 0 ? children[i] : null;
+            }
+
+            Node addChild(char c) {
+                int i = Arrays.binarySearch(labels, c);
+                if (i >= 0) return children[i];
+                int insertAt = -i - 1;
+                char[] newLabels = new char[labels.length + 1];
+                Node[] newChildren = new Node[children.length + 1];
+                System.arraycopy(labels, 0, newLabels, 0, insertAt);
+                System.arraycopy(children, 0, newChildren, 0, insertAt);
+                newLabels[insertAt] = c;
+                newChildren[insertAt] = new Node();
+                System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+                System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+                labels = newLabels;
+                children = newChildren;
+                return newChildren[insertAt];
+            }
+
+            void removeChild(char c) {
+                int i = Arrays.binarySearch(labels, c);
+                if (i < 0) return;
+                char[] newLabels = new char[labels.length - 1];
+                Node[] newChildren = new Node[children.length - 1];
+                System.arraycopy(labels, 0, newLabels, 0, i);
+                System.arraycopy(children, 0, newChildren, 0, i);
+                System.arraycopy(labels, i + 1, newLabels, i, labels.length - i - 1);
+                System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+                labels = newLabels;
+                children = newChildren;
+            }
+
+            void recomputeMax() {
+                int max = count;
+                for (Node child : children) {
+                    if (child.maxCount > max) max = child.maxCount;
+                }
+                maxCount = max;
+            }
+        }
+
+        void add(String key, String display) {
+            Node[] path = new Node[key.length() + 1];
+            Node node = root;
+            path[0] = node;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.addChild(key.charAt(i));
+                path[i + 1] = node;
+            }
+            if (node.count == 0) {
+                node.key = key;
+                node.display = display;
+                size++;
+            }
+            node.count++;
+            for (int i = path.length - 1; i >= 0; i--) {
+                path[i].recomputeMax();
+            }
+        }
+
+        void remove(String key) {
+            Node[] path = new Node[key.length() + 1];
+            Node node = root;
+            path[0] = node;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.child(key.charAt(i));
+                if (node == null) return;
+                path[i + 1] = node;
+            }
+            if (node.count == 0) return;
+            node.count--;
+            if (node.count == 0) {
+                node.key = null;
+                node.display = null;
+                size--;
+            }
+            for (int i = path.length - 1; i >= 0; i--) {
+                path[i].recomputeMax();
+                // Prune branches that no longer lead to any term
+                if (i > 0 && path[i].maxCount == 0) {
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                }
+            }
+        }
+
+        String displayOf(String key) {
+            Node node = find(key);
+            return node != null && node.count > 0 ? node.display : null;
+        }
+
+        List<String> topK(String prefix, int k) {
+            List<String> result = new ArrayList<>();
+            for (Completion completion : topKCompletions(prefix, k)) {
+                result.add(completion.display);
+            }
+            return result;
+        }
+
+        List<Completion> topKCompletions(String prefix, int k) {
+            List<Completion> result = new ArrayList<>();
+            Node start = find(prefix);
+            if (start == null || start.maxCount == 0 || k <= 0) {
+                return result;
+            }
+
+            // Entries are either a subtree (bounded by maxCount) or a finished term (exact count);
+            // a term popped from the queue can't be beaten by anything still unexplored
+            PriorityQueue<SearchEntry> queue = new PriorityQueue<>();
+            queue.add(new SearchEntry(start, false));
+
+            while (!queue.isEmpty() && result.size() < k) {
+                SearchEntry entry = queue.poll();
+                Node node = entry.node;
+                if (entry.term) {
+                    result.add(new Completion(node.key, node.display, node.count));
+                    continue;
+                }
+                if (node.count > 0) {
+                    queue.add(new SearchEntry(node, true));
+                }
+                for (Node child : node.children) {
+                    queue.add(new SearchEntry(child, false));
+                }
+            }
+            return result;
+        }
+
+        void clear() {
+            root = new Node();
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private Node find(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            return node;
+        }
+    }
+}
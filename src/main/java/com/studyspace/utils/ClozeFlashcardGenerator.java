@@ -0,0 +1,202 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Flashcard;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+//============ cloze flashcard generator =============
+//this is where notes are turned into fill-in-the-blank flashcards without calling the AI service
+
+/**
+ * Makes cloze-deletion flashcards from note text in two streaming passes:
+ * 1. count how often each term occurs in the selected notes, and rank the terms
+ *    by tf-idf against the whole library (a term that is frequent here but rare
+ *    across the user's notes is what these notes are about)
+ * 2. walk the text sentence by sentence; a sentence containing a key term not yet
+ *    asked becomes a card with that term blanked out, handed to the caller at once
+ * Both passes read each character a constant number of times and keep only the
+ * term counts, so multi-megabyte notes take time linear in their length.
+ */
+public class ClozeFlashcardGenerator {
+
+    public static final String BLANK = "_____";
+    public static final int DEFAULT_MAX_CARDS = 40;
+    private static final int MIN_SENTENCE_WORDS = 6;
+    private static final int MAX_SENTENCE_WORDS = 40;
+    // Very short terms make vague blanks
+    private static final int MIN_ANSWER_LENGTH = 4;
+
+    private final ToIntFunction<String> documentFrequency;
+    private final int documentCount;
+    private final Flashcard.Difficulty difficulty;
+
+    /**
+     * @param documentFrequency number of library documents containing a lower-cased term
+     * @param documentCount number of library documents
+     */
+    public ClozeFlashcardGenerator(ToIntFunction<String> documentFrequency, int documentCount,
+                                   Flashcard.Difficulty difficulty) {
+        this.documentFrequency = documentFrequency;
+        this.documentCount = documentCount;
+        this.difficulty = difficulty != null ? difficulty : Flashcard.Difficulty.MEDIUM;
+    }
+
+    /**
+     * A generator using the signed-in user's library for document frequencies
+     */
+    public static ClozeFlashcardGenerator forCurrentUser(Flashcard.Difficulty difficulty) {
+        RelatedContentIndex index = RelatedContentIndex.getInstance();
+        index.ensureLoaded();
+        return new ClozeFlashcardGenerator(index::documentFrequency, index.size(), difficulty);
+    }
+
+    /**
+     * Streams up to maxCards cloze cards from the texts to the sink, in text order;
+     * returns how many were made
+     */
+    public int generate(List<? extends CharSequence> texts, int maxCards, Consumer<Flashcard> sink) {
+        if (maxCards <= 0) return 0;
+
+        // Pass 1: term counts over all the texts
+        Map<String, int[]> termCounts = new HashMap<>();
+        for (CharSequence text : texts) {
+            if (text == null) continue;
+            forEachWord(text, 0, text.length(), (start, end) -> {
+                String term = term(text, start, end);
+                if (term != null) {
+                    termCounts.computeIfAbsent(term, t -> new int[1])[0]++;
+                }
+            });
+        }
+
+        // Key terms: the best by tf-idf, a few more than cards wanted since some only
+        // occur in sentences too short or too long to ask
+        int keyCount = maxCards + maxCards / 2;
+        // Ties go to the longer term, which is usually the more specific one
+        Comparator<Map.Entry<String, Double>> byScore = Comparator
+            .comparing((Map.Entry<String, Double> entry) -> -entry.getValue())
+            .thenComparing(entry -> -entry.getKey().length());
+        List<Map.Entry<String, Double>> scored = new ArrayList<>(termCounts.size());
+        for (Map.Entry<String, int[]> entry : termCounts.entrySet()) {
+            if (entry.getKey().length() < MIN_ANSWER_LENGTH) continue;
+            scored.add(Map.entry(entry.getKey(), tfIdf(entry.getKey(), entry.getValue()[0])));
+        }
+        Map<String, Double> keyTerms = new HashMap<>();
+        for (Map.Entry<String, Double> entry : TopK.smallest(scored, keyCount, byScore)) {
+            keyTerms.put(entry.getKey(), entry.getValue());
+        }
+
+        // Pass 2: one card per key term, from the first sentence that can carry it
+        Set<String> asked = new HashSet<>();
+        int made = 0;
+        for (CharSequence text : texts) {
+            if (text == null) continue;
+            int length = text.length();
+            int sentenceStart = 0;
+            for (int i = 0; i < length && made < maxCards; i++) {
+                if (isSentenceEnd(text, i)) {
+                    if (makeCard(text, sentenceStart, i + 1, keyTerms, asked, sink)) made++;
+                    sentenceStart = i + 1;
+                }
+            }
+            if (made >= maxCards) break;
+            if (makeCard(text, sentenceStart, length, keyTerms, asked, sink)) made++;
+        }
+        return made;
+    }
+
+    /**
+     * Collects the cards of {@link #generate} into a list
+     */
+    public List<Flashcard> generate(List<? extends CharSequence> texts, int maxCards) {
+        List<Flashcard> cards = new ArrayList<>();
+        generate(texts, maxCards, cards::add);
+        return cards;
+    }
+
+    private boolean makeCard(CharSequence text, int start, int end, Map<String, Double> keyTerms,
+                             Set<String> asked, Consumer<Flashcard> sink) {
+        // Find the sentence's best key term not asked yet
+        int[] words = {0};
+        String[] best = {null};
+        double[] bestScore = {0};
+        forEachWord(text, start, end, (wordStart, wordEnd) -> {
+            words[0]++;
+            String term = term(text, wordStart, wordEnd);
+            if (term == null) return;
+            Double score = keyTerms.get(term);
+            if (score == null || asked.contains(term)) return;
+            if (score > bestScore[0] || (score == bestScore[0] && term.length() > best[0].length())) {
+                best[0] = term;
+                bestScore[0] = score;
+            }
+        });
+        if (best[0] == null || words[0] < MIN_SENTENCE_WORDS || words[0] > MAX_SENTENCE_WORDS) return false;
+
+        // Blank every occurrence; the answer keeps the casing of the first
+        String answerTerm = best[0];
+        StringBuilder cloze = new StringBuilder(end - start);
+        String[] answer = {null};
+        int[] copied = {start};
+        forEachWord(text, start, end, (wordStart, wordEnd) -> {
+            if (wordEnd - wordStart == answerTerm.length() && answerTerm.equals(term(text, wordStart, wordEnd))) {
+                cloze.append(text, copied[0], wordStart).append(BLANK);
+                if (answer[0] == null) answer[0] = text.subSequence(wordStart, wordEnd).toString();
+                copied[0] = wordEnd;
+            }
+        });
+        cloze.append(text, copied[0], end);
+
+        asked.add(answerTerm);
+        // Drop list bullets and heading marks in front of the sentence
+        String question = cloze.toString().replaceAll("\\s+", " ").trim().replaceFirst("^[-*#•>\\s]+", "");
+        sink.accept(new Flashcard(question, answer[0], difficulty));
+        return true;
+    }
+
+    private double tfIdf(String term, int count) {
+        // The selected notes are usually in the library already, so df starts at one
+        int df = Math.max(1, documentFrequency.applyAsInt(term));
+        return (1 + Math.log(count)) * Math.log(1.0 + (double) (documentCount + 1) / (df + 1));
+    }
+
+    /**
+     * Ends at ., ! or ? followed by whitespace, or at a line break (headings and list items)
+     */
+    private static boolean isSentenceEnd(CharSequence text, int i) {
+        char c = text.charAt(i);
+        if (c == '\n') return true;
+        if (c != '.' && c != '!' && c != '?') return false;
+        return i + 1 == text.length() || Character.isWhitespace(text.charAt(i + 1));
+    }
+
+    /**
+     * The lower-cased term of a word, or null if it is too short or a stop word
+     */
+    private static String term(CharSequence text, int start, int end) {
+        String word = text.subSequence(start, end).toString().toLowerCase();
+        return RelatedContentIndex.isIndexedTerm(word) ? word : null;
+    }
+
+    private interface WordVisitor {
+        void visit(int start, int end);
+    }
+
+    /**
+     * Calls the visitor with the bounds of each letter/digit run in [from, to)
+     */
+    private static void forEachWord(CharSequence text, int from, int to, WordVisitor visitor) {
+        int start = -1;
+        for (int i = from; i <= to; i++) {
+            boolean wordChar = i < to && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                visitor.visit(start, i);
+                start = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.studyspace.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+//============ compressed bit set =============
+//this is where sets of small integer ids are stored compactly for fast facet filtering
+
+/**
+ * Roaring-style compressed bitmap over non-negative ints.
+ * Values are split into 65536-wide chunks; a chunk holding few values is a sorted
+ * char array, a crowded chunk switches to a plain 1024-word bitmap. AND, OR and
+ * cardinality work chunk by chunk, and cardinality is cached per chunk.
+ */
+public class CompressedBitSet {
+
+    // Chunks with more values than this are stored as bitmaps (same break-even as Roaring)
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int chunkCount;
+
+    public CompressedBitSet() {}
+
+    private CompressedBitSet(int capacity) {
+        keys = new char[capacity];
+        containers = new Container[capacity];
+    }
+
+    // ===================================================================
+    // MUTATION
+    // ===================================================================
+
+    public void add(int value) {
+        char high = (char) (value >>> 16);
+        int i = findChunk(high);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, high, new Container());
+        }
+        containers[i].add((char) value);
+    }
+
+    public void remove(int value) {
+        int i = findChunk((char) (value >>> 16));
+        if (i < 0) return;
+        containers[i].remove((char) value);
+        if (containers[i].cardinality == 0) {
+            removeChunk(i);
+        }
+    }
+
+    public boolean contains(int value) {
+        int i = findChunk((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    public void clear() {
+        keys = new char[0];
+        containers = new Container[0];
+        chunkCount = 0;
+    }
+
+    // ===================================================================
+    // SET OPERATIONS
+    // ===================================================================
+
+    /**
+     * Number of values in the set, summed from cached per-chunk counts
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            total += containers[i].cardinality;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return chunkCount == 0;
+    }
+
+    public CompressedBitSet and(CompressedBitSet other) {
+        CompressedBitSet result = new CompressedBitSet(Math.min(chunkCount, other.chunkCount));
+        int i = 0, j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container merged = containers[i].and(other.containers[j]);
+                if (merged.cardinality > 0) {
+                    result.appendChunk(keys[i], merged);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Size of the intersection without materializing it
+     */
+    public int andCardinality(CompressedBitSet other) {
+        int total = 0;
+        int i = 0, j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    public CompressedBitSet or(CompressedBitSet other) {
+        CompressedBitSet result = new CompressedBitSet(chunkCount + other.chunkCount);
+        int i = 0, j = 0;
+        while (i < chunkCount || j < other.chunkCount) {
+            if (j >= other.chunkCount || (i < chunkCount && keys[i] < other.keys[j])) {
+                result.appendChunk(keys[i], containers[i].copy());
+                i++;
+            } else if (i >= chunkCount || keys[i] > other.keys[j]) {
+                result.appendChunk(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.appendChunk(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Values of this set that are not in other
+     */
+    public CompressedBitSet andNot(CompressedBitSet other) {
+        CompressedBitSet result = new CompressedBitSet(chunkCount);
+        int j = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            while (j < other.chunkCount && other.keys[j] < keys[i]) j++;
+            Container container = (j < other.chunkCount && other.keys[j] == keys[i])
+                ? containers[i].andNot(other.containers[j])
+                : containers[i].copy();
+            if (container.cardinality > 0) {
+                result.appendChunk(keys[i], container);
+            }
+        }
+        return result;
+    }
+
+    public CompressedBitSet copy() {
+        CompressedBitSet result = new CompressedBitSet(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            result.appendChunk(keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    /**
+     * Visits every value in ascending order
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < chunkCount; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] position = { 0 };
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedBitSet" + Arrays.toString(toArray());
+    }
+
+    // ===================================================================
+    // CHUNK DIRECTORY
+    // ===================================================================
+
+    private int findChunk(char high) {
+        return Arrays.binarySearch(keys, 0, chunkCount, high);
+    }
+
+    private void insertChunk(int index, char high, Container container) {
+        if (chunkCount == keys.length) {
+            int newCapacity = Math.max(4, chunkCount * 2);
+            keys = Arrays.copyOf(keys, newCapacity);
+            containers = Arrays.copyOf(containers, newCapacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, chunkCount - index);
+        System.arraycopy(containers, index, containers, index + 1, chunkCount - index);
+        keys[index] = high;
+        containers[index] = container;
+        chunkCount++;
+    }
+
+    private void appendChunk(char high, Container container) {
+        insertChunk(chunkCount, high, container);
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, chunkCount - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, chunkCount - index - 1);
+        chunkCount--;
+        containers[chunkCount] = null;
+    }
+
+    // ===================================================================
+    // CONTAINERS
+    // ===================================================================
+
+    /**
+     * The low 16 bits of one chunk: a sorted array while sparse, a bitmap once dense
+     */
+    private static final class Container {
+        char[] array = new char[4];
+        long[] bitmap;
+        int cardinality;
+
+        boolean contains(char low) {
+            if (bitmap != null) {
+                return (bitmap[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(array, 0, cardinality, low) >= 0;
+        }
+
+        void add(char low) {
+            if (bitmap != null) {
+                long before = bitmap[low >>> 6];
+                long after = before | (1L << low);
+                if (before != after) {
+                    bitmap[low >>> 6] = after;
+                    cardinality++;
+                }
+                return;
+            }
+            int i = Arrays.binarySearch(array, 0, cardinality, low);
+            if (i >= 0) return;
+            if (cardinality >= ARRAY_LIMIT) {
+                toBitmap();
+                add(low);
+                return;
+            }
+            i = -i - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_LIMIT, array.length * 2));
+            }
+            System.arraycopy(array, i, array, i + 1, cardinality - i);
+            array[i] = low;
+            cardinality++;
+        }
+
+        void remove(char low) {
+            if (bitmap != null) {
+                long before = bitmap[low >>> 6];
+                long after = before & ~(1L << low);
+                if (before != after) {
+                    bitmap[low >>> 6] = after;
+                    cardinality--;
+                    if (cardinality <= ARRAY_LIMIT / 2) {
+                        toArray();
+                    }
+                }
+                return;
+            }
+            int i = Arrays.binarySearch(array, 0, cardinality, low);
+            if (i < 0) return;
+            System.arraycopy(array, i + 1, array, i, cardinality - i - 1);
+            cardinality--;
+        }
+
+        Container and(Container other) {
+            if (bitmap != null && other.bitmap != null) {
+                long[] words = new long[BITMAP_WORDS];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] = bitmap[w] & other.bitmap[w];
+                }
+                return fromBitmap(words);
+            }
+            // At least one side is an array: probe the smaller array against the other side
+            Container small = (bitmap == null && (other.bitmap != null || cardinality <= other.cardinality)) ? this : other;
+            Container large = small == this ? other : this;
+            Container result = new Container();
+            result.array = new char[Math.max(4, small.cardinality)];
+            for (int i = 0; i < small.cardinality; i++) {
+                if (large.contains(small.array[i])) {
+                    result.array[result.cardinality++] = small.array[i];
+                }
+            }
+            return result;
+        }
+
+        int andCardinality(Container other) {
+            if (bitmap != null && other.bitmap != null) {
+                int total = 0;
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    total += Long.bitCount(bitmap[w] & other.bitmap[w]);
+                }
+                return total;
+            }
+            Container small = (bitmap == null && (other.bitmap != null || cardinality <= other.cardinality)) ? this : other;
+            Container large = small == this ? other : this;
+            int total = 0;
+            for (int i = 0; i < small.cardinality; i++) {
+                if (large.contains(small.array[i])) total++;
+            }
+            return total;
+        }
+
+        Container or(Container other) {
+            if (bitmap != null || other.bitmap != null || cardinality + other.cardinality > ARRAY_LIMIT) {
+                long[] words = toWords();
+                if (other.bitmap != null) {
+                    for (int w = 0; w < BITMAP_WORDS; w++) words[w] |= other.bitmap[w];
+                } else {
+                    for (int i = 0; i < other.cardinality; i++) {
+                        char low = other.array[i];
+                        words[low >>> 6] |= 1L << low;
+                    }
+                }
+                return fromBitmap(words);
+            }
+            // Merge two sorted arrays
+            Container result = new Container();
+            result.array = new char[Math.max(4, cardinality + other.cardinality)];
+            int i = 0, j = 0;
+            while (i < cardinality || j < other.cardinality) {
+                char next;
+                if (j >= other.cardinality || (i < cardinality && array[i] < other.array[j])) {
+                    next = array[i++];
+                } else if (i >= cardinality || array[i] > other.array[j]) {
+                    next = other.array[j++];
+                } else {
+                    next = array[i++];
+                    j++;
+                }
+                result.array[result.cardinality++] = next;
+            }
+            return result;
+        }
+
+        Container andNot(Container other) {
+            if (bitmap != null) {
+                long[] words = bitmap.clone();
+                if (other.bitmap != null) {
+                    for (int w = 0; w < BITMAP_WORDS; w++) words[w] &= ~other.bitmap[w];
+                } else {
+                    for (int i = 0; i < other.cardinality; i++) {
+                        char low = other.array[i];
+                        words[low >>> 6] &= ~(1L << low);
+                    }
+                }
+                return fromBitmap(words);
+            }
+            Container result = new Container();
+            result.array = new char[Math.max(4, cardinality)];
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(array[i])) {
+                    result.array[result.cardinality++] = array[i];
+                }
+            }
+            return result;
+        }
+
+        Container copy() {
+            Container result = new Container();
+            result.cardinality = cardinality;
+            if (bitmap != null) {
+                result.bitmap = bitmap.clone();
+                result.array = null;
+            } else {
+                result.array = Arrays.copyOf(array, Math.max(4, cardinality));
+            }
+            return result;
+        }
+
+        void forEach(int base, IntConsumer action) {
+            if (bitmap != null) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = bitmap[w];
+                    while (word != 0) {
+                        action.accept(base + (w << 6) + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    action.accept(base + array[i]);
+                }
+            }
+        }
+
+        private long[] toWords() {
+            if (bitmap != null) return bitmap.clone();
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[array[i] >>> 6] |= 1L << array[i];
+            }
+            return words;
+        }
+
+        private void toBitmap() {
+            bitmap = toWords();
+            array = null;
+        }
+
+        private void toArray() {
+            char[] values = new char[Math.max(4, cardinality)];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = bitmap[w];
+                while (word != 0) {
+                    values[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            array = values;
+            bitmap = null;
+        }
+
+        private static Container fromBitmap(long[] words) {
+            Container result = new Container();
+            result.bitmap = words;
+            result.array = null;
+            for (long word : words) {
+                result.cardinality += Long.bitCount(word);
+            }
+            if (result.cardinality <= ARRAY_LIMIT) {
+                result.toArray();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.studyspace.utils;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+
+//============ counting comparator =============
+//this is where comparisons made by an instrumented sort or search are counted
+
+/**
+ * Comparator that counts its calls before delegating. The count is a LongAdder so
+ * parallel sorts can compare from several threads at once.
+ * Only the instrumented AlgorithmUtils variants use it; the plain algorithms never
+ * see it, so they pay nothing for instrumentation.
+ */
+public final class CountingComparator<T> implements Comparator<T> {
+
+    private final Comparator<? super T> delegate;
+    private final LongAdder comparisons = new LongAdder();
+
+    public CountingComparator(Comparator<? super T> delegate) {
+        this.delegate = delegate;
+    }
+
+    public static <T extends Comparable<? super T>> CountingComparator<T> natural() {
+        return new CountingComparator<>(Comparator.naturalOrder());
+    }
+
+    @Override
+    public int compare(T a, T b) {
+        comparisons.increment();
+        return delegate.compare(a, b);
+    }
+
+    public long getComparisons() {
+        return comparisons.sum();
+    }
+
+    public void reset() {
+        comparisons.reset();
+    }
+}
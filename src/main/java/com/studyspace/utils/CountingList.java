@@ -0,0 +1,48 @@
+package com.studyspace.utils;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+//============ counting list =============
+//this is where element reads and writes made by an instrumented algorithm are counted
+
+/**
+ * Fixed-size list view that counts get() and set() calls on the list underneath.
+ * Collections.swap is two writes, an insertion-sort shift is one, and a merge
+ * sort's write-back is one per element.
+ */
+public final class CountingList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> delegate;
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    public CountingList(List<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public T get(int index) {
+        reads.increment();
+        return delegate.get(index);
+    }
+
+    @Override
+    public T set(int index, T element) {
+        writes.increment();
+        return delegate.set(index, element);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    public long getReads() {
+        return reads.sum();
+    }
+
+    public long getWrites() {
+        return writes.sum();
+    }
+}
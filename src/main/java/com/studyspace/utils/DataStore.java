@@ -3,6 +3,7 @@ package com.studyspace.utils;
 import com.studyspace.models.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.Comparator;
@@ -12,11 +13,18 @@ import java.util.Comparator;
 //Now uses MySQL database for persistence
 
 public class DataStore {
+    // How long signing out or closing waits for background writes
+    public static final long SHUTDOWN_WAIT_SECONDS = 10;
+    
     private static DataStore instance;
     private MySQLDataStore mysqlDataStore;
     private InMemoryDataStore inMemoryDataStore;
     private DatabaseConnection dbConnection;
     
+    // Range-lookup snapshots, built on first use and dropped whenever their items change
+    private SortedLongIndex<Flashcard> lastStudiedIndex;
+    private SortedLongIndex<TodoItem> dueDateIndex;
+    
     private DataStore() {
         this.dbConnection = DatabaseConnection.getInstance();
         this.mysqlDataStore = MySQLDataStore.getInstance();
@@ -57,11 +65,24 @@ public class DataStore {
     }
     
     public void logout() {
+        // Write the open study session while the signed-in user is still known
+        StudySession.finishActive();
+        StudySession.awaitWrites(SHUTDOWN_WAIT_SECONDS);
+        // Store pending reviews while the signed-in user is still known
+        ReviewLog.getInstance().clear();
         if (isDatabaseAvailable()) {
             mysqlDataStore.logout();
         } else {
             inMemoryDataStore.logout();
         }
+        AutocompleteIndex.getInstance().clear();
+        RelatedContentIndex.getInstance().clear();
+        ReviewScheduler.getInstance().clear();
+        StudyAnalytics.getInstance().clear();
+        QuizAttemptStore.getInstance().clear();
+        TodoReminderScheduler.getInstance().clear();
+        lastStudiedIndex = null;
+        dueDateIndex = null;
     }
     
     public User getCurrentUser() {
@@ -105,6 +126,17 @@ public class DataStore {
         }
     }
     
+    /**
+     * All decks in the given order; MySQL orders the rows and only text keys are re-sorted here
+     */
+    public List<FlashcardDeck> getAllFlashcardDecks(SortOption<FlashcardDeck> sortOption) {
+        if (isDatabaseAvailable()) {
+            return applySort(mysqlDataStore.getAllFlashcardDecks(sortOption), sortOption, true);
+        } else {
+            return applySort(inMemoryDataStore.getAllFlashcardDecks(), sortOption, false);
+        }
+    }
+    
     public FlashcardDeck getFlashcardDeck(String id) {
         if (isDatabaseAvailable()) {
             return mysqlDataStore.getFlashcardDeck(id);
@@ -119,6 +151,10 @@ public class DataStore {
         } else {
             inMemoryDataStore.saveFlashcardDeck(deck);
         }
+        updateAutocomplete(index -> index.indexDeck(deck));
+        updateRelatedContent(index -> index.indexDeck(deck));
+        updateReviewScheduler(scheduler -> scheduler.indexDeck(deck));
+        lastStudiedIndex = null;
     }
     
     public void deleteFlashcardDeck(String id) {
@@ -127,6 +163,10 @@ public class DataStore {
         } else {
             inMemoryDataStore.deleteFlashcardDeck(id);
         }
+        updateAutocomplete(index -> index.removeDeck(id));
+        updateRelatedContent(index -> index.removeDeck(id));
+        updateReviewScheduler(scheduler -> scheduler.removeDeck(id));
+        lastStudiedIndex = null;
     }
     
     public List<Quiz> getAllQuizzes() {
@@ -137,6 +177,17 @@ public class DataStore {
         }
     }
     
+    /**
+     * All quizzes in the given order; MySQL orders the rows and only text keys are re-sorted here
+     */
+    public List<Quiz> getAllQuizzes(SortOption<Quiz> sortOption) {
+        if (isDatabaseAvailable()) {
+            return applySort(mysqlDataStore.getAllQuizzes(sortOption), sortOption, true);
+        } else {
+            return applySort(inMemoryDataStore.getAllQuizzes(), sortOption, false);
+        }
+    }
+    
     public Quiz getQuiz(String id) {
         if (isDatabaseAvailable()) {
             return mysqlDataStore.getQuiz(id);
@@ -145,12 +196,73 @@ public class DataStore {
         }
     }
     
+    /**
+     * Visits the quizzes that have been taken, oldest attempt first; questions are not loaded
+     */
+    public void forEachTakenQuiz(java.util.function.Consumer<Quiz> visitor) {
+        if (isDatabaseAvailable()) {
+            mysqlDataStore.forEachTakenQuiz(visitor);
+        } else {
+            inMemoryDataStore.forEachTakenQuiz(visitor);
+        }
+    }
+    
+    /**
+     * Adds a finished attempt to the per-question statistics and stores it with the
+     * quiz's new score in the background
+     */
+    public void recordQuizAttempt(Quiz quiz, QuizAttempt attempt) {
+        QuizAttemptStore store = QuizAttemptStore.getInstance();
+        store.ensureLoaded();
+        store.record(quiz, attempt);
+        StudyAnalytics.getInstance().recordQuizCompleted(quiz, attempt.getScore());
+    }
+    
+    /**
+     * Stores adaptive practice answers, one attempt per source quiz; the quizzes'
+     * own scores are left alone
+     */
+    public void recordPracticeAttempts(List<QuizAttempt> attempts) {
+        QuizAttemptStore store = QuizAttemptStore.getInstance();
+        store.ensureLoaded();
+        for (QuizAttempt attempt : attempts) {
+            store.record(null, attempt);
+        }
+    }
+    
+    public void forEachQuizAttempt(String userId, java.util.function.Consumer<QuizAttempt> visitor) {
+        if (isDatabaseAvailable()) {
+            mysqlDataStore.forEachQuizAttempt(userId, visitor);
+        } else {
+            inMemoryDataStore.forEachQuizAttempt(userId, visitor);
+        }
+    }
+    
+    public boolean saveQuizAttempt(Quiz quiz, QuizAttempt attempt) {
+        if (isDatabaseAvailable()) {
+            return mysqlDataStore.saveQuizAttempt(quiz, attempt);
+        } else {
+            return inMemoryDataStore.saveQuizAttempt(quiz, attempt);
+        }
+    }
+    
+    /**
+     * Running statistics of a question across the user's attempts, or null if never answered
+     */
+    public QuizAttemptStore.ItemStats getQuestionStats(String questionId) {
+        QuizAttemptStore store = QuizAttemptStore.getInstance();
+        store.ensureLoaded();
+        return store.getStats(questionId);
+    }
+    
     public void saveQuiz(Quiz quiz) {
         if (isDatabaseAvailable()) {
             mysqlDataStore.saveQuiz(quiz);
         } else {
             inMemoryDataStore.saveQuiz(quiz);
         }
+        updateAutocomplete(index -> index.indexQuiz(quiz));
+        StudyAnalytics.getInstance().indexQuiz(quiz);
     }
     
     public void deleteQuiz(String id) {
@@ -159,6 +271,8 @@ public class DataStore {
         } else {
             inMemoryDataStore.deleteQuiz(id);
         }
+        updateAutocomplete(index -> index.removeQuiz(id));
+        StudyAnalytics.getInstance().removeQuiz(id);
     }
     
     
@@ -170,6 +284,17 @@ public class DataStore {
         }
     }
     
+    /**
+     * All notes in the given order; MySQL orders the rows and only text keys are re-sorted here
+     */
+    public List<Note> getAllNotes(SortOption<Note> sortOption) {
+        if (isDatabaseAvailable()) {
+            return applySort(mysqlDataStore.getAllNotes(sortOption), sortOption, true);
+        } else {
+            return applySort(inMemoryDataStore.getAllNotes(), sortOption, false);
+        }
+    }
+    
     public Note getNote(String id) {
         if (isDatabaseAvailable()) {
             return mysqlDataStore.getNote(id);
@@ -184,6 +309,8 @@ public class DataStore {
         } else {
             inMemoryDataStore.saveNote(note);
         }
+        updateAutocomplete(index -> index.indexNote(note));
+        updateRelatedContent(index -> index.indexNote(note));
     }
     
     public void deleteNote(String id) {
@@ -192,6 +319,8 @@ public class DataStore {
         } else {
             inMemoryDataStore.deleteNote(id);
         }
+        updateAutocomplete(index -> index.removeNote(id));
+        updateRelatedContent(index -> index.removeNote(id));
     }
     
     public void addNote(Note note) {
@@ -218,6 +347,17 @@ public class DataStore {
         }
     }
     
+    /**
+     * All todo items in the given order; MySQL orders the rows and only text keys are re-sorted here
+     */
+    public List<TodoItem> getAllTodoItems(SortOption<TodoItem> sortOption) {
+        if (isDatabaseAvailable()) {
+            return applySort(mysqlDataStore.getAllTodoItems(sortOption), sortOption, true);
+        } else {
+            return applySort(inMemoryDataStore.getAllTodoItems(), sortOption, false);
+        }
+    }
+    
     public List<TodoItem> getActiveTodoItems() {
         return getAllTodoItems().stream()
                 .filter(todo -> !todo.isCompleted())
@@ -244,6 +384,9 @@ public class DataStore {
         } else {
             inMemoryDataStore.saveTodoItem(todoItem);
         }
+        updateAutocomplete(index -> index.indexTodoItem(todoItem));
+        updateTodoReminders(scheduler -> scheduler.indexTodo(todoItem));
+        dueDateIndex = null;
     }
     
     public void deleteTodoItem(String id) {
@@ -252,6 +395,182 @@ public class DataStore {
         } else {
             inMemoryDataStore.deleteTodoItem(id);
         }
+        updateAutocomplete(index -> index.removeTodoItem(id));
+        updateTodoReminders(scheduler -> scheduler.removeTodo(id));
+        dueDateIndex = null;
+    }
+    
+    // Spaced repetition
+    
+    /**
+     * Grades a reviewed card and re-queues it for its next review; the new schedule
+     * is only kept in memory until saveFlashcardSchedules
+     */
+    public void recordFlashcardReview(Flashcard card, ReviewScheduler.Grade grade) {
+        ReviewScheduler scheduler = ReviewScheduler.getInstance();
+        scheduler.ensureLoaded();
+        scheduler.review(card, grade, LocalDateTime.now());
+        lastStudiedIndex = null;
+    }
+    
+    /**
+     * Saves the review statistics and schedules of the given cards in one batch
+     */
+    public void saveFlashcardSchedules(Collection<Flashcard> cards) {
+        if (isDatabaseAvailable()) {
+            mysqlDataStore.updateFlashcardSchedules(cards);
+        }
+    }
+    
+    /**
+     * Appends the review to the review log; batches are stored in the background
+     */
+    public void logFlashcardReview(Flashcard card, ReviewScheduler.Grade grade, int responseMillis) {
+        ReviewLog log = ReviewLog.getInstance();
+        log.ensureLoaded();
+        log.append(card.getId(), grade, card.getLastStudied() != null ? card.getLastStudied() : LocalDateTime.now(),
+            responseMillis);
+    }
+    
+    public List<byte[]> getReviewLogBatches(String userId) {
+        if (isDatabaseAvailable()) {
+            return mysqlDataStore.getReviewLogBatches(userId);
+        } else {
+            return inMemoryDataStore.getReviewLogBatches(userId);
+        }
+    }
+    
+    public boolean saveReviewLogBatch(String userId, byte[] records, long firstReviewedAt, long lastReviewedAt) {
+        if (isDatabaseAvailable()) {
+            return mysqlDataStore.saveReviewLogBatch(userId, records, firstReviewedAt, lastReviewedAt);
+        } else {
+            return inMemoryDataStore.saveReviewLogBatch(userId, records);
+        }
+    }
+    
+    /**
+     * The card across all decks that has been due the longest, or null when nothing is due
+     */
+    public Flashcard getNextDueFlashcard() {
+        ReviewScheduler scheduler = ReviewScheduler.getInstance();
+        scheduler.ensureLoaded();
+        return scheduler.nextDue(LocalDateTime.now());
+    }
+    
+    public int getDueFlashcardCount(String deckId) {
+        ReviewScheduler scheduler = ReviewScheduler.getInstance();
+        scheduler.ensureLoaded();
+        return scheduler.getDueCount(deckId, LocalDateTime.now());
+    }
+    
+    public int getDueFlashcardCount() {
+        ReviewScheduler scheduler = ReviewScheduler.getInstance();
+        scheduler.ensureLoaded();
+        return scheduler.getTotalDueCount(LocalDateTime.now());
+    }
+    
+    // Range lookups
+    
+    /**
+     * Cards last studied before the given time, least recently studied first;
+     * cards that were never studied are left out
+     */
+    public List<Flashcard> getFlashcardsLastStudiedBefore(LocalDateTime time) {
+        return getLastStudiedIndex().below(RadixSort.timeKey(time, false, RadixSort.NULLS_LAST));
+    }
+    
+    /**
+     * Todo items due before the given day, earliest first; items without a due date are left out
+     */
+    public List<TodoItem> getTodoItemsDueBefore(LocalDate date) {
+        return getDueDateIndex().below(RadixSort.dayKey(date, false, RadixSort.NULLS_LAST));
+    }
+    
+    /**
+     * Todo items due on or after from and before toExclusive, earliest first
+     */
+    public List<TodoItem> getTodoItemsDueBetween(LocalDate from, LocalDate toExclusive) {
+        return getDueDateIndex().between(
+            RadixSort.dayKey(from, false, RadixSort.NULLS_LAST),
+            RadixSort.dayKey(toExclusive, false, RadixSort.NULLS_LAST));
+    }
+    
+    /**
+     * Number of open todo items due before today, kept up to date by the reminder scheduler
+     */
+    public int getOverdueTodoCount() {
+        TodoReminderScheduler scheduler = TodoReminderScheduler.getInstance();
+        scheduler.ensureLoaded();
+        return scheduler.getOverdueCount();
+    }
+    
+    private SortedLongIndex<Flashcard> getLastStudiedIndex() {
+        if (lastStudiedIndex == null) {
+            List<Flashcard> cards = new ArrayList<>();
+            for (FlashcardDeck deck : getAllFlashcardDecks()) {
+                cards.addAll(deck.getFlashcards());
+            }
+            lastStudiedIndex = SortedLongIndex.of(cards,
+                card -> RadixSort.timeKey(card.getLastStudied(), false, RadixSort.NULLS_LAST));
+        }
+        return lastStudiedIndex;
+    }
+    
+    private SortedLongIndex<TodoItem> getDueDateIndex() {
+        if (dueDateIndex == null) {
+            dueDateIndex = SortedLongIndex.of(getAllTodoItems(),
+                todo -> RadixSort.dayKey(todo.getDueDate(), false, RadixSort.NULLS_LAST));
+        }
+        return dueDateIndex;
+    }
+    
+    /**
+     * Sorts in Java unless the database already returned exactly this order; text
+     * columns are re-collated because the server's collation can differ from Collator's
+     */
+    private static <T> List<T> applySort(List<T> items, SortOption<T> sortOption, boolean sortedInSql) {
+        if (sortOption == null || (sortedInSql && sortOption.isExactInSql())) return items;
+        return sortOption.sort(items);
+    }
+
+    /**
+     * Keeps the autocomplete index in step with saves and deletes once it has been loaded
+     */
+    private void updateAutocomplete(java.util.function.Consumer<AutocompleteIndex> update) {
+        AutocompleteIndex index = AutocompleteIndex.getInstance();
+        if (index.isLoaded()) {
+            update.accept(index);
+        }
+    }
+    
+    /**
+     * Keeps the overdue reminders in step with todo changes once they have been loaded
+     */
+    private void updateTodoReminders(java.util.function.Consumer<TodoReminderScheduler> update) {
+        TodoReminderScheduler scheduler = TodoReminderScheduler.getInstance();
+        if (scheduler.isLoaded()) {
+            update.accept(scheduler);
+        }
+    }
+    
+    /**
+     * Keeps the review queues in step with deck changes once they have been loaded
+     */
+    private void updateReviewScheduler(java.util.function.Consumer<ReviewScheduler> update) {
+        ReviewScheduler scheduler = ReviewScheduler.getInstance();
+        if (scheduler.isLoaded()) {
+            update.accept(scheduler);
+        }
+    }
+    
+    /**
+     * Keeps the related-content index in step with note and deck changes once it has been loaded
+     */
+    private void updateRelatedContent(java.util.function.Consumer<RelatedContentIndex> update) {
+        RelatedContentIndex index = RelatedContentIndex.getInstance();
+        if (index.isLoaded()) {
+            update.accept(index);
+        }
     }
     
     // Statistics methods
@@ -5,6 +5,7 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -18,6 +19,9 @@ public class DatabaseConnection {
     
     private static DatabaseConnection instance;
     private Connection connection;
+    // Transactions get their own connection, so statements other threads run on the
+    // shared one are never pulled into (or rolled back with) a transaction
+    private Connection transactionConnection;
     
     private DatabaseConnection() {
         initializeConnection();
@@ -34,16 +38,7 @@ public class DatabaseConnection {
         try {
             Class.forName(DB_DRIVER);
             
-            Properties props = new Properties();
-            props.setProperty("user", DB_USER);
-            props.setProperty("password", DB_PASSWORD);
-            props.setProperty("useSSL", "false");
-            props.setProperty("serverTimezone", "UTC");
-            props.setProperty("allowPublicKeyRetrieval", "true");
-            props.setProperty("connectTimeout", "5000"); // 5 second timeout
-            props.setProperty("socketTimeout", "5000");
-            
-            connection = DriverManager.getConnection(DB_URL, props);
+            connection = DriverManager.getConnection(DB_URL, connectionProperties());
             System.out.println("Database connection established successfully!");
             
         } catch (ClassNotFoundException e) {
@@ -57,6 +52,19 @@ public class DatabaseConnection {
         }
     }
     
+    private static Properties connectionProperties() {
+        Properties props = new Properties();
+        props.setProperty("user", DB_USER);
+        props.setProperty("password", DB_PASSWORD);
+        props.setProperty("useSSL", "false");
+        props.setProperty("serverTimezone", "UTC");
+        props.setProperty("allowPublicKeyRetrieval", "true");
+        props.setProperty("connectTimeout", "5000"); // 5 second timeout
+        props.setProperty("socketTimeout", "5000");
+        props.setProperty("rewriteBatchedStatements", "true"); // executeBatch in one round trip
+        return props;
+    }
+    
     public Connection getConnection() {
         try {
             if (connection == null || connection.isClosed()) {
@@ -94,6 +102,11 @@ public class DatabaseConnection {
                 connection.close();
                 System.out.println("Database connection closed.");
             }
+            synchronized (this) {
+                if (transactionConnection != null && !transactionConnection.isClosed()) {
+                    transactionConnection.close();
+                }
+            }
         } catch (SQLException e) {
             System.err.println("Error closing connection: " + e.getMessage());
         }
@@ -132,4 +145,75 @@ public class DatabaseConnection {
         stmt.executeUpdate();
         return stmt.getGeneratedKeys();
     }
+    
+    /**
+     * Statements run together by inTransaction
+     */
+    public interface Work {
+        void run(Transaction transaction) throws SQLException;
+    }
+    
+    /**
+     * Statements issued inside inTransaction, on the transaction's own connection
+     */
+    public static class Transaction {
+        private final Connection connection;
+        
+        private Transaction(Connection connection) {
+            this.connection = connection;
+        }
+        
+        public int executeUpdate(String sql, Object... params) throws SQLException {
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    stmt.setObject(i + 1, params[i]);
+                }
+                return stmt.executeUpdate();
+            }
+        }
+        
+        public int[] executeBatch(String sql, List<Object[]> rows) throws SQLException {
+            return DatabaseConnection.executeBatch(connection, sql, rows);
+        }
+    }
+    
+    /**
+     * Run several statements as one transaction: all of them are committed, or none.
+     * Transactions run one at a time on a connection of their own.
+     */
+    public synchronized void inTransaction(Work work) throws SQLException {
+        if (transactionConnection == null || transactionConnection.isClosed()) {
+            transactionConnection = DriverManager.getConnection(DB_URL, connectionProperties());
+            transactionConnection.setAutoCommit(false);
+        }
+        try {
+            work.run(new Transaction(transactionConnection));
+            transactionConnection.commit();
+        } catch (SQLException | RuntimeException e) {
+            transactionConnection.rollback();
+            throw e;
+        }
+    }
+    
+    /**
+     * Execute one statement for every parameter row as a single JDBC batch
+     */
+    public int[] executeBatch(String sql, List<Object[]> rows) throws SQLException {
+        return executeBatch(connection, sql, rows);
+    }
+    
+    private static int[] executeBatch(Connection connection, String sql, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (Object[] params : rows) {
+                for (int i = 0; i < params.length; i++) {
+                    stmt.setObject(i + 1, params[i]);
+                }
+                stmt.addBatch();
+            }
+            return stmt.executeBatch();
+        }
+    }
 }
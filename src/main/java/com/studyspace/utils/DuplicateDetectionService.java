@@ -0,0 +1,222 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+import java.util.*;
+
+/**
+ * Service for finding and merging near-duplicate flashcards and quiz questions
+ * across the whole library, e.g. cards repeated by several AI-generated decks
+ */
+public class DuplicateDetectionService {
+
+    /**
+     * Where the library is read from and merged decks and quizzes are saved to
+     */
+    public interface Storage {
+        List<FlashcardDeck> getAllFlashcardDecks();
+        List<Quiz> getAllQuizzes();
+        void saveFlashcardDeck(FlashcardDeck deck);
+        void saveQuiz(Quiz quiz);
+    }
+
+    private final Storage storage;
+    private final double threshold;
+
+    public DuplicateDetectionService() {
+        this(NearDuplicateIndex.DEFAULT_THRESHOLD);
+    }
+
+    public DuplicateDetectionService(double threshold) {
+        this(new DataStoreStorage(), threshold);
+    }
+
+    public DuplicateDetectionService(Storage storage, double threshold) {
+        this.storage = storage;
+        this.threshold = threshold;
+    }
+
+    /**
+     * A flashcard together with the deck that holds it
+     */
+    public static class CardRef {
+        private final FlashcardDeck deck;
+        private final Flashcard card;
+        private final String key;
+
+        public CardRef(FlashcardDeck deck, Flashcard card, int position) {
+            this.deck = deck;
+            this.card = card;
+            // Card ids are millisecond-based and can repeat within a generated batch
+            this.key = deck.getId() + "#" + position;
+        }
+
+        public FlashcardDeck getDeck() { return deck; }
+        public Flashcard getCard() { return card; }
+    }
+
+    /**
+     * A question together with the quiz that holds it
+     */
+    public static class QuestionRef {
+        private final Quiz quiz;
+        private final Question question;
+        private final String key;
+
+        public QuestionRef(Quiz quiz, Question question, int position) {
+            this.quiz = quiz;
+            this.question = question;
+            this.key = quiz.getId() + "#" + position;
+        }
+
+        public Quiz getQuiz() { return quiz; }
+        public Question getQuestion() { return question; }
+    }
+
+    /**
+     * Text a flashcard is compared by
+     */
+    public static String flashcardText(Flashcard card) {
+        return (card.getQuestion() != null ? card.getQuestion() : "") + "\n"
+             + (card.getAnswer() != null ? card.getAnswer() : "");
+    }
+
+    // ===================================================================
+    // LIBRARY SCANS
+    // ===================================================================
+
+    /**
+     * Clusters of near-identical flashcards across all of the user's decks
+     */
+    public List<List<CardRef>> findFlashcardDuplicates() {
+        return buildFlashcardIndex(storage.getAllFlashcardDecks()).findClusters(threshold);
+    }
+
+    /**
+     * Clusters of near-identical questions across all of the user's quizzes
+     */
+    public List<List<QuestionRef>> findQuestionDuplicates() {
+        NearDuplicateIndex<QuestionRef> index = new NearDuplicateIndex<>(
+            ref -> ref.key, ref -> ref.question.getQuestionText());
+        for (Quiz quiz : storage.getAllQuizzes()) {
+            List<Question> questions = quiz.getQuestions();
+            for (int i = 0; i < questions.size(); i++) {
+                index.put(new QuestionRef(quiz, questions.get(i), i));
+            }
+        }
+        return index.findClusters(threshold);
+    }
+
+    /**
+     * New cards that repeat an existing library card or an earlier card in the same batch
+     */
+    public List<Flashcard> findExistingDuplicates(List<Flashcard> newCards) {
+        NearDuplicateIndex<CardRef> index = buildFlashcardIndex(storage.getAllFlashcardDecks());
+        FlashcardDeck batch = new FlashcardDeck();
+        batch.setId("new-cards");
+
+        List<Flashcard> duplicates = new ArrayList<>();
+        for (int i = 0; i < newCards.size(); i++) {
+            Flashcard card = newCards.get(i);
+            if (!index.findSimilar(flashcardText(card), threshold).isEmpty()) {
+                duplicates.add(card);
+            } else {
+                index.put(new CardRef(batch, card, i));
+            }
+        }
+        return duplicates;
+    }
+
+    private NearDuplicateIndex<CardRef> buildFlashcardIndex(List<FlashcardDeck> decks) {
+        NearDuplicateIndex<CardRef> index = new NearDuplicateIndex<>(
+            ref -> ref.key, ref -> flashcardText(ref.card));
+        for (FlashcardDeck deck : decks) {
+            List<Flashcard> cards = deck.getFlashcards();
+            for (int i = 0; i < cards.size(); i++) {
+                index.put(new CardRef(deck, cards.get(i), i));
+            }
+        }
+        return index;
+    }
+
+    // ===================================================================
+    // MERGING
+    // ===================================================================
+
+    /**
+     * Keeps the most-studied card of each cluster and removes the rest.
+     * A deck is never emptied by a merge. Returns the number of cards removed.
+     */
+    public int mergeFlashcardClusters(List<List<CardRef>> clusters) {
+        Set<FlashcardDeck> touched = new LinkedHashSet<>();
+        int removed = 0;
+
+        for (List<CardRef> cluster : clusters) {
+            CardRef keep = cluster.get(0);
+            for (CardRef ref : cluster) {
+                if (ref.card.getTimesStudied() > keep.card.getTimesStudied()) {
+                    keep = ref;
+                }
+            }
+            for (CardRef ref : cluster) {
+                if (ref == keep || ref.deck.getCardCount() <= 1) continue;
+                // Removes by identity; equal-looking cards may share an id
+                if (ref.deck.removeFlashcard(ref.card)) {
+                    touched.add(ref.deck);
+                    removed++;
+                }
+            }
+        }
+
+        for (FlashcardDeck deck : touched) {
+            storage.saveFlashcardDeck(deck);
+        }
+        return removed;
+    }
+
+    /**
+     * Keeps the first question of each cluster and removes the rest.
+     * A quiz is never emptied by a merge. Returns the number of questions removed.
+     */
+    public int mergeQuestionClusters(List<List<QuestionRef>> clusters) {
+        Set<Quiz> touched = new LinkedHashSet<>();
+        int removed = 0;
+
+        for (List<QuestionRef> cluster : clusters) {
+            for (int i = 1; i < cluster.size(); i++) {
+                QuestionRef ref = cluster.get(i);
+                if (ref.quiz.getQuestionCount() <= 1) continue;
+                if (ref.quiz.removeQuestion(ref.question)) {
+                    touched.add(ref.quiz);
+                    removed++;
+                }
+            }
+        }
+
+        for (Quiz quiz : touched) {
+            storage.saveQuiz(quiz);
+        }
+        return removed;
+    }
+
+    private static class DataStoreStorage implements Storage {
+        @Override
+        public List<FlashcardDeck> getAllFlashcardDecks() {
+            return DataStore.getInstance().getAllFlashcardDecks();
+        }
+
+        @Override
+        public List<Quiz> getAllQuizzes() {
+            return DataStore.getInstance().getAllQuizzes();
+        }
+
+        @Override
+        public void saveFlashcardDeck(FlashcardDeck deck) {
+            DataStore.getInstance().saveFlashcardDeck(deck);
+        }
+
+        @Override
+        public void saveQuiz(Quiz quiz) {
+            DataStore.getInstance().saveQuiz(quiz);
+        }
+    }
+}
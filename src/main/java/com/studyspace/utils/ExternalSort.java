@@ -0,0 +1,415 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Activity;
+import com.studyspace.models.ActivityType;
+import com.studyspace.models.Flashcard;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+
+//============ external sort =============
+//this is where collections too large for the heap are sorted through temp files
+
+/**
+ * Stable external merge sort. Input is read into runs whose estimated size
+ * stays under a memory budget; each run is sorted in memory and spilled to a
+ * temp file with a compact binary {@link Codec}. The runs are then merged with
+ * a loser tree and streamed to a consumer, so the sorted result is never held
+ * in memory. More runs than {@link #MAX_FAN_IN} are merged in several passes.
+ * Input that fits in one run is sorted in memory without touching the disk.
+ *
+ * @param <T> the record type
+ */
+public final class ExternalSort<T> {
+
+    /** Most runs merged at once; each open run holds one read buffer */
+    public static final int MAX_FAN_IN = 64;
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Compact binary encoding of one record, plus a rough in-memory size used for the budget
+     */
+    public interface Codec<T> {
+        void write(DataOutput out, T record) throws IOException;
+
+        T read(DataInput in) throws IOException;
+
+        /** Approximate heap footprint of a record while it waits in a run */
+        default long estimateSize(T record) {
+            return 64;
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private final Codec<T> codec;
+    private final long memoryBudget;
+    private final Path tempDirectory;
+    private final List<Path> tempFiles = new ArrayList<>();
+    private int spilledRuns;
+
+    /**
+     * @param memoryBudget estimated bytes of records held in memory per run
+     * @param tempDirectory where runs are spilled, or null for the system temp directory
+     */
+    public ExternalSort(Comparator<? super T> comparator, Codec<T> codec, long memoryBudget, Path tempDirectory) {
+        this.comparator = comparator;
+        this.codec = codec;
+        this.memoryBudget = Math.max(1, memoryBudget);
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Sorts everything the iterator yields and passes it to the consumer in order.
+     * Temp files are removed before returning, also when an exception is thrown.
+     * Records must not be null, and an instance runs one sort at a time.
+     */
+    public void sort(Iterator<? extends T> input, Consumer<? super T> output) throws IOException {
+        spilledRuns = 0;
+        try {
+            List<Path> runs = new ArrayList<>();
+            List<T> buffer = new ArrayList<>();
+            long buffered = 0;
+            while (input.hasNext()) {
+                T record = input.next();
+                buffer.add(record);
+                buffered += codec.estimateSize(record);
+                if (buffered >= memoryBudget) {
+                    runs.add(spill(buffer));
+                    buffer.clear();
+                    buffered = 0;
+                }
+            }
+
+            if (runs.isEmpty()) {
+                // Everything fit in memory
+                ParallelMergeSort.sort(buffer, comparator);
+                buffer.forEach(output);
+                return;
+            }
+            if (!buffer.isEmpty()) {
+                runs.add(spill(buffer));
+                buffer.clear();
+            }
+
+            // Merge groups of runs until one pass can finish into the consumer
+            while (runs.size() > MAX_FAN_IN) {
+                List<Path> merged = new ArrayList<>();
+                for (int start = 0; start < runs.size(); start += MAX_FAN_IN) {
+                    List<Path> group = runs.subList(start, Math.min(runs.size(), start + MAX_FAN_IN));
+                    merged.add(mergeToRun(group));
+                    delete(group);
+                }
+                runs = merged;
+            }
+            merge(runs, output);
+        } finally {
+            delete(new ArrayList<>(tempFiles));
+            tempFiles.clear();
+        }
+    }
+
+    /**
+     * Number of runs written to disk by the last sort (0 when it fit in memory)
+     */
+    public int getSpilledRuns() {
+        return spilledRuns;
+    }
+
+    // ===================================================================
+    // RUNS
+    // ===================================================================
+
+    // Run files start with their record count
+    private Path spill(List<T> buffer) throws IOException {
+        ParallelMergeSort.sort(buffer, comparator);
+        Path run = createRunFile();
+        try (DataOutputStream out = openOutput(run)) {
+            out.writeLong(buffer.size());
+            for (T record : buffer) {
+                codec.write(out, record);
+            }
+        }
+        spilledRuns++;
+        return run;
+    }
+
+    private Path mergeToRun(List<Path> group) throws IOException {
+        Path run = createRunFile();
+        long[] count = new long[1];
+        try (DataOutputStream out = openOutput(run)) {
+            out.writeLong(0); // patched below once the count is known
+            merge(group, record -> {
+                try {
+                    codec.write(out, record);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        try (RandomAccessFile header = new RandomAccessFile(run.toFile(), "rw")) {
+            header.writeLong(count[0]);
+        }
+        return run;
+    }
+
+    private Path createRunFile() throws IOException {
+        Path run = tempDirectory != null
+            ? Files.createTempFile(tempDirectory, "studyspace-sort", ".run")
+            : Files.createTempFile("studyspace-sort", ".run");
+        tempFiles.add(run);
+        return run;
+    }
+
+    private static DataOutputStream openOutput(Path run) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER_SIZE));
+    }
+
+    private void delete(List<Path> runs) {
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+                tempFiles.remove(run);
+            } catch (IOException e) {
+                System.err.println("Could not delete sort run " + run + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sequential reader over one run file
+     */
+    private final class RunReader implements Closeable {
+        private final DataInputStream in;
+        private long remaining;
+
+        RunReader(Path run) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), IO_BUFFER_SIZE));
+            remaining = in.readLong();
+        }
+
+        /** Next record, or null when the run is exhausted */
+        T next() throws IOException {
+            if (remaining == 0) return null;
+            remaining--;
+            return codec.read(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // ===================================================================
+    // LOSER TREE MERGE
+    // ===================================================================
+
+    /**
+     * K-way merge. Leaves are runs; each internal node of the tree keeps the loser
+     * of the match played there and tree[0] holds the overall winner, so replacing
+     * the winner costs one match per level (log k comparisons).
+     */
+    @SuppressWarnings("unchecked")
+    private void merge(List<Path> runs, Consumer<? super T> output) throws IOException {
+        int k = runs.size();
+        List<RunReader> readers = new ArrayList<>(k);
+        try {
+            for (Path run : runs) {
+                readers.add(new RunReader(run));
+            }
+            T[] heads = (T[]) new Object[k];
+            boolean[] exhausted = new boolean[k];
+            for (int i = 0; i < k; i++) {
+                heads[i] = readers.get(i).next();
+                exhausted[i] = heads[i] == null;
+            }
+
+            // Build: each leaf climbs until it finds an empty node to wait at
+            int[] tree = new int[k];
+            Arrays.fill(tree, -1);
+            for (int leaf = k - 1; leaf >= 0; leaf--) {
+                int winner = leaf;
+                int node = (leaf + k) >>> 1;
+                while (node > 0) {
+                    if (tree[node] == -1) {
+                        tree[node] = winner;
+                        winner = -1;
+                        break;
+                    }
+                    if (beats(tree[node], winner, heads, exhausted)) {
+                        int loser = winner;
+                        winner = tree[node];
+                        tree[node] = loser;
+                    }
+                    node >>>= 1;
+                }
+                if (winner != -1) {
+                    tree[0] = winner;
+                }
+            }
+            while (!exhausted[tree[0]]) {
+                int winner = tree[0];
+                output.accept(heads[winner]);
+                heads[winner] = readers.get(winner).next();
+                exhausted[winner] = heads[winner] == null;
+
+                // Replay the winner's path to the root
+                for (int node = (winner + k) >>> 1; node > 0; node >>>= 1) {
+                    if (beats(tree[node], winner, heads, exhausted)) {
+                        int loser = winner;
+                        winner = tree[node];
+                        tree[node] = loser;
+                    }
+                }
+                tree[0] = winner;
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    // Exhausted runs lose every match; ties go to the earlier run, which keeps the sort stable
+    private boolean beats(int a, int b, T[] heads, boolean[] exhausted) {
+        if (exhausted[a]) return false;
+        if (exhausted[b]) return true;
+        int result = comparator.compare(heads[a], heads[b]);
+        return result < 0 || (result == 0 && a < b);
+    }
+
+    // ===================================================================
+    // CODECS
+    // ===================================================================
+
+    /**
+     * Length-prefixed UTF-8, without DataOutput.writeUTF's 64 KB limit; null is encoded as -1
+     */
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Date-times as epoch second + nano (UTC wall clock); Long.MIN_VALUE marks null
+     */
+    public static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeLong(Long.MIN_VALUE);
+            return;
+        }
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    public static LocalDateTime readDateTime(DataInput in) throws IOException {
+        long seconds = in.readLong();
+        if (seconds == Long.MIN_VALUE) return null;
+        return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Activity log entries
+     */
+    public static final Codec<Activity> ACTIVITY_CODEC = new Codec<Activity>() {
+        @Override
+        public void write(DataOutput out, Activity activity) throws IOException {
+            writeString(out, activity.getId());
+            writeString(out, activity.getUserId());
+            out.writeByte(activity.getType() == null ? -1 : activity.getType().ordinal());
+            writeString(out, activity.getDescription());
+            writeDateTime(out, activity.getTimestamp());
+        }
+
+        @Override
+        public Activity read(DataInput in) throws IOException {
+            Activity activity = new Activity();
+            activity.setId(readString(in));
+            activity.setUserId(readString(in));
+            int type = in.readByte();
+            activity.setType(type < 0 ? null : ActivityType.values()[type]);
+            activity.setDescription(readString(in));
+            activity.setTimestamp(readDateTime(in));
+            return activity;
+        }
+
+        @Override
+        public long estimateSize(Activity activity) {
+            return 160 + 2L * (length(activity.getId()) + length(activity.getUserId()) + length(activity.getDescription()));
+        }
+    };
+
+    /**
+     * Flashcards with their study state and SM-2 schedule (deck membership is not part of the record)
+     */
+    public static final Codec<Flashcard> FLASHCARD_CODEC = new Codec<Flashcard>() {
+        @Override
+        public void write(DataOutput out, Flashcard card) throws IOException {
+            writeString(out, card.getId());
+            writeString(out, card.getQuestion());
+            writeString(out, card.getAnswer());
+            out.writeByte(card.getDifficulty() == null ? -1 : card.getDifficulty().ordinal());
+            writeDateTime(out, card.getCreatedAt());
+            writeDateTime(out, card.getLastStudied());
+            out.writeInt(card.getTimesStudied());
+            out.writeBoolean(card.isCorrect());
+            out.writeDouble(card.getEaseFactor());
+            out.writeDouble(card.getIntervalDays());
+            out.writeInt(card.getRepetitions());
+            out.writeInt(card.getLapses());
+            writeDateTime(out, card.getDueAt());
+        }
+
+        @Override
+        public Flashcard read(DataInput in) throws IOException {
+            Flashcard card = new Flashcard();
+            card.setId(readString(in));
+            card.setQuestion(readString(in));
+            card.setAnswer(readString(in));
+            int difficulty = in.readByte();
+            card.setDifficulty(difficulty < 0 ? null : Flashcard.Difficulty.values()[difficulty]);
+            card.setCreatedAt(readDateTime(in));
+            card.setLastStudied(readDateTime(in));
+            card.setTimesStudied(in.readInt());
+            card.setCorrect(in.readBoolean());
+            card.setEaseFactor(in.readDouble());
+            card.setIntervalDays(in.readDouble());
+            card.setRepetitions(in.readInt());
+            card.setLapses(in.readInt());
+            card.setDueAt(readDateTime(in));
+            return card;
+        }
+
+        @Override
+        public long estimateSize(Flashcard card) {
+            return 200 + 2L * (length(card.getId()) + length(card.getQuestion()) + length(card.getAnswer()));
+        }
+    };
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,219 @@
+package com.studyspace.utils;
+
+import java.util.*;
+import java.util.function.Function;
+
+//============ facet index =============
+//this is where list filters and badge counts are answered from per-value bitsets
+
+/**
+ * Keeps one CompressedBitSet per facet value (e.g. priority=HIGH, completed=true).
+ * Items get a stable slot number; saving or deleting an item only touches that
+ * item's bits, so filters and counts never re-stream the whole list.
+ *
+ * @param <T> the indexed item type
+ */
+public class FacetIndex<T> {
+
+    private final Function<T, String> idExtractor;
+    private final List<String> facetNames = new ArrayList<>();
+    private final Map<String, Function<T, Object>> extractors = new HashMap<>();
+    // Range facets keep their values ordered so "due before X" is an OR over a head map
+    private final Map<String, Map<Object, CompressedBitSet>> facets = new HashMap<>();
+
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final List<T> items = new ArrayList<>();
+    private final List<Object[]> indexedValues = new ArrayList<>();
+    private final CompressedBitSet allSlots = new CompressedBitSet();
+
+    public FacetIndex(Function<T, String> idExtractor) {
+        this.idExtractor = idExtractor;
+    }
+
+    /**
+     * Registers an equality facet such as priority or category
+     */
+    public FacetIndex<T> addFacet(String name, Function<T, Object> extractor) {
+        return registerFacet(name, extractor, new HashMap<>());
+    }
+
+    /**
+     * Registers an ordered facet (dates, numbers) that also supports range queries
+     */
+    public <V extends Comparable<? super V>> FacetIndex<T> addRangeFacet(String name, Function<T, V> extractor) {
+        return registerFacet(name, item -> extractor.apply(item), new TreeMap<>());
+    }
+
+    private FacetIndex<T> registerFacet(String name, Function<T, Object> extractor, Map<Object, CompressedBitSet> values) {
+        if (!items.isEmpty()) {
+            throw new IllegalStateException("Facets must be registered before items are added");
+        }
+        facetNames.add(name);
+        extractors.put(name, extractor);
+        facets.put(name, values);
+        return this;
+    }
+
+    // ===================================================================
+    // MUTATION
+    // ===================================================================
+
+    /**
+     * Adds an item, or re-indexes it if an item with the same id is already present
+     */
+    public void put(T item) {
+        String id = idExtractor.apply(item);
+        Integer slot = slotsById.get(id);
+        if (slot != null) {
+            clearSlot(slot);
+            items.set(slot, item);
+        } else {
+            // Slots are never reused, so slot order stays insertion order
+            slot = items.size();
+            items.add(item);
+            indexedValues.add(null);
+            slotsById.put(id, slot);
+        }
+
+        Object[] values = new Object[facetNames.size()];
+        for (int f = 0; f < facetNames.size(); f++) {
+            String name = facetNames.get(f);
+            Object value = extractors.get(name).apply(item);
+            values[f] = value;
+            if (value != null) {
+                facets.get(name).computeIfAbsent(value, v -> new CompressedBitSet()).add(slot);
+            }
+        }
+        indexedValues.set(slot, values);
+        allSlots.add(slot);
+    }
+
+    public void putAll(Collection<? extends T> newItems) {
+        for (T item : newItems) {
+            put(item);
+        }
+    }
+
+    public void remove(String id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) return;
+        clearSlot(slot);
+        items.set(slot, null);
+        indexedValues.set(slot, null);
+        allSlots.remove(slot);
+    }
+
+    public void clear() {
+        slotsById.clear();
+        items.clear();
+        indexedValues.clear();
+        allSlots.clear();
+        for (Map<Object, CompressedBitSet> values : facets.values()) {
+            values.clear();
+        }
+    }
+
+    private void clearSlot(int slot) {
+        Object[] values = indexedValues.get(slot);
+        if (values == null) return;
+        for (int f = 0; f < facetNames.size(); f++) {
+            if (values[f] == null) continue;
+            Map<Object, CompressedBitSet> facet = facets.get(facetNames.get(f));
+            CompressedBitSet bits = facet.get(values[f]);
+            if (bits != null) {
+                bits.remove(slot);
+                if (bits.isEmpty()) {
+                    facet.remove(values[f]);
+                }
+            }
+        }
+    }
+
+    // ===================================================================
+    // QUERIES
+    // ===================================================================
+
+    public int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Every indexed item
+     */
+    public CompressedBitSet all() {
+        return allSlots;
+    }
+
+    /**
+     * Items whose facet equals value (read-only view; use and/or for combinations)
+     */
+    public CompressedBitSet bits(String facet, Object value) {
+        CompressedBitSet bits = facetValues(facet).get(value);
+        return bits != null ? bits : new CompressedBitSet();
+    }
+
+    /**
+     * Items whose facet value lies in [from, to); either bound may be null for open-ended
+     */
+    @SuppressWarnings("unchecked")
+    public CompressedBitSet range(String facet, Object from, Object to) {
+        Map<Object, CompressedBitSet> values = facetValues(facet);
+        if (!(values instanceof TreeMap)) {
+            throw new IllegalArgumentException("Facet '" + facet + "' is not a range facet");
+        }
+        NavigableMap<Object, CompressedBitSet> ordered = (TreeMap<Object, CompressedBitSet>) values;
+        NavigableMap<Object, CompressedBitSet> slice;
+        if (from == null && to == null) {
+            slice = ordered;
+        } else if (from == null) {
+            slice = ordered.headMap(to, false);
+        } else if (to == null) {
+            slice = ordered.tailMap(from, true);
+        } else {
+            slice = ordered.subMap(from, true, to, false);
+        }
+
+        CompressedBitSet result = new CompressedBitSet();
+        for (CompressedBitSet bits : slice.values()) {
+            result = result.or(bits);
+        }
+        return result;
+    }
+
+    public int count(String facet, Object value) {
+        return bits(facet, value).cardinality();
+    }
+
+    /**
+     * Distinct values of a facet with their item counts
+     */
+    public Map<Object, Integer> counts(String facet) {
+        Map<Object, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<Object, CompressedBitSet> entry : facetValues(facet).entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().cardinality());
+        }
+        return counts;
+    }
+
+    /**
+     * Resolves a bitset back to items, in slot (insertion) order
+     */
+    public List<T> items(CompressedBitSet bits) {
+        List<T> result = new ArrayList<>(bits.cardinality());
+        bits.forEach(slot -> result.add(items.get(slot)));
+        return result;
+    }
+
+    public boolean matches(T item, CompressedBitSet bits) {
+        Integer slot = slotsById.get(idExtractor.apply(item));
+        return slot != null && bits.contains(slot);
+    }
+
+    private Map<Object, CompressedBitSet> facetValues(String facet) {
+        Map<Object, CompressedBitSet> values = facets.get(facet);
+        if (values == null) {
+            throw new IllegalArgumentException("Unknown facet: " + facet);
+        }
+        return values;
+    }
+}
@@ -4,6 +4,7 @@ import com.studyspace.models.*;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * In-memory data store for offline mode when database is not available
@@ -16,6 +17,8 @@ public class InMemoryDataStore {
     private Map<String, Note> notes;
     private Map<String, TodoItem> todoItems;
     private Map<String, Activity> activities;
+    private Map<String, List<byte[]>> reviewLogBatches;
+    private List<QuizAttempt> quizAttempts;
     
     private User currentUser;
     
@@ -26,6 +29,8 @@ public class InMemoryDataStore {
         this.notes = new ConcurrentHashMap<>();
         this.todoItems = new ConcurrentHashMap<>();
         this.activities = new ConcurrentHashMap<>();
+        this.reviewLogBatches = new ConcurrentHashMap<>();
+        this.quizAttempts = new CopyOnWriteArrayList<>();
         
         // Create a demo user for offline mode
         createDemoUser();
@@ -136,6 +141,7 @@ public class InMemoryDataStore {
             currentUser.setCurrentStreak(user.getCurrentStreak());
             currentUser.setTotalStudyHours(user.getTotalStudyHours());
             currentUser.setLastLoginAt(user.getLastLoginAt());
+            currentUser.setActivityDays(user.getActivityDays());
             
             System.out.println("User updated successfully (offline): " + currentUser.getFullName() + 
                              " (Streak: " + currentUser.getCurrentStreak() + " days)");
@@ -157,22 +163,56 @@ public class InMemoryDataStore {
     
     public void saveFlashcardDeck(FlashcardDeck deck) {
         flashcardDecks.put(deck.getId(), deck);
+        deck.clearRemovedFlashcardIds();
     }
     
     public void deleteFlashcardDeck(String id) {
         flashcardDecks.remove(id);
     }
     
+    public List<byte[]> getReviewLogBatches(String userId) {
+        return new ArrayList<>(reviewLogBatches.getOrDefault(userId, Collections.emptyList()));
+    }
+    
+    public boolean saveReviewLogBatch(String userId, byte[] records) {
+        reviewLogBatches.computeIfAbsent(userId, id -> Collections.synchronizedList(new ArrayList<>())).add(records);
+        return true;
+    }
+    
     public List<Quiz> getAllQuizzes() {
         return new ArrayList<>(quizzes.values());
     }
     
+    public void forEachTakenQuiz(java.util.function.Consumer<Quiz> visitor) {
+        quizzes.values().stream()
+            .filter(quiz -> quiz.getTimesTaken() > 0)
+            .sorted(Comparator.comparing(Quiz::getLastTaken, Comparator.nullsFirst(Comparator.naturalOrder())))
+            .forEach(visitor);
+    }
+    
+    public void forEachQuizAttempt(String userId, java.util.function.Consumer<QuizAttempt> visitor) {
+        for (QuizAttempt attempt : quizAttempts) {
+            if (userId.equals(attempt.getUserId())) {
+                visitor.accept(attempt);
+            }
+        }
+    }
+    
+    public boolean saveQuizAttempt(Quiz quiz, QuizAttempt attempt) {
+        quizAttempts.add(attempt);
+        if (quiz != null) {
+            quizzes.put(quiz.getId(), quiz);
+        }
+        return true;
+    }
+    
     public Quiz getQuiz(String id) {
         return quizzes.get(id);
     }
     
     public void saveQuiz(Quiz quiz) {
         quizzes.put(quiz.getId(), quiz);
+        quiz.clearRemovedQuestionIds();
     }
     
     public void deleteQuiz(String id) {
@@ -0,0 +1,178 @@
+package com.studyspace.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+//============ indexed priority queue =============
+//this is where int handles are kept in a binary min-heap that can find, re-key and remove any entry
+
+/**
+ * Binary min-heap over int handles (0, 1, 2, ...) with a long key each. A position
+ * table makes contains O(1) and insert, remove, changeKey and poll O(log n).
+ * Equal keys come out in handle order so runs are repeatable. Grows as handles grow.
+ */
+public final class IndexedPriorityQueue {
+
+    private int[] heap;      // heap slot -> handle
+    private int[] positions; // handle -> heap slot, -1 when absent
+    private long[] keys;     // handle -> key
+    private int size;
+
+    public IndexedPriorityQueue() {
+        this(16);
+    }
+
+    public IndexedPriorityQueue(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < positions.length && positions[handle] >= 0;
+    }
+
+    /**
+     * Key of a queued handle
+     */
+    public long keyOf(int handle) {
+        requireQueued(handle);
+        return keys[handle];
+    }
+
+    public void insert(int handle, long key) {
+        if (handle < 0) throw new IllegalArgumentException("Negative handle: " + handle);
+        ensureHandleCapacity(handle + 1);
+        if (positions[handle] >= 0) throw new IllegalArgumentException("Handle already queued: " + handle);
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        keys[handle] = key;
+        heap[size] = handle;
+        positions[handle] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Inserts the handle, or moves it to the new key if it is already queued
+     */
+    public void insertOrChange(int handle, long key) {
+        if (contains(handle)) {
+            changeKey(handle, key);
+        } else {
+            insert(handle, key);
+        }
+    }
+
+    public void changeKey(int handle, long key) {
+        requireQueued(handle);
+        long old = keys[handle];
+        keys[handle] = key;
+        int slot = positions[handle];
+        if (key < old) {
+            siftUp(slot);
+        } else if (key > old) {
+            siftDown(slot);
+        }
+    }
+
+    /**
+     * Removes the handle if it is queued; returns whether it was
+     */
+    public boolean remove(int handle) {
+        if (!contains(handle)) return false;
+        int slot = positions[handle];
+        int last = --size;
+        swap(slot, last);
+        positions[handle] = -1;
+        if (slot < last) {
+            siftDown(slot);
+            siftUp(slot);
+        }
+        return true;
+    }
+
+    /**
+     * Handle with the smallest key, or -1 when empty
+     */
+    public int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    public long peekKey() {
+        if (size == 0) throw new NoSuchElementException("Queue is empty");
+        return keys[heap[0]];
+    }
+
+    public int poll() {
+        if (size == 0) throw new NoSuchElementException("Queue is empty");
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private boolean less(int slotA, int slotB) {
+        int a = heap[slotA];
+        int b = heap[slotB];
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!less(slot, parent)) break;
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) break;
+            if (child + 1 < size && less(child + 1, child)) child++;
+            if (!less(child, slot)) break;
+            swap(slot, child);
+            slot = child;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int a = heap[i];
+        int b = heap[j];
+        heap[i] = b;
+        heap[j] = a;
+        positions[b] = i;
+        positions[a] = j;
+    }
+
+    private void ensureHandleCapacity(int capacity) {
+        if (capacity <= positions.length) return;
+        int newLength = Math.max(capacity, positions.length * 2);
+        int oldLength = positions.length;
+        positions = Arrays.copyOf(positions, newLength);
+        Arrays.fill(positions, oldLength, newLength, -1);
+        keys = Arrays.copyOf(keys, newLength);
+    }
+
+    private void requireQueued(int handle) {
+        if (!contains(handle)) throw new NoSuchElementException("Handle not queued: " + handle);
+    }
+}
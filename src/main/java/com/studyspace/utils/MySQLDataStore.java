@@ -18,6 +18,13 @@ public class MySQLDataStore {
     
     // Current session
     private User currentUser;
+    // Whether users.activity_days exists; checked once, older databases lack it
+    private Boolean activityDaysColumn;
+    // Whether the quiz_attempts table and its is_practice column exist; checked once like activity_days
+    private Boolean quizAttemptsTable;
+    private Boolean practiceColumn;
+    // Whether flashcards has the SM-2 schedule columns (ease_factor ... due_at); checked once
+    private Boolean scheduleColumns;
     
     private MySQLDataStore() {
         this.dbConnection = DatabaseConnection.getInstance();
@@ -39,6 +46,9 @@ public class MySQLDataStore {
             
             if (rs.next()) {
                 currentUser = mapResultSetToUser(rs);
+                if (currentUser.getActivityDays().isEmpty()) {
+                    rebuildActivityDays(currentUser);
+                }
                 System.out.println("Authentication successful for: " + currentUser.getFullName());
                 return true;
             }
@@ -88,17 +98,26 @@ public class MySQLDataStore {
     
     public void updateUser(User user) {
         try {
-            String sql = "UPDATE users SET full_name = ?, flashcards_studied = ?, " +
-                        "quizzes_taken = ?, current_streak = ?, total_study_hours = ?, " +
-                        "last_login_at = ? WHERE id = ?";
-            
             Timestamp lastLoginTimestamp = user.getLastLoginAt() != null ? 
                 Timestamp.valueOf(user.getLastLoginAt()) : null;
             
-            dbConnection.executeUpdate(sql, user.getFullName(), user.getFlashcardsStudied(), 
-                                    user.getQuizzesTaken(), 
-                                    user.getCurrentStreak(), user.getTotalStudyHours(), 
-                                    lastLoginTimestamp, user.getId());
+            if (hasActivityDaysColumn()) {
+                String sql = "UPDATE users SET full_name = ?, flashcards_studied = ?, " +
+                            "quizzes_taken = ?, current_streak = ?, total_study_hours = ?, " +
+                            "last_login_at = ?, activity_days = ? WHERE id = ?";
+                dbConnection.executeUpdate(sql, user.getFullName(), user.getFlashcardsStudied(), 
+                                        user.getQuizzesTaken(), 
+                                        user.getCurrentStreak(), user.getTotalStudyHours(), 
+                                        lastLoginTimestamp, user.getActivityDays().toBytes(), user.getId());
+            } else {
+                String sql = "UPDATE users SET full_name = ?, flashcards_studied = ?, " +
+                            "quizzes_taken = ?, current_streak = ?, total_study_hours = ?, " +
+                            "last_login_at = ? WHERE id = ?";
+                dbConnection.executeUpdate(sql, user.getFullName(), user.getFlashcardsStudied(), 
+                                        user.getQuizzesTaken(), 
+                                        user.getCurrentStreak(), user.getTotalStudyHours(), 
+                                        lastLoginTimestamp, user.getId());
+            }
             
             System.out.println("User updated successfully: " + user.getFullName() + 
                              " (Streak: " + user.getCurrentStreak() + " days)");
@@ -107,6 +126,71 @@ public class MySQLDataStore {
         }
     }
     
+    /**
+     * Fills the user's activity days from their stored activities, for accounts
+     * that predate the activity_days column
+     */
+    private void rebuildActivityDays(User user) {
+        try {
+            String sql = "SELECT DISTINCT DATE(timestamp) AS day FROM activities WHERE user_id = ?";
+            ResultSet rs = dbConnection.executeQuery(sql, user.getId());
+            while (rs.next()) {
+                user.getActivityDays().mark(rs.getDate("day").toLocalDate());
+            }
+        } catch (SQLException e) {
+            System.err.println("Rebuild activity days error: " + e.getMessage());
+        }
+    }
+    
+    private boolean hasActivityDaysColumn() {
+        if (activityDaysColumn == null) {
+            try {
+                ResultSet rs = dbConnection.executeQuery("SELECT * FROM users LIMIT 0");
+                activityDaysColumn = hasColumn(rs, "activity_days");
+            } catch (SQLException e) {
+                System.err.println("Check activity days column error: " + e.getMessage());
+                return false;
+            }
+        }
+        return activityDaysColumn;
+    }
+    
+    private boolean hasScheduleColumns() {
+        if (scheduleColumns == null) {
+            try {
+                ResultSet rs = dbConnection.executeQuery("SELECT * FROM flashcards LIMIT 0");
+                scheduleColumns = hasColumn(rs, "due_at");
+            } catch (SQLException e) {
+                System.err.println("Check schedule columns error: " + e.getMessage());
+                return false;
+            }
+        }
+        return scheduleColumns;
+    }
+    
+    private boolean hasQuizAttemptsTable() {
+        if (quizAttemptsTable == null) {
+            try {
+                ResultSet rs = dbConnection.executeQuery("SELECT * FROM quiz_attempts LIMIT 0");
+                practiceColumn = hasColumn(rs, "is_practice");
+                quizAttemptsTable = true;
+            } catch (SQLException e) {
+                // 42S02: the table does not exist; anything else is not cached
+                if (!"42S02".equals(e.getSQLState())) {
+                    System.err.println("Check quiz attempts table error: " + e.getMessage());
+                    return false;
+                }
+                practiceColumn = false;
+                quizAttemptsTable = false;
+            }
+        }
+        return quizAttemptsTable;
+    }
+    
+    private boolean hasPracticeColumn() {
+        return hasQuizAttemptsTable() && practiceColumn;
+    }
+    
     public boolean isEmailTaken(String email) {
         try {
             String sql = "SELECT id FROM users WHERE email = ?";
@@ -143,13 +227,20 @@ public class MySQLDataStore {
     
     // Flashcard Deck methods
     public List<FlashcardDeck> getAllFlashcardDecks() {
+        return getAllFlashcardDecks(null);
+    }
+    
+    /**
+     * Rows ordered by the option's ORDER BY (newest first when null or not expressible in SQL)
+     */
+    public List<FlashcardDeck> getAllFlashcardDecks(SortOption<FlashcardDeck> sortOption) {
         List<FlashcardDeck> decks = new ArrayList<>();
         if (currentUser == null) {
             System.err.println("No user logged in - cannot retrieve flashcard decks");
             return decks;
         }
         try {
-            String sql = "SELECT * FROM flashcard_decks WHERE user_id = ? ORDER BY created_at DESC";
+            String sql = "SELECT * FROM flashcard_decks WHERE user_id = ? ORDER BY " + orderBy(sortOption);
             ResultSet rs = dbConnection.executeQuery(sql, currentUser.getId());
             
             while (rs.next()) {
@@ -208,9 +299,14 @@ public class MySQLDataStore {
             }
             
             // Save flashcards
+            List<String> cardIds = new ArrayList<>();
             for (Flashcard card : deck.getFlashcards()) {
                 saveFlashcard(card, deck.getId());
+                cardIds.add(card.getId());
             }
+            // Drop cards removed from the deck (deleted or merged away)
+            deleteRemovedRows("flashcards", "deck_id", deck.getId(), deck.getRemovedFlashcardIds(), cardIds);
+            deck.clearRemovedFlashcardIds();
             
         } catch (SQLException e) {
             System.err.println("Save flashcard deck error: " + e.getMessage());
@@ -245,6 +341,41 @@ public class MySQLDataStore {
         return flashcards;
     }
     
+    /**
+     * Deletes the child rows of a deck or quiz that the app removed from it. Rows
+     * the deck or quiz simply doesn't hold in memory are left alone, so a save from
+     * a partial or stale copy never deletes anything.
+     */
+    private void deleteRemovedRows(String table, String parentColumn, String parentId,
+                                   Collection<String> removedIds, List<String> keptIds) throws SQLException {
+        List<String> ids = idsToDelete(removedIds, keptIds);
+        if (ids.isEmpty()) return;
+
+        StringBuilder sql = new StringBuilder("DELETE FROM " + table + " WHERE " + parentColumn + " = ? AND id IN (");
+        Object[] params = new Object[ids.size() + 1];
+        params[0] = parentId;
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            params[i + 1] = ids.get(i);
+        }
+        sql.append(")");
+        dbConnection.executeUpdate(sql.toString(), params);
+    }
+
+    /**
+     * Removed ids still held by another child (merged duplicates can share an id) are kept
+     */
+    static List<String> idsToDelete(Collection<String> removedIds, Collection<String> keptIds) {
+        Set<String> kept = new HashSet<>(keptIds);
+        List<String> ids = new ArrayList<>();
+        for (String id : removedIds) {
+            if (id != null && !kept.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+    
     private void saveFlashcard(Flashcard card, String deckId) {
         try {
             String checkSql = "SELECT id FROM flashcards WHERE id = ?";
@@ -271,15 +402,91 @@ public class MySQLDataStore {
         }
     }
     
+    /**
+     * Writes the cards' review statistics and spaced-repetition state in one batch.
+     * Databases without the schedule columns keep only the review statistics.
+     */
+    public void updateFlashcardSchedules(Collection<Flashcard> cards) {
+        try {
+            List<Object[]> rows = new ArrayList<>();
+            if (hasScheduleColumns()) {
+                String sql = "UPDATE flashcards SET last_studied = ?, times_studied = ?, is_correct = ?, " +
+                             "ease_factor = ?, interval_days = ?, repetitions = ?, lapses = ?, due_at = ? WHERE id = ?";
+                for (Flashcard card : cards) {
+                    rows.add(new Object[] {
+                        card.getLastStudied() != null ? Timestamp.valueOf(card.getLastStudied()) : null,
+                        card.getTimesStudied(), card.isCorrect(), card.getEaseFactor(), card.getIntervalDays(),
+                        card.getRepetitions(), card.getLapses(),
+                        card.getDueAt() != null ? Timestamp.valueOf(card.getDueAt()) : null, card.getId()
+                    });
+                }
+                dbConnection.executeBatch(sql, rows);
+            } else {
+                String sql = "UPDATE flashcards SET last_studied = ?, times_studied = ?, is_correct = ? WHERE id = ?";
+                for (Flashcard card : cards) {
+                    rows.add(new Object[] {
+                        card.getLastStudied() != null ? Timestamp.valueOf(card.getLastStudied()) : null,
+                        card.getTimesStudied(), card.isCorrect(), card.getId()
+                    });
+                }
+                dbConnection.executeBatch(sql, rows);
+            }
+        } catch (SQLException e) {
+            System.err.println("Update flashcard schedules error: " + e.getMessage());
+        }
+    }
+    
+    // Review log methods
+    
+    /**
+     * Every stored review-log batch for the user, oldest first
+     */
+    public List<byte[]> getReviewLogBatches(String userId) {
+        List<byte[]> batches = new ArrayList<>();
+        try {
+            String sql = "SELECT records FROM review_log_batches WHERE user_id = ? ORDER BY first_reviewed_at, id";
+            ResultSet rs = dbConnection.executeQuery(sql, userId);
+            while (rs.next()) {
+                batches.add(rs.getBytes("records"));
+            }
+        } catch (SQLException e) {
+            System.err.println("Get review log error: " + e.getMessage());
+        }
+        return batches;
+    }
+    
+    /**
+     * Stores one batch of fixed-width review records as a single row
+     */
+    public boolean saveReviewLogBatch(String userId, byte[] records, long firstReviewedAt, long lastReviewedAt) {
+        try {
+            String sql = "INSERT INTO review_log_batches (user_id, first_reviewed_at, last_reviewed_at, record_count, records) " +
+                         "VALUES (?, ?, ?, ?, ?)";
+            dbConnection.executeUpdate(sql, userId, firstReviewedAt, lastReviewedAt,
+                                    records.length / ReviewLog.RECORD_SIZE, records);
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Save review log error: " + e.getMessage());
+            return false;
+        }
+    }
+    
     // Quiz methods
     public List<Quiz> getAllQuizzes() {
+        return getAllQuizzes(null);
+    }
+    
+    /**
+     * Rows ordered by the option's ORDER BY (newest first when null or not expressible in SQL)
+     */
+    public List<Quiz> getAllQuizzes(SortOption<Quiz> sortOption) {
         List<Quiz> quizzes = new ArrayList<>();
         if (currentUser == null) {
             System.err.println("No user logged in - cannot retrieve quizzes");
             return quizzes;
         }
         try {
-            String sql = "SELECT * FROM quizzes WHERE user_id = ? ORDER BY created_at DESC";
+            String sql = "SELECT * FROM quizzes WHERE user_id = ? ORDER BY " + orderBy(sortOption);
             ResultSet rs = dbConnection.executeQuery(sql, currentUser.getId());
             
             while (rs.next()) {
@@ -293,6 +500,136 @@ public class MySQLDataStore {
         return quizzes;
     }
     
+    /**
+     * Streams the quizzes that have been taken, oldest attempt first, without
+     * their questions
+     */
+    public void forEachTakenQuiz(java.util.function.Consumer<Quiz> visitor) {
+        if (currentUser == null) {
+            return;
+        }
+        try {
+            String sql = "SELECT id, subject, best_score, times_taken, last_taken FROM quizzes " +
+                        "WHERE user_id = ? AND times_taken > 0 ORDER BY last_taken";
+            ResultSet rs = dbConnection.executeQuery(sql, currentUser.getId());
+            
+            while (rs.next()) {
+                Quiz quiz = new Quiz();
+                quiz.setId(rs.getString("id"));
+                quiz.setSubject(rs.getString("subject"));
+                quiz.setBestScore(rs.getInt("best_score"));
+                quiz.setTimesTaken(rs.getInt("times_taken"));
+                if (rs.getTimestamp("last_taken") != null) {
+                    quiz.setLastTaken(rs.getTimestamp("last_taken").toLocalDateTime());
+                }
+                visitor.accept(quiz);
+            }
+        } catch (SQLException e) {
+            System.err.println("Stream quizzes error: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Streams the user's attempts with their answers, oldest first
+     */
+    public void forEachQuizAttempt(String userId, java.util.function.Consumer<QuizAttempt> visitor) {
+        try {
+            String sql = "SELECT a.*, " +
+                        "ans.question_id, ans.chosen_option, ans.is_correct, ans.time_spent_ms " +
+                        "FROM quiz_attempts a LEFT JOIN quiz_attempt_answers ans ON ans.attempt_id = a.id " +
+                        "WHERE a.user_id = ? ORDER BY a.finished_at, a.id, ans.position";
+            ResultSet rs = dbConnection.executeQuery(sql, userId);
+            
+            // Rows of one attempt arrive together; hand it over when the next one starts
+            QuizAttempt attempt = null;
+            while (rs.next()) {
+                String attemptId = rs.getString("id");
+                if (attempt == null || !attempt.getId().equals(attemptId)) {
+                    if (attempt != null) {
+                        visitor.accept(attempt);
+                    }
+                    attempt = new QuizAttempt();
+                    attempt.setId(attemptId);
+                    attempt.setUserId(userId);
+                    attempt.setQuizId(rs.getString("quiz_id"));
+                    attempt.setScore(rs.getInt("score"));
+                    attempt.setStartedAt(rs.getTimestamp("started_at").toLocalDateTime());
+                    attempt.setFinishedAt(rs.getTimestamp("finished_at").toLocalDateTime());
+                    attempt.setPractice(hasColumn(rs, "is_practice") && rs.getBoolean("is_practice"));
+                }
+                String questionId = rs.getString("question_id");
+                if (questionId != null) {
+                    attempt.addAnswer(new QuizAttempt.Answer(questionId, rs.getInt("chosen_option"),
+                        rs.getBoolean("is_correct"), rs.getInt("time_spent_ms")));
+                }
+            }
+            if (attempt != null) {
+                visitor.accept(attempt);
+            }
+        } catch (SQLException e) {
+            System.err.println("Get quiz attempts error: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Stores a finished attempt in one transaction: the attempt row, its answers as
+     * one batch, and the quiz's score columns (the quiz itself is not re-saved).
+     * quiz is null for practice attempts, which leave the score columns alone.
+     * Databases without the is_practice column store the attempt without the flag;
+     * databases without quiz_attempts still get the score, and false is returned.
+     */
+    public boolean saveQuizAttempt(Quiz quiz, QuizAttempt attempt) {
+        boolean attemptsTable = hasQuizAttemptsTable();
+        boolean practiceColumn = hasPracticeColumn();
+        try {
+            dbConnection.inTransaction(transaction -> {
+                if (attemptsTable) {
+                    insertAttemptRows(transaction, attempt, practiceColumn);
+                }
+                
+                if (quiz != null) {
+                    String quizSql = "UPDATE quizzes SET last_taken = ?, best_score = ?, times_taken = ? WHERE id = ?";
+                    transaction.executeUpdate(quizSql,
+                                            quiz.getLastTaken() != null ? Timestamp.valueOf(quiz.getLastTaken()) : null,
+                                            quiz.getBestScore(), quiz.getTimesTaken(), quiz.getId());
+                }
+            });
+            return attemptsTable;
+        } catch (SQLException e) {
+            System.err.println("Save quiz attempt error: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private void insertAttemptRows(DatabaseConnection.Transaction transaction, QuizAttempt attempt,
+                                   boolean practiceColumn) throws SQLException {
+        if (practiceColumn) {
+            String attemptSql = "INSERT INTO quiz_attempts (id, user_id, quiz_id, score, correct_count, " +
+                              "question_count, started_at, finished_at, is_practice) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+            transaction.executeUpdate(attemptSql, attempt.getId(), attempt.getUserId(), attempt.getQuizId(),
+                                    attempt.getScore(), attempt.getCorrectCount(), attempt.getAnswers().size(),
+                                    Timestamp.valueOf(attempt.getStartedAt()),
+                                    Timestamp.valueOf(attempt.getFinishedAt()), attempt.isPractice());
+        } else {
+            String attemptSql = "INSERT INTO quiz_attempts (id, user_id, quiz_id, score, correct_count, " +
+                              "question_count, started_at, finished_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+            transaction.executeUpdate(attemptSql, attempt.getId(), attempt.getUserId(), attempt.getQuizId(),
+                                    attempt.getScore(), attempt.getCorrectCount(), attempt.getAnswers().size(),
+                                    Timestamp.valueOf(attempt.getStartedAt()),
+                                    Timestamp.valueOf(attempt.getFinishedAt()));
+        }
+        
+        List<Object[]> rows = new ArrayList<>();
+        List<QuizAttempt.Answer> answers = attempt.getAnswers();
+        for (int i = 0; i < answers.size(); i++) {
+            QuizAttempt.Answer answer = answers.get(i);
+            rows.add(new Object[] { attempt.getId(), i, answer.getQuestionId(), answer.getChosenOption(),
+                                    answer.isCorrect(), answer.getTimeSpentMillis() });
+        }
+        transaction.executeBatch("INSERT INTO quiz_attempt_answers (attempt_id, position, question_id, " +
+                                "chosen_option, is_correct, time_spent_ms) VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+    
     public Quiz getQuiz(String id) {
         try {
             String sql = "SELECT * FROM quizzes WHERE id = ?";
@@ -338,9 +675,14 @@ public class MySQLDataStore {
             }
             
             // Save questions
+            List<String> questionIds = new ArrayList<>();
             for (Question question : quiz.getQuestions()) {
                 saveQuestion(question, quiz.getId());
+                questionIds.add(question.getId());
             }
+            // Drop questions removed from the quiz (deleted or merged away)
+            deleteRemovedRows("questions", "quiz_id", quiz.getId(), quiz.getRemovedQuestionIds(), questionIds);
+            quiz.clearRemovedQuestionIds();
             
         } catch (SQLException e) {
             System.err.println("Save quiz error: " + e.getMessage());
@@ -404,13 +746,20 @@ public class MySQLDataStore {
     
     // Note methods
     public List<Note> getAllNotes() {
+        return getAllNotes(null);
+    }
+    
+    /**
+     * Rows ordered by the option's ORDER BY (newest first when null or not expressible in SQL)
+     */
+    public List<Note> getAllNotes(SortOption<Note> sortOption) {
         List<Note> notes = new ArrayList<>();
         if (currentUser == null) {
             System.err.println("No user logged in - cannot retrieve notes");
             return notes;
         }
         try {
-            String sql = "SELECT * FROM notes WHERE user_id = ? ORDER BY created_at DESC";
+            String sql = "SELECT * FROM notes WHERE user_id = ? ORDER BY " + orderBy(sortOption);
             ResultSet rs = dbConnection.executeQuery(sql, currentUser.getId());
             
             while (rs.next()) {
@@ -480,13 +829,20 @@ public class MySQLDataStore {
     
     // Todo methods
     public List<TodoItem> getAllTodoItems() {
+        return getAllTodoItems(null);
+    }
+    
+    /**
+     * Rows ordered by the option's ORDER BY (newest first when null or not expressible in SQL)
+     */
+    public List<TodoItem> getAllTodoItems(SortOption<TodoItem> sortOption) {
         List<TodoItem> todos = new ArrayList<>();
         if (currentUser == null) {
             System.err.println("No user logged in - cannot retrieve todo items");
             return todos;
         }
         try {
-            String sql = "SELECT * FROM todo_items WHERE user_id = ? ORDER BY created_at DESC";
+            String sql = "SELECT * FROM todo_items WHERE user_id = ? ORDER BY " + orderBy(sortOption);
             ResultSet rs = dbConnection.executeQuery(sql, currentUser.getId());
             
             while (rs.next()) {
@@ -691,9 +1047,18 @@ public class MySQLDataStore {
         user.setQuizzesTaken(rs.getInt("quizzes_taken"));
         user.setCurrentStreak(rs.getInt("current_streak"));
         user.setTotalStudyHours(rs.getInt("total_study_hours"));
+        if (hasColumn(rs, "activity_days") && rs.getBytes("activity_days") != null) {
+            user.setActivityDays(ActivityCalendar.fromBytes(rs.getBytes("activity_days")));
+        }
         return user;
     }
     
+    // ORDER BY clauses only ever come from the SortOptions registry, never from user input
+    private String orderBy(SortOption<?> sortOption) {
+        String orderBy = sortOption != null ? sortOption.getSqlOrderBy() : null;
+        return orderBy != null ? orderBy : "created_at DESC";
+    }
+    
     private FlashcardDeck mapResultSetToFlashcardDeck(ResultSet rs) throws SQLException {
         FlashcardDeck deck = new FlashcardDeck();
         deck.setId(rs.getString("id"));
@@ -721,9 +1086,29 @@ public class MySQLDataStore {
         }
         card.setTimesStudied(rs.getInt("times_studied"));
         card.setCorrect(rs.getBoolean("is_correct"));
+        // Databases created before spaced repetition have no schedule columns
+        if (hasColumn(rs, "due_at")) {
+            card.setEaseFactor(rs.getDouble("ease_factor"));
+            card.setIntervalDays(rs.getDouble("interval_days"));
+            card.setRepetitions(rs.getInt("repetitions"));
+            card.setLapses(rs.getInt("lapses"));
+            if (rs.getTimestamp("due_at") != null) {
+                card.setDueAt(rs.getTimestamp("due_at").toLocalDateTime());
+            }
+        }
         return card;
     }
     
+    private boolean hasColumn(ResultSet rs, String column) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            if (column.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     private Quiz mapResultSetToQuiz(ResultSet rs) throws SQLException {
         Quiz quiz = new Quiz();
         quiz.setId(rs.getString("id"));
@@ -0,0 +1,333 @@
+package com.studyspace.utils;
+
+import java.util.*;
+import java.util.function.Function;
+
+//============ near duplicate index =============
+//this is where near-identical cards and questions are found with MinHash signatures
+
+/**
+ * Locality-sensitive index over item text. Each item is reduced to a MinHash
+ * signature of its character shingles; the signature is split into bands and
+ * items sharing any band land in the same bucket. Only bucket-mates are ever
+ * compared, so clustering a whole library stays roughly linear.
+ *
+ * @param <T> the indexed item type
+ */
+public class NearDuplicateIndex<T> {
+
+    public static final double DEFAULT_THRESHOLD = 0.75;
+
+    // 16 bands x 4 rows puts the LSH "knee" near 0.5 estimated Jaccard,
+    // comfortably below the thresholds callers verify against
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final int SIGNATURE_SIZE = BANDS * ROWS;
+    private static final int SHINGLE_LENGTH = 4;
+    // Each signature row uses its own hash h * MULTIPLIERS[k] + OFFSETS[k] of the mixed shingle hash
+    private static final long[] MULTIPLIERS = new long[SIGNATURE_SIZE];
+    private static final long[] OFFSETS = new long[SIGNATURE_SIZE];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            MULTIPLIERS[i] = seed | 1L;
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            OFFSETS[i] = seed;
+        }
+    }
+
+    /**
+     * An indexed item together with its estimated similarity to a probe
+     */
+    public static class Match<T> {
+        private final T item;
+        private final double similarity;
+
+        public Match(T item, double similarity) {
+            this.item = item;
+            this.similarity = similarity;
+        }
+
+        public T getItem() { return item; }
+        public double getSimilarity() { return similarity; }
+    }
+
+    private final Function<T, String> idExtractor;
+    private final Function<T, String> textExtractor;
+
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final List<T> items = new ArrayList<>();
+    private final List<long[]> signatures = new ArrayList<>();
+    // Band key -> slots sharing that band; most buckets hold a single slot, so plain arrays are kept
+    private final Map<Long, int[]> buckets = new HashMap<>();
+
+    public NearDuplicateIndex(Function<T, String> idExtractor, Function<T, String> textExtractor) {
+        this.idExtractor = idExtractor;
+        this.textExtractor = textExtractor;
+    }
+
+    // ===================================================================
+    // MUTATION
+    // ===================================================================
+
+    /**
+     * Adds an item, or re-indexes it if an item with the same id is already present
+     */
+    public void put(T item) {
+        String id = idExtractor.apply(item);
+        remove(id);
+
+        long[] signature = signature(textExtractor.apply(item));
+        // Slots are never reused, so cluster order follows insertion order
+        int slot = items.size();
+        items.add(item);
+        signatures.add(signature);
+        slotsById.put(id, slot);
+        if (signature == null) return;
+
+        for (int band = 0; band < BANDS; band++) {
+            buckets.merge(bandKey(signature, band), new int[] { slot }, NearDuplicateIndex::append);
+        }
+    }
+
+    public void putAll(Collection<? extends T> newItems) {
+        for (T item : newItems) {
+            put(item);
+        }
+    }
+
+    public void remove(String id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) return;
+        long[] signature = signatures.get(slot);
+        if (signature != null) {
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(signature, band);
+                int[] bucket = buckets.get(key);
+                if (bucket != null) {
+                    int[] remaining = without(bucket, slot);
+                    if (remaining.length == 0) {
+                        buckets.remove(key);
+                    } else {
+                        buckets.put(key, remaining);
+                    }
+                }
+            }
+        }
+        items.set(slot, null);
+        signatures.set(slot, null);
+    }
+
+    public void clear() {
+        slotsById.clear();
+        items.clear();
+        signatures.clear();
+        buckets.clear();
+    }
+
+    public int size() {
+        return slotsById.size();
+    }
+
+    // ===================================================================
+    // QUERIES
+    // ===================================================================
+
+    /**
+     * Indexed items whose text is estimated to be at least threshold-similar, most similar first
+     */
+    public List<Match<T>> findSimilar(String text, double threshold) {
+        List<Match<T>> matches = new ArrayList<>();
+        long[] probe = signature(text);
+        if (probe == null) return matches;
+
+        Set<Integer> seen = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            int[] bucket = buckets.get(bandKey(probe, band));
+            if (bucket == null) continue;
+            for (int slot : bucket) {
+                if (!seen.add(slot)) continue;
+                double similarity = estimate(probe, signatures.get(slot));
+                if (similarity >= threshold) {
+                    matches.add(new Match<>(items.get(slot), similarity));
+                }
+            }
+        }
+        matches.sort((a, b) -> Double.compare(b.similarity, a.similarity));
+        return matches;
+    }
+
+    /**
+     * Groups of two or more items that are transitively near-duplicates of each other
+     */
+    public List<List<T>> findClusters(double threshold) {
+        int[] parent = new int[items.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+
+        for (int[] bucket : buckets.values()) {
+            if (bucket.length < 2) continue;
+            // Compare bucket members against a pivot rather than pairwise; members that
+            // don't match the pivot are re-examined with a new pivot
+            int[] pending = bucket;
+            int pendingCount = bucket.length;
+            while (pendingCount > 1) {
+                int pivot = pending[0];
+                int[] unmatched = new int[pendingCount - 1];
+                int unmatchedCount = 0;
+                for (int i = 1; i < pendingCount; i++) {
+                    int slot = pending[i];
+                    if (find(parent, slot) == find(parent, pivot)
+                            || estimate(signatures.get(pivot), signatures.get(slot)) >= threshold) {
+                        union(parent, pivot, slot);
+                    } else {
+                        unmatched[unmatchedCount++] = slot;
+                    }
+                }
+                pending = unmatched;
+                pendingCount = unmatchedCount;
+            }
+        }
+
+        Map<Integer, List<T>> groups = new LinkedHashMap<>();
+        for (int slot = 0; slot < parent.length; slot++) {
+            if (items.get(slot) == null) continue;
+            groups.computeIfAbsent(find(parent, slot), k -> new ArrayList<>()).add(items.get(slot));
+        }
+
+        List<List<T>> clusters = new ArrayList<>();
+        for (List<T> group : groups.values()) {
+            if (group.size() > 1) {
+                clusters.add(group);
+            }
+        }
+        return clusters;
+    }
+
+    /**
+     * Estimated Jaccard similarity of two texts' shingle sets
+     */
+    public static double similarity(String a, String b) {
+        long[] first = signature(a);
+        long[] second = signature(b);
+        if (first == null || second == null) return 0.0;
+        return estimate(first, second);
+    }
+
+    // ===================================================================
+    // SIGNATURES
+    // ===================================================================
+
+    /**
+     * MinHash signature of the normalized text, or null if there is nothing to hash
+     */
+    static long[] signature(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) return null;
+
+        long[] signature = new long[SIGNATURE_SIZE];
+        Arrays.fill(signature, Long.MAX_VALUE);
+
+        int shingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            int end = Math.min(normalized.length(), start + SHINGLE_LENGTH);
+            long h = 0x84222325CBF29CE4L;
+            for (int i = start; i < end; i++) {
+                h = (h ^ normalized.charAt(i)) * 0x100000001B3L;
+            }
+            h = mix(h);
+            for (int k = 0; k < SIGNATURE_SIZE; k++) {
+                long value = h * MULTIPLIERS[k] + OFFSETS[k];
+                if (value < signature[k]) {
+                    signature[k] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static double estimate(long[] a, long[] b) {
+        int equal = 0;
+        for (int k = 0; k < SIGNATURE_SIZE; k++) {
+            if (a[k] == b[k]) equal++;
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long h = band;
+        for (int r = band * ROWS; r < (band + 1) * ROWS; r++) {
+            h = mix(h * 31 + signature[r]);
+        }
+        return h;
+    }
+
+    // Lower-case letters and digits separated by single spaces, so punctuation
+    // and formatting differences don't hide a duplicate
+    private static String normalize(String text) {
+        if (text == null) return "";
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int[] append(int[] bucket, int[] added) {
+        int[] grown = Arrays.copyOf(bucket, bucket.length + added.length);
+        System.arraycopy(added, 0, grown, bucket.length, added.length);
+        return grown;
+    }
+
+    private static int[] without(int[] bucket, int slot) {
+        int[] remaining = new int[bucket.length];
+        int count = 0;
+        for (int member : bucket) {
+            if (member != slot) {
+                remaining[count++] = member;
+            }
+        }
+        return Arrays.copyOf(remaining, count);
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            // Keep the earlier slot as root so clusters list the oldest item first
+            if (rootA < rootB) {
+                parent[rootB] = rootA;
+            } else {
+                parent[rootA] = rootB;
+            }
+        }
+    }
+}
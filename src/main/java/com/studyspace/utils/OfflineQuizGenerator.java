@@ -0,0 +1,284 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Flashcard;
+import com.studyspace.models.Question;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//============ offline quiz generator =============
+//this is where flashcards are turned into multiple-choice questions without calling the AI service
+
+/**
+ * Builds multiple-choice questions from flashcards: the card's question is asked,
+ * its answer is the correct option and three other cards' answers are the
+ * distractors. Good distractors are answers of the same kind (a year for a year,
+ * a short term for a short term) from cards about the same thing, so candidates
+ * are found through an inverted index of the cards' terms and scored by the idf
+ * of the terms they share, with a bonus for answers of similar length.
+ *
+ * Building the index is one pass over the cards; each question then only walks
+ * the posting lists of its own terms, skipping terms too common to tell cards
+ * apart, so 50 questions from thousands of cards take a few milliseconds.
+ */
+public class OfflineQuizGenerator {
+
+    public static final int OPTION_COUNT = 4;
+    // Terms found in more than this share of cards are not walked
+    private static final double MAX_DOCUMENT_FREQUENCY = 0.25;
+    // Answers longer than this many words make poor options
+    private static final int MAX_ANSWER_WORDS = 25;
+    private static final Pattern NUMBER_PART = Pattern.compile("\\d[\\d,]*(\\.\\d+)?");
+
+    /**
+     * Rough kind of an answer; distractors must be of the same kind
+     */
+    enum AnswerType {
+        YES_NO, YEAR, NUMBER, TERM, PHRASE, SENTENCE;
+
+        private static final Pattern YES_NO_ANSWER = Pattern.compile("(yes|no|true|false)\\.?");
+        private static final Pattern YEAR_ANSWER = Pattern.compile("(in )?(1[0-9]|20)\\d{2}( (ad|ce|bc|bce))?\\.?");
+        private static final Pattern NUMBER_ANSWER = Pattern.compile("[-+]?[$€£]?\\d[\\d,]*(\\.\\d+)?\\s*(%|[a-z]{1,4})?\\.?");
+
+        static AnswerType of(String answer) {
+            String text = answer.trim().toLowerCase();
+            if (YES_NO_ANSWER.matcher(text).matches()) return YES_NO;
+            if (YEAR_ANSWER.matcher(text).matches()) return YEAR;
+            if (NUMBER_ANSWER.matcher(text).matches()) return NUMBER;
+            int words = countWords(text);
+            if (words <= 3) return TERM;
+            if (words <= 8) return PHRASE;
+            return SENTENCE;
+        }
+    }
+
+    private final List<Flashcard> cards = new ArrayList<>();
+    private final List<String> answers = new ArrayList<>();
+    private final List<String> normalizedAnswers = new ArrayList<>();
+    private final List<AnswerType> types = new ArrayList<>();
+    private final List<int[]> cardTerms = new ArrayList<>();
+    private final Map<AnswerType, List<Integer>> cardsByType = new EnumMap<>(AnswerType.class);
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private final Random random;
+
+    public OfflineQuizGenerator(List<Flashcard> flashcards, Random random) {
+        this.random = random;
+        for (Flashcard card : flashcards) {
+            String answer = card.getAnswer() != null ? card.getAnswer().trim() : "";
+            if (card.getQuestion() == null || card.getQuestion().trim().isEmpty() || answer.isEmpty()) continue;
+            if (countWords(answer) > MAX_ANSWER_WORDS) continue;
+
+            int index = cards.size();
+            cards.add(card);
+            answers.add(answer);
+            normalizedAnswers.add(normalize(answer));
+            AnswerType type = AnswerType.of(answer);
+            types.add(type);
+            cardsByType.computeIfAbsent(type, t -> new ArrayList<>()).add(index);
+
+            Set<String> terms = RelatedContentIndex.tokenize(card.getQuestion() + " " + answer).keySet();
+            int[] ids = new int[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                int termId = termIds.computeIfAbsent(term, t -> {
+                    postings.add(new PostingList());
+                    return postings.size() - 1;
+                });
+                postings.get(termId).add(index);
+                ids[i++] = termId;
+            }
+            cardTerms.add(ids);
+        }
+    }
+
+    /**
+     * Number of cards that can become questions
+     */
+    public int size() {
+        return cards.size();
+    }
+
+    /**
+     * Up to count questions from different cards, preferring cards of the given
+     * difficulty (null for any); cards with too few plausible distractors are skipped
+     */
+    public List<Question> generate(int count, Flashcard.Difficulty difficulty) {
+        // Cards of the wanted difficulty first, each group in random order
+        List<Integer> order = new ArrayList<>(cards.size());
+        List<Integer> others = new ArrayList<>();
+        for (int i = 0; i < cards.size(); i++) {
+            if (difficulty == null || cards.get(i).getDifficulty() == difficulty) {
+                order.add(i);
+            } else {
+                others.add(i);
+            }
+        }
+        Collections.shuffle(order, random);
+        Collections.shuffle(others, random);
+        order.addAll(others);
+
+        // Scratch space for scoring, reused across questions
+        double[] scores = new double[cards.size()];
+        int[] touched = new int[cards.size()];
+
+        List<Question> questions = new ArrayList<>();
+        Set<String> askedAnswers = new HashSet<>();
+        long idBase = System.currentTimeMillis();
+        for (int index : order) {
+            if (questions.size() >= count) break;
+            if (types.get(index) == AnswerType.YES_NO) continue;
+            // Two cards with the same answer would give away each other's question
+            if (!askedAnswers.add(normalizedAnswers.get(index))) continue;
+
+            List<String> distractors = findDistractors(index, scores, touched);
+            if (distractors.size() < OPTION_COUNT - 1) continue;
+
+            Question question = toQuestion(index, distractors);
+            question.setId("question_" + idBase + "_" + questions.size());
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    /**
+     * The three best distractors for a card: same answer type, most shared idf
+     * weight, similar length; topped up with random answers of the same type
+     */
+    List<String> findDistractors(int index, double[] scores, int[] touched) {
+        AnswerType type = types.get(index);
+        int maxFrequency = Math.max(2, (int) (cards.size() * MAX_DOCUMENT_FREQUENCY));
+        int touchedCount = 0;
+
+        for (int termId : cardTerms.get(index)) {
+            PostingList posting = postings.get(termId);
+            int frequency = posting.size;
+            if (frequency > maxFrequency) continue;
+            double idf = Math.log(1.0 + (double) cards.size() / frequency);
+            for (int p = 0; p < frequency; p++) {
+                int other = posting.cards[p];
+                if (other == index || types.get(other) != type) continue;
+                if (scores[other] == 0) touched[touchedCount++] = other;
+                scores[other] += idf;
+            }
+        }
+
+        // Pick the best few by score, penalising length mismatch, without sorting everything
+        int answerLength = answers.get(index).length();
+        Set<String> chosen = new LinkedHashSet<>();
+        Set<String> excluded = new HashSet<>();
+        excluded.add(normalizedAnswers.get(index));
+        List<Integer> candidates = new ArrayList<>(touchedCount);
+        for (int t = 0; t < touchedCount; t++) {
+            candidates.add(touched[t]);
+        }
+        Comparator<Integer> byScore = Comparator.comparingDouble(
+            other -> -scores[other] / (1 + Math.abs(answers.get(other).length() - answerLength) / 20.0));
+        // A few extra in case some share an answer text
+        for (int other : TopK.smallest(candidates, 4 * OPTION_COUNT, byScore)) {
+            if (chosen.size() >= OPTION_COUNT - 1) break;
+            if (excluded.add(normalizedAnswers.get(other))) {
+                chosen.add(answers.get(other));
+            }
+        }
+        for (int t = 0; t < touchedCount; t++) {
+            scores[touched[t]] = 0;
+        }
+
+        // Not enough related cards: any other answers of the same type will do
+        List<Integer> sameType = cardsByType.getOrDefault(type, Collections.emptyList());
+        for (int attempt = 0; chosen.size() < OPTION_COUNT - 1 && attempt < 8 * OPTION_COUNT && sameType.size() > 1; attempt++) {
+            int other = sameType.get(random.nextInt(sameType.size()));
+            if (excluded.add(normalizedAnswers.get(other))) {
+                chosen.add(answers.get(other));
+            }
+        }
+        if (chosen.size() < OPTION_COUNT - 1 && (type == AnswerType.YEAR || type == AnswerType.NUMBER)) {
+            addNearbyNumbers(answers.get(index), type, chosen, excluded);
+        }
+        return new ArrayList<>(chosen);
+    }
+
+    private Question toQuestion(int index, List<String> distractors) {
+        Flashcard card = cards.get(index);
+        List<String> options = new ArrayList<>(distractors.subList(0, OPTION_COUNT - 1));
+        int correctIndex = random.nextInt(OPTION_COUNT);
+        options.add(correctIndex, answers.get(index));
+        String explanation = "From your flashcard: " + card.getQuestion().trim() + " — " + answers.get(index);
+        Flashcard.Difficulty difficulty = card.getDifficulty() != null ? card.getDifficulty() : Flashcard.Difficulty.MEDIUM;
+        return new Question(card.getQuestion().trim(), options, correctIndex, explanation, difficulty);
+    }
+
+    /**
+     * Distractors for a numeric answer when the cards have too few: nearby years,
+     * or the number scaled up and down, keeping any unit after it
+     */
+    private void addNearbyNumbers(String answer, AnswerType type, Set<String> chosen, Set<String> excluded) {
+        Matcher matcher = NUMBER_PART.matcher(answer);
+        if (!matcher.find()) return;
+        String digits = matcher.group().replace(",", "");
+        double value;
+        try {
+            value = Double.parseDouble(digits);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        boolean whole = !digits.contains(".");
+        double[] offsets = type == AnswerType.YEAR ? new double[] {-10, 5, -3, 12, 2, -20} : null;
+        double[] factors = {0.5, 2, 1.5, 0.75, 10, 0.1};
+        for (int i = 0; i < 6 && chosen.size() < OPTION_COUNT - 1; i++) {
+            double next = offsets != null ? value + offsets[i] : value * factors[i];
+            String number = whole ? String.valueOf(Math.round(next)) : String.valueOf(Math.round(next * 100) / 100.0);
+            String option = answer.substring(0, matcher.start()) + number + answer.substring(matcher.end());
+            if (excluded.add(normalize(option))) {
+                chosen.add(option);
+            }
+        }
+    }
+
+    /**
+     * Lower-cased letter/digit runs joined by single spaces, so "Paris." and "paris" match
+     */
+    private static String normalize(String answer) {
+        StringBuilder normalized = new StringBuilder(answer.length());
+        boolean gap = false;
+        for (int i = 0; i < answer.length(); i++) {
+            char c = answer.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (gap && normalized.length() > 0) normalized.append(' ');
+                normalized.append(Character.toLowerCase(c));
+                gap = false;
+            } else {
+                gap = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static int countWords(String text) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean space = Character.isWhitespace(text.charAt(i));
+            if (!space && !inWord) words++;
+            inWord = !space;
+        }
+        return words;
+    }
+
+    /**
+     * Cards containing a term, in a growable array
+     */
+    private static class PostingList {
+        int[] cards = new int[4];
+        int size;
+
+        void add(int card) {
+            if (size == cards.length) {
+                cards = Arrays.copyOf(cards, size * 2);
+            }
+            cards[size++] = card;
+        }
+    }
+}
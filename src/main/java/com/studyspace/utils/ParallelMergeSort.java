@@ -0,0 +1,150 @@
+package com.studyspace.utils;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+//============ parallel merge sort =============
+//this is where large lists are merge sorted across cores with fork/join
+
+/**
+ * Stable merge sort over an array copy of the list. Halves larger than the
+ * threshold are sorted as separate fork/join tasks; smaller ranges are sorted
+ * sequentially. The whole sort shares one scratch buffer the size of the input,
+ * and each task only touches its own range of it.
+ */
+public final class ParallelMergeSort {
+
+    /** Ranges at or below this size are sorted on the current thread */
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    // Ranges this small are finished with (stable) insertion sort
+    private static final int INSERTION_THRESHOLD = 32;
+
+    private ParallelMergeSort() {}
+
+    public static <T extends Comparable<? super T>> void sort(List<T> list) {
+        sort(list, Comparator.naturalOrder());
+    }
+
+    public static <T> void sort(List<T> list, Comparator<? super T> comparator) {
+        sort(list, comparator, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the list in place; use threshold >= size to force a sequential sort
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(List<T> list, Comparator<? super T> comparator, int threshold, ForkJoinPool pool) {
+        if (list == null || list.size() <= 1) return;
+
+        T[] array = (T[]) list.toArray();
+        sortArray(array, comparator, threshold, pool);
+
+        ListIterator<T> iterator = list.listIterator();
+        for (T element : array) {
+            iterator.next();
+            iterator.set(element);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void sortArray(T[] array, Comparator<? super T> comparator, int threshold, ForkJoinPool pool) {
+        if (array.length <= 1) return;
+        T[] buffer = (T[]) new Object[array.length];
+        int cutoff = Math.max(INSERTION_THRESHOLD, threshold);
+
+        if (array.length <= cutoff) {
+            sequentialSort(array, buffer, 0, array.length, comparator);
+        } else {
+            pool.invoke(new SortTask<>(array, buffer, 0, array.length, cutoff, comparator));
+        }
+    }
+
+    /**
+     * Sorts array[low, high) by splitting in half and forking both halves
+     */
+    private static class SortTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] array;
+        private final T[] buffer;
+        private final int low;
+        private final int high;
+        private final int threshold;
+        private final Comparator<? super T> comparator;
+
+        SortTask(T[] array, T[] buffer, int low, int high, int threshold, Comparator<? super T> comparator) {
+            this.array = array;
+            this.buffer = buffer;
+            this.low = low;
+            this.high = high;
+            this.threshold = threshold;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= threshold) {
+                sequentialSort(array, buffer, low, high, comparator);
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            invokeAll(new SortTask<>(array, buffer, low, mid, threshold, comparator),
+                      new SortTask<>(array, buffer, mid, high, threshold, comparator));
+            merge(array, buffer, low, mid, high, comparator);
+        }
+    }
+
+    // ===================================================================
+    // SEQUENTIAL PARTS
+    // ===================================================================
+
+    private static <T> void sequentialSort(T[] array, T[] buffer, int low, int high, Comparator<? super T> comparator) {
+        if (high - low <= INSERTION_THRESHOLD) {
+            insertionSort(array, low, high, comparator);
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        sequentialSort(array, buffer, low, mid, comparator);
+        sequentialSort(array, buffer, mid, high, comparator);
+        merge(array, buffer, low, mid, high, comparator);
+    }
+
+    /**
+     * Merges the sorted halves [low, mid) and [mid, high); on ties the left element
+     * goes first, which keeps the sort stable
+     */
+    private static <T> void merge(T[] array, T[] buffer, int low, int mid, int high, Comparator<? super T> comparator) {
+        // Halves already in order need no work (common on nearly sorted input)
+        if (comparator.compare(array[mid - 1], array[mid]) <= 0) return;
+
+        System.arraycopy(array, low, buffer, low, mid - low);
+        int i = low;
+        int j = mid;
+        int k = low;
+        while (i < mid && j < high) {
+            if (comparator.compare(array[j], buffer[i]) < 0) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+        // Anything left on the right is already in place
+        while (i < mid) {
+            array[k++] = buffer[i++];
+        }
+    }
+
+    private static <T> void insertionSort(T[] array, int low, int high, Comparator<? super T> comparator) {
+        for (int i = low + 1; i < high; i++) {
+            T key = array[i];
+            int j = i - 1;
+            while (j >= low && comparator.compare(array[j], key) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.studyspace.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+//============ performance recorder =============
+//this is where metrics from instrumented algorithms are collected per operation
+
+/**
+ * Aggregates every PerformanceMetrics produced by the instrumented AlgorithmUtils
+ * variants: call count, total and worst time, comparisons, swaps and allocation.
+ * Swaps are the variants' estimate from list writes; for the merge sorts they
+ * are element write-backs rather than swaps.
+ * Instrumentation is off unless -Dstudyspace.instrumentation=true is set or
+ * setEnabled(true) is called. While it is off the instrumented variants only time
+ * the plain algorithm and nothing is recorded.
+ * A thread can route its instrumented calls to a private recorder instead (see
+ * useOnCurrentThread), so a benchmark run does not end up in the app-wide summaries.
+ */
+public class PerformanceRecorder {
+    private static PerformanceRecorder instance;
+    private static final ThreadLocal<PerformanceRecorder> threadRecorder = new ThreadLocal<>();
+
+    private final Map<String, Summary> summaries = new ConcurrentHashMap<>();
+    private volatile boolean enabled = Boolean.getBoolean("studyspace.instrumentation");
+
+    private PerformanceRecorder() {}
+
+    public static PerformanceRecorder getInstance() {
+        if (instance == null) {
+            instance = new PerformanceRecorder();
+        }
+        return instance;
+    }
+
+    /**
+     * A new enabled recorder that is not the app-wide instance
+     */
+    public static PerformanceRecorder createPrivate() {
+        PerformanceRecorder recorder = new PerformanceRecorder();
+        recorder.enabled = true;
+        return recorder;
+    }
+
+    /**
+     * The recorder the instrumented variants report to on this thread
+     */
+    public static PerformanceRecorder current() {
+        PerformanceRecorder recorder = threadRecorder.get();
+        return recorder != null ? recorder : getInstance();
+    }
+
+    /**
+     * Routes this thread's instrumented calls to the given recorder, or back to the
+     * app-wide instance when null; returns the previous one so callers can restore it
+     */
+    public static PerformanceRecorder useOnCurrentThread(PerformanceRecorder recorder) {
+        PerformanceRecorder previous = threadRecorder.get();
+        if (recorder == null) {
+            threadRecorder.remove();
+        } else {
+            threadRecorder.set(recorder);
+        }
+        return previous;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void record(AlgorithmUtils.PerformanceMetrics metrics) {
+        if (!enabled || metrics == null) return;
+        summaries.computeIfAbsent(metrics.getOperation(), Summary::new).add(metrics);
+    }
+
+    /**
+     * Snapshot of every operation recorded so far, by name
+     */
+    public List<Summary> getSummaries() {
+        List<Summary> snapshot = new ArrayList<>();
+        for (Summary summary : summaries.values()) {
+            snapshot.add(summary.copy());
+        }
+        snapshot.sort(Comparator.comparing(Summary::getOperation));
+        return snapshot;
+    }
+
+    public void reset() {
+        summaries.clear();
+    }
+
+    /**
+     * Prints the aggregated numbers, one line per operation
+     */
+    public void printSummary() {
+        System.out.println("=== Algorithm Performance (" + (enabled ? "enabled" : "disabled") + ") ===");
+        List<Summary> snapshot = getSummaries();
+        if (snapshot.isEmpty()) {
+            System.out.println("No instrumented calls recorded");
+        }
+        for (Summary summary : snapshot) {
+            System.out.println(summary);
+        }
+        System.out.println("=== End Algorithm Performance ===");
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 when the JVM can't tell.
+     * Work handed to other threads (the parallel sorts) is not included.
+     */
+    public static long currentThreadAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().threadId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Running totals for one operation (e.g. "quickSort")
+     */
+    public static class Summary {
+        private final String operation;
+        private long calls;
+        private long totalElements;
+        private long totalNanos;
+        private long maxNanos;
+        private long comparisons;
+        private long swaps;
+        private long allocatedBytes;
+
+        Summary(String operation) {
+            this.operation = operation;
+        }
+
+        synchronized void add(AlgorithmUtils.PerformanceMetrics metrics) {
+            calls++;
+            totalElements += metrics.getInputSize();
+            totalNanos += metrics.getExecutionNanos();
+            maxNanos = Math.max(maxNanos, metrics.getExecutionNanos());
+            comparisons += Math.max(0, metrics.getComparisons());
+            swaps += Math.max(0, metrics.getSwaps());
+            allocatedBytes += Math.max(0, metrics.getAllocatedBytes());
+        }
+
+        synchronized Summary copy() {
+            Summary copy = new Summary(operation);
+            copy.calls = calls;
+            copy.totalElements = totalElements;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            copy.comparisons = comparisons;
+            copy.swaps = swaps;
+            copy.allocatedBytes = allocatedBytes;
+            return copy;
+        }
+
+        public String getOperation() { return operation; }
+        public long getCalls() { return calls; }
+        public long getTotalElements() { return totalElements; }
+        public long getTotalNanos() { return totalNanos; }
+        public long getMaxNanos() { return maxNanos; }
+        public long getComparisons() { return comparisons; }
+        public long getSwaps() { return swaps; }
+        public long getAllocatedBytes() { return allocatedBytes; }
+
+        public double getAverageMillis() {
+            return calls == 0 ? 0 : totalNanos / 1_000_000.0 / calls;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d calls, %d elements, avg %.3fms, max %.3fms, %d comparisons, %d swaps, %d bytes",
+                operation, calls, totalElements, getAverageMillis(), maxNanos / 1_000_000.0,
+                comparisons, swaps, allocatedBytes);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.studyspace.utils;
+
+//============ primitive search =============
+//this is where sorted long[] and int[] keys are searched without boxing
+
+/**
+ * Searches over sorted primitive arrays: timestamps, epoch days, counts.
+ * Interpolation search guesses the probe position from the key's value, which
+ * finds keys in about log log n probes when they are spread evenly (as dates
+ * usually are). It falls back to halving whenever a guess fails to halve the
+ * range, so skewed data costs at most about twice a binary search.
+ * The Eytzinger layout stores a sorted array in breadth-first tree order, so a
+ * binary search walks memory front to back and the first levels stay in cache.
+ */
+public final class PrimitiveSearch {
+
+    private PrimitiveSearch() {}
+
+    // ===================================================================
+    // INTERPOLATION SEARCH
+    // ===================================================================
+
+    /**
+     * Index of the key in the ascending array, or -(insertion point) - 1 like Arrays.binarySearch
+     */
+    public static int interpolationSearch(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length - 1;
+        boolean bisect = false;
+
+        while (low <= high) {
+            long lowKey = sorted[low];
+            long highKey = sorted[high];
+            if (key < lowKey) return -(low + 1);
+            if (key > highKey) return -(high + 2);
+
+            int probe;
+            if (bisect || highKey == lowKey) {
+                probe = (low + high) >>> 1;
+            } else {
+                // Doubles avoid overflow when the keys span most of the long range
+                double fraction = ((double) key - (double) lowKey) / ((double) highKey - (double) lowKey);
+                probe = low + (int) (fraction * (high - low));
+                probe = Math.max(low, Math.min(high, probe));
+            }
+
+            int before = high - low;
+            long probeKey = sorted[probe];
+            if (probeKey < key) {
+                low = probe + 1;
+            } else if (probeKey > key) {
+                high = probe - 1;
+            } else {
+                return probe;
+            }
+            // A guess that didn't halve the range is followed by a plain halving step
+            bisect = !bisect && (high - low) > before / 2;
+        }
+        return -(low + 1);
+    }
+
+    public static int interpolationSearch(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length - 1;
+        boolean bisect = false;
+
+        while (low <= high) {
+            int lowKey = sorted[low];
+            int highKey = sorted[high];
+            if (key < lowKey) return -(low + 1);
+            if (key > highKey) return -(high + 2);
+
+            int probe;
+            if (bisect || highKey == lowKey) {
+                probe = (low + high) >>> 1;
+            } else {
+                long offset = (long) (high - low) * ((long) key - lowKey) / ((long) highKey - lowKey);
+                probe = low + (int) offset;
+            }
+
+            int before = high - low;
+            int probeKey = sorted[probe];
+            if (probeKey < key) {
+                low = probe + 1;
+            } else if (probeKey > key) {
+                high = probe - 1;
+            } else {
+                return probe;
+            }
+            bisect = !bisect && (high - low) > before / 2;
+        }
+        return -(low + 1);
+    }
+
+    // ===================================================================
+    // BOUNDS
+    // ===================================================================
+
+    /**
+     * First index whose key is >= the given key (length if none)
+     */
+    public static int lowerBound(long[] sorted, long key) {
+        return lowerBound(sorted, sorted.length, key);
+    }
+
+    /**
+     * First index below length whose key is >= the given key (length if none);
+     * for arrays that are only filled up to length
+     */
+    public static int lowerBound(long[] sorted, int length, long key) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index whose key is > the given key (length if none)
+     */
+    public static int upperBound(long[] sorted, long key) {
+        return key == Long.MAX_VALUE ? sorted.length : lowerBound(sorted, key + 1);
+    }
+
+    public static int lowerBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // ===================================================================
+    // EYTZINGER LAYOUT
+    // ===================================================================
+
+    /**
+     * Breadth-first copy of an ascending array, 1-based (slot 0 is unused): the
+     * children of slot k are 2k and 2k + 1
+     */
+    public static long[] eytzinger(long[] sorted) {
+        long[] layout = new long[sorted.length + 1];
+        fillLayout(sorted, layout, null, 0, 1);
+        return layout;
+    }
+
+    public static int[] eytzinger(int[] sorted) {
+        long[] widened = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            widened[i] = sorted[i];
+        }
+        long[] layout = eytzinger(widened);
+        int[] narrowed = new int[layout.length];
+        for (int i = 1; i < layout.length; i++) {
+            narrowed[i] = (int) layout[i];
+        }
+        return narrowed;
+    }
+
+    /**
+     * For each layout slot, the index of its key in the sorted array
+     */
+    public static int[] eytzingerRanks(int length) {
+        int[] ranks = new int[length + 1];
+        fillLayout(null, null, ranks, 0, 1);
+        return ranks;
+    }
+
+    /**
+     * Layout slot of the first key >= the given key, or 0 if every key is smaller.
+     * The loop is branch-free apart from its bound.
+     */
+    public static int eytzingerLowerBound(long[] layout, long key) {
+        int n = layout.length - 1;
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (layout[k] < key ? 1 : 0);
+        }
+        // Undo the trailing right turns (and the final left one) to reach the answer
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    public static int eytzingerLowerBound(int[] layout, int key) {
+        int n = layout.length - 1;
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (layout[k] < key ? 1 : 0);
+        }
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    // In-order walk of the implicit tree assigns sorted positions to slots
+    private static int fillLayout(long[] sorted, long[] layout, int[] ranks, int next, int slot) {
+        int size = layout != null ? layout.length : ranks.length;
+        if (slot < size) {
+            next = fillLayout(sorted, layout, ranks, next, 2 * slot);
+            if (layout != null) layout[slot] = sorted[next];
+            if (ranks != null) ranks[slot] = next;
+            next++;
+            next = fillLayout(sorted, layout, ranks, next, 2 * slot + 1);
+        }
+        return next;
+    }
+}
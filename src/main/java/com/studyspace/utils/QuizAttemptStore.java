@@ -0,0 +1,277 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Quiz;
+import com.studyspace.models.QuizAttempt;
+import com.studyspace.models.User;
+
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+//============ quiz attempt store =============
+//this is where finished quiz attempts are saved and per-question statistics are kept up to date
+
+/**
+ * Records every finished attempt of the signed-in user's quizzes, answer by
+ * answer, and keeps running item statistics per question:
+ * - p-value: share of answers that were correct (higher is easier)
+ * - discrimination: point-biserial correlation between getting the question
+ *   right and the score on the attempt's other questions (the rest score)
+ * Both come from a handful of sums per question, so an attempt updates them in
+ * time proportional to its answers. Adaptive practice attempts mix questions from
+ * many quizzes, so they are left out of both; their answers are counted apart,
+ * for the adaptive picker. Saving an attempt is one write on a
+ * background thread: the attempt row, its answers as one batch and the quiz's
+ * score columns, together.
+ */
+public class QuizAttemptStore {
+
+    private static final long FLUSH_WAIT_SECONDS = 10;
+
+    /**
+     * Where attempts are kept between sessions
+     */
+    public interface Storage {
+        /** Every stored attempt of the user, with its answers, oldest first */
+        void forEachAttempt(String userId, Consumer<QuizAttempt> visitor);
+
+        /** Stores the attempt and, unless quiz is null, the quiz's score columns; false if it could not be saved */
+        boolean saveAttempt(Quiz quiz, QuizAttempt attempt);
+    }
+
+    /**
+     * Running statistics of one question. Snapshots handed out are copies.
+     */
+    public static class ItemStats {
+        private int answered;
+        private int correct;
+        private long totalTimeMillis;
+        private long lastAnsweredMillis;
+        // Rest-score sums, over answers from attempts with at least one other question
+        private int restCount;
+        private int restCorrectCount;
+        private double restSum;
+        private double restSquaredSum;
+        private double restSumWhenCorrect;
+        // Adaptive practice answers, kept out of the item statistics above
+        private int practiceAnswered;
+        private int practiceCorrect;
+
+        void addPractice(boolean wasCorrect, long answeredAtMillis) {
+            practiceAnswered++;
+            if (wasCorrect) practiceCorrect++;
+            lastAnsweredMillis = Math.max(lastAnsweredMillis, answeredAtMillis);
+        }
+
+        void add(boolean wasCorrect, int timeSpentMillis, long answeredAtMillis, double restScore, boolean hasRest) {
+            answered++;
+            if (wasCorrect) correct++;
+            totalTimeMillis += Math.max(0, timeSpentMillis);
+            lastAnsweredMillis = Math.max(lastAnsweredMillis, answeredAtMillis);
+            if (!hasRest) return;
+            restCount++;
+            restSum += restScore;
+            restSquaredSum += restScore * restScore;
+            if (wasCorrect) {
+                restCorrectCount++;
+                restSumWhenCorrect += restScore;
+            }
+        }
+
+        ItemStats copy() {
+            ItemStats copy = new ItemStats();
+            copy.answered = answered;
+            copy.correct = correct;
+            copy.totalTimeMillis = totalTimeMillis;
+            copy.lastAnsweredMillis = lastAnsweredMillis;
+            copy.restCount = restCount;
+            copy.restCorrectCount = restCorrectCount;
+            copy.restSum = restSum;
+            copy.restSquaredSum = restSquaredSum;
+            copy.restSumWhenCorrect = restSumWhenCorrect;
+            copy.practiceAnswered = practiceAnswered;
+            copy.practiceCorrect = practiceCorrect;
+            return copy;
+        }
+
+        public int getAnswered() { return answered; }
+        public int getCorrect() { return correct; }
+        public int getPracticeAnswered() { return practiceAnswered; }
+        public int getPracticeCorrect() { return practiceCorrect; }
+        /** When the attempt holding the latest answer finished, epoch ms; 0 if unknown */
+        public long getLastAnsweredMillis() { return lastAnsweredMillis; }
+
+        public double getPValue() {
+            return answered > 0 ? (double) correct / answered : 0;
+        }
+
+        public double getAverageTimeMillis() {
+            return answered > 0 ? (double) totalTimeMillis / answered : 0;
+        }
+
+        /**
+         * Point-biserial correlation in [-1, 1]; 0 until the question has been both
+         * missed and answered correctly and the rest scores vary
+         */
+        public double getDiscrimination() {
+            int wrong = restCount - restCorrectCount;
+            if (restCorrectCount == 0 || wrong == 0) return 0;
+            double mean = restSum / restCount;
+            double variance = restSquaredSum / restCount - mean * mean;
+            if (variance <= 1e-12) return 0;
+            double meanWhenCorrect = restSumWhenCorrect / restCorrectCount;
+            double meanWhenWrong = (restSum - restSumWhenCorrect) / wrong;
+            double p = (double) restCorrectCount / restCount;
+            return (meanWhenCorrect - meanWhenWrong) / Math.sqrt(variance) * Math.sqrt(p * (1 - p));
+        }
+    }
+
+    private static QuizAttemptStore instance;
+
+    private final Storage storage;
+    private final ExecutorService writer;
+    private final Map<String, ItemStats> statsByQuestion = new HashMap<>();
+    private int attemptCount;
+    private String loadedUserId;
+
+    public QuizAttemptStore(Storage storage) {
+        this.storage = storage;
+        // One writer so attempts are stored in the order they were finished
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quiz-attempt-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static QuizAttemptStore getInstance() {
+        if (instance == null) {
+            instance = new QuizAttemptStore(new DataStoreStorage());
+        }
+        return instance;
+    }
+
+    // ===================================================================
+    // LOADING
+    // ===================================================================
+
+    /**
+     * Rebuilds the statistics from the current user's stored attempts the first
+     * time they are needed, and again whenever a different user signs in
+     */
+    public void ensureLoaded() {
+        DataStore dataStore = DataStore.getInstance();
+        User user = dataStore.getCurrentUser();
+        load(user != null ? user.getId() : null);
+    }
+
+    public synchronized void load(String userId) {
+        if (Objects.equals(loadedUserId, userId)) return;
+        clear();
+        if (userId == null) return;
+        storage.forEachAttempt(userId, this::addToStats);
+        loadedUserId = userId;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loadedUserId != null;
+    }
+
+    public synchronized void clear() {
+        statsByQuestion.clear();
+        attemptCount = 0;
+        loadedUserId = null;
+    }
+
+    // ===================================================================
+    // RECORDING
+    // ===================================================================
+
+    /**
+     * Adds a finished attempt to the statistics and stores it, together with the
+     * quiz's score columns, on the background writer. Practice attempts pass a
+     * null quiz.
+     */
+    public void record(Quiz quiz, QuizAttempt attempt) {
+        synchronized (this) {
+            if (loadedUserId != null && loadedUserId.equals(attempt.getUserId())) {
+                addToStats(attempt);
+            }
+        }
+        writer.submit(() -> {
+            if (!storage.saveAttempt(quiz, attempt)) {
+                System.err.println("Quiz attempt " + attempt.getId() + " could not be saved");
+            }
+        });
+    }
+
+    /**
+     * Waits for attempts still being written, e.g. before the app exits
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get(FLUSH_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Error waiting for quiz attempts to save: " + e.getMessage());
+        }
+    }
+
+    private void addToStats(QuizAttempt attempt) {
+        List<QuizAttempt.Answer> answers = attempt.getAnswers();
+        int total = answers.size();
+        int correct = attempt.getCorrectCount();
+        long finishedAt = attempt.getFinishedAt() != null
+            ? attempt.getFinishedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+        if (attempt.isPractice()) {
+            for (QuizAttempt.Answer answer : answers) {
+                if (answer.getQuestionId() == null) continue;
+                statsByQuestion.computeIfAbsent(answer.getQuestionId(), id -> new ItemStats())
+                    .addPractice(answer.isCorrect(), finishedAt);
+            }
+            return;
+        }
+        for (QuizAttempt.Answer answer : answers) {
+            if (answer.getQuestionId() == null) continue;
+            int own = answer.isCorrect() ? 1 : 0;
+            boolean hasRest = total > 1;
+            double rest = hasRest ? (double) (correct - own) / (total - 1) : 0;
+            statsByQuestion.computeIfAbsent(answer.getQuestionId(), id -> new ItemStats())
+                .add(answer.isCorrect(), answer.getTimeSpentMillis(), finishedAt, rest, hasRest);
+        }
+        attemptCount++;
+    }
+
+    // ===================================================================
+    // QUERIES
+    // ===================================================================
+
+    /**
+     * Statistics of the question, or null if it has never been answered
+     */
+    public synchronized ItemStats getStats(String questionId) {
+        ItemStats stats = statsByQuestion.get(questionId);
+        return stats != null ? stats.copy() : null;
+    }
+
+    public synchronized int getAttemptCount() {
+        return attemptCount;
+    }
+
+    /**
+     * Stores attempts through DataStore, which keeps them in MySQL when it is available
+     */
+    private static class DataStoreStorage implements Storage {
+        @Override
+        public void forEachAttempt(String userId, Consumer<QuizAttempt> visitor) {
+            DataStore.getInstance().forEachQuizAttempt(userId, visitor);
+        }
+
+        @Override
+        public boolean saveAttempt(Quiz quiz, QuizAttempt attempt) {
+            return DataStore.getInstance().saveQuizAttempt(quiz, attempt);
+        }
+    }
+}
@@ -30,6 +30,23 @@ public class QuizGenerationService {
                                                           Flashcard.Difficulty difficulty, 
                                                           int timeLimit,
                                                           int questionCount) {
+        return generateQuizFromFlashcards(selectedDecks, quizTitle, subject, difficulty, timeLimit, questionCount, true);
+    }
+    
+    /**
+     * Generate a quiz from selected flashcard decks, with the AI service or offline.
+     * When the AI service is unavailable the offline generator is used instead.
+     */
+    public QuizGenerationResult generateQuizFromFlashcards(List<FlashcardDeck> selectedDecks, 
+                                                          String quizTitle, 
+                                                          String subject, 
+                                                          Flashcard.Difficulty difficulty, 
+                                                          int timeLimit,
+                                                          int questionCount,
+                                                          boolean useAI) {
+        if (!useAI) {
+            return generateOfflineQuizFromFlashcards(selectedDecks, quizTitle, subject, difficulty, timeLimit, questionCount);
+        }
         try {
             // Collect all flashcards from selected decks
             List<Flashcard> allFlashcards = new ArrayList<>();
@@ -48,6 +65,12 @@ public class QuizGenerationService {
             String aiResponse = callAIForQuizGeneration(flashcardContent, "flashcards", questionCount, difficulty);
             
             if (aiResponse == null || aiResponse.trim().isEmpty()) {
+                QuizGenerationResult offline = generateOfflineQuizFromFlashcards(selectedDecks, quizTitle, subject,
+                                                                                 difficulty, timeLimit, questionCount);
+                if (offline.isSuccess()) {
+                    return new QuizGenerationResult(true, "AI service unavailable, quiz generated offline",
+                                                    offline.getQuiz(), Source.OFFLINE);
+                }
                 return new QuizGenerationResult(false, "AI service unavailable", null);
             }
             
@@ -66,6 +89,34 @@ public class QuizGenerationService {
         }
     }
     
+    /**
+     * Generate a quiz from selected flashcard decks without the AI service: each
+     * question is a flashcard with other cards' answers as distractors
+     */
+    public QuizGenerationResult generateOfflineQuizFromFlashcards(List<FlashcardDeck> selectedDecks, 
+                                                                 String quizTitle, 
+                                                                 String subject, 
+                                                                 Flashcard.Difficulty difficulty, 
+                                                                 int timeLimit,
+                                                                 int questionCount) {
+        List<Flashcard> allFlashcards = new ArrayList<>();
+        for (FlashcardDeck deck : selectedDecks) {
+            allFlashcards.addAll(deck.getFlashcards());
+        }
+        
+        List<Question> questions = new OfflineQuizGenerator(allFlashcards, new Random()).generate(questionCount, difficulty);
+        if (questions.isEmpty()) {
+            return new QuizGenerationResult(false, "Not enough flashcards with distinct answers to build questions",
+                                            null, Source.OFFLINE);
+        }
+        
+        Quiz quiz = new Quiz(quizTitle, "Quiz generated from your flashcards", subject, difficulty, timeLimit);
+        for (Question question : questions) {
+            quiz.addQuestion(question);
+        }
+        return new QuizGenerationResult(true, "Quiz generated successfully", quiz, Source.OFFLINE);
+    }
+    
     /**
      * Generate a quiz from selected notes
      */
@@ -306,6 +357,11 @@ public class QuizGenerationService {
             String aiResponse = callAIForFlashcardGeneration(noteContent, "notes", difficulty);
             
             if (aiResponse == null || aiResponse.trim().isEmpty()) {
+                FlashcardGenerationResult offline = generateClozeFlashcardsFromNotes(selectedNotes, difficulty,
+                                                                                     ClozeFlashcardGenerator.DEFAULT_MAX_CARDS, card -> {});
+                if (offline.isSuccess()) {
+                    return new FlashcardGenerationResult(true, "AI service unavailable, flashcards generated offline", offline.getFlashcards());
+                }
                 return new FlashcardGenerationResult(false, "AI service unavailable", null);
             }
             
@@ -324,6 +380,33 @@ public class QuizGenerationService {
         }
     }
     
+    /**
+     * Generate fill-in-the-blank flashcards from notes without the AI service; each
+     * card is also handed to onCard as soon as it is made
+     */
+    public FlashcardGenerationResult generateClozeFlashcardsFromNotes(List<Note> selectedNotes, 
+                                                                     Flashcard.Difficulty difficulty,
+                                                                     int maxCards,
+                                                                     java.util.function.Consumer<Flashcard> onCard) {
+        List<String> texts = new ArrayList<>();
+        for (Note note : selectedNotes) {
+            if (note.getContent() != null) {
+                texts.add(note.getContent());
+            }
+        }
+        
+        List<Flashcard> flashcards = new ArrayList<>();
+        ClozeFlashcardGenerator.forCurrentUser(difficulty).generate(texts, maxCards, card -> {
+            flashcards.add(card);
+            onCard.accept(card);
+        });
+        
+        if (flashcards.isEmpty()) {
+            return new FlashcardGenerationResult(false, "No sentences in the selected notes could be turned into flashcards", null);
+        }
+        return new FlashcardGenerationResult(true, "Flashcards generated successfully", flashcards);
+    }
+    
     /**
      * Call AI service for flashcard generation
      */
@@ -550,6 +633,13 @@ public class QuizGenerationService {
         }
     }
     
+    /**
+     * Where a generated quiz's questions came from
+     */
+    public enum Source {
+        AI, OFFLINE
+    }
+    
     /**
      * Result class for quiz generation
      */
@@ -557,15 +647,27 @@ public class QuizGenerationService {
         private final boolean success;
         private final String message;
         private final Quiz quiz;
+        private final Source source;
         
         public QuizGenerationResult(boolean success, String message, Quiz quiz) {
+            this(success, message, quiz, Source.AI);
+        }
+        
+        public QuizGenerationResult(boolean success, String message, Quiz quiz, Source source) {
             this.success = success;
             this.message = message;
             this.quiz = quiz;
+            this.source = source;
         }
         
         public boolean isSuccess() { return success; }
         public String getMessage() { return message; }
         public Quiz getQuiz() { return quiz; }
+        public Source getSource() { return source; }
+        
+        /**
+         * True when the questions were built from flashcards without the AI service
+         */
+        public boolean isGeneratedOffline() { return source == Source.OFFLINE; }
     }
 }
@@ -0,0 +1,147 @@
+package com.studyspace.utils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+//============ radix sort =============
+//this is where date and counter orderings are sorted on primitive long keys
+
+/**
+ * Stable LSD radix sort on a long key per element.
+ * Keys are extracted once into a long[] and sorted together with an int[]
+ * index permutation, one byte per pass; passes where every key has the same
+ * byte (e.g. the high bytes of timestamps from the same year) are skipped.
+ * Apart from the result list nothing is allocated per element.
+ */
+public final class RadixSort {
+
+    /** Key for a missing value that should sort before everything else */
+    public static final long NULLS_FIRST = Long.MIN_VALUE;
+    /** Key for a missing value that should sort after everything else */
+    public static final long NULLS_LAST = Long.MAX_VALUE;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+
+    private RadixSort() {}
+
+    /**
+     * Returns a new list ordered by ascending key; equal keys keep their original order
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> sortByKey(List<T> items, ToLongFunction<? super T> keyExtractor) {
+        Object[] elements = items.toArray();
+        int n = elements.length;
+
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = keyExtractor.applyAsLong((T) elements[i]);
+        }
+        int[] order = sortedIndexes(keys);
+
+        List<T> sorted = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            sorted.add((T) elements[order[i]]);
+        }
+        return sorted;
+    }
+
+    /**
+     * Sorts the keys in place and returns, for each sorted position, the key's original index
+     */
+    public static int[] sortedIndexes(long[] keys) {
+        int n = keys.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (n <= 1) return order;
+
+        // All byte histograms in one pass; the sign bit is flipped so signed keys order as unsigned
+        int[][] counts = new int[PASSES][RADIX];
+        for (int i = 0; i < n; i++) {
+            long key = keys[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        long[] keyBuffer = new long[n];
+        int[] orderBuffer = new int[n];
+        long[] sourceKeys = keys;
+        int[] sourceOrder = order;
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * RADIX_BITS;
+            if (count[(int) ((keys[0] ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1)] == n) {
+                continue; // every key has the same byte here
+            }
+
+            // Prefix sums give each byte value its first output slot
+            int position = 0;
+            for (int b = 0; b < RADIX; b++) {
+                int c = count[b];
+                count[b] = position;
+                position += c;
+            }
+
+            long[] targetKeys = sourceKeys == keys ? keyBuffer : keys;
+            int[] targetOrder = sourceOrder == order ? orderBuffer : order;
+            for (int i = 0; i < n; i++) {
+                long key = sourceKeys[i];
+                int slot = count[(int) ((key ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1)]++;
+                targetKeys[slot] = key;
+                targetOrder[slot] = sourceOrder[i];
+            }
+            sourceKeys = targetKeys;
+            sourceOrder = targetOrder;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, n);
+            System.arraycopy(sourceOrder, 0, order, 0, n);
+        }
+        return order;
+    }
+
+    // ===================================================================
+    // KEY HELPERS
+    // ===================================================================
+
+    /**
+     * Exact ordering key for a date-time: nanoseconds since the epoch (UTC wall clock)
+     */
+    public static long timeKey(LocalDateTime dateTime, boolean descending, long nullKey) {
+        if (dateTime == null) return nullKey;
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        long nanos;
+        if (seconds >= Long.MAX_VALUE / 1_000_000_000L - 1) {
+            nanos = Long.MAX_VALUE - 1;
+        } else if (seconds <= Long.MIN_VALUE / 1_000_000_000L + 1) {
+            nanos = Long.MIN_VALUE + 2;
+        } else {
+            nanos = seconds * 1_000_000_000L + dateTime.getNano();
+        }
+        return order(nanos, descending);
+    }
+
+    public static long dayKey(LocalDate date, boolean descending, long nullKey) {
+        if (date == null) return nullKey;
+        return order(date.toEpochDay(), descending);
+    }
+
+    public static long countKey(long count, boolean descending) {
+        return order(count, descending);
+    }
+
+    // Negation reverses the order; values are kept strictly inside the sentinel range
+    private static long order(long value, boolean descending) {
+        long clamped = Math.max(Long.MIN_VALUE + 2, Math.min(Long.MAX_VALUE - 1, value));
+        return descending ? -clamped : clamped;
+    }
+}
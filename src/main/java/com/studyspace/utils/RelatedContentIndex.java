@@ -0,0 +1,478 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+//============ related content index =============
+//this is where notes and decks are kept as sparse tf-idf vectors for "related notes" lookups
+
+public class RelatedContentIndex {
+
+    /**
+     * Kind of item a recommendation points at
+     */
+    public enum Kind {
+        NOTE,
+        DECK
+    }
+
+    /**
+     * A related item with its cosine similarity to the query item
+     */
+    public static class Recommendation {
+        private final Kind kind;
+        private final String id;
+        private final String title;
+        private final double score;
+
+        public Recommendation(Kind kind, String id, String title, double score) {
+            this.kind = kind;
+            this.id = id;
+            this.title = title;
+            this.score = score;
+        }
+
+        public Kind getKind() { return kind; }
+        public String getId() { return id; }
+        public String getTitle() { return title; }
+        public double getScore() { return score; }
+    }
+
+    // Only the heaviest query terms are looked up, and terms found in more than
+    // this share of documents carry too little weight to be worth walking
+    private static final int MAX_QUERY_TERMS = 32;
+    private static final double MAX_DOCUMENT_FREQUENCY = 0.25;
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+        "the", "and", "for", "are", "but", "not", "you", "all", "any", "can", "had", "her", "was",
+        "one", "our", "out", "has", "have", "his", "how", "its", "may", "new", "now", "see", "two",
+        "way", "who", "did", "get", "let", "say", "she", "too", "use", "that", "with", "this",
+        "from", "they", "will", "what", "when", "where", "which", "their", "there", "these",
+        "those", "then", "than", "them", "been", "were", "into", "also", "each", "some", "such",
+        "only", "other", "more", "most", "very", "your", "about", "would", "could", "should"
+    ));
+
+    private static RelatedContentIndex instance;
+
+    // Document slots; a removed document leaves a null entry whose slot the next
+    // indexed document takes, so the lists never grow past the peak library size.
+    // Not final: a full load builds a fresh set and swaps it in under the lock
+    private List<String> docKeys;
+    private List<String> docTitles;
+    private List<Map<String, Integer>> docTerms;
+    private List<Float> docNorms;
+    private Map<String, Integer> slotsByKey;
+    private Map<String, PostingList> postings;
+    private Deque<Integer> freeSlots;
+    // Library size when all norms were last recomputed with fresh idf values
+    private int normsComputedAtSize;
+    private volatile String loadedUserId;
+    // Updates made while a load is running, replayed onto the loaded index; null otherwise
+    private volatile List<Consumer<RelatedContentIndex>> pendingChanges;
+    // Bumped by clear() so a load that started before it is thrown away
+    private int generation;
+
+    RelatedContentIndex() {
+        this.docKeys = new ArrayList<>();
+        this.docTitles = new ArrayList<>();
+        this.docTerms = new ArrayList<>();
+        this.docNorms = new ArrayList<>();
+        this.slotsByKey = new HashMap<>();
+        this.postings = new HashMap<>();
+        this.freeSlots = new ArrayDeque<>();
+    }
+
+    public static RelatedContentIndex getInstance() {
+        if (instance == null) {
+            instance = new RelatedContentIndex();
+        }
+        return instance;
+    }
+
+    // ===================================================================
+    // LOADING
+    // ===================================================================
+
+    /**
+     * Builds the index from the current user's notes and decks the first time it is
+     * needed, and again whenever a different user signs in. The notes and decks are
+     * read and indexed outside the lock; only the swap holds it.
+     */
+    public void ensureLoaded() {
+        DataStore dataStore = DataStore.getInstance();
+        User user = dataStore.getCurrentUser();
+        String userId = user != null ? user.getId() : null;
+
+        int startedAt;
+        synchronized (this) {
+            if (loadedUserId != null && loadedUserId.equals(userId)) {
+                return;
+            }
+            clear();
+            if (userId == null) {
+                return;
+            }
+            startedAt = generation;
+            pendingChanges = new ArrayList<>();
+        }
+
+        RelatedContentIndex loaded = new RelatedContentIndex();
+        for (Note note : dataStore.getAllNotes()) {
+            loaded.indexNote(note);
+        }
+        for (FlashcardDeck deck : dataStore.getAllFlashcardDecks()) {
+            loaded.indexDeck(deck);
+        }
+
+        synchronized (this) {
+            // Signed out, or another load started since; that one wins
+            if (generation != startedAt) {
+                return;
+            }
+            for (Consumer<RelatedContentIndex> change : pendingChanges) {
+                change.accept(loaded);
+            }
+            pendingChanges = null;
+            docKeys = loaded.docKeys;
+            docTitles = loaded.docTitles;
+            docTerms = loaded.docTerms;
+            docNorms = loaded.docNorms;
+            slotsByKey = loaded.slotsByKey;
+            postings = loaded.postings;
+            freeSlots = loaded.freeSlots;
+            normsComputedAtSize = loaded.normsComputedAtSize;
+            loadedUserId = userId;
+        }
+    }
+
+    /**
+     * True once loaded, and while a load is running so updates are not dropped
+     */
+    public boolean isLoaded() {
+        return loadedUserId != null || pendingChanges != null;
+    }
+
+    public synchronized void clear() {
+        docKeys.clear();
+        docTitles.clear();
+        docTerms.clear();
+        docNorms.clear();
+        slotsByKey.clear();
+        postings.clear();
+        freeSlots.clear();
+        normsComputedAtSize = 0;
+        loadedUserId = null;
+        pendingChanges = null;
+        generation++;
+    }
+
+    public synchronized int size() {
+        return slotsByKey.size();
+    }
+
+    /**
+     * Number of document slots, used or free
+     */
+    synchronized int slotCount() {
+        return docKeys.size();
+    }
+
+    // ===================================================================
+    // INCREMENTAL UPDATES
+    // ===================================================================
+
+    public synchronized void indexNote(Note note) {
+        if (note == null || note.getId() == null) return;
+        if (deferWhileLoading(index -> index.indexNote(note))) return;
+        StringBuilder text = new StringBuilder();
+        // Title and subject are repeated so they outweigh a single mention in the body
+        append(text, note.getTitle(), 2);
+        append(text, note.getSubject(), 2);
+        if (note.getTags() != null) {
+            for (String tag : note.getTags()) {
+                append(text, tag, 1);
+            }
+        }
+        append(text, note.getContent(), 1);
+        put(key(Kind.NOTE, note.getId()), note.getTitle(), text.toString());
+    }
+
+    public synchronized void indexDeck(FlashcardDeck deck) {
+        if (deck == null || deck.getId() == null) return;
+        if (deferWhileLoading(index -> index.indexDeck(deck))) return;
+        StringBuilder text = new StringBuilder();
+        append(text, deck.getTitle(), 2);
+        append(text, deck.getSubject(), 2);
+        append(text, deck.getDescription(), 1);
+        for (Flashcard card : deck.getFlashcards()) {
+            append(text, card.getQuestion(), 1);
+            append(text, card.getAnswer(), 1);
+        }
+        put(key(Kind.DECK, deck.getId()), deck.getTitle(), text.toString());
+    }
+
+    public synchronized void removeNote(String id) {
+        if (deferWhileLoading(index -> index.removeNote(id))) return;
+        remove(key(Kind.NOTE, id));
+    }
+
+    public synchronized void removeDeck(String id) {
+        if (deferWhileLoading(index -> index.removeDeck(id))) return;
+        remove(key(Kind.DECK, id));
+    }
+
+    /**
+     * Queues the change for the index being loaded, if a load is running
+     */
+    private boolean deferWhileLoading(Consumer<RelatedContentIndex> change) {
+        if (pendingChanges == null) return false;
+        pendingChanges.add(change);
+        return true;
+    }
+
+    private void put(String key, String title, String text) {
+        remove(key);
+
+        Map<String, Integer> terms = tokenize(text);
+        Integer free = freeSlots.pollFirst();
+        int slot;
+        if (free != null) {
+            slot = free;
+            docKeys.set(slot, key);
+            docTitles.set(slot, title != null ? title : "Untitled");
+            docTerms.set(slot, terms);
+        } else {
+            slot = docKeys.size();
+            docKeys.add(key);
+            docTitles.add(title != null ? title : "Untitled");
+            docTerms.add(terms);
+            docNorms.add(0f);
+        }
+        slotsByKey.put(key, slot);
+
+        // Norms use the idf at indexing time; refreshNorms() corrects the drift
+        // once the library size has moved far enough to matter
+        double normSquared = 0;
+        for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+            PostingList list = postings.computeIfAbsent(entry.getKey(), t -> new PostingList());
+            float weight = termWeight(entry.getValue());
+            list.add(slot, weight);
+            double w = weight * idf(list.size);
+            normSquared += w * w;
+        }
+        docNorms.set(slot, (float) Math.sqrt(normSquared));
+    }
+
+    private void remove(String key) {
+        Integer slot = slotsByKey.remove(key);
+        if (slot == null) return;
+        for (String term : docTerms.get(slot).keySet()) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                list.remove(slot);
+                if (list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+        docKeys.set(slot, null);
+        docTitles.set(slot, null);
+        docTerms.set(slot, null);
+        docNorms.set(slot, 0f);
+        freeSlots.addFirst(slot);
+    }
+
+    /**
+     * Recomputes every document norm with current idf values, one pass over the postings
+     */
+    private void refreshNorms() {
+        double[] normsSquared = new double[docKeys.size()];
+        for (PostingList list : postings.values()) {
+            double idf = idf(list.size);
+            for (int i = 0; i < list.size; i++) {
+                double w = list.weights[i] * idf;
+                normsSquared[list.docs[i]] += w * w;
+            }
+        }
+        for (int slot = 0; slot < normsSquared.length; slot++) {
+            docNorms.set(slot, (float) Math.sqrt(normsSquared[slot]));
+        }
+        normsComputedAtSize = slotsByKey.size();
+    }
+
+    // ===================================================================
+    // QUERIES
+    // ===================================================================
+
+    /**
+     * Number of indexed notes and decks containing the (lower-cased) term
+     */
+    public synchronized int documentFrequency(String term) {
+        PostingList list = postings.get(term);
+        return list != null ? list.size : 0;
+    }
+
+    public synchronized List<Recommendation> relatedToNote(String noteId, int limit) {
+        return related(key(Kind.NOTE, noteId), limit);
+    }
+
+    public synchronized List<Recommendation> relatedToDeck(String deckId, int limit) {
+        return related(key(Kind.DECK, deckId), limit);
+    }
+
+    /**
+     * Cosine top-k over the inverted lists of the query document's heaviest terms
+     */
+    private List<Recommendation> related(String key, int limit) {
+        List<Recommendation> results = new ArrayList<>();
+        Integer querySlot = slotsByKey.get(key);
+        if (querySlot == null || limit <= 0) return results;
+
+        // Amortized: norms are only rebuilt after the library grows or shrinks by a tenth
+        if (Math.abs(slotsByKey.size() - normsComputedAtSize) > normsComputedAtSize / 10) {
+            refreshNorms();
+        }
+
+        // Weight query terms and keep the most informative ones
+        int maxFrequency = Math.max(2, (int) (slotsByKey.size() * MAX_DOCUMENT_FREQUENCY));
+        List<Map.Entry<String, Double>> queryTerms = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : docTerms.get(querySlot).entrySet()) {
+            PostingList list = postings.get(entry.getKey());
+            if (list == null || list.size < 2 || list.size > maxFrequency) continue;
+            double weight = termWeight(entry.getValue()) * idf(list.size);
+            queryTerms.add(new AbstractMap.SimpleEntry<>(entry.getKey(), weight));
+        }
+        queryTerms.sort((a, b) -> Double.compare(b.getValue(), a.getValue()));
+        if (queryTerms.size() > MAX_QUERY_TERMS) {
+            queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        // Accumulate dot products only for documents sharing a query term, so a
+        // query costs the postings it walks rather than the size of the library
+        Map<Integer, Float> scores = new HashMap<>();
+        for (Map.Entry<String, Double> term : queryTerms) {
+            PostingList list = postings.get(term.getKey());
+            double idf = idf(list.size);
+            float factor = (float) (term.getValue() * idf);
+            for (int i = 0; i < list.size; i++) {
+                int slot = list.docs[i];
+                if (slot == querySlot) continue;
+                scores.merge(slot, list.weights[i] * factor, Float::sum);
+            }
+        }
+
+        // Bounded min-heap on cosine keeps the best `limit` candidates
+        float queryNorm = Math.max(docNorms.get(querySlot), Float.MIN_NORMAL);
+        PriorityQueue<Map.Entry<Integer, Float>> heap = new PriorityQueue<>(limit + 1,
+            (a, b) -> Float.compare(a.getValue(), b.getValue()));
+        for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+            float norm = docNorms.get(entry.getKey());
+            if (norm == 0f) continue;
+            entry.setValue(entry.getValue() / (norm * queryNorm));
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        while (!heap.isEmpty()) {
+            Map.Entry<Integer, Float> entry = heap.poll();
+            int slot = entry.getKey();
+            String docKey = docKeys.get(slot);
+            Kind kind = docKey.startsWith("deck:") ? Kind.DECK : Kind.NOTE;
+            results.add(new Recommendation(kind, docKey.substring(docKey.indexOf(':') + 1),
+                docTitles.get(slot), entry.getValue()));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    // ===================================================================
+    // HELPERS
+    // ===================================================================
+
+    private static String key(Kind kind, String id) {
+        return (kind == Kind.DECK ? "deck:" : "note:") + id;
+    }
+
+    private static void append(StringBuilder text, String value, int times) {
+        if (value == null || value.isEmpty()) return;
+        for (int i = 0; i < times; i++) {
+            text.append(value).append(' ');
+        }
+    }
+
+    private static float termWeight(int frequency) {
+        // Sublinear tf so a word repeated fifty times doesn't dominate the vector
+        return (float) (1 + Math.log(frequency));
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1.0 + (double) (slotsByKey.size() + 1) / (documentFrequency + 1));
+    }
+
+    /**
+     * Whether a lower-cased word is kept as a term: long enough and not a stop word
+     */
+    static boolean isIndexedTerm(String word) {
+        return word.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(word);
+    }
+
+    /**
+     * Lower-cased letter/digit runs with stop words and very short words removed
+     */
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (text == null) return counts;
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TERM_LENGTH) {
+                    String term = text.substring(start, i).toLowerCase();
+                    if (isIndexedTerm(term)) {
+                        counts.merge(term, 1, Integer::sum);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Documents containing a term with their tf weights, in parallel growable arrays
+     */
+    private static class PostingList {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        void remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    // Order doesn't matter, so the last entry fills the gap
+                    size--;
+                    docs[i] = docs[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+}
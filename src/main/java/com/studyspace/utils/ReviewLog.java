@@ -0,0 +1,469 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.User;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+
+//============ review log =============
+//this is where every flashcard review is appended as a fixed-width record and stored in batches
+
+/**
+ * Append-only log of flashcard reviews for the signed-in user. Each review is a
+ * fixed-width {@value #RECORD_SIZE}-byte record:
+ * card key (8) | reviewed at, epoch ms (8) | response time, ms (4) | grade (1)
+ * The card key is a 64-bit hash of the card id (see {@link #cardKey}).
+ *
+ * Events are held in memory in columns, with a per-card position list for card
+ * scans and binary search over the time column for time scans. New events are
+ * written in batches of up to {@value #BATCH_SIZE} records, each batch one
+ * storage row, on a background thread: when a batch fills, a few seconds after
+ * the first unsaved review, or on flush(). A batch that fails to save stays queued
+ * under its user, across sign-outs and user switches, and is retried with the next
+ * flush.
+ */
+public class ReviewLog {
+
+    public static final int RECORD_SIZE = 21;
+    public static final int BATCH_SIZE = 256;
+    private static final long FLUSH_DELAY_SECONDS = 5;
+    private static final long FLUSH_WAIT_SECONDS = 10;
+
+    /**
+     * Where encoded batches are kept between sessions
+     */
+    public interface Storage {
+        /** Every batch stored for the user, oldest first */
+        List<byte[]> loadBatches(String userId);
+
+        /** Stores one batch of records; returns false if it could not be saved */
+        boolean saveBatch(String userId, byte[] records, long firstReviewedAt, long lastReviewedAt);
+    }
+
+    /**
+     * One decoded review
+     */
+    public static class ReviewEvent {
+        private final long cardKey;
+        private final long reviewedAtMillis;
+        private final ReviewScheduler.Grade grade;
+        private final int responseMillis;
+
+        public ReviewEvent(long cardKey, long reviewedAtMillis, ReviewScheduler.Grade grade, int responseMillis) {
+            this.cardKey = cardKey;
+            this.reviewedAtMillis = reviewedAtMillis;
+            this.grade = grade;
+            this.responseMillis = responseMillis;
+        }
+
+        public long getCardKey() { return cardKey; }
+        public long getReviewedAtMillis() { return reviewedAtMillis; }
+        public ReviewScheduler.Grade getGrade() { return grade; }
+        public int getResponseMillis() { return responseMillis; }
+
+        public LocalDateTime getReviewedAt() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(reviewedAtMillis), ZoneId.systemDefault());
+        }
+    }
+
+    private static final ReviewScheduler.Grade[] GRADES = ReviewScheduler.Grade.values();
+    private static final Deque<byte[]> EMPTY_QUEUE = new ArrayDeque<>();
+
+    private static ReviewLog instance;
+
+    private final Storage storage;
+    private final ExecutorService writer;
+
+    // Events in append order, one column per field
+    private long[] cardKeys = new long[256];
+    private long[] reviewedAt = new long[256];
+    private int[] responseMillis = new int[256];
+    private byte[] grades = new byte[256];
+    private int size;
+    // Events before this position have been handed to the writer
+    private int queuedUpTo;
+    // Binary search over reviewedAt is only valid while appends arrive in time order
+    private boolean timeOrdered = true;
+    private final Map<Long, Positions> positionsByCard = new HashMap<>();
+    // Batches cut but not stored yet, per user, oldest first
+    private final Map<String, Deque<byte[]>> unsavedByUser = new HashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private Future<?> lastWrite;
+    private String loadedUserId;
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "review-log-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReviewLog(Storage storage) {
+        this.storage = storage;
+        // One writer so batches are stored in the order they were cut
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "review-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static ReviewLog getInstance() {
+        if (instance == null) {
+            instance = new ReviewLog(new DataStoreStorage());
+        }
+        return instance;
+    }
+
+    // ===================================================================
+    // LOADING
+    // ===================================================================
+
+    /**
+     * Loads the current user's stored reviews the first time they are needed, and
+     * again whenever a different user signs in
+     */
+    public void ensureLoaded() {
+        DataStore dataStore = DataStore.getInstance();
+        User user = dataStore.getCurrentUser();
+        load(user != null ? user.getId() : null);
+    }
+
+    /**
+     * Loads the given user's stored reviews unless they are already loaded; events
+     * still waiting for the previous user are flushed first
+     */
+    public void load(String userId) {
+        synchronized (this) {
+            if (Objects.equals(loadedUserId, userId)) return;
+        }
+        flush(true);
+
+        List<byte[]> batches = userId != null ? storage.loadBatches(userId) : Collections.emptyList();
+        synchronized (this) {
+            reset();
+            for (byte[] batch : batches) {
+                addRecords(batch);
+            }
+            // Reviews still waiting to be stored are part of the user's history too
+            for (byte[] batch : unsavedByUser.getOrDefault(userId, EMPTY_QUEUE)) {
+                addRecords(batch);
+            }
+            queuedUpTo = size;
+            loadedUserId = userId;
+        }
+    }
+
+    public synchronized boolean isLoaded() {
+        return loadedUserId != null;
+    }
+
+    /**
+     * Stores anything pending for the current user, then forgets all events; batches
+     * that could not be stored are kept and retried with the next flush
+     */
+    public void clear() {
+        flush(true);
+        synchronized (this) {
+            reset();
+            loadedUserId = null;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // ===================================================================
+    // APPENDING
+    // ===================================================================
+
+    /**
+     * Records one review of the card
+     */
+    public void append(String cardId, ReviewScheduler.Grade grade, LocalDateTime reviewedAt, int responseMillis) {
+        long millis = reviewedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        boolean batchFull;
+        synchronized (this) {
+            if (loadedUserId == null) return;
+            add(cardKey(cardId), millis, Math.max(0, responseMillis), (byte) grade.ordinal());
+            batchFull = size - queuedUpTo >= BATCH_SIZE;
+            if (!batchFull && scheduledFlush == null) {
+                scheduledFlush = TIMER.schedule(() -> flush(false), FLUSH_DELAY_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+        if (batchFull) {
+            flush(false);
+        }
+    }
+
+    /**
+     * Hands every pending event to the writer; with wait set, blocks until the
+     * writer is done (used on sign-out and shutdown)
+     */
+    public void flush(boolean wait) {
+        Future<?> write;
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (loadedUserId != null) {
+                for (int from = queuedUpTo; from < size; from += BATCH_SIZE) {
+                    unsavedByUser.computeIfAbsent(loadedUserId, id -> new ArrayDeque<>())
+                        .addLast(encode(from, Math.min(size, from + BATCH_SIZE)));
+                }
+            }
+            queuedUpTo = size;
+            // Earlier failures are retried too, including other users' batches
+            for (String userId : unsavedByUser.keySet()) {
+                lastWrite = writer.submit(() -> writeUnsaved(userId));
+            }
+            write = lastWrite;
+        }
+        if (wait && write != null) {
+            try {
+                write.get(FLUSH_WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                System.err.println("Error flushing review log: " + e.getMessage());
+            }
+        }
+    }
+
+    // ===================================================================
+    // QUERIES
+    // ===================================================================
+
+    /**
+     * Every review of the card, oldest first
+     */
+    public synchronized List<ReviewEvent> getEventsForCard(String cardId) {
+        return getEventsForCard(cardId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reviews of the card at or after from and before toExclusive, oldest first
+     */
+    public synchronized List<ReviewEvent> getEventsForCard(String cardId, LocalDateTime from, LocalDateTime toExclusive) {
+        return getEventsForCard(cardId, toMillis(from), toMillis(toExclusive));
+    }
+
+    /**
+     * Reviews of any card at or after from and before toExclusive, in append order
+     */
+    public synchronized List<ReviewEvent> getEventsBetween(LocalDateTime from, LocalDateTime toExclusive) {
+        long fromMillis = toMillis(from);
+        long toMillis = toMillis(toExclusive);
+        List<ReviewEvent> events = new ArrayList<>();
+        if (timeOrdered) {
+            int end = PrimitiveSearch.lowerBound(reviewedAt, size, toMillis);
+            for (int i = PrimitiveSearch.lowerBound(reviewedAt, size, fromMillis); i < end; i++) {
+                events.add(event(i));
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (reviewedAt[i] >= fromMillis && reviewedAt[i] < toMillis) {
+                    events.add(event(i));
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Visits every event in append order without building a list
+     */
+    public synchronized void forEachEvent(java.util.function.Consumer<ReviewEvent> visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.accept(event(i));
+        }
+    }
+
+    public synchronized int getReviewCount(String cardId) {
+        Positions positions = positionsByCard.get(cardKey(cardId));
+        return positions == null ? 0 : positions.size;
+    }
+
+    /**
+     * Stable 64-bit FNV-1a hash of a card id, the key stored in each record
+     */
+    public static long cardKey(String cardId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < cardId.length(); i++) {
+            hash ^= cardId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // ===================================================================
+    // ENCODING
+    // ===================================================================
+
+    /**
+     * Packs events [from, to) into consecutive fixed-width records
+     */
+    private byte[] encode(int from, int to) {
+        ByteBuffer buffer = ByteBuffer.allocate((to - from) * RECORD_SIZE);
+        for (int i = from; i < to; i++) {
+            buffer.putLong(cardKeys[i]).putLong(reviewedAt[i]).putInt(responseMillis[i]).put(grades[i]);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Earliest and latest review time in a batch, stored with it for time-range lookups
+     */
+    private static long[] timeRange(byte[] batch) {
+        ByteBuffer buffer = ByteBuffer.wrap(batch);
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (int offset = 0; offset < batch.length; offset += RECORD_SIZE) {
+            long millis = buffer.getLong(offset + 8);
+            first = Math.min(first, millis);
+            last = Math.max(last, millis);
+        }
+        return new long[] { first, last };
+    }
+
+    /**
+     * Runs on the writer thread: stores the user's queued batches in order, stopping
+     * at the first failure so it is retried before anything newer
+     */
+    private void writeUnsaved(String userId) {
+        while (true) {
+            byte[] batch;
+            synchronized (this) {
+                Deque<byte[]> unsaved = unsavedByUser.get(userId);
+                batch = unsaved != null ? unsaved.peekFirst() : null;
+            }
+            if (batch == null) return;
+            long[] range = timeRange(batch);
+            if (!storage.saveBatch(userId, batch, range[0], range[1])) {
+                return;
+            }
+            synchronized (this) {
+                Deque<byte[]> unsaved = unsavedByUser.get(userId);
+                unsaved.pollFirst();
+                if (unsaved.isEmpty()) {
+                    unsavedByUser.remove(userId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of batches not stored yet, for every user
+     */
+    public synchronized int getUnsavedBatchCount() {
+        int count = 0;
+        for (Deque<byte[]> unsaved : unsavedByUser.values()) {
+            count += unsaved.size();
+        }
+        return count;
+    }
+
+    // ===================================================================
+    // IN-MEMORY COLUMNS
+    // ===================================================================
+
+    private void addRecords(byte[] batch) {
+        for (int offset = 0; offset + RECORD_SIZE <= batch.length; offset += RECORD_SIZE) {
+            ByteBuffer record = ByteBuffer.wrap(batch, offset, RECORD_SIZE);
+            add(record.getLong(), record.getLong(), record.getInt(), record.get());
+        }
+    }
+
+    private void add(long cardKey, long millis, int response, byte grade) {
+        if (size == cardKeys.length) {
+            int capacity = size * 2;
+            cardKeys = Arrays.copyOf(cardKeys, capacity);
+            reviewedAt = Arrays.copyOf(reviewedAt, capacity);
+            responseMillis = Arrays.copyOf(responseMillis, capacity);
+            grades = Arrays.copyOf(grades, capacity);
+        }
+        if (size > 0 && millis < reviewedAt[size - 1]) {
+            timeOrdered = false;
+        }
+        cardKeys[size] = cardKey;
+        reviewedAt[size] = millis;
+        responseMillis[size] = response;
+        grades[size] = grade;
+
+        positionsByCard.computeIfAbsent(cardKey, key -> new Positions()).add(size);
+        size++;
+    }
+
+    private List<ReviewEvent> getEventsForCard(String cardId, long fromMillis, long toMillis) {
+        long key = cardKey(cardId);
+        Positions positions = positionsByCard.get(key);
+        List<ReviewEvent> events = new ArrayList<>();
+        if (positions == null) return events;
+        for (int i = 0; i < positions.size; i++) {
+            int position = positions.values[i];
+            if (reviewedAt[position] >= fromMillis && reviewedAt[position] < toMillis) {
+                events.add(event(position));
+            }
+        }
+        if (!timeOrdered) {
+            events.sort(Comparator.comparingLong(ReviewEvent::getReviewedAtMillis));
+        }
+        return events;
+    }
+
+    private ReviewEvent event(int position) {
+        return new ReviewEvent(cardKeys[position], reviewedAt[position],
+            GRADES[grades[position]], responseMillis[position]);
+    }
+
+    private void reset() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        size = 0;
+        queuedUpTo = 0;
+        timeOrdered = true;
+        positionsByCard.clear();
+        // unsavedByUser is kept: those batches still have to reach storage
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Growable list of one card's event positions, in append order
+     */
+    private static final class Positions {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = position;
+        }
+    }
+
+    /**
+     * Stores batches through DataStore, which keeps them in MySQL when it is available
+     */
+    private static class DataStoreStorage implements Storage {
+        @Override
+        public List<byte[]> loadBatches(String userId) {
+            return DataStore.getInstance().getReviewLogBatches(userId);
+        }
+
+        @Override
+        public boolean saveBatch(String userId, byte[] records, long firstReviewedAt, long lastReviewedAt) {
+            return DataStore.getInstance().saveReviewLogBatch(userId, records, firstReviewedAt, lastReviewedAt);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Flashcard;
+import com.studyspace.models.FlashcardDeck;
+import com.studyspace.models.User;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+//============ review scheduler =============
+//this is where flashcards get their next review time and the due cards are queued across all decks
+
+/**
+ * SM-2 style spaced repetition. Each review moves the card's ease factor, interval
+ * and due time; every card of the signed-in user sits in one of two indexed heaps
+ * keyed by due time:
+ * - waiting: not yet due at the last time asked about
+ * - due: due at that time, earliest first
+ * Asking about a later time moves the cards that have come due from waiting to due
+ * and bumps their deck's counter, so nextDue and the per-deck due counts never scan.
+ * Time only moves forward here: asking about an earlier time returns the state of
+ * the latest time seen.
+ */
+public class ReviewScheduler {
+
+    /**
+     * How well the card was recalled, with its SM-2 quality (0-5)
+     */
+    public enum Grade {
+        AGAIN(1),
+        HARD(3),
+        GOOD(4),
+        EASY(5);
+
+        private final int quality;
+
+        Grade(int quality) {
+            this.quality = quality;
+        }
+
+        public int getQuality() { return quality; }
+
+        public static Grade fromCorrect(boolean correct) {
+            return correct ? GOOD : AGAIN;
+        }
+    }
+
+    public static final double MIN_EASE_FACTOR = 1.3;
+    // A forgotten card comes back within the same session
+    public static final long RELEARN_SECONDS = 10 * 60;
+    private static final double HARD_MULTIPLIER = 1.2;
+    private static final double EASY_BONUS = 1.3;
+    private static final double MAX_INTERVAL_DAYS = 36500;
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private static ReviewScheduler instance;
+
+    // Card handles; a removed card's handle goes back on the free list
+    private final Map<String, Integer> handlesByCardId = new HashMap<>();
+    private Flashcard[] cards = new Flashcard[64];
+    private int[] deckOfCard = new int[64];
+    private final Deque<Integer> freeHandles = new ArrayDeque<>();
+    private int nextHandle;
+
+    // Deck handles and their members and due counters
+    private final Map<String, Integer> deckHandles = new HashMap<>();
+    private final List<Set<Integer>> deckMembers = new ArrayList<>();
+    private int[] dueCounts = new int[16];
+
+    private final IndexedPriorityQueue waiting = new IndexedPriorityQueue(64);
+    private final IndexedPriorityQueue due = new IndexedPriorityQueue(64);
+    // Latest time (epoch seconds) the due heap reflects
+    private long cursor = Long.MIN_VALUE;
+    private String loadedUserId;
+
+    public ReviewScheduler() {}
+
+    public static ReviewScheduler getInstance() {
+        if (instance == null) {
+            instance = new ReviewScheduler();
+        }
+        return instance;
+    }
+
+    // ===================================================================
+    // SCHEDULING
+    // ===================================================================
+
+    /**
+     * Applies one review to the card's spaced-repetition state and study statistics
+     * without touching any queue
+     */
+    public static void schedule(Flashcard card, Grade grade, LocalDateTime now) {
+        int q = grade.getQuality();
+        double ease = card.getEaseFactor() > 0 ? card.getEaseFactor() : Flashcard.DEFAULT_EASE_FACTOR;
+        ease += 0.1 - (5 - q) * (0.08 + (5 - q) * 0.02);
+        card.setEaseFactor(Math.max(MIN_EASE_FACTOR, ease));
+
+        if (grade == Grade.AGAIN) {
+            if (card.getRepetitions() > 0) {
+                card.setLapses(card.getLapses() + 1);
+            }
+            card.setRepetitions(0);
+            card.setIntervalDays(0);
+            card.setDueAt(now.plusSeconds(RELEARN_SECONDS));
+        } else {
+            int repetitions = card.getRepetitions() + 1;
+            double interval;
+            if (repetitions == 1) {
+                interval = grade == Grade.EASY ? 4 : 1;
+            } else if (repetitions == 2) {
+                interval = 6;
+            } else {
+                interval = card.getIntervalDays() * card.getEaseFactor();
+            }
+            if (grade == Grade.HARD) {
+                interval = Math.max(1, card.getIntervalDays() * HARD_MULTIPLIER);
+            } else if (grade == Grade.EASY && repetitions > 1) {
+                interval *= EASY_BONUS;
+            }
+            interval = Math.min(MAX_INTERVAL_DAYS, interval);
+
+            card.setRepetitions(repetitions);
+            card.setIntervalDays(interval);
+            card.setDueAt(now.plusSeconds(Math.round(interval * SECONDS_PER_DAY)));
+        }
+
+        card.setCorrect(grade != Grade.AGAIN);
+        card.setLastStudied(now);
+        card.setTimesStudied(card.getTimesStudied() + 1);
+    }
+
+    /**
+     * Sort key for a card's due time; a card that was never reviewed is due from its creation
+     */
+    public static long dueKey(Flashcard card) {
+        LocalDateTime dueAt = card.getDueAt() != null ? card.getDueAt() : card.getCreatedAt();
+        return dueAt != null ? timeKey(dueAt) : Long.MIN_VALUE;
+    }
+
+    /**
+     * Copy of the cards ordered by due time, overdue and new cards first
+     */
+    public static List<Flashcard> sortByDue(List<Flashcard> cards) {
+        List<Flashcard> sorted = new ArrayList<>(cards);
+        sorted.sort(Comparator.comparingLong(ReviewScheduler::dueKey));
+        return sorted;
+    }
+
+    private static long timeKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // ===================================================================
+    // LOADING
+    // ===================================================================
+
+    /**
+     * Queues the current user's cards the first time they are needed, and again
+     * whenever a different user signs in
+     */
+    public synchronized void ensureLoaded() {
+        DataStore dataStore = DataStore.getInstance();
+        User user = dataStore.getCurrentUser();
+        String userId = user != null ? user.getId() : null;
+
+        if (loadedUserId != null && loadedUserId.equals(userId)) {
+            return;
+        }
+
+        clear();
+        if (userId == null) {
+            return;
+        }
+        load(dataStore.getAllFlashcardDecks());
+        loadedUserId = userId;
+    }
+
+    /**
+     * Replaces the queues with the given decks' cards
+     */
+    public synchronized void load(Collection<FlashcardDeck> decks) {
+        clear();
+        for (FlashcardDeck deck : decks) {
+            indexDeck(deck);
+        }
+    }
+
+    public synchronized boolean isLoaded() {
+        return loadedUserId != null;
+    }
+
+    public synchronized void clear() {
+        handlesByCardId.clear();
+        Arrays.fill(cards, null);
+        freeHandles.clear();
+        nextHandle = 0;
+        deckHandles.clear();
+        deckMembers.clear();
+        Arrays.fill(dueCounts, 0);
+        waiting.clear();
+        due.clear();
+        cursor = Long.MIN_VALUE;
+        loadedUserId = null;
+    }
+
+    public synchronized int size() {
+        return handlesByCardId.size();
+    }
+
+    // ===================================================================
+    // INCREMENTAL UPDATES
+    // ===================================================================
+
+    /**
+     * Brings the deck's cards in line with the deck: new cards are queued, changed
+     * ones re-keyed and cards no longer in the deck dropped
+     */
+    public synchronized void indexDeck(FlashcardDeck deck) {
+        if (deck == null || deck.getId() == null) return;
+        int deckHandle = deckHandle(deck.getId());
+
+        Set<Integer> stale = new HashSet<>(deckMembers.get(deckHandle));
+        for (Flashcard card : deck.getFlashcards()) {
+            if (card.getId() == null) continue;
+            stale.remove(indexCard(deckHandle, card));
+        }
+        for (int handle : stale) {
+            removeHandle(handle);
+        }
+    }
+
+    public synchronized void indexCard(String deckId, Flashcard card) {
+        if (deckId == null || card == null || card.getId() == null) return;
+        indexCard(deckHandle(deckId), card);
+    }
+
+    public synchronized void removeDeck(String deckId) {
+        Integer deckHandle = deckHandles.get(deckId);
+        if (deckHandle == null) return;
+        for (int handle : new ArrayList<>(deckMembers.get(deckHandle))) {
+            removeHandle(handle);
+        }
+    }
+
+    /**
+     * Grades the card, updates its schedule and re-queues it; cards that are not
+     * queued yet (no user loaded) are only scheduled
+     */
+    public synchronized void review(Flashcard card, Grade grade, LocalDateTime now) {
+        schedule(card, grade, now);
+        Integer handle = handlesByCardId.get(card.getId());
+        if (handle != null) {
+            cards[handle] = card;
+            unqueue(handle);
+            enqueue(handle);
+        }
+    }
+
+    // ===================================================================
+    // QUERIES
+    // ===================================================================
+
+    /**
+     * The card that has been due the longest at the given time across all decks, or null
+     */
+    public synchronized Flashcard nextDue(LocalDateTime now) {
+        advanceTo(timeKey(now));
+        int handle = due.peek();
+        return handle < 0 ? null : cards[handle];
+    }
+
+    public synchronized int getDueCount(String deckId, LocalDateTime now) {
+        advanceTo(timeKey(now));
+        Integer deckHandle = deckHandles.get(deckId);
+        return deckHandle == null ? 0 : dueCounts[deckHandle];
+    }
+
+    public synchronized int getTotalDueCount(LocalDateTime now) {
+        advanceTo(timeKey(now));
+        return due.size();
+    }
+
+    /**
+     * When the next card not yet due at the given time comes due, or null if none is waiting
+     */
+    public synchronized LocalDateTime getNextDueTime(LocalDateTime now) {
+        advanceTo(timeKey(now));
+        if (waiting.isEmpty()) return null;
+        return LocalDateTime.ofEpochSecond(waiting.peekKey(), 0, ZoneOffset.UTC);
+    }
+
+    // ===================================================================
+    // QUEUE MAINTENANCE
+    // ===================================================================
+
+    private int indexCard(int deckHandle, Flashcard card) {
+        Integer existing = handlesByCardId.get(card.getId());
+        int handle;
+        if (existing != null) {
+            handle = existing;
+            unqueue(handle);
+            if (deckOfCard[handle] != deckHandle) {
+                deckMembers.get(deckOfCard[handle]).remove(handle);
+            }
+        } else {
+            handle = freeHandles.isEmpty() ? nextHandle++ : freeHandles.pop();
+            if (handle >= cards.length) {
+                cards = Arrays.copyOf(cards, cards.length * 2);
+                deckOfCard = Arrays.copyOf(deckOfCard, deckOfCard.length * 2);
+            }
+            handlesByCardId.put(card.getId(), handle);
+        }
+        cards[handle] = card;
+        deckOfCard[handle] = deckHandle;
+        deckMembers.get(deckHandle).add(handle);
+        enqueue(handle);
+        return handle;
+    }
+
+    private void removeHandle(int handle) {
+        unqueue(handle);
+        deckMembers.get(deckOfCard[handle]).remove(handle);
+        handlesByCardId.remove(cards[handle].getId());
+        cards[handle] = null;
+        freeHandles.push(handle);
+    }
+
+    private int deckHandle(String deckId) {
+        Integer existing = deckHandles.get(deckId);
+        if (existing != null) return existing;
+        int handle = deckMembers.size();
+        deckHandles.put(deckId, handle);
+        deckMembers.add(new HashSet<>());
+        if (handle >= dueCounts.length) {
+            dueCounts = Arrays.copyOf(dueCounts, dueCounts.length * 2);
+        }
+        return handle;
+    }
+
+    private void enqueue(int handle) {
+        long key = dueKey(cards[handle]);
+        if (key <= cursor) {
+            due.insert(handle, key);
+            dueCounts[deckOfCard[handle]]++;
+        } else {
+            waiting.insert(handle, key);
+        }
+    }
+
+    private void unqueue(int handle) {
+        if (due.remove(handle)) {
+            dueCounts[deckOfCard[handle]]--;
+        } else {
+            waiting.remove(handle);
+        }
+    }
+
+    /**
+     * Moves every waiting card that has come due by the given time into the due heap
+     */
+    private void advanceTo(long now) {
+        if (now <= cursor) return;
+        cursor = now;
+        while (!waiting.isEmpty() && waiting.peekKey() <= now) {
+            long key = waiting.peekKey();
+            int handle = waiting.poll();
+            due.insert(handle, key);
+            dueCounts[deckOfCard[handle]]++;
+        }
+    }
+}
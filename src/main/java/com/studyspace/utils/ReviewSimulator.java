@@ -0,0 +1,159 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Flashcard;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+//============ review simulator =============
+//this is where a long stretch of daily reviews is replayed against the scheduler
+
+/**
+ * Replays daily study sessions on a private ReviewScheduler: new cards are introduced
+ * at a steady rate, every due card is reviewed each day, and recall is drawn from
+ * an exponential forgetting curve that sits near 90% on the scheduled day, scaled
+ * by each card's difficulty. Used to check scheduler throughput and to compare
+ * parameter changes.
+ */
+public class ReviewSimulator {
+
+    private static final double TARGET_RETENTION = 0.9;
+    private static final long SECONDS_PER_REVIEW = 8;
+    private static final int CARDS_PER_DECK = 1000;
+
+    private final int cardCount;
+    private final int days;
+    private final long seed;
+
+    public ReviewSimulator(int cardCount, int days, long seed) {
+        this.cardCount = cardCount;
+        this.days = days;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the whole simulation and returns its totals
+     */
+    public Result run() {
+        Random random = new Random(seed);
+        ReviewScheduler scheduler = new ReviewScheduler();
+        int newPerDay = (cardCount + days - 1) / Math.max(1, days);
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0);
+        long startNanos = System.nanoTime();
+        long reviews = 0;
+        long failures = 0;
+        int maxDailyReviews = 0;
+        int introduced = 0;
+
+        for (int day = 0; day < days; day++) {
+            LocalDateTime now = start.plusDays(day);
+
+            for (int i = 0; i < newPerDay && introduced < cardCount; i++, introduced++) {
+                Flashcard card = new Flashcard();
+                card.setId("sim_" + introduced);
+                card.setCreatedAt(now);
+                card.setDifficulty(pickDifficulty(random));
+                scheduler.indexCard("sim_deck_" + introduced / CARDS_PER_DECK, card);
+            }
+
+            int todays = 0;
+            Flashcard card;
+            while ((card = scheduler.nextDue(now)) != null) {
+                boolean recalled = random.nextDouble() < recallProbability(card, now);
+                ReviewScheduler.Grade grade = recalled ? pickPassingGrade(random) : ReviewScheduler.Grade.AGAIN;
+                if (!recalled) failures++;
+                scheduler.review(card, grade, now);
+                now = now.plusSeconds(SECONDS_PER_REVIEW);
+                reviews++;
+                todays++;
+            }
+            maxDailyReviews = Math.max(maxDailyReviews, todays);
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        int dueAtEnd = scheduler.getTotalDueCount(start.plusDays(days));
+        return new Result(introduced, days, reviews, failures, maxDailyReviews, dueAtEnd, elapsedNanos);
+    }
+
+    private static double recallProbability(Flashcard card, LocalDateTime now) {
+        double factor = difficultyFactor(card.getDifficulty());
+        if (card.getLastStudied() == null) {
+            return 0.6 * factor;
+        }
+        double elapsedDays = Duration.between(card.getLastStudied(), now).getSeconds() / 86_400.0;
+        double scheduled = Math.max(card.getIntervalDays(), 1.0 / 144);
+        return Math.min(1.0, Math.pow(TARGET_RETENTION, elapsedDays / scheduled) * factor);
+    }
+
+    private static double difficultyFactor(Flashcard.Difficulty difficulty) {
+        switch (difficulty) {
+            case EASY: return 1.05;
+            case HARD: return 0.9;
+            default: return 1.0;
+        }
+    }
+
+    private static Flashcard.Difficulty pickDifficulty(Random random) {
+        double roll = random.nextDouble();
+        if (roll < 0.25) return Flashcard.Difficulty.EASY;
+        if (roll < 0.8) return Flashcard.Difficulty.MEDIUM;
+        return Flashcard.Difficulty.HARD;
+    }
+
+    private static ReviewScheduler.Grade pickPassingGrade(Random random) {
+        double roll = random.nextDouble();
+        if (roll < 0.15) return ReviewScheduler.Grade.HARD;
+        if (roll < 0.85) return ReviewScheduler.Grade.GOOD;
+        return ReviewScheduler.Grade.EASY;
+    }
+
+    /**
+     * Totals from one simulation run
+     */
+    public static class Result {
+        private final int cards;
+        private final int days;
+        private final long reviews;
+        private final long failures;
+        private final int maxDailyReviews;
+        private final int dueAtEnd;
+        private final long elapsedNanos;
+
+        Result(int cards, int days, long reviews, long failures, int maxDailyReviews, int dueAtEnd, long elapsedNanos) {
+            this.cards = cards;
+            this.days = days;
+            this.reviews = reviews;
+            this.failures = failures;
+            this.maxDailyReviews = maxDailyReviews;
+            this.dueAtEnd = dueAtEnd;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getCards() { return cards; }
+        public int getDays() { return days; }
+        public long getReviews() { return reviews; }
+        public long getFailures() { return failures; }
+        public int getMaxDailyReviews() { return maxDailyReviews; }
+        public int getDueAtEnd() { return dueAtEnd; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public double getRetention() {
+            return reviews == 0 ? 0 : 1.0 - (double) failures / reviews;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d cards over %d days: %d reviews (max %d/day), retention %.1f%%, "
+                    + "%d due at the end, simulated in %.0f ms",
+                cards, days, reviews, maxDailyReviews, getRetention() * 100, dueAtEnd, elapsedNanos / 1_000_000.0);
+        }
+    }
+
+    public static void main(String[] args) {
+        int cards = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 365;
+        System.out.println(new ReviewSimulator(cards, days, 42).run());
+    }
+}
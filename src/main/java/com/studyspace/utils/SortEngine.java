@@ -0,0 +1,275 @@
+package com.studyspace.utils;
+
+import java.util.*;
+
+//============ sort engine =============
+//this is where lists are sorted through arrays with run detection and introsort
+
+/**
+ * Array-based adaptive sort used by AlgorithmUtils.smartSort.
+ * The list is copied into an array once, sorted there, and written back in a
+ * single ListIterator pass, so LinkedLists and observable lists never see
+ * index-based swaps. Input that is already made of long ordered runs is merged
+ * run by run (stable, TimSort-style); anything else goes through introsort with
+ * AlgorithmUtils.getMedian pivots and a heap-sort fallback on deep recursion.
+ */
+public final class SortEngine {
+
+    // Partitions at or below this size are finished with insertion sort
+    private static final int INSERTION_THRESHOLD = 16;
+    // Runs must average at least this length before run merging beats introsort
+    private static final int MIN_AVERAGE_RUN = 32;
+
+    private SortEngine() {}
+
+    /**
+     * Sorts by natural ordering
+     */
+    public static <T extends Comparable<? super T>> void sort(List<T> list) {
+        sort(list, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts by the given comparator
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(List<T> list, Comparator<? super T> comparator) {
+        if (list == null || list.size() <= 1) return;
+
+        T[] array = (T[]) list.toArray();
+        sortArray(array, comparator);
+
+        ListIterator<T> iterator = list.listIterator();
+        for (T element : array) {
+            iterator.next();
+            iterator.set(element);
+        }
+    }
+
+    /**
+     * Sorts an array in place
+     */
+    public static <T> void sortArray(T[] array, Comparator<? super T> comparator) {
+        sortRange(array, 0, array.length, comparator);
+    }
+
+    /**
+     * Sorts array[from, to) in place
+     */
+    public static <T> void sortRange(T[] array, int from, int to, Comparator<? super T> comparator) {
+        int length = to - from;
+        if (length <= 1) return;
+
+        if (length <= INSERTION_THRESHOLD) {
+            insertionSort(array, from, to - 1, comparator);
+            return;
+        }
+
+        int[] runEnds = findRuns(array, from, to, comparator);
+        if (runEnds.length == 1) {
+            return; // already sorted (descending input was reversed in place)
+        }
+        if (length / runEnds.length >= MIN_AVERAGE_RUN) {
+            mergeRuns(array, from, runEnds, comparator);
+            return;
+        }
+
+        introSort(array, from, to - 1, 2 * floorLog2(length), comparator);
+    }
+
+    // ===================================================================
+    // RUN DETECTION AND MERGING
+    // ===================================================================
+
+    /**
+     * Exclusive end index of each maximal run. Strictly descending runs are reversed
+     * in place; equal elements never form a descending run, which keeps merging stable.
+     */
+    private static <T> int[] findRuns(T[] array, int from, int to, Comparator<? super T> comparator) {
+        int[] ends = new int[8];
+        int count = 0;
+        int start = from;
+
+        while (start < to) {
+            int end = start + 1;
+            if (end < to && comparator.compare(array[end], array[start]) < 0) {
+                while (end < to && comparator.compare(array[end], array[end - 1]) < 0) {
+                    end++;
+                }
+                reverse(array, start, end - 1);
+            } else {
+                while (end < to && comparator.compare(array[end], array[end - 1]) >= 0) {
+                    end++;
+                }
+            }
+
+            if (count == ends.length) {
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            ends[count++] = end;
+            start = end;
+
+            // Too many short runs: stop scanning, introsort will handle it
+            if (count > (to - from) / MIN_AVERAGE_RUN + 1) {
+                return Arrays.copyOf(ends, count + 1);
+            }
+        }
+        return Arrays.copyOf(ends, count);
+    }
+
+    /**
+     * Bottom-up merge of adjacent runs, alternating between the array and one buffer
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void mergeRuns(T[] array, int from, int[] runEnds, Comparator<? super T> comparator) {
+        int to = runEnds[runEnds.length - 1];
+        T[] buffer = (T[]) new Object[to - from];
+        T[] source = array;
+        int sourceOffset = 0;
+        T[] target = buffer;
+        int targetOffset = from;
+
+        int[] ends = runEnds;
+        while (ends.length > 1) {
+            int[] merged = new int[(ends.length + 1) / 2];
+            int start = from;
+            for (int r = 0; r < ends.length; r += 2) {
+                int mid = ends[r];
+                int end = r + 1 < ends.length ? ends[r + 1] : mid;
+                merge(source, sourceOffset, target, targetOffset, start, mid, end, comparator);
+                merged[r / 2] = end;
+                start = end;
+            }
+            ends = merged;
+
+            T[] swapArray = source;
+            source = target;
+            target = swapArray;
+            int swapOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = swapOffset;
+        }
+
+        if (source != array) {
+            System.arraycopy(source, 0, array, from, to - from);
+        }
+    }
+
+    /**
+     * Merges source[start, mid) and source[mid, end) into target; positions are
+     * logical array indices, shifted by each side's offset
+     */
+    private static <T> void merge(T[] source, int sourceOffset, T[] target, int targetOffset,
+                                  int start, int mid, int end, Comparator<? super T> comparator) {
+        int i = start;
+        int j = mid;
+        int k = start;
+        while (i < mid && j < end) {
+            if (comparator.compare(source[j - sourceOffset], source[i - sourceOffset]) < 0) {
+                target[k++ - targetOffset] = source[j++ - sourceOffset];
+            } else {
+                target[k++ - targetOffset] = source[i++ - sourceOffset];
+            }
+        }
+        while (i < mid) {
+            target[k++ - targetOffset] = source[i++ - sourceOffset];
+        }
+        while (j < end) {
+            target[k++ - targetOffset] = source[j++ - sourceOffset];
+        }
+    }
+
+    // ===================================================================
+    // INTROSORT
+    // ===================================================================
+
+    private static <T> void introSort(T[] array, int low, int high, int depthLimit, Comparator<? super T> comparator) {
+        List<T> view = Arrays.asList(array);
+        while (high - low + 1 > INSERTION_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(array, low, high, comparator);
+                return;
+            }
+
+            // Hoare partition around the median of first, middle and last
+            T pivot = AlgorithmUtils.getMedian(view, low, high, comparator);
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (comparator.compare(array[i], pivot) < 0) i++;
+                while (comparator.compare(array[j], pivot) > 0) j--;
+                if (i <= j) {
+                    swap(array, i++, j--);
+                }
+            }
+
+            // Recurse into the smaller side and loop on the larger, bounding the stack at O(log n)
+            if (j - low < high - i) {
+                introSort(array, low, j, depthLimit, comparator);
+                low = i;
+            } else {
+                introSort(array, i, high, depthLimit, comparator);
+                high = j;
+            }
+        }
+        insertionSort(array, low, high, comparator);
+    }
+
+    private static <T> void insertionSort(T[] array, int low, int high, Comparator<? super T> comparator) {
+        for (int i = low + 1; i <= high; i++) {
+            T key = array[i];
+            int j = i - 1;
+            while (j >= low && comparator.compare(array[j], key) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    private static <T> void heapSort(T[] array, int low, int high, Comparator<? super T> comparator) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(array, low, i, n, comparator);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(array, low, low + end);
+            siftDown(array, low, 0, end, comparator);
+        }
+    }
+
+    private static <T> void siftDown(T[] array, int offset, int i, int n, Comparator<? super T> comparator) {
+        T value = array[offset + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && comparator.compare(array[offset + child + 1], array[offset + child]) > 0) {
+                child++;
+            }
+            if (comparator.compare(array[offset + child], value) <= 0) break;
+            array[offset + i] = array[offset + child];
+            i = child;
+        }
+        array[offset + i] = value;
+    }
+
+    // ===================================================================
+    // HELPERS
+    // ===================================================================
+
+    private static <T> void swap(T[] array, int i, int j) {
+        T temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    private static <T> void reverse(T[] array, int low, int high) {
+        while (low < high) {
+            swap(array, low++, high--);
+        }
+    }
+
+    private static int floorLog2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+}
@@ -0,0 +1,247 @@
+package com.studyspace.utils;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+//============ sort option =============
+//this is where a list sort choice is described once for Java sorting, FX comparators and SQL
+
+/**
+ * Typed descriptor for one entry of a sort combo box. An option is a chain of
+ * keys: numeric keys (dates, counts, enum ordinals) are read as longs, text keys
+ * are compared with a {@link Collator} so accents and the user's locale order
+ * correctly and case is ignored. {@link #sort} computes every key once per
+ * element (text becomes a dense rank over its CollationKeys) and then orders the
+ * elements with stable radix passes, so no string is case-folded more than once.
+ *
+ * @param <T> the element type
+ */
+public final class SortOption<T> {
+
+    private static final int MAX_CACHED_KEYS = 8192;
+
+    /**
+     * One level of the key chain; exactly one of numericKey / textKey is set
+     */
+    private static final class Level<T> {
+        final ToLongFunction<? super T> numericKey;
+        final Function<? super T, String> textKey;
+        final boolean descending;
+        final String sqlOrderBy;
+
+        Level(ToLongFunction<? super T> numericKey, Function<? super T, String> textKey,
+              boolean descending, String sqlOrderBy) {
+            this.numericKey = numericKey;
+            this.textKey = textKey;
+            this.descending = descending;
+            this.sqlOrderBy = sqlOrderBy;
+        }
+    }
+
+    private final String label;
+    private final List<Level<T>> levels;
+
+    private SortOption(String label, List<Level<T>> levels) {
+        this.label = label;
+        this.levels = levels;
+    }
+
+    /**
+     * Option ordered by a numeric key; use the RadixSort key helpers for dates, counts and nulls
+     *
+     * @param sqlOrderBy equivalent ORDER BY fragment, or null if the key is not a column
+     */
+    public static <T> SortOption<T> byNumber(String label, ToLongFunction<? super T> key, String sqlOrderBy) {
+        return new SortOption<>(label, List.of(new Level<>(key, null, false, sqlOrderBy)));
+    }
+
+    /**
+     * Option ordered by locale-aware, case-insensitive text; missing text always sorts last
+     *
+     * @param sqlOrderBy equivalent ORDER BY fragment, or null if the key is not a column
+     */
+    public static <T> SortOption<T> byText(String label, Function<? super T, String> key,
+                                           boolean descending, String sqlOrderBy) {
+        return new SortOption<>(label, List.of(new Level<>(null, key, descending, sqlOrderBy)));
+    }
+
+    /**
+     * Same option with the next option's keys appended as tie-breakers
+     */
+    public SortOption<T> thenBy(SortOption<T> next) {
+        List<Level<T>> chained = new ArrayList<>(levels);
+        chained.addAll(next.levels);
+        return new SortOption<>(label, List.copyOf(chained));
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * ORDER BY fragment for the leading keys that map to columns, or null if the first key doesn't
+     */
+    public String getSqlOrderBy() {
+        StringJoiner orderBy = new StringJoiner(", ");
+        for (Level<T> level : levels) {
+            if (level.sqlOrderBy == null) break;
+            orderBy.add(level.sqlOrderBy);
+        }
+        return orderBy.length() == 0 ? null : orderBy.toString();
+    }
+
+    /**
+     * True when the database produces exactly this order, i.e. every key is a
+     * column and none of them is text (SQL collations differ from Collator)
+     */
+    public boolean isExactInSql() {
+        for (Level<T> level : levels) {
+            if (level.sqlOrderBy == null || level.textKey != null) return false;
+        }
+        return true;
+    }
+
+    // ===================================================================
+    // SORTING
+    // ===================================================================
+
+    /**
+     * Returns a new list in this option's order; fully equal elements keep their input order
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> sort(Collection<? extends T> items) {
+        Object[] elements = items.toArray();
+        int n = elements.length;
+        List<T> sorted = new ArrayList<>(n);
+        if (n <= 1) {
+            for (Object element : elements) sorted.add((T) element);
+            return sorted;
+        }
+
+        // LSD over the key chain: sort by the last key first, then stably by each earlier one
+        Collator collator = newCollator();
+        int[] order = null;
+        for (int l = levels.size() - 1; l >= 0; l--) {
+            long[] keys = computeKeys(levels.get(l), elements, collator);
+            if (order != null) {
+                long[] permuted = new long[n];
+                for (int i = 0; i < n; i++) {
+                    permuted[i] = keys[order[i]];
+                }
+                int[] pass = RadixSort.sortedIndexes(permuted);
+                int[] combined = new int[n];
+                for (int i = 0; i < n; i++) {
+                    combined[i] = order[pass[i]];
+                }
+                order = combined;
+            } else {
+                order = RadixSort.sortedIndexes(keys);
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            sorted.add((T) elements[order[i]]);
+        }
+        return sorted;
+    }
+
+    /**
+     * Comparator with the same ordering, for SortedLists and other incremental users.
+     * CollationKeys are cached per distinct string, so each comparator instance should
+     * stay on one thread (the FX thread for SortedList).
+     */
+    public Comparator<T> comparator() {
+        Collator collator = newCollator();
+        Map<String, CollationKey> cache = new HashMap<>();
+        return (a, b) -> {
+            for (Level<T> level : levels) {
+                int result;
+                if (level.numericKey != null) {
+                    result = Long.compare(level.numericKey.applyAsLong(a), level.numericKey.applyAsLong(b));
+                } else {
+                    result = compareText(level, cachedKey(level.textKey.apply(a), collator, cache),
+                                                cachedKey(level.textKey.apply(b), collator, cache));
+                }
+                if (result != 0) return result;
+            }
+            return 0;
+        };
+    }
+
+    // ===================================================================
+    // KEYS
+    // ===================================================================
+
+    private static <T> long[] computeKeys(Level<T> level, Object[] elements, Collator collator) {
+        int n = elements.length;
+        long[] keys = new long[n];
+        if (level.numericKey != null) {
+            for (int i = 0; i < n; i++) {
+                @SuppressWarnings("unchecked")
+                T element = (T) elements[i];
+                keys[i] = level.numericKey.applyAsLong(element);
+            }
+            return keys;
+        }
+
+        // Text is collated once per distinct string (subjects repeat a lot), then
+        // replaced by its dense rank among all keys
+        CollationKey[] collated = new CollationKey[n];
+        Map<String, CollationKey> distinct = new HashMap<>();
+        Integer[] byText = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T element = (T) elements[i];
+            String text = level.textKey.apply(element);
+            collated[i] = text == null ? null : distinct.computeIfAbsent(text, collator::getCollationKey);
+            byText[i] = i;
+        }
+        SortEngine.sortArray(byText, (x, y) -> compareText(level, collated[x], collated[y]));
+
+        long rank = 0;
+        for (int i = 0; i < n; i++) {
+            int index = byText[i];
+            if (i > 0 && compareText(level, collated[byText[i - 1]], collated[index]) != 0) {
+                rank++;
+            }
+            keys[index] = collated[index] == null ? RadixSort.NULLS_LAST : rank;
+        }
+        return keys;
+    }
+
+    private static int compareText(Level<?> level, CollationKey a, CollationKey b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : (a == null ? 1 : -1);
+        }
+        int result = a.compareTo(b);
+        return level.descending ? -result : result;
+    }
+
+    private static CollationKey cachedKey(String text, Collator collator, Map<String, CollationKey> cache) {
+        if (text == null) return null;
+        CollationKey key = cache.get(text);
+        if (key == null) {
+            // Edited titles leave stale entries behind; start over rather than grow forever
+            if (cache.size() >= MAX_CACHED_KEYS) cache.clear();
+            key = collator.getCollationKey(text);
+            cache.put(text, key);
+        }
+        return key;
+    }
+
+    // Collators aren't thread-safe, so every sort and comparator gets its own.
+    // SECONDARY strength ignores case but keeps accents as a tie-breaker.
+    private static Collator newCollator() {
+        Collator collator = Collator.getInstance();
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
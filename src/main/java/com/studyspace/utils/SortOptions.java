@@ -0,0 +1,205 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+import java.util.*;
+
+import static com.studyspace.utils.RadixSort.NULLS_FIRST;
+import static com.studyspace.utils.RadixSort.NULLS_LAST;
+import static com.studyspace.utils.RadixSort.countKey;
+import static com.studyspace.utils.RadixSort.dayKey;
+import static com.studyspace.utils.RadixSort.timeKey;
+
+//============ sort options =============
+//this is where every list's sort choices are registered under their combo box labels
+
+/**
+ * Registry of the sort options offered by each list view. The same descriptor
+ * drives AlgorithmUtils' list sorts, the views' SortedList comparators and the
+ * ORDER BY pushed down to MySQL, so all three agree on one ordering.
+ *
+ * MySQL puts NULL first when ascending and last when descending. Keys that keep
+ * missing values last in ascending order therefore lead with "col IS NULL".
+ */
+public final class SortOptions {
+
+    /**
+     * Sort options for one element type, in combo box order
+     */
+    public static final class Registry<T> {
+        private final Map<String, SortOption<T>> options = new LinkedHashMap<>();
+
+        private Registry<T> add(SortOption<T> option) {
+            options.put(option.getLabel(), option);
+            return this;
+        }
+
+        /**
+         * Option for a combo box label, or null if unknown. Labels may carry a
+         * leading icon (e.g. "📅 Date Created (Newest)"), which is ignored.
+         */
+        public SortOption<T> get(String label) {
+            if (label == null) return null;
+            SortOption<T> option = options.get(label);
+            if (option == null) {
+                int space = label.indexOf(' ');
+                if (space > 0 && !Character.isLetterOrDigit(label.codePointAt(0))) {
+                    option = options.get(label.substring(space + 1));
+                }
+            }
+            return option;
+        }
+
+        public List<String> getLabels() {
+            return new ArrayList<>(options.keySet());
+        }
+
+        /**
+         * New list in the labelled order; an unknown label returns an unsorted copy
+         */
+        public List<T> sort(Collection<? extends T> items, String label) {
+            SortOption<T> option = get(label);
+            return option != null ? option.sort(items) : new ArrayList<>(items);
+        }
+
+        /**
+         * Comparator for the labelled order, or null (unsorted) if the label is unknown
+         */
+        public Comparator<T> comparator(String label) {
+            SortOption<T> option = get(label);
+            return option != null ? option.comparator() : null;
+        }
+    }
+
+    private SortOptions() {}
+
+    // ===================================================================
+    // FLASHCARDS
+    // ===================================================================
+
+    private static final SortOption<Flashcard> CARD_QUESTION =
+        SortOption.byText("Alphabetical (A-Z)", Flashcard::getQuestion, false, "question ASC");
+
+    public static final Registry<Flashcard> FLASHCARDS = new Registry<Flashcard>()
+        .add(SortOption.byNumber("Recently Studied",
+            f -> timeKey(f.getLastStudied(), true, NULLS_LAST), "last_studied DESC"))
+        .add(SortOption.byNumber("Least Recently Studied",
+            f -> timeKey(f.getLastStudied(), false, NULLS_FIRST), "last_studied ASC"))
+        .add(SortOption.<Flashcard>byNumber("Most Studied",
+            f -> countKey(f.getTimesStudied(), true), "times_studied DESC").thenBy(CARD_QUESTION))
+        .add(SortOption.<Flashcard>byNumber("Least Studied",
+            f -> countKey(f.getTimesStudied(), false), "times_studied ASC").thenBy(CARD_QUESTION))
+        .add(CARD_QUESTION)
+        .add(SortOption.byText("Alphabetical (Z-A)", Flashcard::getQuestion, true, "question DESC"))
+        .add(SortOption.<Flashcard>byNumber("Difficulty (Easy-Hard)",
+            f -> ordinalKey(f.getDifficulty(), false), "difficulty IS NULL, difficulty ASC").thenBy(CARD_QUESTION))
+        .add(SortOption.<Flashcard>byNumber("Difficulty (Hard-Easy)",
+            f -> ordinalKey(f.getDifficulty(), true), "difficulty DESC").thenBy(CARD_QUESTION))
+        .add(SortOption.byNumber("Date Created (Newest)",
+            f -> timeKey(f.getCreatedAt(), true, NULLS_LAST), "created_at DESC"))
+        .add(SortOption.byNumber("Date Created (Oldest)",
+            f -> timeKey(f.getCreatedAt(), false, NULLS_LAST), "created_at IS NULL, created_at ASC"));
+
+    // ===================================================================
+    // FLASHCARD DECKS
+    // ===================================================================
+
+    private static final SortOption<FlashcardDeck> DECK_TITLE =
+        SortOption.byText("Title (A-Z)", FlashcardDeck::getTitle, false, "title ASC");
+
+    public static final Registry<FlashcardDeck> FLASHCARD_DECKS = new Registry<FlashcardDeck>()
+        .add(DECK_TITLE)
+        .add(SortOption.byText("Title (Z-A)", FlashcardDeck::getTitle, true, "title DESC"))
+        .add(SortOption.byNumber("Date Created (Newest)",
+            d -> timeKey(d.getCreatedAt(), true, NULLS_LAST), "created_at DESC"))
+        .add(SortOption.byNumber("Date Created (Oldest)",
+            d -> timeKey(d.getCreatedAt(), false, NULLS_LAST), "created_at IS NULL, created_at ASC"))
+        .add(SortOption.byText("Subject (A-Z)", FlashcardDeck::getSubject, false, "subject ASC")
+            .thenBy(DECK_TITLE))
+        .add(SortOption.byText("Subject (Z-A)", FlashcardDeck::getSubject, true, "subject DESC")
+            .thenBy(DECK_TITLE))
+        .add(SortOption.<FlashcardDeck>byNumber("Difficulty (Easy to Hard)",
+            d -> ordinalKey(d.getDifficulty(), false), "difficulty IS NULL, difficulty ASC").thenBy(DECK_TITLE))
+        .add(SortOption.<FlashcardDeck>byNumber("Difficulty (Hard to Easy)",
+            d -> ordinalKey(d.getDifficulty(), true), "difficulty DESC").thenBy(DECK_TITLE))
+        .add(SortOption.<FlashcardDeck>byNumber("Card Count (Low to High)",
+            d -> countKey(d.getCardCount(), false), null).thenBy(DECK_TITLE))
+        .add(SortOption.<FlashcardDeck>byNumber("Card Count (High to Low)",
+            d -> countKey(d.getCardCount(), true), null).thenBy(DECK_TITLE));
+
+    // ===================================================================
+    // NOTES
+    // ===================================================================
+
+    private static final SortOption<Note> NOTE_TITLE =
+        SortOption.byText("Title (A-Z)", Note::getTitle, false, "title ASC");
+
+    public static final Registry<Note> NOTES = new Registry<Note>()
+        .add(NOTE_TITLE)
+        .add(SortOption.byText("Title (Z-A)", Note::getTitle, true, "title DESC"))
+        .add(SortOption.byNumber("Date Created (Newest)",
+            n -> timeKey(n.getCreatedAt(), true, NULLS_LAST), "created_at DESC"))
+        .add(SortOption.byNumber("Date Created (Oldest)",
+            n -> timeKey(n.getCreatedAt(), false, NULLS_LAST), "created_at IS NULL, created_at ASC"))
+        .add(SortOption.byText("Subject (A-Z)", Note::getCategory, false, "category ASC")
+            .thenBy(NOTE_TITLE))
+        .add(SortOption.byText("Subject (Z-A)", Note::getCategory, true, "category DESC")
+            .thenBy(NOTE_TITLE))
+        .add(SortOption.byNumber("Last Modified (Newest)",
+            n -> timeKey(n.getModifiedAt(), true, NULLS_LAST), "modified_at DESC"))
+        .add(SortOption.byNumber("Last Modified (Oldest)",
+            n -> timeKey(n.getModifiedAt(), false, NULLS_LAST), "modified_at IS NULL, modified_at ASC"));
+
+    // ===================================================================
+    // QUIZZES
+    // ===================================================================
+
+    private static final SortOption<Quiz> QUIZ_TITLE =
+        SortOption.byText("Title (A-Z)", Quiz::getTitle, false, "title ASC");
+
+    public static final Registry<Quiz> QUIZZES = new Registry<Quiz>()
+        .add(QUIZ_TITLE)
+        .add(SortOption.byText("Title (Z-A)", Quiz::getTitle, true, "title DESC"))
+        .add(SortOption.byNumber("Date Created (Newest)",
+            q -> timeKey(q.getCreatedAt(), true, NULLS_LAST), "created_at DESC"))
+        .add(SortOption.byNumber("Date Created (Oldest)",
+            q -> timeKey(q.getCreatedAt(), false, NULLS_LAST), "created_at IS NULL, created_at ASC"))
+        .add(SortOption.byText("Subject (A-Z)", Quiz::getSubject, false, "subject ASC")
+            .thenBy(QUIZ_TITLE))
+        .add(SortOption.byText("Subject (Z-A)", Quiz::getSubject, true, "subject DESC")
+            .thenBy(QUIZ_TITLE))
+        .add(SortOption.<Quiz>byNumber("Difficulty (Easy to Hard)",
+            q -> ordinalKey(q.getDifficulty(), false), "difficulty IS NULL, difficulty ASC").thenBy(QUIZ_TITLE))
+        .add(SortOption.<Quiz>byNumber("Difficulty (Hard to Easy)",
+            q -> ordinalKey(q.getDifficulty(), true), "difficulty DESC").thenBy(QUIZ_TITLE))
+        .add(SortOption.<Quiz>byNumber("Question Count (Low to High)",
+            q -> countKey(q.getQuestionCount(), false), null).thenBy(QUIZ_TITLE))
+        .add(SortOption.<Quiz>byNumber("Question Count (High to Low)",
+            q -> countKey(q.getQuestionCount(), true), null).thenBy(QUIZ_TITLE));
+
+    // ===================================================================
+    // TODO ITEMS
+    // ===================================================================
+
+    private static final SortOption<TodoItem> DUE_EARLIEST = SortOption.byNumber("Due Date (Earliest)",
+        t -> dayKey(t.getDueDate(), false, NULLS_LAST), "due_date IS NULL, due_date ASC");
+
+    public static final Registry<TodoItem> TODO_ITEMS = new Registry<TodoItem>()
+        .add(SortOption.<TodoItem>byNumber("Priority (High to Low)",
+            t -> ordinalKey(t.getPriority(), true), "priority DESC").thenBy(DUE_EARLIEST))
+        .add(SortOption.<TodoItem>byNumber("Priority (Low to High)",
+            t -> ordinalKey(t.getPriority(), false), "priority IS NULL, priority ASC").thenBy(DUE_EARLIEST))
+        .add(DUE_EARLIEST)
+        .add(SortOption.byNumber("Due Date (Latest)",
+            t -> dayKey(t.getDueDate(), true, NULLS_FIRST), "due_date IS NULL DESC, due_date DESC"))
+        .add(SortOption.byText("Title (A-Z)", TodoItem::getTitle, false, "title ASC"))
+        .add(SortOption.byText("Title (Z-A)", TodoItem::getTitle, true, "title DESC"))
+        .add(SortOption.byNumber("Date Created (Newest)",
+            t -> timeKey(t.getCreatedAt(), true, NULLS_LAST), "created_at DESC"))
+        .add(SortOption.byNumber("Date Created (Oldest)",
+            t -> timeKey(t.getCreatedAt(), false, NULLS_LAST), "created_at IS NULL, created_at ASC"));
+
+    // MySQL ENUM columns sort by declaration index, which matches the Java ordinals
+    private static long ordinalKey(Enum<?> value, boolean descending) {
+        return value == null ? NULLS_LAST : countKey(value.ordinal(), descending);
+    }
+}
@@ -0,0 +1,108 @@
+package com.studyspace.utils;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+//============ sorted long index =============
+//this is where range lookups on a long key are answered without scanning every item
+
+/**
+ * Immutable snapshot of items ordered by a long key (a timestamp, epoch day or count).
+ * The keys live in a primitive long[] next to an Eytzinger copy for the bound
+ * searches, so a range lookup costs one O(log n) search plus the size of the result.
+ * Build it from RadixSort's key helpers; keys of NULLS_LAST sort past every real key,
+ * so "before" queries leave items without a value out.
+ */
+public final class SortedLongIndex<T> {
+
+    private final long[] keys;
+    private final Object[] items;
+    private final long[] layout;
+    private final int[] ranks;
+
+    private SortedLongIndex(long[] keys, Object[] items) {
+        this.keys = keys;
+        this.items = items;
+        this.layout = PrimitiveSearch.eytzinger(keys);
+        this.ranks = PrimitiveSearch.eytzingerRanks(keys.length);
+    }
+
+    /**
+     * Indexes the items by ascending key; equal keys keep their input order
+     */
+    public static <T> SortedLongIndex<T> of(Collection<? extends T> items, ToLongFunction<? super T> keyExtractor) {
+        Object[] elements = items.toArray();
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) elements[i];
+            keys[i] = keyExtractor.applyAsLong(item);
+        }
+
+        int[] order = RadixSort.sortedIndexes(keys);
+        Object[] sorted = new Object[elements.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[i] = elements[order[i]];
+        }
+        return new SortedLongIndex<>(keys, sorted);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Position of the first item whose key is >= the given key (size() if none)
+     */
+    public int lowerBound(long key) {
+        int slot = PrimitiveSearch.eytzingerLowerBound(layout, key);
+        return slot == 0 ? keys.length : ranks[slot];
+    }
+
+    /**
+     * Number of items whose key is < the given key
+     */
+    public int countBelow(long key) {
+        return lowerBound(key);
+    }
+
+    /**
+     * Items with key < the given key, in key order
+     */
+    public List<T> below(long key) {
+        return slice(0, lowerBound(key));
+    }
+
+    /**
+     * Items with key >= the given key, in key order
+     */
+    public List<T> atOrAbove(long key) {
+        return slice(lowerBound(key), keys.length);
+    }
+
+    /**
+     * Items with from <= key < toExclusive, in key order
+     */
+    public List<T> between(long from, long toExclusive) {
+        if (toExclusive <= from) return new ArrayList<>();
+        return slice(lowerBound(from), lowerBound(toExclusive));
+    }
+
+    /**
+     * Some item whose key equals the given key, or null
+     */
+    @SuppressWarnings("unchecked")
+    public T find(long key) {
+        int index = PrimitiveSearch.interpolationSearch(keys, key);
+        return index >= 0 ? (T) items[index] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> slice(int from, int to) {
+        List<T> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            result.add((T) items[i]);
+        }
+        return result;
+    }
+}
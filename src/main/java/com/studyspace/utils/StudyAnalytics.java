@@ -0,0 +1,308 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+
+import java.util.*;
+
+//============ study analytics =============
+//this is where quiz and review results are kept as running totals for the dashboard
+
+/**
+ * Running aggregates for the signed-in user, overall and per subject, so the
+ * dashboard reads its numbers without loading every quiz. Quiz completions and
+ * flashcard reviews update the totals as they happen; a cold start streams over
+ * the stored quiz rows, quiz attempts and the review log once.
+ *
+ * Three kinds of totals are kept:
+ * - quiz scores: one observation per completed attempt
+ * - best scores: each taken quiz's best score, the figure behind "Average Score"
+ * - review accuracy: 100 for a correct flashcard answer, 0 for a wrong one
+ */
+public class StudyAnalytics {
+
+    // Weight of the newest observation in the recent average
+    public static final double RECENT_WEIGHT = 0.3;
+
+    /**
+     * Count, mean, best and an exponentially weighted recent value of a series
+     * of scores (0-100). Snapshots handed out are copies.
+     */
+    public static class Aggregate {
+        private int count;
+        private double sum;
+        private double best;
+        private double recent;
+
+        void add(double score) {
+            recent = count == 0 ? score : RECENT_WEIGHT * score + (1 - RECENT_WEIGHT) * recent;
+            best = count == 0 ? score : Math.max(best, score);
+            sum += score;
+            count++;
+        }
+
+        void remove(double score) {
+            // Best and recent cannot be unwound; they stay until the next rebuild
+            count--;
+            sum -= score;
+            if (count <= 0) {
+                count = 0;
+                sum = 0;
+                best = 0;
+                recent = 0;
+            }
+        }
+
+        Aggregate copy() {
+            Aggregate copy = new Aggregate();
+            copy.count = count;
+            copy.sum = sum;
+            copy.best = best;
+            copy.recent = recent;
+            return copy;
+        }
+
+        public int getCount() { return count; }
+        public double getMean() { return count > 0 ? sum / count : 0; }
+        public double getBest() { return best; }
+        public double getRecent() { return recent; }
+    }
+
+    /**
+     * The totals of one scope (everything, or one subject)
+     */
+    private static class Totals {
+        final Aggregate quizScores = new Aggregate();
+        final Aggregate bestScores = new Aggregate();
+        final Aggregate reviewAccuracy = new Aggregate();
+    }
+
+    /**
+     * What the best-score totals currently hold for one quiz
+     */
+    private static class QuizEntry {
+        final String subject;
+        final int bestScore;
+
+        QuizEntry(String subject, int bestScore) {
+            this.subject = subject;
+            this.bestScore = bestScore;
+        }
+    }
+
+    private static StudyAnalytics instance;
+
+    private Totals overall = new Totals();
+    private final Map<String, Totals> bySubject = new HashMap<>();
+    private final Map<String, QuizEntry> quizzes = new HashMap<>();
+    private String loadedUserId;
+
+    public StudyAnalytics() {
+    }
+
+    public static StudyAnalytics getInstance() {
+        if (instance == null) {
+            instance = new StudyAnalytics();
+        }
+        return instance;
+    }
+
+    // ===================================================================
+    // LOADING
+    // ===================================================================
+
+    /**
+     * Rebuilds the totals from the current user's history the first time they are
+     * needed, and again whenever a different user signs in
+     */
+    public synchronized void ensureLoaded() {
+        DataStore dataStore = DataStore.getInstance();
+        User user = dataStore.getCurrentUser();
+        String userId = user != null ? user.getId() : null;
+
+        if (loadedUserId != null && loadedUserId.equals(userId)) {
+            return;
+        }
+
+        if (userId == null) {
+            clear();
+            return;
+        }
+        start(userId);
+
+        // Stored attempts give the quiz-score totals; quizzes taken before attempts
+        // were stored fall back to their best score, ahead of the recorded attempts
+        List<Quiz> takenQuizzes = new ArrayList<>();
+        dataStore.forEachTakenQuiz(takenQuizzes::add);
+        List<QuizAttempt> attempts = new ArrayList<>();
+        dataStore.forEachQuizAttempt(userId, attempt -> {
+            if (attempt.isPractice()) return;
+            attempt.getAnswers().clear();
+            attempts.add(attempt);
+        });
+        Set<String> attemptedQuizIds = new HashSet<>();
+        for (QuizAttempt attempt : attempts) {
+            attemptedQuizIds.add(attempt.getQuizId());
+        }
+        Map<String, String> subjectsByQuiz = new HashMap<>();
+        for (Quiz quiz : takenQuizzes) {
+            subjectsByQuiz.put(quiz.getId(), quiz.getSubject());
+            if (attemptedQuizIds.contains(quiz.getId())) {
+                putBestScore(quiz.getId(), subjectKey(quiz.getSubject()), quiz.getBestScore());
+            } else {
+                addTakenQuiz(quiz);
+            }
+        }
+        for (QuizAttempt attempt : attempts) {
+            addQuizScore(subjectsByQuiz.get(attempt.getQuizId()), attempt.getScore());
+        }
+
+        Map<Long, String> subjectsByCard = new HashMap<>();
+        for (FlashcardDeck deck : dataStore.getAllFlashcardDecks()) {
+            for (Flashcard card : deck.getFlashcards()) {
+                subjectsByCard.put(ReviewLog.cardKey(card.getId()), deck.getSubject());
+            }
+        }
+        ReviewLog reviewLog = ReviewLog.getInstance();
+        reviewLog.ensureLoaded();
+        reviewLog.forEachEvent(event -> addReview(subjectsByCard.get(event.getCardKey()),
+            event.getGrade() != ReviewScheduler.Grade.AGAIN));
+    }
+
+    public synchronized boolean isLoaded() {
+        return loadedUserId != null;
+    }
+
+    public synchronized void clear() {
+        overall = new Totals();
+        bySubject.clear();
+        quizzes.clear();
+        loadedUserId = null;
+    }
+
+    /**
+     * Starts empty totals for the user; history is then fed through addTakenQuiz and
+     * the record methods
+     */
+    synchronized void start(String userId) {
+        clear();
+        loadedUserId = userId;
+    }
+
+    /**
+     * Cold-start entry for a quiz that has been taken. Only the best score is stored
+     * per quiz, so it stands in for that quiz's attempts in the quiz-score totals.
+     */
+    synchronized void addTakenQuiz(Quiz quiz) {
+        if (quiz == null || quiz.getId() == null || quiz.getTimesTaken() <= 0) return;
+        addQuizScore(quiz.getSubject(), quiz.getBestScore());
+        putBestScore(quiz.getId(), subjectKey(quiz.getSubject()), quiz.getBestScore());
+    }
+
+    private void addQuizScore(String subject, int score) {
+        overall.quizScores.add(score);
+        totals(subjectKey(subject)).quizScores.add(score);
+    }
+
+    // ===================================================================
+    // EVENTS
+    // ===================================================================
+
+    /**
+     * One finished quiz attempt; call after the score has been recorded on the quiz
+     */
+    public synchronized void recordQuizCompleted(Quiz quiz, int score) {
+        if (loadedUserId == null || quiz == null || quiz.getId() == null) return;
+        addQuizScore(quiz.getSubject(), score);
+        putBestScore(quiz.getId(), subjectKey(quiz.getSubject()), Math.max(score, quiz.getBestScore()));
+    }
+
+    /**
+     * One flashcard answer from a deck with the given subject
+     */
+    public synchronized void recordReview(String subject, boolean correct) {
+        if (loadedUserId == null) return;
+        addReview(subject, correct);
+    }
+
+    /**
+     * Keeps the best-score totals in step with a saved quiz, e.g. a changed subject
+     */
+    public synchronized void indexQuiz(Quiz quiz) {
+        if (loadedUserId == null || quiz == null || quiz.getId() == null) return;
+        if (quiz.getBestScore() > 0) {
+            putBestScore(quiz.getId(), subjectKey(quiz.getSubject()), quiz.getBestScore());
+        } else {
+            removeQuiz(quiz.getId());
+        }
+    }
+
+    public synchronized void removeQuiz(String quizId) {
+        QuizEntry entry = quizzes.remove(quizId);
+        if (entry == null) return;
+        overall.bestScores.remove(entry.bestScore);
+        totals(entry.subject).bestScores.remove(entry.bestScore);
+    }
+
+    private void putBestScore(String quizId, String subject, int bestScore) {
+        // Quizzes never taken (best score 0) are left out, as the dashboard always has
+        if (bestScore <= 0) return;
+        QuizEntry previous = quizzes.get(quizId);
+        if (previous != null && previous.bestScore == bestScore && previous.subject.equals(subject)) return;
+        removeQuiz(quizId);
+        quizzes.put(quizId, new QuizEntry(subject, bestScore));
+        overall.bestScores.add(bestScore);
+        totals(subject).bestScores.add(bestScore);
+    }
+
+    private void addReview(String subject, boolean correct) {
+        double score = correct ? 100 : 0;
+        overall.reviewAccuracy.add(score);
+        totals(subjectKey(subject)).reviewAccuracy.add(score);
+    }
+
+    // ===================================================================
+    // SNAPSHOTS
+    // ===================================================================
+
+    public synchronized Aggregate getQuizScores() {
+        return overall.quizScores.copy();
+    }
+
+    public synchronized Aggregate getQuizScores(String subject) {
+        Totals totals = bySubject.get(subjectKey(subject));
+        return totals != null ? totals.quizScores.copy() : new Aggregate();
+    }
+
+    public synchronized Aggregate getBestScores() {
+        return overall.bestScores.copy();
+    }
+
+    public synchronized Aggregate getBestScores(String subject) {
+        Totals totals = bySubject.get(subjectKey(subject));
+        return totals != null ? totals.bestScores.copy() : new Aggregate();
+    }
+
+    public synchronized Aggregate getReviewAccuracy() {
+        return overall.reviewAccuracy.copy();
+    }
+
+    public synchronized Aggregate getReviewAccuracy(String subject) {
+        Totals totals = bySubject.get(subjectKey(subject));
+        return totals != null ? totals.reviewAccuracy.copy() : new Aggregate();
+    }
+
+    /**
+     * Subjects seen so far, lower-cased
+     */
+    public synchronized Set<String> getSubjects() {
+        return new TreeSet<>(bySubject.keySet());
+    }
+
+    private Totals totals(String subject) {
+        return bySubject.computeIfAbsent(subject, s -> new Totals());
+    }
+
+    private static String subjectKey(String subject) {
+        return subject != null ? subject.trim().toLowerCase() : "";
+    }
+}
@@ -0,0 +1,240 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Flashcard;
+import com.studyspace.models.FlashcardDeck;
+import com.studyspace.models.User;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+//============ study session =============
+//this is where the side effects of a flashcard study session are collected and written in one batch
+
+/**
+ * One pass through a deck. Answering a card only updates memory: the card's
+ * schedule is re-queued and the review goes to the review log, which stores in
+ * its own batches. The changed cards' schedules, the user's study count and one
+ * summary activity are written together when the session ends, or every
+ * {@value #SAVE_EVERY} answers, on a background thread.
+ *
+ * The session still open is tracked, so signing out, closing the window or
+ * navigating away can finish it with {@link #finishActive()} and wait for the
+ * writes with {@link #awaitWrites(long)}.
+ */
+public class StudySession {
+
+    public static final int SAVE_EVERY = 25;
+
+    /**
+     * Where answers are graded and logged and session saves are written
+     */
+    public interface Storage {
+        User getCurrentUser();
+
+        /** Grades the card and re-queues it; memory only */
+        void recordFlashcardReview(Flashcard card, ReviewScheduler.Grade grade);
+
+        void logFlashcardReview(Flashcard card, ReviewScheduler.Grade grade, int responseMillis);
+
+        void saveFlashcardSchedules(Collection<Flashcard> cards);
+
+        void updateUser(User user);
+
+        void logUserActivity(String activityType, String description);
+    }
+
+    // Session saves run one at a time, in order, off the FX thread
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "study-session-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The session answers are currently recorded in, until it is finished
+    private static StudySession active;
+
+    private final Storage storage;
+    private final FlashcardDeck deck;
+    // Insertion order so a card answered twice is saved once, with its latest state
+    private final Map<String, Flashcard> unsavedCards = new LinkedHashMap<>();
+    private int answered;
+    private int correct;
+    private int unsavedAnswers;
+    private boolean finished;
+
+    public StudySession(DataStore dataStore, FlashcardDeck deck) {
+        this(new DataStoreStorage(dataStore), deck);
+    }
+
+    public StudySession(Storage storage, FlashcardDeck deck) {
+        this.storage = storage;
+        this.deck = deck;
+        finishActive();
+        active = this;
+        String description = "Started studying " + deck.getTitle() + " flashcard deck";
+        WRITER.submit(() -> storage.logUserActivity("STUDY_SESSION_STARTED", description));
+    }
+
+    /**
+     * Grades the card and logs the review; nothing is written to the database here
+     */
+    public void recordAnswer(Flashcard card, boolean wasCorrect, int responseMillis) {
+        ReviewScheduler.Grade grade = ReviewScheduler.Grade.fromCorrect(wasCorrect);
+        storage.recordFlashcardReview(card, grade);
+        storage.logFlashcardReview(card, grade, responseMillis);
+        StudyAnalytics.getInstance().recordReview(deck.getSubject(), wasCorrect);
+
+        User currentUser = storage.getCurrentUser();
+        if (currentUser != null) {
+            currentUser.incrementFlashcardsStudied();
+        }
+
+        answered++;
+        if (wasCorrect) {
+            correct++;
+        }
+        unsavedCards.put(card.getId(), card);
+        if (++unsavedAnswers >= SAVE_EVERY) {
+            save(false, null);
+        }
+    }
+
+    /**
+     * Starts counting again for another pass through the same deck
+     */
+    public void restart() {
+        finish(null);
+        answered = 0;
+        correct = 0;
+        finished = false;
+        active = this;
+    }
+
+    /**
+     * Saves what is still pending and logs the session summary; safe to call more
+     * than once. afterSaved, if given, runs on the writer thread once it is stored.
+     */
+    public void finish(Runnable afterSaved) {
+        if (finished) return;
+        finished = true;
+        if (active == this) {
+            active = null;
+        }
+        save(answered > 0, afterSaved);
+    }
+
+    /**
+     * Finishes the open session, if any, so its pending answers are written
+     */
+    public static void finishActive() {
+        if (active != null) {
+            active.finish(null);
+        }
+    }
+
+    /**
+     * Waits until every session save submitted so far has been written; false if
+     * that took longer than the timeout
+     */
+    public static boolean awaitWrites(long timeoutSeconds) {
+        try {
+            WRITER.submit(() -> {}).get(timeoutSeconds, TimeUnit.SECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            System.err.println("Study session writes did not finish: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public int getAnswered() {
+        return answered;
+    }
+
+    public int getCorrect() {
+        return correct;
+    }
+
+    public double getAccuracy() {
+        return answered > 0 ? (double) correct / answered * 100 : 0;
+    }
+
+    private void save(boolean logSummary, Runnable afterSaved) {
+        // The FX thread keeps changing the live cards, so the writer gets copies
+        List<Flashcard> cards = new ArrayList<>(unsavedCards.size());
+        for (Flashcard card : unsavedCards.values()) {
+            cards.add(card.copySchedule());
+        }
+        unsavedCards.clear();
+        unsavedAnswers = 0;
+        User user = storage.getCurrentUser();
+        String summary = logSummary
+            ? String.format("Finished studying %s deck - %d cards, %.1f%% accuracy", deck.getTitle(), answered, getAccuracy())
+            : null;
+        if (cards.isEmpty() && summary == null) {
+            if (afterSaved != null) WRITER.submit(afterSaved);
+            return;
+        }
+
+        WRITER.submit(() -> {
+            try {
+                storage.saveFlashcardSchedules(cards);
+                if (user != null && !cards.isEmpty()) {
+                    storage.updateUser(user);
+                }
+                if (summary != null) {
+                    storage.logUserActivity("STUDY_SESSION_ENDED", summary);
+                }
+                if (afterSaved != null) {
+                    afterSaved.run();
+                }
+            } catch (Exception e) {
+                System.err.println("Error saving study session: " + e.getMessage());
+            }
+        });
+    }
+
+    private static class DataStoreStorage implements Storage {
+        private final DataStore dataStore;
+
+        DataStoreStorage(DataStore dataStore) {
+            this.dataStore = dataStore;
+        }
+
+        @Override
+        public User getCurrentUser() {
+            return dataStore.getCurrentUser();
+        }
+
+        @Override
+        public void recordFlashcardReview(Flashcard card, ReviewScheduler.Grade grade) {
+            dataStore.recordFlashcardReview(card, grade);
+        }
+
+        @Override
+        public void logFlashcardReview(Flashcard card, ReviewScheduler.Grade grade, int responseMillis) {
+            dataStore.logFlashcardReview(card, grade, responseMillis);
+        }
+
+        @Override
+        public void saveFlashcardSchedules(Collection<Flashcard> cards) {
+            dataStore.saveFlashcardSchedules(cards);
+        }
+
+        @Override
+        public void updateUser(User user) {
+            dataStore.updateUser(user);
+        }
+
+        @Override
+        public void logUserActivity(String activityType, String description) {
+            dataStore.logUserActivity(activityType, description);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.studyspace.utils;
+
+import java.util.*;
+
+//============ text highlighter =============
+//this is where search terms are located in note content for highlighting
+
+/**
+ * Case-insensitive multi-term matcher built on an Aho-Corasick automaton.
+ * The automaton is built once per set of query terms; each scan is a single
+ * left-to-right pass over the text, independent of how many terms there are.
+ */
+public class TextHighlighter {
+
+    /**
+     * A matched region [start, end) of the scanned text
+     */
+    public static class Span {
+        private final int start;
+        private final int end;
+        private final int termIndex;
+
+        public Span(int start, int end, int termIndex) {
+            this.start = start;
+            this.end = end;
+            this.termIndex = termIndex;
+        }
+
+        public int getStart() { return start; }
+        public int getEnd() { return end; }
+        public int getTermIndex() { return termIndex; }
+        public int length() { return end - start; }
+
+        @Override
+        public String toString() {
+            return "Span{" + start + ".." + end + ", term=" + termIndex + '}';
+        }
+    }
+
+    private final List<String> terms;
+
+    // Automaton states live in parallel arrays; transitions are per-state sorted char arrays
+    private char[][] labels;
+    private int[][] targets;
+    private int[] failure;
+    // Longest term ending at each state (-1 if none) and the next state on the
+    // failure chain that also ends a term, so every match is reported without rescanning
+    private int[] outputTerm;
+    private int[] outputLink;
+    private int stateCount;
+
+    public TextHighlighter(Collection<String> queryTerms) {
+        this.terms = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String term : queryTerms) {
+            if (term == null) continue;
+            String folded = fold(term.trim());
+            if (!folded.isEmpty() && seen.add(folded)) {
+                terms.add(folded);
+            }
+        }
+        build();
+    }
+
+    /**
+     * Splits a search box value into terms; quoted phrases stay together
+     */
+    public static List<String> parseTerms(String query) {
+        List<String> result = new ArrayList<>();
+        if (query == null) return result;
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (current.length() > 0) {
+                    result.add(current.toString());
+                    current.setLength(0);
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (current.length() > 0) {
+            result.add(current.toString().trim());
+        }
+        return result;
+    }
+
+    public List<String> getTerms() {
+        return Collections.unmodifiableList(terms);
+    }
+
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    // ===================================================================
+    // AUTOMATON CONSTRUCTION
+    // ===================================================================
+
+    private void build() {
+        int maxStates = 1;
+        for (String term : terms) {
+            maxStates += term.length();
+        }
+        labels = new char[maxStates][];
+        targets = new int[maxStates][];
+        failure = new int[maxStates];
+        outputTerm = new int[maxStates];
+        outputLink = new int[maxStates];
+        Arrays.fill(outputTerm, -1);
+        Arrays.fill(outputLink, -1);
+        labels[0] = new char[0];
+        targets[0] = new int[0];
+        stateCount = 1;
+
+        // Trie of all terms
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                int next = transition(state, term.charAt(i));
+                if (next < 0) {
+                    next = newState();
+                    addTransition(state, term.charAt(i), next);
+                }
+                state = next;
+            }
+            outputTerm[state] = t;
+        }
+
+        // Breadth-first failure links
+        int[] queue = new int[stateCount];
+        int head = 0, tail = 0;
+        for (int child : targets[0]) {
+            failure[child] = 0;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int i = 0; i < labels[state].length; i++) {
+                char c = labels[state][i];
+                int child = targets[state][i];
+                int fallback = failure[state];
+                while (fallback > 0 && transition(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = transition(fallback, c);
+                failure[child] = (target >= 0 && target != child) ? target : 0;
+                int f = failure[child];
+                outputLink[child] = outputTerm[f] >= 0 ? f : outputLink[f];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    private int newState() {
+        labels[stateCount] = new char[0];
+        targets[stateCount] = new int[0];
+        return stateCount++;
+    }
+
+    private int transition(int state, char c) {
+        int i = Arrays.binarySearch(labels[state], c);
+        return i >= 0 ? targets[state][i] : -1;
+    }
+
+    private void addTransition(int state, char c, int target) {
+        char[] oldLabels = labels[state];
+        int[] oldTargets = targets[state];
+        int insertAt = -Arrays.binarySearch(oldLabels, c) - 1;
+        char[] newLabels = new char[oldLabels.length + 1];
+        int[] newTargets = new int[oldTargets.length + 1];
+        System.arraycopy(oldLabels, 0, newLabels, 0, insertAt);
+        System.arraycopy(oldTargets, 0, newTargets, 0, insertAt);
+        newLabels[insertAt] = c;
+        newTargets[insertAt] = target;
+        System.arraycopy(oldLabels, insertAt, newLabels, insertAt + 1, oldLabels.length - insertAt);
+        System.arraycopy(oldTargets, insertAt, newTargets, insertAt + 1, oldTargets.length - insertAt);
+        labels[state] = newLabels;
+        targets[state] = newTargets;
+    }
+
+    // ===================================================================
+    // MATCHING
+    // ===================================================================
+
+    /**
+     * Every occurrence of every term, possibly overlapping, ordered by end offset
+     */
+    public List<Span> findAll(String text) {
+        List<Span> spans = new ArrayList<>();
+        if (text == null || terms.isEmpty()) return spans;
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            int next = transition(state, c);
+            while (next < 0 && state > 0) {
+                state = failure[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? 0 : next;
+
+            int out = outputTerm[state] >= 0 ? state : outputLink[state];
+            while (out >= 0) {
+                int term = outputTerm[out];
+                spans.add(new Span(i + 1 - terms.get(term).length(), i + 1, term));
+                out = outputLink[out];
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * Non-overlapping spans for rendering: leftmost match wins, longest on ties.
+     * Returned in text order.
+     */
+    public List<Span> findHighlights(String text) {
+        List<Span> all = findAll(text);
+        all.sort((a, b) -> a.start != b.start ? Integer.compare(a.start, b.start) : Integer.compare(b.end, a.end));
+
+        List<Span> result = new ArrayList<>();
+        int coveredUntil = 0;
+        for (Span span : all) {
+            if (span.start >= coveredUntil) {
+                result.add(span);
+                coveredUntil = span.end;
+            }
+        }
+        return result;
+    }
+
+    // Simple per-char case folding keeps match offsets aligned with the original text
+    private static char fold(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    private static String fold(String s) {
+        StringBuilder folded = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            folded.append(fold(s.charAt(i)));
+        }
+        return folded.toString();
+    }
+}
@@ -0,0 +1,235 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.TodoItem;
+import com.studyspace.models.User;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+//============ todo reminder scheduler =============
+//this is where open todos are kept in due-date order and the overdue count is kept without rescanning
+
+/**
+ * Keeps the signed-in user's open todos (not completed, with a due date) in two groups:
+ * - upcoming: ordered by the day they become overdue (the day after the due date)
+ * - overdue: already past their due date
+ * Saving or deleting a todo moves it in O(log n). One timer is armed for the start
+ * of the earliest upcoming day; when it fires, the todos of that day (and any day
+ * missed while the computer slept) move to overdue and the listener gets the new
+ * count. Reading the count never scans the todos.
+ */
+public class TodoReminderScheduler {
+
+    private static TodoReminderScheduler instance;
+
+    // Epoch day an item becomes overdue -> ids of the items becoming overdue that day
+    private final TreeMap<Long, Set<String>> upcoming = new TreeMap<>();
+    private final Map<String, Long> overdueDayById = new HashMap<>();
+    private final Set<String> overdue = new HashSet<>();
+    private final Clock clock;
+    private ScheduledExecutorService timer;
+    private ScheduledFuture<?> nextAlarm;
+    private long armedFor = Long.MAX_VALUE;
+    private IntConsumer listener;
+    private String loadedUserId;
+
+    public TodoReminderScheduler(Clock clock) {
+        this.clock = clock;
+    }
+
+    public static TodoReminderScheduler getInstance() {
+        if (instance == null) {
+            instance = new TodoReminderScheduler(Clock.systemDefaultZone());
+        }
+        return instance;
+    }
+
+    // ===================================================================
+    // LOADING
+    // ===================================================================
+
+    /**
+     * Indexes the current user's todos the first time the count is needed, and
+     * again whenever a different user signs in
+     */
+    public synchronized void ensureLoaded() {
+        DataStore dataStore = DataStore.getInstance();
+        User user = dataStore.getCurrentUser();
+        String userId = user != null ? user.getId() : null;
+
+        if (loadedUserId != null && loadedUserId.equals(userId)) {
+            return;
+        }
+
+        clear();
+        if (userId == null) {
+            return;
+        }
+        load(userId, dataStore.getAllTodoItems());
+    }
+
+    /**
+     * Replaces the index with the given todos
+     */
+    synchronized void load(String userId, Collection<TodoItem> todos) {
+        clear();
+        for (TodoItem todo : todos) {
+            place(todo);
+        }
+        loadedUserId = userId;
+        advance();
+    }
+
+    public synchronized boolean isLoaded() {
+        return loadedUserId != null;
+    }
+
+    public synchronized void clear() {
+        upcoming.clear();
+        overdueDayById.clear();
+        overdue.clear();
+        disarm();
+        loadedUserId = null;
+    }
+
+    // ===================================================================
+    // UPDATES
+    // ===================================================================
+
+    /**
+     * Called with the new overdue count whenever it changes, on the timer thread
+     * or the thread that saved the todo; replaces any earlier listener
+     */
+    public synchronized void setListener(IntConsumer listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Adds a new or changed todo; completed todos and todos without a due date are dropped
+     */
+    public synchronized void indexTodo(TodoItem todo) {
+        int before = overdue.size();
+        unplace(todo.getId());
+        place(todo);
+        advance();
+        notifyIfChanged(before);
+    }
+
+    public synchronized void removeTodo(String id) {
+        int before = overdue.size();
+        unplace(id);
+        rearm();
+        notifyIfChanged(before);
+    }
+
+    // ===================================================================
+    // QUERIES
+    // ===================================================================
+
+    /**
+     * Number of open todos due before today
+     */
+    public synchronized int getOverdueCount() {
+        // Catches up if the timer is late, e.g. right after the computer wakes up
+        int before = overdue.size();
+        advance();
+        notifyIfChanged(before);
+        return overdue.size();
+    }
+
+    /**
+     * The day the next todo becomes overdue, or null if none is waiting
+     */
+    public synchronized LocalDate getNextOverdueDay() {
+        return upcoming.isEmpty() ? null : LocalDate.ofEpochDay(upcoming.firstKey());
+    }
+
+    // ===================================================================
+    // INTERNALS
+    // ===================================================================
+
+    private void place(TodoItem todo) {
+        if (todo.getId() == null || todo.isCompleted() || todo.getDueDate() == null) {
+            return;
+        }
+        long day = todo.getDueDate().toEpochDay() + 1;
+        overdueDayById.put(todo.getId(), day);
+        upcoming.computeIfAbsent(day, d -> new HashSet<>()).add(todo.getId());
+    }
+
+    private void unplace(String id) {
+        Long day = overdueDayById.remove(id);
+        if (day == null) return;
+        if (!overdue.remove(id)) {
+            Set<String> ids = upcoming.get(day);
+            ids.remove(id);
+            if (ids.isEmpty()) upcoming.remove(day);
+        }
+    }
+
+    /**
+     * Moves every todo whose day has started to overdue and re-arms the timer
+     */
+    private void advance() {
+        long today = LocalDate.now(clock).toEpochDay();
+        while (!upcoming.isEmpty() && upcoming.firstKey() <= today) {
+            overdue.addAll(upcoming.pollFirstEntry().getValue());
+        }
+        rearm();
+    }
+
+    private void rearm() {
+        if (loadedUserId == null || upcoming.isEmpty()) {
+            disarm();
+            return;
+        }
+        long day = upcoming.firstKey();
+        if (day == armedFor) return;
+        disarm();
+
+        long startOfDay = LocalDate.ofEpochDay(day).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        long delay = Math.max(0, startOfDay - clock.millis());
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "todo-reminders");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        nextAlarm = timer.schedule(this::onAlarm, delay, TimeUnit.MILLISECONDS);
+        armedFor = day;
+    }
+
+    private void disarm() {
+        if (nextAlarm != null) {
+            nextAlarm.cancel(false);
+            nextAlarm = null;
+        }
+        armedFor = Long.MAX_VALUE;
+    }
+
+    private synchronized void onAlarm() {
+        nextAlarm = null;
+        armedFor = Long.MAX_VALUE;
+        int before = overdue.size();
+        // If the clock was set back and the day has not started yet, this just re-arms
+        advance();
+        notifyIfChanged(before);
+    }
+
+    private void notifyIfChanged(int before) {
+        if (listener != null && overdue.size() != before) {
+            try {
+                listener.accept(overdue.size());
+            } catch (Exception e) {
+                System.err.println("Error notifying overdue todo listener: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.studyspace.utils;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+//============ top-k selection =============
+//this is where the first k elements of an ordering are picked without sorting everything
+
+/**
+ * Partial ordering helpers behind AlgorithmUtils' top-k APIs.
+ * The bounded heaps keep only k candidates while streaming over the input,
+ * so they run in O(n log k) time with O(k) memory and accept any Iterable.
+ * Ties keep input order, so the result always equals the first k elements of
+ * a stable sort. {@link #select} is an in-place introselect for arrays the
+ * caller already owns.
+ */
+public final class TopK {
+
+    // Ranges at or below this size are finished with insertion sort
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private TopK() {}
+
+    /**
+     * The k smallest elements under the comparator, smallest first
+     */
+    public static <T> List<T> smallest(Iterable<? extends T> items, int k, Comparator<? super T> comparator) {
+        Heap<T> heap = new Heap<>(k, comparator);
+        for (T item : items) {
+            heap.offer(item);
+        }
+        return heap.toSortedList();
+    }
+
+    /**
+     * The k elements with the smallest long keys, smallest first; each key is read once.
+     * Use RadixSort's key helpers (or negate) for "largest" or date orderings.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> smallestByKey(Iterable<? extends T> items, int k, ToLongFunction<? super T> keyExtractor) {
+        if (k <= 0) return new ArrayList<>();
+        Object[] kept = new Object[Math.min(k, 64)];
+        long[] keys = new long[kept.length];
+        long[] arrivals = new long[kept.length];
+        int size = 0;
+        long arrival = 0;
+
+        // Max-heap on (key, arrival): the root is the worst element still kept
+        for (T item : items) {
+            long key = keyExtractor.applyAsLong(item);
+            long order = arrival++;
+            if (size < k) {
+                if (size == kept.length) {
+                    int grown = (int) Math.min(k, (long) kept.length * 2);
+                    kept = Arrays.copyOf(kept, grown);
+                    keys = Arrays.copyOf(keys, grown);
+                    arrivals = Arrays.copyOf(arrivals, grown);
+                }
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!worse(key, order, keys[parent], arrivals[parent])) break;
+                    kept[i] = kept[parent];
+                    keys[i] = keys[parent];
+                    arrivals[i] = arrivals[parent];
+                    i = parent;
+                }
+                kept[i] = item;
+                keys[i] = key;
+                arrivals[i] = order;
+            } else if (key < keys[0]) {
+                // Later arrivals lose ties, so only a strictly smaller key gets in
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && worse(keys[child + 1], arrivals[child + 1], keys[child], arrivals[child])) {
+                        child++;
+                    }
+                    if (!worse(keys[child], arrivals[child], key, order)) break;
+                    kept[i] = kept[child];
+                    keys[i] = keys[child];
+                    arrivals[i] = arrivals[child];
+                    i = child;
+                }
+                kept[i] = item;
+                keys[i] = key;
+                arrivals[i] = order;
+            }
+        }
+
+        // Heap order -> ascending by (key, arrival)
+        Integer[] slots = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = i;
+        }
+        long[] sortKeys = keys;
+        long[] sortArrivals = arrivals;
+        Arrays.sort(slots, (a, b) -> sortKeys[a] != sortKeys[b]
+            ? Long.compare(sortKeys[a], sortKeys[b])
+            : Long.compare(sortArrivals[a], sortArrivals[b]));
+
+        List<T> result = new ArrayList<>(size);
+        for (int slot : slots) {
+            result.add((T) kept[slot]);
+        }
+        return result;
+    }
+
+    /**
+     * Stream collector for the k smallest elements, smallest first
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> comparator) {
+        return Collector.of(
+            () -> new Heap<T>(k, comparator),
+            Heap::offer,
+            Heap::merge,
+            Heap::toSortedList);
+    }
+
+    // ===================================================================
+    // INTROSELECT
+    // ===================================================================
+
+    /**
+     * Reorders array[0, length) so array[k] holds the element a sort would put there,
+     * with nothing larger before it and nothing smaller after it. Quickselect with
+     * median-of-three pivots, falling back to a heap once partitioning stops shrinking
+     * the range fast enough, so the worst case stays O(n log n).
+     */
+    public static <T> void select(T[] array, int k, Comparator<? super T> comparator) {
+        if (k < 0 || k >= array.length) {
+            throw new IllegalArgumentException("k out of range: " + k);
+        }
+        int low = 0;
+        int high = array.length - 1;
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(array.length));
+        List<T> view = Arrays.asList(array);
+
+        while (high - low + 1 > INSERTION_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSelect(array, low, high, k, comparator);
+                return;
+            }
+
+            // Hoare partition; afterwards [low, j] <= pivot <= [i, high]
+            T pivot = AlgorithmUtils.getMedian(view, low, high, comparator);
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (comparator.compare(array[i], pivot) < 0) i++;
+                while (comparator.compare(array[j], pivot) > 0) j--;
+                if (i <= j) {
+                    swap(array, i++, j--);
+                }
+            }
+
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                return; // k sits between the two sides, on an element equal to the pivot
+            }
+        }
+        insertionSort(array, low, high, comparator);
+    }
+
+    /**
+     * Moves the k smallest elements to the front of the array, in ascending order
+     */
+    public static <T> void selectSmallest(T[] array, int k, Comparator<? super T> comparator) {
+        int count = Math.min(k, array.length);
+        if (count <= 0) return;
+        if (count < array.length) {
+            select(array, count - 1, comparator);
+        }
+        SortEngine.sortRange(array, 0, count, comparator);
+    }
+
+    // Selects k in array[low, high] by heap-sorting only as far as needed
+    private static <T> void heapSelect(T[] array, int low, int high, int k, Comparator<? super T> comparator) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(array, low, i, n, comparator);
+        }
+        // Each step moves the current maximum to the end; stop once position k is final
+        for (int end = n - 1; end >= k - low && end > 0; end--) {
+            swap(array, low, low + end);
+            siftDown(array, low, 0, end, comparator);
+        }
+    }
+
+    private static <T> void siftDown(T[] array, int offset, int i, int n, Comparator<? super T> comparator) {
+        T value = array[offset + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && comparator.compare(array[offset + child + 1], array[offset + child]) > 0) {
+                child++;
+            }
+            if (comparator.compare(array[offset + child], value) <= 0) break;
+            array[offset + i] = array[offset + child];
+            i = child;
+        }
+        array[offset + i] = value;
+    }
+
+    private static <T> void insertionSort(T[] array, int low, int high, Comparator<? super T> comparator) {
+        for (int i = low + 1; i <= high; i++) {
+            T key = array[i];
+            int j = i - 1;
+            while (j >= low && comparator.compare(array[j], key) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    private static <T> void swap(T[] array, int i, int j) {
+        T temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    private static boolean worse(long key, long arrival, long otherKey, long otherArrival) {
+        return key != otherKey ? key > otherKey : arrival > otherArrival;
+    }
+
+    // ===================================================================
+    // BOUNDED HEAP
+    // ===================================================================
+
+    /**
+     * Max-heap of at most k elements ordered by (comparator, arrival); the root is
+     * the worst element kept, so a newcomer only has to beat the root to get in
+     */
+    private static final class Heap<T> {
+        private final int capacity;
+        private final Comparator<? super T> comparator;
+        private Object[] items;
+        private long[] arrivals;
+        private int size;
+        private long nextArrival;
+
+        Heap(int capacity, Comparator<? super T> comparator) {
+            this.capacity = Math.max(0, capacity);
+            this.comparator = comparator;
+            // Grown on demand so a large k over a short input doesn't allocate k slots
+            this.items = new Object[Math.min(this.capacity, 64)];
+            this.arrivals = new long[items.length];
+        }
+
+        void offer(T item) {
+            offer(item, nextArrival++);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void offer(T item, long arrival) {
+            if (capacity == 0) return;
+            if (size < capacity) {
+                if (size == items.length) {
+                    int grown = (int) Math.min(capacity, (long) items.length * 2);
+                    items = Arrays.copyOf(items, grown);
+                    arrivals = Arrays.copyOf(arrivals, grown);
+                }
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (compare(item, arrival, (T) items[parent], arrivals[parent]) <= 0) break;
+                    items[i] = items[parent];
+                    arrivals[i] = arrivals[parent];
+                    i = parent;
+                }
+                items[i] = item;
+                arrivals[i] = arrival;
+            } else if (compare(item, arrival, (T) items[0], arrivals[0]) < 0) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size
+                            && compare((T) items[child + 1], arrivals[child + 1], (T) items[child], arrivals[child]) > 0) {
+                        child++;
+                    }
+                    if (compare((T) items[child], arrivals[child], item, arrival) <= 0) break;
+                    items[i] = items[child];
+                    arrivals[i] = arrivals[child];
+                    i = child;
+                }
+                items[i] = item;
+                arrivals[i] = arrival;
+            }
+        }
+
+        /**
+         * Folds another heap in; its arrivals count as coming after this heap's,
+         * which matches the encounter order of a split stream
+         */
+        @SuppressWarnings("unchecked")
+        Heap<T> merge(Heap<T> other) {
+            long offset = nextArrival;
+            for (int i = 0; i < other.size; i++) {
+                offer((T) other.items[i], offset + other.arrivals[i]);
+            }
+            nextArrival += other.nextArrival;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> toSortedList() {
+            Integer[] slots = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = i;
+            }
+            Arrays.sort(slots, (a, b) -> compare((T) items[a], arrivals[a], (T) items[b], arrivals[b]));
+
+            List<T> result = new ArrayList<>(size);
+            for (int slot : slots) {
+                result.add((T) items[slot]);
+            }
+            return result;
+        }
+
+        private int compare(T a, long arrivalA, T b, long arrivalB) {
+            int result = comparator.compare(a, b);
+            return result != 0 ? result : Long.compare(arrivalA, arrivalB);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.studyspace.utils;
+
+import java.util.Random;
+
+//============ weighted sampler =============
+//this is where items are drawn at random in proportion to weights that change as you go
+
+/**
+ * Draws item indexes with probability proportional to their weight. Weights sit
+ * in a Fenwick tree of prefix sums, so changing one weight and drawing are both
+ * O(log n); nothing is rescanned per draw. Building from the initial weights is O(n).
+ */
+public class WeightedSampler {
+
+    // Prefix sums are recomputed from the weights this often, so rounding error
+    // from many small updates cannot pile up
+    private static final int REBUILD_EVERY = 1 << 16;
+
+    private final double[] weights;
+    private double[] tree;
+    private final int size;
+    private int highestBit;
+    private int updatesSinceRebuild;
+
+    public WeightedSampler(double[] initialWeights) {
+        this.size = initialWeights.length;
+        this.weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = checked(initialWeights[i]);
+        }
+        rebuild();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getWeight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Sum of all weights
+     */
+    public double total() {
+        return prefixSum(size);
+    }
+
+    /**
+     * Replaces one item's weight in O(log n)
+     */
+    public void setWeight(int index, double weight) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        weight = checked(weight);
+        double delta = weight - weights[index];
+        weights[index] = weight;
+        if (++updatesSinceRebuild >= REBUILD_EVERY) {
+            rebuild();
+            return;
+        }
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * An index drawn in proportion to weight, or -1 when every weight is 0
+     */
+    public int sample(Random random) {
+        double total = total();
+        if (total <= 0) return -1;
+        return find(random.nextDouble() * total);
+    }
+
+    /**
+     * The index whose slice of the cumulative weights contains target, found by
+     * walking down the tree's powers of two
+     */
+    int find(double target) {
+        int position = 0;
+        for (int step = highestBit; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= size && tree[next] <= target) {
+                position = next;
+                target -= tree[next];
+            }
+        }
+        // Rounding can land on a zero-weight slot or one past the end; step back to a live item
+        if (position >= size) position = size - 1;
+        while (position > 0 && weights[position] <= 0) position--;
+        while (position < size - 1 && weights[position] <= 0) position++;
+        return weights[position] > 0 ? position : -1;
+    }
+
+    private double prefixSum(int count) {
+        double sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Recomputes every prefix sum from the weights in O(n)
+     */
+    private void rebuild() {
+        tree = new double[size + 1];
+        for (int i = 1; i <= size; i++) {
+            tree[i] += weights[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+        updatesSinceRebuild = 0;
+        highestBit = size > 0 ? Integer.highestOneBit(size) : 0;
+    }
+
+    private static double checked(double weight) {
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Weight must be finite and non-negative: " + weight);
+        }
+        return weight;
+    }
+}
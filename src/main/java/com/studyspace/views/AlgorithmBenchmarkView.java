@@ -0,0 +1,263 @@
+package com.studyspace.views;
+
+import com.studyspace.utils.AlgorithmBenchmark;
+import com.studyspace.utils.DataStore;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//============ algorithm benchmark view =============
+//this is where the sorts and searches are benchmarked on the user's own library
+
+public class AlgorithmBenchmarkView {
+
+    // One run at a time, off the FX thread; daemon so it never blocks exit
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "algorithm-benchmark");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DataStore dataStore;
+
+    private VBox mainContainer;
+    private Button runButton;
+    private Button cancelButton;
+    private ProgressIndicator progressIndicator;
+    private Label statusLabel;
+    private BarChart<String, Number> sortLatencyChart;
+    private BarChart<String, Number> sortComparisonChart;
+    private BarChart<String, Number> searchLatencyChart;
+    private VBox summaryBox;
+
+    private Task<AlgorithmBenchmark.Report> currentTask;
+
+    public AlgorithmBenchmarkView() {
+        this.dataStore = DataStore.getInstance();
+        initializeUI();
+    }
+
+    /**
+     * Initializes the UI components
+     */
+    private void initializeUI() {
+        mainContainer = new VBox();
+        mainContainer.setSpacing(24);
+        mainContainer.getStyleClass().add("content-area");
+        mainContainer.setPadding(new Insets(24));
+
+        sortLatencyChart = createChart("Sort time (median ms)", "ms");
+        sortComparisonChart = createChart("Sort comparisons", "comparisons");
+        searchLatencyChart = createChart("Search time per lookup (µs)", "µs");
+
+        summaryBox = new VBox();
+        summaryBox.setSpacing(8);
+
+        mainContainer.getChildren().addAll(
+            createHeaderSection(),
+            createControlsSection(),
+            createCard("Summary", summaryBox),
+            createCard("Sorting", new VBox(16, sortLatencyChart, sortComparisonChart)),
+            createCard("Searching", searchLatencyChart));
+    }
+
+    /**
+     * Creates the header section
+     */
+    private VBox createHeaderSection() {
+        VBox header = new VBox();
+        header.setSpacing(8);
+
+        Label titleLabel = new Label("📊 Algorithm Diagnostics");
+        titleLabel.getStyleClass().addAll("text-2xl", "font-bold", "text-primary");
+
+        Label subtitleLabel = new Label("Races every sort and search on a snapshot of your decks, notes and todos. "
+            + "Nothing in your library is changed.");
+        subtitleLabel.getStyleClass().addAll("text-sm", "text-secondary");
+        subtitleLabel.setWrapText(true);
+
+        header.getChildren().addAll(titleLabel, subtitleLabel);
+        return header;
+    }
+
+    /**
+     * Creates the run / cancel controls and progress display
+     */
+    private HBox createControlsSection() {
+        runButton = new Button("▶ Run Benchmark");
+        runButton.getStyleClass().add("primary-button");
+        runButton.setOnAction(e -> startBenchmark());
+
+        cancelButton = new Button("Cancel");
+        cancelButton.getStyleClass().add("secondary-button");
+        cancelButton.setDisable(true);
+        cancelButton.setOnAction(e -> {
+            if (currentTask != null) {
+                currentTask.cancel();
+            }
+        });
+
+        progressIndicator = new ProgressIndicator();
+        progressIndicator.setPrefSize(24, 24);
+        progressIndicator.setVisible(false);
+
+        statusLabel = new Label(String.format("%d warmup + %d measured runs per algorithm",
+            AlgorithmBenchmark.DEFAULT_WARMUP_RUNS, AlgorithmBenchmark.DEFAULT_MEASURED_RUNS));
+        statusLabel.getStyleClass().addAll("text-sm", "text-muted");
+
+        HBox controls = new HBox(12, runButton, cancelButton, progressIndicator, statusLabel);
+        controls.setAlignment(Pos.CENTER_LEFT);
+        return controls;
+    }
+
+    private VBox createCard(String title, Region content) {
+        Label titleLabel = new Label(title);
+        titleLabel.getStyleClass().addAll("text-xl", "font-semibold", "text-primary");
+
+        VBox card = new VBox(16, titleLabel, content);
+        card.getStyleClass().add("card");
+        card.setPadding(new Insets(24));
+        return card;
+    }
+
+    private BarChart<String, Number> createChart(String title, String unit) {
+        CategoryAxis xAxis = new CategoryAxis();
+        NumberAxis yAxis = new NumberAxis();
+        yAxis.setLabel(unit);
+
+        BarChart<String, Number> chart = new BarChart<>(xAxis, yAxis);
+        chart.setTitle(title);
+        chart.setAnimated(false);
+        chart.setPrefHeight(320);
+        return chart;
+    }
+
+    /**
+     * Snapshots the library and runs the benchmark on the background executor
+     */
+    private void startBenchmark() {
+        if (currentTask != null && currentTask.isRunning()) return;
+
+        Task<AlgorithmBenchmark.Report> task = new Task<AlgorithmBenchmark.Report>() {
+            @Override
+            protected AlgorithmBenchmark.Report call() throws Exception {
+                updateMessage("Taking a snapshot of your library...");
+                List<AlgorithmBenchmark.Dataset<?>> datasets = AlgorithmBenchmark.snapshot(dataStore);
+                return new AlgorithmBenchmark().run(datasets, this::isCancelled, this::updateMessage);
+            }
+        };
+
+        statusLabel.textProperty().bind(task.messageProperty());
+        setRunning(true);
+
+        task.setOnSucceeded(e -> {
+            finishRun();
+            AlgorithmBenchmark.Report report = task.getValue();
+            showReport(report);
+            statusLabel.setText("Finished " + report.getResults().size() + " measurements");
+        });
+        task.setOnCancelled(e -> {
+            finishRun();
+            statusLabel.setText("Benchmark cancelled");
+        });
+        task.setOnFailed(e -> {
+            finishRun();
+            System.err.println("Error running algorithm benchmark: " + task.getException().getMessage());
+            statusLabel.setText("Benchmark failed: " + task.getException().getMessage());
+        });
+
+        currentTask = task;
+        EXECUTOR.submit(task);
+    }
+
+    private void finishRun() {
+        statusLabel.textProperty().unbind();
+        setRunning(false);
+    }
+
+    private void setRunning(boolean running) {
+        runButton.setDisable(running);
+        cancelButton.setDisable(!running);
+        progressIndicator.setVisible(running);
+    }
+
+    /**
+     * Fills the charts (one series per dataset) and the per-dataset summary
+     */
+    private void showReport(AlgorithmBenchmark.Report report) {
+        Map<String, XYChart.Series<String, Number>> sortTimes = new LinkedHashMap<>();
+        Map<String, XYChart.Series<String, Number>> sortComparisons = new LinkedHashMap<>();
+        Map<String, XYChart.Series<String, Number>> searchTimes = new LinkedHashMap<>();
+
+        for (AlgorithmBenchmark.Result result : report.getResults(AlgorithmBenchmark.Kind.SORT)) {
+            series(sortTimes, result.getDataset()).getData()
+                .add(new XYChart.Data<>(result.getAlgorithm(), result.getMedianMillis()));
+            series(sortComparisons, result.getDataset()).getData()
+                .add(new XYChart.Data<>(result.getAlgorithm(), result.getComparisons()));
+        }
+        for (AlgorithmBenchmark.Result result : report.getResults(AlgorithmBenchmark.Kind.SEARCH)) {
+            series(searchTimes, result.getDataset()).getData()
+                .add(new XYChart.Data<>(result.getAlgorithm(), result.getMedianNanos() / 1000.0));
+        }
+
+        sortLatencyChart.getData().setAll(sortTimes.values());
+        sortComparisonChart.getData().setAll(sortComparisons.values());
+        searchLatencyChart.getData().setAll(searchTimes.values());
+
+        summaryBox.getChildren().clear();
+        for (AlgorithmBenchmark.DatasetProfile profile : report.getProfiles()) {
+            summaryBox.getChildren().add(createSummaryRow(report, profile));
+        }
+        if (summaryBox.getChildren().isEmpty()) {
+            Label empty = new Label("No data to benchmark yet");
+            empty.getStyleClass().addAll("text-sm", "text-muted");
+            summaryBox.getChildren().add(empty);
+        }
+    }
+
+    private XYChart.Series<String, Number> series(Map<String, XYChart.Series<String, Number>> byDataset, String dataset) {
+        return byDataset.computeIfAbsent(dataset, name -> {
+            XYChart.Series<String, Number> series = new XYChart.Series<>();
+            series.setName(name);
+            return series;
+        });
+    }
+
+    private Label createSummaryRow(AlgorithmBenchmark.Report report, AlgorithmBenchmark.DatasetProfile profile) {
+        StringBuilder text = new StringBuilder();
+        text.append(profile.getDataset()).append(": ")
+            .append(profile.getSize()).append(" items, ")
+            .append(profile.getDistinct()).append(" distinct, ")
+            .append(String.format("average presorted run %.1f", profile.getAverageRunLength()));
+
+        AlgorithmBenchmark.Result fastest = report.getWinner(profile.getDataset(), AlgorithmBenchmark.Kind.SORT);
+        if (fastest != null) {
+            text.append(String.format(" — fastest sort %s (%.3f ms)", fastest.getAlgorithm(), fastest.getMedianMillis()));
+            for (AlgorithmBenchmark.Result result : report.getResults(AlgorithmBenchmark.Kind.SORT)) {
+                if (result.getDataset().equals(profile.getDataset()) && result.getAlgorithm().equals("smartSort")
+                        && result != fastest) {
+                    text.append(String.format(", smartSort %.3f ms", result.getMedianMillis()));
+                }
+            }
+        }
+
+        Label row = new Label(text.toString());
+        row.getStyleClass().addAll("text-sm", "text-secondary");
+        row.setWrapText(true);
+        return row;
+    }
+
+    public VBox getView() {
+        return mainContainer;
+    }
+}
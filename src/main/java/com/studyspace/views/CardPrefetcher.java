@@ -0,0 +1,110 @@
+package com.studyspace.views;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+//============ card prefetcher =============
+//this is where the next cards of a study session are built and styled before they are shown
+
+/**
+ * Keeps pre-built card nodes for a window around the current card: one behind and
+ * lookAhead in front. Missing cards are built one per pulse through
+ * Platform.runLater, so moving on only swaps an already styled node into place.
+ * Built nodes wait in an invisible, unmanaged staging pane that the view adds to
+ * its scene graph, which lets CSS be applied to them before they are shown.
+ *
+ * @param <T> what the view builds per card (the node plus handles to its parts)
+ */
+public class CardPrefetcher<T> {
+
+    private final IntFunction<T> builder;
+    private final Function<T, Node> rootOf;
+    private final int cardCount;
+    private final int lookAhead;
+    private final Map<Integer, T> built = new HashMap<>();
+    private final Pane stagingPane = new Pane();
+    private int current;
+    private boolean fillScheduled;
+
+    public CardPrefetcher(int cardCount, int lookAhead, IntFunction<T> builder, Function<T, Node> rootOf) {
+        this.cardCount = cardCount;
+        this.lookAhead = Math.max(1, lookAhead);
+        this.builder = builder;
+        this.rootOf = rootOf;
+        stagingPane.setVisible(false);
+        stagingPane.setManaged(false);
+    }
+
+    /**
+     * Invisible holder for cards that are built but not shown; add it anywhere in the view
+     */
+    public Pane getStagingPane() {
+        return stagingPane;
+    }
+
+    /**
+     * The card at index, built now if the prefetch has not reached it. Also moves
+     * the window so the cards after it start building.
+     */
+    public T show(int index) {
+        current = index;
+        T card = built.get(index);
+        if (card == null) {
+            card = builder.apply(index);
+            built.put(index, card);
+        }
+        built.keySet().removeIf(i -> i < current - 1 || i > current + lookAhead);
+        scheduleFill();
+        return card;
+    }
+
+    /**
+     * Drops every built card, e.g. when the cards themselves changed
+     */
+    public void clear() {
+        built.clear();
+        stagingPane.getChildren().clear();
+    }
+
+    private void scheduleFill() {
+        if (fillScheduled) return;
+        fillScheduled = true;
+        Platform.runLater(this::fillOne);
+    }
+
+    /**
+     * Builds the nearest missing card in the window, then yields to the next pulse
+     */
+    private void fillOne() {
+        fillScheduled = false;
+        for (int offset = 1; offset <= lookAhead + 1; offset++) {
+            int index = offset <= lookAhead ? current + offset : current - 1;
+            if (index < 0 || index >= cardCount || built.containsKey(index)) continue;
+
+            T card = builder.apply(index);
+            built.put(index, card);
+            Node root = rootOf.apply(card);
+            stagingPane.getChildren().add(root);
+            if (stagingPane.getScene() != null) {
+                root.applyCss();
+            }
+            scheduleFill();
+            return;
+        }
+        // Window is full; let go of staged nodes that fell out of it
+        stagingPane.getChildren().removeIf(node -> !isBuiltRoot(node));
+    }
+
+    private boolean isBuiltRoot(Node node) {
+        for (T card : built.values()) {
+            if (rootOf.apply(card) == node) return true;
+        }
+        return false;
+    }
+}
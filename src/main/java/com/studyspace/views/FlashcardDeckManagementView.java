@@ -4,6 +4,8 @@ import com.studyspace.models.Flashcard;
 import com.studyspace.models.FlashcardDeck;
 import com.studyspace.utils.DataStore;
 import com.studyspace.utils.SceneManager;
+import com.studyspace.utils.SortOption;
+import com.studyspace.utils.SortOptions;
 import com.studyspace.utils.IconUtils;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -48,9 +50,7 @@ public class FlashcardDeckManagementView {
         this.flashcardsList = FXCollections.observableArrayList(deck.getFlashcards());
         this.filteredFlashcards = new javafx.collections.transformation.FilteredList<>(flashcardsList);
         this.sortedFlashcards = new javafx.collections.transformation.SortedList<>(filteredFlashcards);
-        this.sortedFlashcards.setComparator((a, b) -> b.getLastStudied() != null && a.getLastStudied() != null 
-            ? b.getLastStudied().compareTo(a.getLastStudied()) 
-            : a.getQuestion().compareTo(b.getQuestion()));
+        this.sortedFlashcards.setComparator(SortOptions.FLASHCARDS.comparator("Recently Studied"));
         
         initializeUI();
         setupEventHandlers();
@@ -255,66 +255,12 @@ public class FlashcardDeckManagementView {
      * Applies sorting based on selected option
      */
     private void applySorting(String sortOption) {
-        switch (sortOption) {
-            case "Recently Studied":
-                sortedFlashcards.setComparator((a, b) -> {
-                    if (a.getLastStudied() == null && b.getLastStudied() == null) return 0;
-                    if (a.getLastStudied() == null) return 1;
-                    if (b.getLastStudied() == null) return -1;
-                    return b.getLastStudied().compareTo(a.getLastStudied());
-                });
-                break;
-            case "Least Recently Studied":
-                sortedFlashcards.setComparator((a, b) -> {
-                    if (a.getLastStudied() == null && b.getLastStudied() == null) return 0;
-                    if (a.getLastStudied() == null) return -1;
-                    if (b.getLastStudied() == null) return 1;
-                    return a.getLastStudied().compareTo(b.getLastStudied());
-                });
-                break;
-            case "Most Studied":
-                sortedFlashcards.setComparator((a, b) -> Integer.compare(b.getTimesStudied(), a.getTimesStudied()));
-                break;
-            case "Least Studied":
-                sortedFlashcards.setComparator((a, b) -> Integer.compare(a.getTimesStudied(), b.getTimesStudied()));
-                break;
-            case "Alphabetical (A-Z)":
-                sortedFlashcards.setComparator((a, b) -> a.getQuestion().compareToIgnoreCase(b.getQuestion()));
-                break;
-            case "Alphabetical (Z-A)":
-                sortedFlashcards.setComparator((a, b) -> b.getQuestion().compareToIgnoreCase(a.getQuestion()));
-                break;
-            case "Difficulty (Easy-Hard)":
-                sortedFlashcards.setComparator((a, b) -> a.getDifficulty().compareTo(b.getDifficulty()));
-                break;
-            case "Difficulty (Hard-Easy)":
-                sortedFlashcards.setComparator((a, b) -> b.getDifficulty().compareTo(a.getDifficulty()));
-                break;
-            case "Date Created (Newest)":
-                sortedFlashcards.setComparator((a, b) -> {
-                    if (a.getCreatedAt() == null && b.getCreatedAt() == null) return 0;
-                    if (a.getCreatedAt() == null) return 1;
-                    if (b.getCreatedAt() == null) return -1;
-                    return b.getCreatedAt().compareTo(a.getCreatedAt());
-                });
-                break;
-            case "Date Created (Oldest)":
-                sortedFlashcards.setComparator((a, b) -> {
-                    if (a.getCreatedAt() == null && b.getCreatedAt() == null) return 0;
-                    if (a.getCreatedAt() == null) return 1;
-                    if (b.getCreatedAt() == null) return -1;
-                    return a.getCreatedAt().compareTo(b.getCreatedAt());
-                });
-                break;
-            default:
-                // Default to recently studied
-                sortedFlashcards.setComparator((a, b) -> {
-                    if (a.getLastStudied() == null && b.getLastStudied() == null) return 0;
-                    if (a.getLastStudied() == null) return 1;
-                    if (b.getLastStudied() == null) return -1;
-                    return b.getLastStudied().compareTo(a.getLastStudied());
-                });
+        SortOption<Flashcard> option = SortOptions.FLASHCARDS.get(sortOption);
+        if (option == null) {
+            // Default to recently studied
+            option = SortOptions.FLASHCARDS.get("Recently Studied");
         }
+        sortedFlashcards.setComparator(option.comparator());
         
         // Reload flashcards to show sorted results
         loadFlashcards();
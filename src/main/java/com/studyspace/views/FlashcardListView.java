@@ -3,16 +3,21 @@ package com.studyspace.views;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
+import com.studyspace.components.AutocompleteSupport;
 import com.studyspace.models.Flashcard;
 import com.studyspace.models.FlashcardDeck;
 import com.studyspace.models.Note;
+import com.studyspace.utils.AutocompleteIndex;
+import com.studyspace.utils.ClozeFlashcardGenerator;
 import com.studyspace.utils.DataStore;
+import com.studyspace.utils.DuplicateDetectionService;
 import com.studyspace.utils.IconUtils;
 import com.studyspace.utils.QuizGenerationService;
 import com.studyspace.utils.SceneManager;
+import com.studyspace.utils.SortOption;
+import com.studyspace.utils.SortOptions;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -149,12 +154,17 @@ public class FlashcardListView {
         createFromNotesButton.getStyleClass().add("info-button");
         createFromNotesButton.setOnAction(e -> showCreateFlashcardsFromNotesDialog());
         
+        Button findDuplicatesButton = new Button();
+        findDuplicatesButton.setGraphic(IconUtils.createIconTextHBox("filter", "Find Duplicates"));
+        findDuplicatesButton.getStyleClass().add("secondary-button");
+        findDuplicatesButton.setOnAction(e -> handleFindDuplicates());
+        
         Button createDeckButton = new Button();
         createDeckButton.setGraphic(IconUtils.createIconTextHBox("add", "Create Deck"));
         createDeckButton.getStyleClass().add("success-button");
         createDeckButton.setOnAction(e -> handleCreateNewDeck());
         
-        actionButtons.getChildren().addAll(importFlashcardButton, createFromNotesButton, createDeckButton);
+        actionButtons.getChildren().addAll(importFlashcardButton, createFromNotesButton, findDuplicatesButton, createDeckButton);
         
         // Header layout
         HBox headerLayout = new HBox();
@@ -189,6 +199,7 @@ public class FlashcardListView {
         searchField.getStyleClass().add("search-field");
         searchField.setPromptText("Search flashcard decks...");
         searchField.setPrefWidth(300);
+        AutocompleteSupport.attachSearch(searchField, AutocompleteIndex.Field.TITLE, AutocompleteIndex.Field.SUBJECT);
         
         searchBox.getChildren().addAll(searchIcon, searchField);
         
@@ -202,18 +213,7 @@ public class FlashcardListView {
         
         ComboBox<String> sortComboBox = new ComboBox<>();
         sortComboBox.getStyleClass().add("filter-combobox");
-        sortComboBox.getItems().addAll(
-            "Title (A-Z)",
-            "Title (Z-A)",
-            "Date Created (Newest)",
-            "Date Created (Oldest)",
-            "Subject (A-Z)",
-            "Subject (Z-A)",
-            "Difficulty (Easy to Hard)",
-            "Difficulty (Hard to Easy)",
-            "Card Count (Low to High)",
-            "Card Count (High to Low)"
-        );
+        sortComboBox.getItems().addAll(SortOptions.FLASHCARD_DECKS.getLabels());
         sortComboBox.setValue("Date Created (Newest)");
         sortComboBox.setPrefWidth(200);
         sortComboBox.setOnAction(e -> applySorting(sortComboBox.getValue()));
@@ -382,7 +382,9 @@ public class FlashcardListView {
         descriptionLabel.setMaxWidth(280); // Limit description width
         
         // Card count
-        Label cardCountLabel = new Label(deck.getCardCount() + " cards");
+        int dueCount = dataStore.getDueFlashcardCount(deck.getId());
+        Label cardCountLabel = new Label(deck.getCardCount() + " cards"
+            + (dueCount > 0 ? " • " + dueCount + " due" : ""));
         cardCountLabel.getStyleClass().add("card-count");
         
         // Date information
@@ -534,6 +536,7 @@ public class FlashcardListView {
         Label subjectLabel = new Label("Subject:");
         TextField subjectField = new TextField(deck.getSubject());
         subjectField.setPromptText("Enter subject (e.g., JavaScript, Math, etc.)");
+        AutocompleteSupport.attach(subjectField, AutocompleteIndex.Field.SUBJECT);
         
         // Difficulty selection
         Label difficultyLabel = new Label("Difficulty:");
@@ -567,7 +570,8 @@ public class FlashcardListView {
                 // Update deck with new values
                 deck.setTitle(titleField.getText().trim());
                 deck.setDescription(descriptionArea.getText().trim());
-                deck.setSubject(subjectField.getText().trim());
+                deck.setSubject(AutocompleteIndex.getInstance().canonicalize(
+                    AutocompleteIndex.Field.SUBJECT, subjectField.getText()));
                 deck.setDifficulty(difficultyCombo.getValue());
                 
                 // Save to data store
@@ -874,24 +878,37 @@ public class FlashcardListView {
                 return null;
             }
             
-            // Show simple notification like quiz generation
-            sceneManager.showInfoDialog("Creating Flashcards", 
-                "Creating flashcards from your notes... We will notify you directly as we compile your flashcards.");
-            
             // Create new deck
             FlashcardDeck newDeck = new FlashcardDeck(deckTitle, deckDescription, deckSubject, deckDifficulty);
             
-            // Use AI to generate flashcards from notes in background thread
+            // Fill-in-the-blank cards are made locally first: a preview while the AI works, and a fallback if it fails.
+            // Filled by the background thread, read once the task has finished
+            List<Flashcard> quickCards = java.util.Collections.synchronizedList(new ArrayList<>());
+            ObservableList<String> previewItems = FXCollections.observableArrayList();
+            Alert previewDialog = createGenerationPreviewDialog(previewItems);
+            
+            QuizGenerationService quizGenerationService = new QuizGenerationService();
             javafx.concurrent.Task<QuizGenerationService.FlashcardGenerationResult> task = 
                 new javafx.concurrent.Task<QuizGenerationService.FlashcardGenerationResult>() {
                 @Override
                 protected QuizGenerationService.FlashcardGenerationResult call() throws Exception {
-                    QuizGenerationService quizGenerationService = new QuizGenerationService();
+                    try {
+                        // Loads the related-content index on first use, so it stays off the FX thread
+                        quizGenerationService.generateClozeFlashcardsFromNotes(
+                            selectedNotes, deckDifficulty, ClozeFlashcardGenerator.DEFAULT_MAX_CARDS, card -> {
+                                quickCards.add(card);
+                                String line = card.getQuestion() + "  →  " + card.getAnswer();
+                                javafx.application.Platform.runLater(() -> previewItems.add(line));
+                            });
+                    } catch (Exception ex) {
+                        System.err.println("Error generating fill-in-the-blank flashcards: " + ex.getMessage());
+                    }
                     return quizGenerationService.generateFlashcardsFromNotes(selectedNotes, deckTitle, deckSubject, deckDifficulty);
                 }
             };
             
             task.setOnSucceeded(e -> {
+                previewDialog.close();
                 QuizGenerationService.FlashcardGenerationResult result = task.getValue();
                 
                 System.out.println("=== Flashcard Generation Result ===");
@@ -900,51 +917,24 @@ public class FlashcardListView {
                 System.out.println("Flashcards count: " + (result.getFlashcards() != null ? result.getFlashcards().size() : "null"));
                 
                 if (result.isSuccess() && result.getFlashcards() != null) {
-                    // Add AI-generated flashcards to the deck
-                    for (Flashcard flashcard : result.getFlashcards()) {
-                        newDeck.addFlashcard(flashcard);
-                    }
-                    
-                    // Save the deck to the data store (THIS WAS MISSING!)
-                    System.out.println("Saving deck to data store: " + newDeck.getTitle() + " with " + newDeck.getCardCount() + " cards");
-                    dataStore.saveFlashcardDeck(newDeck);
-                    System.out.println("Deck saved successfully!");
-                    
-                    // Update the local deck list to include the new deck
-                    decksList.clear();
-                    decksList.addAll(dataStore.getAllFlashcardDecks());
-                    System.out.println("Updated local deck list. Total decks: " + decksList.size());
-                    
-                    // Refresh the deck list
-                    loadFlashcardDecks();
-                    
-                    // Log activity
-                    dataStore.logUserActivity("FLASHCARD_DECK_CREATED", 
-                        "Created deck '" + newDeck.getTitle() + "' with " + result.getFlashcards().size() + " AI-generated flashcards from " + selectedNotes.size() + " notes");
-                    
-                    // Show success message
-                    sceneManager.showInfoDialog("Flashcards Created Successfully", 
-                        "Created " + result.getFlashcards().size() + " flashcards from your notes!");
-                    
-                    // Refresh activity history and all views
-                    com.studyspace.components.SidebarView.refreshActivityHistoryGlobally();
-                    com.studyspace.components.SidebarView.refreshAllViewsGlobally();
-                    
-                    // Force refresh the flashcard view to show the new deck immediately
-                    javafx.application.Platform.runLater(() -> {
-                        loadFlashcardDecks();
-                    });
-                } else {
+                    saveGeneratedDeck(newDeck, result.getFlashcards(), selectedNotes.size());
+                } else if (!offerQuickCards(newDeck, new ArrayList<>(quickCards), selectedNotes.size(), result.getMessage())) {
                     sceneManager.showErrorDialog("AI Generation Failed", 
                         "Failed to generate flashcards: " + result.getMessage());
                 }
             });
             
             task.setOnFailed(e -> {
-                sceneManager.showErrorDialog("AI Generation Error", 
-                    "An error occurred while generating flashcards: " + task.getException().getMessage());
+                previewDialog.close();
+                if (!offerQuickCards(newDeck, new ArrayList<>(quickCards), selectedNotes.size(), task.getException().getMessage())) {
+                    sceneManager.showErrorDialog("AI Generation Error", 
+                        "An error occurred while generating flashcards: " + task.getException().getMessage());
+                }
             });
             
+            // Shown before the task starts, so its result dialogs always come after the preview closes
+            previewDialog.show();
+            
             // Start the task in a background thread
             Thread processingThread = new Thread(task);
             processingThread.setDaemon(true);
@@ -960,6 +950,94 @@ public class FlashcardListView {
         }
     }
     
+    /**
+     * Non-blocking dialog listing the fill-in-the-blank cards as they are made
+     */
+    private Alert createGenerationPreviewDialog(ObservableList<String> previewItems) {
+        Alert dialog = new Alert(Alert.AlertType.INFORMATION);
+        dialog.setTitle("Creating Flashcards");
+        dialog.setHeaderText("Creating flashcards from your notes... We will notify you directly as we compile your flashcards.");
+        
+        Label previewLabel = new Label("Quick preview from your notes:");
+        javafx.scene.control.ListView<String> previewList = new javafx.scene.control.ListView<>(previewItems);
+        previewList.setPrefHeight(180);
+        previewList.setPlaceholder(new Label("Looking for key terms..."));
+        
+        VBox content = new VBox(8, previewLabel, previewList);
+        content.setPadding(new Insets(10));
+        dialog.getDialogPane().setContent(content);
+        return dialog;
+    }
+    
+    /**
+     * Adds generated flashcards to the new deck, skipping duplicates of existing cards
+     * if the user agrees, and saves it
+     */
+    private void saveGeneratedDeck(FlashcardDeck newDeck, List<Flashcard> flashcards, int noteCount) {
+        // Flag generated cards that repeat cards already in the library
+        List<Flashcard> generated = new ArrayList<>(flashcards);
+        List<Flashcard> duplicates = new DuplicateDetectionService().findExistingDuplicates(generated);
+        if (!duplicates.isEmpty()) {
+            boolean skip = sceneManager.showConfirmationDialog("Duplicate Flashcards",
+                duplicates.size() + " of the " + generated.size() + " generated flashcards closely match cards you already have.\n\n" +
+                "Skip the duplicates and keep only the new cards?");
+            if (skip) {
+                generated.removeIf(card -> duplicates.stream().anyMatch(duplicate -> duplicate == card));
+            }
+            if (generated.isEmpty()) {
+                sceneManager.showInfoDialog("No New Flashcards",
+                    "Every generated flashcard is already in your library, so no deck was created.");
+                return;
+            }
+        }
+        
+        for (Flashcard flashcard : generated) {
+            newDeck.addFlashcard(flashcard);
+        }
+        
+        System.out.println("Saving deck to data store: " + newDeck.getTitle() + " with " + newDeck.getCardCount() + " cards");
+        dataStore.saveFlashcardDeck(newDeck);
+        
+        // Update the local deck list to include the new deck
+        decksList.clear();
+        decksList.addAll(dataStore.getAllFlashcardDecks());
+        loadFlashcardDecks();
+        
+        // Log activity
+        dataStore.logUserActivity("FLASHCARD_DECK_CREATED", 
+            "Created deck '" + newDeck.getTitle() + "' with " + generated.size() + " generated flashcards from " + noteCount + " notes");
+        
+        // Show success message
+        sceneManager.showInfoDialog("Flashcards Created Successfully", 
+            "Created " + generated.size() + " flashcards from your notes!");
+        
+        // Refresh activity history and all views
+        com.studyspace.components.SidebarView.refreshActivityHistoryGlobally();
+        com.studyspace.components.SidebarView.refreshAllViewsGlobally();
+        
+        // Force refresh the flashcard view to show the new deck immediately
+        javafx.application.Platform.runLater(() -> {
+            loadFlashcardDecks();
+        });
+    }
+    
+    /**
+     * When AI generation fails, offers to keep the locally made fill-in-the-blank cards;
+     * returns false if there are none to offer
+     */
+    private boolean offerQuickCards(FlashcardDeck newDeck, List<Flashcard> quickCards, int noteCount, String reason) {
+        if (quickCards.isEmpty()) {
+            return false;
+        }
+        boolean keep = sceneManager.showConfirmationDialog("AI Generation Failed",
+            "Failed to generate flashcards with AI: " + reason + "\n\n" +
+            "Create the deck with the " + quickCards.size() + " fill-in-the-blank flashcards made from your notes instead?");
+        if (keep) {
+            saveGeneratedDeck(newDeck, quickCards, noteCount);
+        }
+        return true;
+    }
+    
     /**
      * Generates flashcards from a single note
      */
@@ -1174,6 +1252,73 @@ public class FlashcardListView {
         }
     }
     
+    /**
+     * Scans all decks for near-duplicate cards and offers to merge them
+     */
+    private void handleFindDuplicates() {
+        DuplicateDetectionService duplicateService = new DuplicateDetectionService();
+        
+        javafx.concurrent.Task<List<List<DuplicateDetectionService.CardRef>>> task = 
+            new javafx.concurrent.Task<List<List<DuplicateDetectionService.CardRef>>>() {
+            @Override
+            protected List<List<DuplicateDetectionService.CardRef>> call() throws Exception {
+                return duplicateService.findFlashcardDuplicates();
+            }
+        };
+        
+        task.setOnSucceeded(e -> {
+            List<List<DuplicateDetectionService.CardRef>> clusters = task.getValue();
+            if (clusters.isEmpty()) {
+                sceneManager.showInfoDialog("No Duplicates", "No near-duplicate flashcards were found in your decks.");
+                return;
+            }
+            
+            // Summarize the first few clusters
+            int extraCards = 0;
+            StringBuilder summary = new StringBuilder();
+            for (int i = 0; i < clusters.size(); i++) {
+                List<DuplicateDetectionService.CardRef> cluster = clusters.get(i);
+                extraCards += cluster.size() - 1;
+                if (i < 5) {
+                    String question = cluster.get(0).getCard().getQuestion();
+                    if (question != null && question.length() > 60) {
+                        question = question.substring(0, 57) + "...";
+                    }
+                    summary.append("• \"").append(question).append("\" appears ").append(cluster.size()).append(" times\n");
+                }
+            }
+            if (clusters.size() > 5) {
+                summary.append("• ...and ").append(clusters.size() - 5).append(" more groups\n");
+            }
+            
+            boolean merge = sceneManager.showConfirmationDialog("Duplicate Flashcards",
+                "Found " + clusters.size() + " groups of near-identical flashcards (" + extraCards + " extra cards):\n\n" +
+                summary + "\nMerge them? The most-studied copy of each card is kept.");
+            if (!merge) {
+                return;
+            }
+            
+            int removed = duplicateService.mergeFlashcardClusters(clusters);
+            dataStore.logUserActivity("FLASHCARD_DUPLICATES_MERGED", "Merged " + removed + " duplicate flashcards");
+            
+            decksList.clear();
+            decksList.addAll(dataStore.getAllFlashcardDecks());
+            loadFlashcardDecks();
+            com.studyspace.components.SidebarView.refreshAllViewsGlobally();
+            
+            sceneManager.showInfoDialog("Duplicates Merged", "Removed " + removed + " duplicate flashcards.");
+        });
+        
+        task.setOnFailed(e -> {
+            sceneManager.showErrorDialog("Duplicate Scan Failed", 
+                "An error occurred while scanning for duplicates: " + task.getException().getMessage());
+        });
+        
+        Thread scanThread = new Thread(task);
+        scanThread.setDaemon(true);
+        scanThread.start();
+    }
+    
     /**
      * Creates flashcard deck from document processing
      */
@@ -1343,8 +1488,18 @@ public class FlashcardListView {
             "Mathematics", "Computer Science", "Physics", "Chemistry",
             "Biology", "History", "Literature", "Languages", "Other"
         );
+        // Offer the subjects already in use and allow typing a new one
+        AutocompleteIndex autocompleteIndex = AutocompleteIndex.getInstance();
+        autocompleteIndex.ensureLoaded();
+        for (String subject : autocompleteIndex.getAll(AutocompleteIndex.Field.SUBJECT)) {
+            if (subjectCombo.getItems().stream().noneMatch(item -> item.equalsIgnoreCase(subject))) {
+                subjectCombo.getItems().add(subject);
+            }
+        }
+        subjectCombo.setEditable(true);
         subjectCombo.setPromptText("Select subject...");
         subjectCombo.setId("deckSubject");
+        AutocompleteSupport.attach(subjectCombo.getEditor(), AutocompleteIndex.Field.SUBJECT);
 
         subjectContainer.getChildren().addAll(subjectLabel, subjectCombo);
 
@@ -1412,9 +1567,13 @@ public class FlashcardListView {
         try {
             String title = titleField.getText().trim();
             String subject = subjectCombo.getValue();
+            if (subject == null || subject.trim().isEmpty()) {
+                // Editable combo may not have committed the typed text yet
+                subject = subjectCombo.getEditor().getText();
+            }
             String description = descriptionArea.getText().trim();
 
-            if (title.isEmpty() || subject == null) {
+            if (title.isEmpty() || subject == null || subject.trim().isEmpty()) {
                 sceneManager.showErrorDialog("Invalid Input", "Please fill in all required fields.");
                 return null;
             }
@@ -1431,6 +1590,7 @@ public class FlashcardListView {
                 }
             }
 
+            subject = AutocompleteIndex.getInstance().canonicalize(AutocompleteIndex.Field.SUBJECT, subject);
             FlashcardDeck newDeck = new FlashcardDeck(title, description, subject, difficulty);
             return newDeck;
 
@@ -1444,40 +1604,10 @@ public class FlashcardListView {
      * Applies sorting based on selected option
      */
     private void applySorting(String sortOption) {
-        if (sortOption == null) return;
-        
-        switch (sortOption) {
-            case "Title (A-Z)":
-                sortedDecks.setComparator(Comparator.comparing(FlashcardDeck::getTitle, String.CASE_INSENSITIVE_ORDER));
-                break;
-            case "Title (Z-A)":
-                sortedDecks.setComparator(Comparator.comparing(FlashcardDeck::getTitle, String.CASE_INSENSITIVE_ORDER).reversed());
-                break;
-            case "Date Created (Newest)":
-                sortedDecks.setComparator(Comparator.comparing(FlashcardDeck::getCreatedAt).reversed());
-                break;
-            case "Date Created (Oldest)":
-                sortedDecks.setComparator(Comparator.comparing(FlashcardDeck::getCreatedAt));
-                break;
-            case "Subject (A-Z)":
-                sortedDecks.setComparator(Comparator.comparing(FlashcardDeck::getSubject, String.CASE_INSENSITIVE_ORDER));
-                break;
-            case "Subject (Z-A)":
-                sortedDecks.setComparator(Comparator.comparing(FlashcardDeck::getSubject, String.CASE_INSENSITIVE_ORDER).reversed());
-                break;
-            case "Difficulty (Easy to Hard)":
-                sortedDecks.setComparator(Comparator.comparing(FlashcardDeck::getDifficulty, Comparator.comparing(Enum::ordinal)));
-                break;
-            case "Difficulty (Hard to Easy)":
-                sortedDecks.setComparator(Comparator.comparing(FlashcardDeck::getDifficulty, Comparator.comparing(Enum::ordinal)).reversed());
-                break;
-            case "Card Count (Low to High)":
-                sortedDecks.setComparator(Comparator.comparing(FlashcardDeck::getCardCount));
-                break;
-            case "Card Count (High to Low)":
-                sortedDecks.setComparator(Comparator.comparing(FlashcardDeck::getCardCount).reversed());
-                break;
-        }
+        SortOption<FlashcardDeck> option = SortOptions.FLASHCARD_DECKS.get(sortOption);
+        if (option == null) return;
+        
+        sortedDecks.setComparator(option.comparator());
         
         // Reload decks to show sorted results
         loadFlashcardDecks();
@@ -24,18 +24,20 @@ import java.util.List;
  */
 public class FlashcardPracticeView {
     
+    // Cards built ahead of the current one
+    private static final int LOOK_AHEAD = 3;
+    
     private final DataStore dataStore;
     private final SceneManager sceneManager;
     private final FlashcardDeck deck;
     private final FlashcardListView parentView;
     private final List<Flashcard> cards;
+    private final CardPrefetcher<PracticeFace> prefetcher;
     
     private VBox mainContainer;
     private StackPane flashcardContainer;
     private VBox flashcardFront;
     private VBox flashcardBack;
-    private Label frontContent;
-    private Label backContent;
     private HBox navigationButtons;
     private Button previousButton;
     private Button nextButton;
@@ -53,6 +55,8 @@ public class FlashcardPracticeView {
         this.cards = deck.getFlashcards();
         this.currentCardIndex = 0;
         this.isShowingAnswer = false;
+        this.prefetcher = new CardPrefetcher<>(cards.size(), LOOK_AHEAD,
+            index -> new PracticeFace(cards.get(index)), face -> face.root);
         
         initializeUI();
         showCurrentCard();
@@ -80,7 +84,8 @@ public class FlashcardPracticeView {
         // Progress section
         VBox progressSection = createProgressSection();
         
-        mainContainer.getChildren().addAll(headerSection, flashcardContainer, controlsSection, progressSection);
+        mainContainer.getChildren().addAll(headerSection, flashcardContainer, controlsSection, progressSection,
+            prefetcher.getStagingPane());
     }
     
     /**
@@ -132,7 +137,7 @@ public class FlashcardPracticeView {
     }
     
     /**
-     * Creates the flashcard container with front and back sides
+     * Creates the flashcard container; each card's front and back sides are pre-built by PracticeFace
      */
     private StackPane createFlashcardContainer() {
         StackPane container = new StackPane();
@@ -142,45 +147,6 @@ public class FlashcardPracticeView {
         container.setMaxHeight(Region.USE_COMPUTED_SIZE);  // No height limit
         container.setMaxWidth(800);   // Increased maximum width
         
-        // Create front side of card
-        flashcardFront = new VBox();
-        flashcardFront.getStyleClass().add("flashcard-practice-front");
-        flashcardFront.setAlignment(Pos.CENTER);
-        flashcardFront.setPadding(new Insets(24));
-        flashcardFront.setSpacing(16);
-        
-        Label frontLabel = new Label("QUESTION");
-        frontLabel.getStyleClass().add("flashcard-side-label");
-        
-        frontContent = new Label();
-        frontContent.getStyleClass().add("flashcard-content");
-        frontContent.setWrapText(true);
-        frontContent.setAlignment(Pos.CENTER);
-        frontContent.setMaxWidth(750);  // Increased width
-        frontContent.setMaxHeight(Region.USE_COMPUTED_SIZE); // Auto-size to content
-        
-        flashcardFront.getChildren().addAll(frontLabel, frontContent);
-        
-        // Create back side of card
-        flashcardBack = new VBox();
-        flashcardBack.getStyleClass().add("flashcard-practice-back");
-        flashcardBack.setAlignment(Pos.CENTER);
-        flashcardBack.setPadding(new Insets(24));
-        flashcardBack.setSpacing(16);
-        flashcardBack.setVisible(false);
-        
-        Label backLabel = new Label("ANSWER");
-        backLabel.getStyleClass().add("flashcard-side-label");
-        
-        backContent = new Label();
-        backContent.getStyleClass().add("flashcard-content");
-        backContent.setWrapText(true);
-        backContent.setAlignment(Pos.CENTER);
-        backContent.setMaxWidth(750);  // Increased width
-        backContent.setMaxHeight(Region.USE_COMPUTED_SIZE); // Auto-size to content
-        
-        flashcardBack.getChildren().addAll(backLabel, backContent);
-        
         // Add click handler for flip animation
         container.setOnMouseClicked(e -> handleFlipCard());
         
@@ -189,9 +155,6 @@ public class FlashcardPracticeView {
         instructionLabel.getStyleClass().addAll("text-sm", "text-muted");
         instructionLabel.setAlignment(Pos.CENTER);
         
-        // Add to container
-        container.getChildren().addAll(flashcardFront, flashcardBack);
-        
         // Add clip to ensure content stays within bounds during animation
         Rectangle clip = new Rectangle();
         clip.widthProperty().bind(container.widthProperty());
@@ -267,17 +230,19 @@ public class FlashcardPracticeView {
             return;
         }
         
-        Flashcard currentCard = cards.get(currentCardIndex);
-        
         // Update progress label
         progressLabel.setText((currentCardIndex + 1) + " / " + cards.size());
         
-        // Show question side
-        frontContent.setText(currentCard.getQuestion());
-        backContent.setText(currentCard.getAnswer());
+        // Swap in the pre-built card, question side up
+        PracticeFace face = prefetcher.show(currentCardIndex);
+        flashcardFront = face.front;
+        flashcardBack = face.back;
+        flashcardContainer.getChildren().setAll(face.root);
         
-        // Reset flip state
+        // Reset flip state; a revisited card still carries its last flip's rotation
         isShowingAnswer = false;
+        flashcardFront.getTransforms().clear();
+        flashcardBack.getTransforms().clear();
         flashcardFront.setVisible(true);
         flashcardBack.setVisible(false);
         
@@ -437,4 +402,41 @@ public class FlashcardPracticeView {
     public VBox getView() {
         return mainContainer;
     }
-}
\ No newline at end of file
+    
+    /**
+     * One card's front and back sides, built ahead of time by the prefetcher
+     */
+    private static class PracticeFace {
+        private final StackPane root;
+        private final VBox front;
+        private final VBox back;
+        
+        PracticeFace(Flashcard card) {
+            front = createSide("flashcard-practice-front", "QUESTION", card.getQuestion());
+            back = createSide("flashcard-practice-back", "ANSWER", card.getAnswer());
+            back.setVisible(false);
+            root = new StackPane(front, back);
+        }
+        
+        private static VBox createSide(String styleClass, String sideName, String text) {
+            VBox side = new VBox();
+            side.getStyleClass().add(styleClass);
+            side.setAlignment(Pos.CENTER);
+            side.setPadding(new Insets(24));
+            side.setSpacing(16);
+            
+            Label sideLabel = new Label(sideName);
+            sideLabel.getStyleClass().add("flashcard-side-label");
+            
+            Label content = new Label(text);
+            content.getStyleClass().add("flashcard-content");
+            content.setWrapText(true);
+            content.setAlignment(Pos.CENTER);
+            content.setMaxWidth(750);  // Increased width
+            content.setMaxHeight(Region.USE_COMPUTED_SIZE); // Auto-size to content
+            
+            side.getChildren().addAll(sideLabel, content);
+            return side;
+        }
+    }
+}
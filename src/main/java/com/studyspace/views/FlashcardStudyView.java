@@ -2,10 +2,12 @@ package com.studyspace.views;
 
 import com.studyspace.models.Flashcard;
 import com.studyspace.models.FlashcardDeck;
-import com.studyspace.models.User;
 import com.studyspace.utils.DataStore;
+import com.studyspace.utils.ReviewScheduler;
 import com.studyspace.utils.SceneManager;
+import com.studyspace.utils.StudySession;
 import javafx.animation.*;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
@@ -19,15 +21,21 @@ import java.util.List;
  */
 public class FlashcardStudyView {
     
+    // Cards built ahead of the current one
+    private static final int LOOK_AHEAD = 3;
+    
     private final DataStore dataStore;
     private final SceneManager sceneManager;
     private final FlashcardDeck deck;
     private final FlashcardListView parentView;
     private final List<Flashcard> cards;
+    private final StudySession session;
+    private final CardPrefetcher<CardFace> prefetcher;
     
     private VBox mainContainer;
     private VBox flashcardContainer;
-    private Label flashcardContent;
+    private StackPane cardHolder;
+    private CardFace currentFace;
     private Button flipButton;
     private HBox navigationButtons;
     private Button previousButton;
@@ -37,22 +45,20 @@ public class FlashcardStudyView {
     
     private int currentCardIndex;
     private boolean isShowingAnswer;
-    private int correctCount;
-    private int totalStudied;
+    private long cardShownAtNanos;
     
     public FlashcardStudyView(FlashcardDeck deck, FlashcardListView parentView) {
         this.dataStore = DataStore.getInstance();
         this.sceneManager = SceneManager.getInstance();
         this.deck = deck;
         this.parentView = parentView;
-        this.cards = deck.getFlashcards();
+        // Overdue and new cards first, then the rest by when they come due
+        this.cards = ReviewScheduler.sortByDue(deck.getFlashcards());
         this.currentCardIndex = 0;
         this.isShowingAnswer = false;
-        this.correctCount = 0;
-        this.totalStudied = 0;
-        
-        // Log study session start
-        dataStore.logUserActivity("STUDY_SESSION_STARTED", "Started studying " + deck.getTitle() + " flashcard deck");
+        this.session = new StudySession(dataStore, deck);
+        this.prefetcher = new CardPrefetcher<>(cards.size(), LOOK_AHEAD,
+            index -> new CardFace(cards.get(index)), face -> face.root);
         
         initializeUI();
         showCurrentCard();
@@ -79,7 +85,8 @@ public class FlashcardStudyView {
         // Progress section
         VBox progressSection = createProgressSection();
         
-        mainContainer.getChildren().addAll(headerSection, flashcardContainer, controlsSection, progressSection);
+        mainContainer.getChildren().addAll(headerSection, flashcardContainer, controlsSection, progressSection,
+            prefetcher.getStagingPane());
     }
     
     /**
@@ -125,17 +132,13 @@ public class FlashcardStudyView {
         container.setPrefWidth(600);
         container.setPrefHeight(350);
         
-        // Card content with click-to-flip functionality
-        flashcardContent = new Label();
-        flashcardContent.getStyleClass().addAll("flashcard-content", "text-center");
-        flashcardContent.setWrapText(true);
-        flashcardContent.setMaxWidth(550);
-        flashcardContent.setAlignment(Pos.CENTER);
-        flashcardContent.setMinHeight(200);
-        flashcardContent.setStyle("-fx-cursor: hand;");
+        // Holds the current card's pre-built face, with click-to-flip functionality
+        cardHolder = new StackPane();
+        cardHolder.setMinHeight(200);
+        cardHolder.setStyle("-fx-cursor: hand;");
         
         // Add click handler for flip animation
-        flashcardContent.setOnMouseClicked(e -> handleFlipCard());
+        cardHolder.setOnMouseClicked(e -> handleFlipCard());
         
         // Flip button
         flipButton = new Button("🔄 Flip Card");
@@ -147,7 +150,7 @@ public class FlashcardStudyView {
         instructionLabel.getStyleClass().addAll("text-sm", "text-muted");
         instructionLabel.setAlignment(Pos.CENTER);
         
-        container.getChildren().addAll(flashcardContent, flipButton, instructionLabel);
+        container.getChildren().addAll(cardHolder, flipButton, instructionLabel);
         
         return container;
     }
@@ -223,7 +226,7 @@ public class FlashcardStudyView {
         Label studiedLabel = new Label("Total Cards: " + cards.size());
         studiedLabel.getStyleClass().addAll("text-sm", "text-secondary");
         
-        Label correctLabel = new Label("Studied: " + totalStudied + " | Correct: " + correctCount);
+        Label correctLabel = new Label("Studied: " + session.getAnswered() + " | Correct: " + session.getCorrect());
         correctLabel.getStyleClass().addAll("text-sm", "text-success");
         
         statsContainer.getChildren().addAll(studiedLabel, correctLabel);
@@ -241,15 +244,15 @@ public class FlashcardStudyView {
             return;
         }
         
-        Flashcard currentCard = cards.get(currentCardIndex);
+        cardShownAtNanos = System.nanoTime();
         
         // Update progress label
         progressLabel.setText((currentCardIndex + 1) + " / " + cards.size());
         
-        // Show question side
-        flashcardContent.setText(currentCard.getQuestion());
-        flashcardContent.getStyleClass().removeAll("flashcard-answer");
-        flashcardContent.getStyleClass().add("flashcard-question");
+        // Swap in the pre-built face, question side up
+        currentFace = prefetcher.show(currentCardIndex);
+        currentFace.showQuestion();
+        cardHolder.getChildren().setAll(currentFace.root);
         
         // Reset flip state
         isShowingAnswer = false;
@@ -271,29 +274,29 @@ public class FlashcardStudyView {
      * Handles flipping the current card
      */
     private void handleFlipCard() {
-        Flashcard currentCard = cards.get(currentCardIndex);
+        if (currentFace == null) {
+            return;
+        }
         
         if (!isShowingAnswer) {
             // Flip to answer with animation
-            flipToAnswer(currentCard.getAnswer());
+            flipToAnswer();
         } else {
             // Flip back to question
-            flipToQuestion(currentCard.getQuestion());
+            flipToQuestion();
         }
     }
     
     /**
      * Animates flipping to answer side
      */
-    private void flipToAnswer(String answer) {
+    private void flipToAnswer() {
         // Scale down animation
         ScaleTransition scaleDown = new ScaleTransition(Duration.millis(150), flashcardContainer);
         scaleDown.setToX(0.0);
         scaleDown.setOnFinished(e -> {
             // Change content
-            flashcardContent.setText(answer);
-            flashcardContent.getStyleClass().removeAll("flashcard-question");
-            flashcardContent.getStyleClass().add("flashcard-answer");
+            currentFace.showAnswer();
             
             isShowingAnswer = true;
             flipButton.setText("Flip Back");
@@ -313,15 +316,13 @@ public class FlashcardStudyView {
     /**
      * Animates flipping to question side
      */
-    private void flipToQuestion(String question) {
+    private void flipToQuestion() {
         // Scale down animation
         ScaleTransition scaleDown = new ScaleTransition(Duration.millis(150), flashcardContainer);
         scaleDown.setToX(0.0);
         scaleDown.setOnFinished(e -> {
             // Change content
-            flashcardContent.setText(question);
-            flashcardContent.getStyleClass().removeAll("flashcard-answer");
-            flashcardContent.getStyleClass().add("flashcard-question");
+            currentFace.showQuestion();
             
             isShowingAnswer = false;
             flipButton.setText("Flip Card");
@@ -372,28 +373,9 @@ public class FlashcardStudyView {
     private void handleKnowledgeResponse(boolean wasCorrect) {
         Flashcard currentCard = cards.get(currentCardIndex);
         
-        // Update card statistics
-        if (wasCorrect) {
-            currentCard.markAsCorrect();
-            correctCount++;
-        } else {
-            currentCard.markAsIncorrect();
-        }
-        
-        totalStudied++;
-        
-        // Update user statistics
-        User currentUser = dataStore.getCurrentUser();
-        if (currentUser != null) {
-            currentUser.incrementFlashcardsStudied();
-        }
-        
-        // Log activity for each card studied
-        String result = wasCorrect ? "correctly" : "incorrectly";
-        dataStore.logUserActivity("FLASHCARDS_REVIEWED", "Studied '" + currentCard.getQuestion() + "' " + result + " in " + deck.getTitle());
-        
-        // Refresh activity history
-        com.studyspace.components.SidebarView.refreshActivityHistoryGlobally();
+        // Grade, reschedule and log the card in memory; the session saves in batches
+        session.recordAnswer(currentCard, wasCorrect,
+            (int) Math.min(Integer.MAX_VALUE, (System.nanoTime() - cardShownAtNanos) / 1_000_000));
         
         // Update stats display
         updateStatsDisplay();
@@ -454,7 +436,7 @@ public class FlashcardStudyView {
         Label correctLabel = (Label) statsContainer.getChildren().get(1);
         
         studiedLabel.setText("Total Cards: " + cards.size());
-        correctLabel.setText("Studied: " + totalStudied + " | Correct: " + correctCount);
+        correctLabel.setText("Studied: " + session.getAnswered() + " | Correct: " + session.getCorrect());
     }
     
     /**
@@ -463,12 +445,12 @@ public class FlashcardStudyView {
     private void showCompletionDialog() {
         deck.markAsStudied();
         
-        double accuracy = totalStudied > 0 ? (double) correctCount / totalStudied * 100 : 0;
+        int totalStudied = session.getAnswered();
+        int correctCount = session.getCorrect();
+        double accuracy = session.getAccuracy();
         
-        // Log study session completion
-        dataStore.logUserActivity("STUDY_SESSION_ENDED", 
-            String.format("Completed studying %s deck - %d cards, %.1f%% accuracy", 
-                deck.getTitle(), totalStudied, accuracy));
+        // Save the session and log its completion
+        finishSession();
         
         String message = String.format(
             "Great job! You've completed this deck.\n\n" +
@@ -505,9 +487,8 @@ public class FlashcardStudyView {
      * Resets the study session to start over
      */
     private void resetStudySession() {
+        session.restart();
         currentCardIndex = 0;
-        totalStudied = 0;
-        correctCount = 0;
         showCurrentCard();
         updateStatsDisplay();
     }
@@ -516,6 +497,8 @@ public class FlashcardStudyView {
      * Handles returning to the flashcard decks list
      */
     private void handleBackToDecks() {
+        finishSession();
+        
         // Refresh the parent view to show updated statistics
         parentView.refresh();
         
@@ -532,10 +515,54 @@ public class FlashcardStudyView {
         }
     }
     
+    /**
+     * Saves the session's pending side effects, then refreshes the activity history once
+     */
+    private void finishSession() {
+        session.finish(() -> Platform.runLater(
+            com.studyspace.components.SidebarView::refreshActivityHistoryGlobally));
+    }
+    
     /**
      * Gets the main view container
      */
     public VBox getView() {
         return mainContainer;
     }
+    
+    /**
+     * One card's question and answer labels, built ahead of time by the prefetcher
+     */
+    private static class CardFace {
+        private final StackPane root;
+        private final Label question;
+        private final Label answer;
+        
+        CardFace(Flashcard card) {
+            question = createContentLabel(card.getQuestion(), "flashcard-question");
+            answer = createContentLabel(card.getAnswer(), "flashcard-answer");
+            root = new StackPane(question, answer);
+            showQuestion();
+        }
+        
+        private static Label createContentLabel(String text, String sideStyle) {
+            Label label = new Label(text);
+            label.getStyleClass().addAll("flashcard-content", "text-center", sideStyle);
+            label.setWrapText(true);
+            label.setMaxWidth(550);
+            label.setAlignment(Pos.CENTER);
+            label.setMinHeight(200);
+            return label;
+        }
+        
+        void showQuestion() {
+            question.setVisible(true);
+            answer.setVisible(false);
+        }
+        
+        void showAnswer() {
+            question.setVisible(false);
+            answer.setVisible(true);
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.studyspace.views;
 
+import com.studyspace.components.AutocompleteSupport;
 import com.studyspace.models.Note;
+import com.studyspace.utils.AutocompleteIndex;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
@@ -71,6 +73,7 @@ public class NoteDialog extends Dialog<Note> {
         if (existingNote != null) {
             titleField.setText(existingNote.getTitle());
         }
+        AutocompleteSupport.attach(titleField, AutocompleteIndex.Field.TITLE);
         
         titleContainer.getChildren().addAll(titleLabel, titleField);
         
@@ -87,6 +90,7 @@ public class NoteDialog extends Dialog<Note> {
         if (existingNote != null) {
             subjectField.setText(existingNote.getSubject());
         }
+        AutocompleteSupport.attach(subjectField, AutocompleteIndex.Field.SUBJECT);
         
         subjectContainer.getChildren().addAll(subjectLabel, subjectField);
         
@@ -117,7 +121,8 @@ public class NoteDialog extends Dialog<Note> {
      */
     private Note createNoteFromFields() {
         String title = titleField.getText().trim();
-        String subject = subjectField.getText().trim();
+        // Reuse the existing spelling so "math " doesn't become a second "Math" subject
+        String subject = AutocompleteIndex.getInstance().canonicalize(AutocompleteIndex.Field.SUBJECT, subjectField.getText());
         String content = contentArea.getText().trim();
         
         if (existingNote != null) {
@@ -2,15 +2,20 @@ package com.studyspace.views;
 
 import com.studyspace.models.Note;
 import com.studyspace.utils.DataStore;
+import com.studyspace.utils.RelatedContentIndex;
 import com.studyspace.utils.SceneManager;
+import com.studyspace.utils.TextHighlighter;
 import javafx.animation.*;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextFlow;
 import javafx.util.Duration;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * NoteStudyView - Interactive note study interface
@@ -32,10 +37,21 @@ public class NoteStudyView {
     private Button saveButton;
     private Button cancelButton;
     private Label progressLabel;
+    private TextField highlightField;
+    private TextFlow highlightedContent;
+    private TextHighlighter highlighter;
+    private Button previousMatchesButton;
+    private Button nextMatchesButton;
+    // Page of matches shown highlighted; each page is at most MATCHES_PER_PAGE nodes
+    private int highlightPage;
+    private FlowPane relatedItems;
+    private Label relatedStatusLabel;
     
     private boolean isHighlightMode;
     private boolean isEditMode;
     
+    private static final int MATCHES_PER_PAGE = 200;
+    
     public NoteStudyView(Note note, NotesView parentView) {
         this.dataStore = DataStore.getInstance();
         this.sceneManager = SceneManager.getInstance();
@@ -61,10 +77,13 @@ public class NoteStudyView {
         // Navigation section (moved to top left)
         HBox navigationSection = createNavigationSection();
         
+        // Related notes and decks
+        VBox relatedSection = createRelatedSection();
+        
         // Note container (enlarged)
         noteContainer = createNoteContainer();
         
-        mainContainer.getChildren().addAll(navigationSection, noteContainer);
+        mainContainer.getChildren().addAll(navigationSection, relatedSection, noteContainer);
     }
     
     /**
@@ -102,12 +121,112 @@ public class NoteStudyView {
         progressLabel = new Label("Document View Active");
         progressLabel.getStyleClass().addAll("text-success", "progress-label");
         
-        navigation.getChildren().addAll(backButton, editButton, saveButton, cancelButton, progressLabel);
+        // Highlight terms field - typing terms switches highlight mode on
+        highlightField = new TextField();
+        highlightField.getStyleClass().add("search-field");
+        highlightField.setPromptText("Highlight terms...");
+        highlightField.setPrefWidth(220);
+        highlightField.textProperty().addListener((observable, oldValue, newValue) -> {
+            updateHighlighter(newValue);
+            isHighlightMode = highlighter != null;
+            highlightPage = 0;
+            renderContent();
+        });
+        
+        // Paging through matches when there are more than one page of them
+        previousMatchesButton = new Button("◀");
+        previousMatchesButton.getStyleClass().add("readme-button");
+        previousMatchesButton.setOnAction(e -> showHighlightPage(highlightPage - 1));
+        nextMatchesButton = new Button("▶");
+        nextMatchesButton.getStyleClass().add("readme-button");
+        nextMatchesButton.setOnAction(e -> showHighlightPage(highlightPage + 1));
+        setMatchPagingVisible(false);
+        
+        navigation.getChildren().addAll(backButton, editButton, saveButton, cancelButton, highlightField,
+            previousMatchesButton, nextMatchesButton, progressLabel);
         
         return navigation;
     }
     
     
+    /**
+     * Creates the related notes and decks section
+     */
+    private VBox createRelatedSection() {
+        VBox section = new VBox();
+        section.getStyleClass().add("related-content-section");
+        section.setSpacing(6);
+        section.setPadding(new javafx.geometry.Insets(0, 0, 12, 0));
+        
+        Label header = new Label("Related notes & decks");
+        header.getStyleClass().add("related-content-header");
+        
+        relatedStatusLabel = new Label("Finding related content...");
+        relatedStatusLabel.getStyleClass().add("text-sm");
+        
+        relatedItems = new FlowPane();
+        relatedItems.setHgap(8);
+        relatedItems.setVgap(6);
+        relatedItems.getChildren().add(relatedStatusLabel);
+        
+        section.getChildren().addAll(header, relatedItems);
+        return section;
+    }
+    
+    /**
+     * Looks up related notes and decks off the FX thread and fills the related section
+     */
+    private void loadRelatedContent() {
+        javafx.concurrent.Task<List<RelatedContentIndex.Recommendation>> task = 
+            new javafx.concurrent.Task<List<RelatedContentIndex.Recommendation>>() {
+            @Override
+            protected List<RelatedContentIndex.Recommendation> call() throws Exception {
+                RelatedContentIndex index = RelatedContentIndex.getInstance();
+                index.ensureLoaded();
+                return index.relatedToNote(note.getId(), 6);
+            }
+        };
+        
+        task.setOnSucceeded(e -> showRelatedContent(task.getValue()));
+        task.setOnFailed(e -> {
+            System.err.println("Error finding related content: " + task.getException().getMessage());
+            relatedStatusLabel.setText("Related content unavailable");
+            relatedItems.getChildren().setAll(relatedStatusLabel);
+        });
+        
+        Thread relatedThread = new Thread(task);
+        relatedThread.setDaemon(true);
+        relatedThread.start();
+    }
+    
+    private void showRelatedContent(List<RelatedContentIndex.Recommendation> recommendations) {
+        if (recommendations.isEmpty()) {
+            relatedStatusLabel.setText("No related notes or decks yet");
+            relatedItems.getChildren().setAll(relatedStatusLabel);
+            return;
+        }
+        
+        relatedItems.getChildren().clear();
+        for (RelatedContentIndex.Recommendation recommendation : recommendations) {
+            if (recommendation.getKind() == RelatedContentIndex.Kind.NOTE) {
+                Hyperlink link = new Hyperlink("📝 " + recommendation.getTitle());
+                link.getStyleClass().add("related-content-item");
+                link.setOnAction(e -> {
+                    Note related = dataStore.getNote(recommendation.getId());
+                    if (related != null) {
+                        parentView.openNote(related);
+                    }
+                });
+                relatedItems.getChildren().add(link);
+            } else {
+                Label deckLabel = new Label("🃏 " + recommendation.getTitle());
+                deckLabel.getStyleClass().add("related-content-item");
+                deckLabel.setTooltip(new Tooltip("Flashcard deck - open it from Flashcards"));
+                relatedItems.getChildren().add(deckLabel);
+            }
+        }
+    }
+    
     /**
      * Creates the note container
      */
@@ -148,6 +267,13 @@ public class NoteStudyView {
         // Add click handler for highlight mode
         noteContent.setOnMouseClicked(e -> toggleHighlightMode());
         
+        // Rich view used while search terms are highlighted
+        highlightedContent = new TextFlow();
+        highlightedContent.getStyleClass().add("readme-highlight-flow");
+        highlightedContent.setMaxWidth(1100);
+        highlightedContent.setStyle("-fx-cursor: text;");
+        highlightedContent.setOnMouseClicked(e -> toggleHighlightMode());
+        
         // Create text area for editing (initially hidden)
         noteTextArea = new TextArea();
         noteTextArea.getStyleClass().addAll("readme-text-area");
@@ -193,9 +319,104 @@ public class NoteStudyView {
             progressLabel.setText("Document View Active");
             progressLabel.getStyleClass().removeAll("text-success", "text-warning");
             progressLabel.getStyleClass().add("text-success");
+            
+            if (isHighlightMode) {
+                renderContent();
+            }
+            
+            loadRelatedContent();
         }
     }
     
+    /**
+     * Sets the terms to highlight, e.g. the query the note was found with
+     */
+    public void setHighlightTerms(String query) {
+        // The field listener rebuilds the automaton and re-renders
+        highlightField.setText(query == null ? "" : query);
+    }
+    
+    /**
+     * Rebuilds the matcher for the current terms (null when there are none)
+     */
+    private void updateHighlighter(String query) {
+        List<String> terms = TextHighlighter.parseTerms(query);
+        TextHighlighter compiled = new TextHighlighter(terms);
+        highlighter = compiled.isEmpty() ? null : compiled;
+    }
+    
+    /**
+     * Shows either the plain label or the highlighted text flow. Only one page of
+     * matches is highlighted at a time, so a common term in a long note builds at
+     * most a few hundred nodes; the text between them is one Text node per gap.
+     */
+    private void renderContent() {
+        if (isEditMode) {
+            return;
+        }
+        
+        VBox contentContainer = (VBox) scrollPane.getContent();
+        if (!isHighlightMode || highlighter == null) {
+            setMatchPagingVisible(false);
+            if (!contentContainer.getChildren().contains(noteContent)) {
+                contentContainer.getChildren().setAll(noteContent);
+                VBox.setVgrow(noteContent, Priority.ALWAYS);
+            }
+            return;
+        }
+        
+        // One pass over the rendered text finds every term; spans are already non-overlapping
+        String text = noteContent.getText();
+        List<TextHighlighter.Span> spans = highlighter.findHighlights(text);
+        int pageCount = Math.max(1, (spans.size() + MATCHES_PER_PAGE - 1) / MATCHES_PER_PAGE);
+        highlightPage = Math.max(0, Math.min(highlightPage, pageCount - 1));
+        int from = highlightPage * MATCHES_PER_PAGE;
+        int to = Math.min(spans.size(), from + MATCHES_PER_PAGE);
+        
+        List<javafx.scene.Node> pieces = new java.util.ArrayList<>((to - from) * 2 + 1);
+        int position = 0;
+        for (TextHighlighter.Span span : spans.subList(from, to)) {
+            if (span.getStart() > position) {
+                pieces.add(new Text(text.substring(position, span.getStart())));
+            }
+            Label match = new Label(text.substring(span.getStart(), span.getEnd()));
+            match.getStyleClass().add("note-search-highlight");
+            pieces.add(match);
+            position = span.getEnd();
+        }
+        if (position < text.length()) {
+            pieces.add(new Text(text.substring(position)));
+        }
+        highlightedContent.getChildren().setAll(pieces);
+        
+        if (!contentContainer.getChildren().contains(highlightedContent)) {
+            contentContainer.getChildren().setAll(highlightedContent);
+            VBox.setVgrow(highlightedContent, Priority.ALWAYS);
+        }
+        
+        setMatchPagingVisible(pageCount > 1);
+        previousMatchesButton.setDisable(highlightPage == 0);
+        nextMatchesButton.setDisable(highlightPage >= pageCount - 1);
+        String matches = spans.size() + (spans.size() == 1 ? " match" : " matches");
+        progressLabel.setText(pageCount > 1
+            ? matches + ", highlighting " + (from + 1) + "-" + to
+            : matches + " highlighted");
+        progressLabel.getStyleClass().removeAll("text-success", "text-warning");
+        progressLabel.getStyleClass().add("text-warning");
+    }
+    
+    private void showHighlightPage(int page) {
+        highlightPage = page;
+        renderContent();
+    }
+    
+    private void setMatchPagingVisible(boolean visible) {
+        previousMatchesButton.setVisible(visible);
+        previousMatchesButton.setManaged(visible);
+        nextMatchesButton.setVisible(visible);
+        nextMatchesButton.setManaged(visible);
+    }
+    
     /**
      * Refreshes the scroll pane to ensure all content is visible
      */
@@ -277,15 +498,19 @@ public class NoteStudyView {
             fadeTransition.setCycleCount(2);
             fadeTransition.play();
             
-            progressLabel.setText("Highlight Mode Active - Click text to highlight");
+            progressLabel.setText("Highlight Mode Active - Type terms to highlight");
             progressLabel.getStyleClass().removeAll("text-success", "text-warning");
             progressLabel.getStyleClass().add("text-warning");
             
+            renderContent();
+            
         } else {
             // Exit highlight mode
             noteContent.getStyleClass().removeAll("note-highlight-mode", "note-focus-mode");
             noteContent.getStyleClass().add("note-normal-mode");
             
+            renderContent();
+            
             progressLabel.setText("Study Mode Active");
             progressLabel.getStyleClass().removeAll("text-success", "text-warning");
             progressLabel.getStyleClass().add("text-success");
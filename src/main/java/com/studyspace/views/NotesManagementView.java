@@ -1,8 +1,11 @@
 package com.studyspace.views;
 
+import com.studyspace.components.AutocompleteSupport;
 import com.studyspace.models.Note;
+import com.studyspace.utils.AutocompleteIndex;
 import com.studyspace.utils.DataStore;
 import com.studyspace.utils.IconUtils;
+import com.studyspace.utils.SortOptions;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -120,6 +123,8 @@ public class NotesManagementView {
         searchField.getStyleClass().add("search-field");
         searchField.setPromptText("Search by title or content...");
         searchField.setPrefWidth(300);
+        AutocompleteSupport.attachSearch(searchField, AutocompleteIndex.Field.TITLE,
+            AutocompleteIndex.Field.SUBJECT, AutocompleteIndex.Field.TAG);
         
         searchContainer.getChildren().addAll(searchLabel, searchField);
         
@@ -204,30 +209,8 @@ public class NotesManagementView {
                        note.getContent().toLowerCase().contains(searchText) ||
                        note.getSubject().toLowerCase().contains(searchText);
             })
-            .sorted((note1, note2) -> {
-                String sortOption = sortComboBox.getValue();
-                switch (sortOption) {
-                    case "Date Created (Newest)":
-                        return note2.getCreatedAt().compareTo(note1.getCreatedAt());
-                    case "Date Created (Oldest)":
-                        return note1.getCreatedAt().compareTo(note2.getCreatedAt());
-                    case "Title (A-Z)":
-                        return note1.getTitle().compareToIgnoreCase(note2.getTitle());
-                    case "Title (Z-A)":
-                        return note2.getTitle().compareToIgnoreCase(note1.getTitle());
-                    case "Subject (A-Z)":
-                        return note1.getSubject().compareToIgnoreCase(note2.getSubject());
-                    case "Subject (Z-A)":
-                        return note2.getSubject().compareToIgnoreCase(note1.getSubject());
-                    case "Last Modified (Newest)":
-                        return note2.getModifiedAt().compareTo(note1.getModifiedAt());
-                    case "Last Modified (Oldest)":
-                        return note1.getModifiedAt().compareTo(note2.getModifiedAt());
-                    default:
-                        return 0;
-                }
-            })
             .collect(java.util.stream.Collectors.toList());
+        filteredNotes = SortOptions.NOTES.sort(filteredNotes, sortComboBox.getValue());
         
         if (filteredNotes.isEmpty()) {
             showEmptyState();
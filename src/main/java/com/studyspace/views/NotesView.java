@@ -1,9 +1,13 @@
 package com.studyspace.views;
 
+import com.studyspace.components.AutocompleteSupport;
 import com.studyspace.models.Note;
+import com.studyspace.utils.AutocompleteIndex;
 import com.studyspace.utils.DataStore;
 import com.studyspace.utils.IconUtils;
 import com.studyspace.utils.SceneManager;
+import com.studyspace.utils.SortOption;
+import com.studyspace.utils.SortOptions;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -14,7 +18,6 @@ import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
 
 //============ notes view =============
 //this is where study notes are managed, created, and organized
@@ -168,6 +171,8 @@ public class NotesView {
         searchField.getStyleClass().add("search-field");
         searchField.setPromptText("Search notes...");
         searchField.setPrefWidth(300);
+        AutocompleteSupport.attachSearch(searchField, AutocompleteIndex.Field.TITLE,
+            AutocompleteIndex.Field.SUBJECT, AutocompleteIndex.Field.TAG);
         
         searchBox.getChildren().addAll(searchIcon, searchField);
         
@@ -181,16 +186,7 @@ public class NotesView {
         
         ComboBox<String> sortComboBox = new ComboBox<>();
         sortComboBox.getStyleClass().add("filter-combobox");
-        sortComboBox.getItems().addAll(
-            "Title (A-Z)",
-            "Title (Z-A)", 
-            "Date Created (Newest)",
-            "Date Created (Oldest)",
-            "Subject (A-Z)",
-            "Subject (Z-A)",
-            "Last Modified (Newest)",
-            "Last Modified (Oldest)"
-        );
+        sortComboBox.getItems().addAll(SortOptions.NOTES.getLabels());
         sortComboBox.setValue("Date Created (Newest)");
         sortComboBox.setPrefWidth(200);
         sortComboBox.setOnAction(e -> applySorting(sortComboBox.getValue()));
@@ -252,34 +248,10 @@ public class NotesView {
      * Applies sorting based on selected option
      */
     private void applySorting(String sortOption) {
-        if (sortOption == null) return;
-        
-        switch (sortOption) {
-            case "Title (A-Z)":
-                sortedNotes.setComparator(Comparator.comparing(Note::getTitle, String.CASE_INSENSITIVE_ORDER));
-                break;
-            case "Title (Z-A)":
-                sortedNotes.setComparator(Comparator.comparing(Note::getTitle, String.CASE_INSENSITIVE_ORDER).reversed());
-                break;
-            case "Date Created (Newest)":
-                sortedNotes.setComparator(Comparator.comparing(Note::getCreatedAt).reversed());
-                break;
-            case "Date Created (Oldest)":
-                sortedNotes.setComparator(Comparator.comparing(Note::getCreatedAt));
-                break;
-            case "Subject (A-Z)":
-                sortedNotes.setComparator(Comparator.comparing(Note::getSubject, String.CASE_INSENSITIVE_ORDER));
-                break;
-            case "Subject (Z-A)":
-                sortedNotes.setComparator(Comparator.comparing(Note::getSubject, String.CASE_INSENSITIVE_ORDER).reversed());
-                break;
-            case "Last Modified (Newest)":
-                sortedNotes.setComparator(Comparator.comparing(Note::getModifiedAt).reversed());
-                break;
-            case "Last Modified (Oldest)":
-                sortedNotes.setComparator(Comparator.comparing(Note::getModifiedAt));
-                break;
-        }
+        SortOption<Note> option = SortOptions.NOTES.get(sortOption);
+        if (option == null) return;
+        
+        sortedNotes.setComparator(option.comparator());
         
         // Reload notes to show sorted results
         loadNotes();
@@ -524,6 +496,9 @@ public class NotesView {
             // Create a study view for the note
             NoteStudyView studyView = new NoteStudyView(note, this);
             System.out.println("Created NoteStudyView");
+            if (searchField != null) {
+                studyView.setHighlightTerms(searchField.getText());
+            }
             
             // Replace current content with study view using StackPane
             mainContainer.getChildren().setAll(studyView.getView());
@@ -545,6 +520,9 @@ public class NotesView {
         // Create a readme-like view for the note
         NoteStudyView readmeView = new NoteStudyView(note, this);
         System.out.println("Created NoteStudyView");
+        if (searchField != null) {
+            readmeView.setHighlightTerms(searchField.getText());
+        }
         
         // Replace current content with readme view using StackPane
         mainContainer.getChildren().setAll(readmeView.getView());
@@ -936,6 +914,13 @@ public class NotesView {
     }
     
     
+    /**
+     * Opens another note in the readme view, e.g. from the related notes panel
+     */
+    public void openNote(Note note) {
+        handleViewNote(note);
+    }
+    
     /**
      * Returns to the notes list view from readme/study view
      */
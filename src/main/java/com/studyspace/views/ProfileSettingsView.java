@@ -289,7 +289,8 @@ public class ProfileSettingsView {
         GridPane.setConstraints(quizzesStat, 1, 0);
         
         // Current streak
-        VBox streakStat = createStatCard("🔥", "Current Streak", currentUser.getCurrentStreak() + " days");
+        VBox streakStat = createStatCard("🔥", "Current Streak",
+            currentUser.getCurrentStreak() + " days (best " + currentUser.getLongestStreak() + ")");
         GridPane.setConstraints(streakStat, 2, 0);
         
         // Total study hours
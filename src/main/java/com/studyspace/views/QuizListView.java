@@ -1,11 +1,17 @@
 package com.studyspace.views;
 
+import com.studyspace.components.AutocompleteSupport;
 import com.studyspace.models.Quiz;
 import com.studyspace.models.FlashcardDeck;
 import com.studyspace.models.Flashcard;
 import com.studyspace.models.Note;
+import com.studyspace.utils.AdaptiveQuestionPicker;
+import com.studyspace.utils.AutocompleteIndex;
 import com.studyspace.utils.DataStore;
+import com.studyspace.utils.DuplicateDetectionService;
 import com.studyspace.utils.SceneManager;
+import com.studyspace.utils.SortOption;
+import com.studyspace.utils.SortOptions;
 import com.studyspace.utils.IconUtils;
 import com.studyspace.utils.QuizGenerationService;
 import javafx.geometry.Insets;
@@ -21,6 +27,8 @@ import java.util.ArrayList;
 
 public class QuizListView {
     
+    private static final int ADAPTIVE_PRACTICE_LENGTH = 20;
+    
     private final DataStore dataStore;
     private final SceneManager sceneManager;
     private final QuizGenerationService quizGenerationService;
@@ -76,6 +84,16 @@ public class QuizListView {
         createFromNotesButton.getStyleClass().add("success-button");
         createFromNotesButton.setOnAction(e -> handleCreateFromNotes());
         
+        Button findDuplicatesButton = new Button();
+        findDuplicatesButton.setGraphic(IconUtils.createIconTextHBox("filter", "Find Duplicates"));
+        findDuplicatesButton.getStyleClass().add("secondary-button");
+        findDuplicatesButton.setOnAction(e -> handleFindDuplicateQuestions());
+        
+        Button adaptivePracticeButton = new Button();
+        adaptivePracticeButton.setGraphic(IconUtils.createIconTextHBox("trending-up", "Adaptive Practice"));
+        adaptivePracticeButton.getStyleClass().add("secondary-button");
+        adaptivePracticeButton.setOnAction(e -> handleAdaptivePractice());
+        
         
         // Sort dropdown (moved to right side) with enhanced icons
         HBox sortContainer = new HBox();
@@ -108,7 +126,8 @@ public class QuizListView {
         
         sortContainer.getChildren().addAll(sortIcon, sortLabel, sortComboBox);
         
-        actionBar.getChildren().addAll(createFromFlashcardsButton, createFromNotesButton, sortContainer);
+        actionBar.getChildren().addAll(createFromFlashcardsButton, createFromNotesButton, findDuplicatesButton,
+            adaptivePracticeButton, sortContainer);
         
         // Quizzes grid - improved configuration
         quizzesGrid = new FlowPane();
@@ -141,8 +160,9 @@ public class QuizListView {
             // Clear existing content
             quizzesGrid.getChildren().clear();
             
-            // Get all quizzes from data store
-            List<Quiz> quizzes = dataStore.getAllQuizzes();
+            // Get all quizzes from data store, ordered by the selected sort option
+            SortOption<Quiz> sortOption = sortComboBox != null ? SortOptions.QUIZZES.get(sortComboBox.getValue()) : null;
+            List<Quiz> quizzes = dataStore.getAllQuizzes(sortOption);
             System.out.println("Found " + quizzes.size() + " quizzes in data store");
             
             // Debug: List all quizzes
@@ -151,10 +171,8 @@ public class QuizListView {
                 System.out.println("  Quiz " + (i+1) + ": " + q.getTitle() + " (ID: " + q.getId() + ", Questions: " + q.getQuestionCount() + ")");
             }
             
-            // Apply sorting
-            if (sortComboBox != null && sortComboBox.getValue() != null) {
-                quizzes = applySorting(quizzes, sortComboBox.getValue());
-                System.out.println("Applied sorting: " + sortComboBox.getValue());
+            if (sortOption != null) {
+                System.out.println("Applied sorting: " + sortOption.getLabel());
             }
             
             if (quizzes.isEmpty()) {
@@ -193,50 +211,6 @@ public class QuizListView {
         }
     }
     
-    /**
-     * Applies sorting to the quiz list
-     */
-    private List<Quiz> applySorting(List<Quiz> quizzes, String sortOption) {
-        if (sortOption == null) return quizzes;
-        
-        return quizzes.stream().sorted((quiz1, quiz2) -> {
-            switch (sortOption) {
-                case "📝 Title (A-Z)":
-                case "Title (A-Z)":
-                    return quiz1.getTitle().compareToIgnoreCase(quiz2.getTitle());
-                case "📝 Title (Z-A)":
-                case "Title (Z-A)":
-                    return quiz2.getTitle().compareToIgnoreCase(quiz1.getTitle());
-                case "📅 Date Created (Newest)":
-                case "Date Created (Newest)":
-                    return quiz2.getCreatedAt().compareTo(quiz1.getCreatedAt());
-                case "📅 Date Created (Oldest)":
-                case "Date Created (Oldest)":
-                    return quiz1.getCreatedAt().compareTo(quiz2.getCreatedAt());
-                case "📂 Subject (A-Z)":
-                case "Subject (A-Z)":
-                    return quiz1.getSubject().compareToIgnoreCase(quiz2.getSubject());
-                case "📂 Subject (Z-A)":
-                case "Subject (Z-A)":
-                    return quiz2.getSubject().compareToIgnoreCase(quiz1.getSubject());
-                case "⭐ Difficulty (Easy to Hard)":
-                case "Difficulty (Easy to Hard)":
-                    return quiz1.getDifficulty().compareTo(quiz2.getDifficulty());
-                case "⭐ Difficulty (Hard to Easy)":
-                case "Difficulty (Hard to Easy)":
-                    return quiz2.getDifficulty().compareTo(quiz1.getDifficulty());
-                case "❓ Question Count (Low to High)":
-                case "Question Count (Low to High)":
-                    return Integer.compare(quiz1.getQuestionCount(), quiz2.getQuestionCount());
-                case "❓ Question Count (High to Low)":
-                case "Question Count (High to Low)":
-                    return Integer.compare(quiz2.getQuestionCount(), quiz1.getQuestionCount());
-                default:
-                    return 0;
-            }
-        }).collect(java.util.stream.Collectors.toList());
-    }
-    
     /**
      * Creates a quiz card
      */
@@ -475,6 +449,39 @@ public class QuizListView {
         }
     }
     
+    /**
+     * Handles starting adaptive practice over the questions of every quiz
+     */
+    private void handleAdaptivePractice() {
+        List<Quiz> quizzes = dataStore.getAllQuizzes();
+        AdaptiveQuestionPicker picker = AdaptiveQuestionPicker.forQuizzes(quizzes);
+        
+        if (picker.size() == 0) {
+            sceneManager.showInfoDialog("No Questions Available", 
+                "Adaptive practice draws from the questions in your quizzes.\n\n" +
+                "Create a quiz first, then come back to practice your weak spots!");
+            return;
+        }
+        
+        int questionCount = Math.min(ADAPTIVE_PRACTICE_LENGTH, picker.size());
+        boolean confirmed = sceneManager.showConfirmationDialog("Adaptive Practice", String.format(
+            "Practice %d questions drawn from all %d in your quizzes.\n\n" +
+            "Questions you often miss or haven't seen in a while come up more often.",
+            questionCount, picker.size()));
+        
+        if (confirmed) {
+            Quiz practiceQuiz = new Quiz("Adaptive Practice", "Questions picked from all your quizzes",
+                "Mixed", Flashcard.Difficulty.MEDIUM, 0);
+            QuizModeView quizModeView = new QuizModeView(practiceQuiz, this, picker, questionCount);
+            
+            Pane parent = (Pane) mainContainer.getParent();
+            if (parent != null) {
+                parent.getChildren().clear();
+                parent.getChildren().add(quizModeView.getView());
+            }
+        }
+    }
+    
     /**
      * Handles creating a quiz from flashcards
      */
@@ -639,6 +646,7 @@ public class QuizListView {
         TextField subjectField = new TextField();
         subjectField.setPromptText("Enter subject...");
         subjectField.setPrefWidth(200);
+        AutocompleteSupport.attach(subjectField, AutocompleteIndex.Field.SUBJECT);
         subjectContainer.getChildren().addAll(subjectLabel, subjectField);
         
         // Difficulty
@@ -657,10 +665,14 @@ public class QuizListView {
         questionCountContainer.setAlignment(Pos.CENTER_LEFT);
         Label questionCountLabel = new Label("Questions:");
         ComboBox<Integer> questionCountCombo = new ComboBox<>();
-        questionCountCombo.getItems().addAll(5, 10, 15, 20, 25, 30);
+        questionCountCombo.getItems().addAll(5, 10, 15, 20, 25, 30, 40, 50);
         questionCountCombo.setValue(15);
         questionCountContainer.getChildren().addAll(questionCountLabel, questionCountCombo);
         
+        // AI or offline generation
+        CheckBox useAICheckBox = new CheckBox("Use AI service (unchecked: build questions offline from your cards)");
+        useAICheckBox.setSelected(true);
+        
         // Time limit
         HBox timeLimitContainer = new HBox();
         timeLimitContainer.setSpacing(8);
@@ -672,7 +684,8 @@ public class QuizListView {
         timeLimitContainer.getChildren().addAll(timeLimitLabel, timeLimitCombo);
         
         configContainer.getChildren().addAll(configLabel, titleContainer, subjectContainer, 
-                                           difficultyContainer, questionCountContainer, timeLimitContainer);
+                                           difficultyContainer, questionCountContainer, timeLimitContainer,
+                                           useAICheckBox);
         
         content.getChildren().addAll(instructionContainer, scrollPane, configContainer);
         
@@ -705,11 +718,13 @@ public class QuizListView {
                     if (subject.isEmpty()) {
                         subject = "Mixed Subjects";
                     }
+                    subject = AutocompleteIndex.getInstance().canonicalize(AutocompleteIndex.Field.SUBJECT, subject);
                     
                     createAIGeneratedQuizFromFlashcards(selectedDecks, quizTitle, subject, 
                                                       difficultyCombo.getValue(), 
                                                       timeLimitCombo.getValue(),
-                                                      questionCountCombo.getValue());
+                                                      questionCountCombo.getValue(),
+                                                      useAICheckBox.isSelected());
                 } else {
                     sceneManager.showInfoDialog("No Selection", "Please select at least one flashcard deck.");
                 }
@@ -795,6 +810,7 @@ public class QuizListView {
         TextField subjectField = new TextField();
         subjectField.setPromptText("Enter subject...");
         subjectField.setPrefWidth(200);
+        AutocompleteSupport.attach(subjectField, AutocompleteIndex.Field.SUBJECT);
         subjectContainer.getChildren().addAll(subjectLabel, subjectField);
         
         // Difficulty
@@ -861,6 +877,7 @@ public class QuizListView {
                     if (subject.isEmpty()) {
                         subject = "Mixed Subjects";
                     }
+                    subject = AutocompleteIndex.getInstance().canonicalize(AutocompleteIndex.Field.SUBJECT, subject);
                     
                     createAIGeneratedQuizFromNotes(selectedNotes, quizTitle, subject, 
                                                  difficultyCombo.getValue(), 
@@ -882,7 +899,26 @@ public class QuizListView {
      */
     private void createAIGeneratedQuizFromFlashcards(List<FlashcardDeck> selectedDecks, String quizTitle, 
                                                     String subject, Flashcard.Difficulty difficulty, 
-                                                    int timeLimit, int questionCount) {
+                                                    int timeLimit, int questionCount, boolean useAI) {
+        if (!useAI) {
+            // Offline generation takes milliseconds, so it runs right here
+            QuizGenerationService.QuizGenerationResult result = quizGenerationService.generateQuizFromFlashcards(
+                selectedDecks, quizTitle, subject, difficulty, timeLimit, questionCount, false);
+            if (result.isSuccess() && result.getQuiz() != null) {
+                dataStore.saveQuiz(result.getQuiz());
+                dataStore.logUserActivity("QUIZ_CREATED", "Created quiz: " + result.getQuiz().getTitle());
+                com.studyspace.components.SidebarView.refreshActivityHistoryGlobally();
+                com.studyspace.components.SidebarView.refreshAllViewsGlobally();
+                forceCompleteRefresh();
+                sceneManager.showInfoDialog("Quiz Generated Successfully!", 
+                    "Created quiz '" + result.getQuiz().getTitle() + "' with " + 
+                    result.getQuiz().getQuestionCount() + " questions from your flashcards.\n\n" +
+                    "The quiz is now available in your quiz list!");
+            } else {
+                sceneManager.showErrorDialog("Quiz Generation Failed", result.getMessage());
+            }
+            return;
+        }
         try {
             // Show progress dialog
             Alert progressDialog = new Alert(Alert.AlertType.INFORMATION);
@@ -919,9 +955,12 @@ public class QuizListView {
                     
                     // Show success dialog
                     javafx.application.Platform.runLater(() -> {
-                        sceneManager.showInfoDialog("AI Quiz Generated Successfully!", 
-                            "Created AI quiz '" + result.getQuiz().getTitle() + "' with " + 
-                            result.getQuiz().getQuestionCount() + " intelligent questions from your flashcards.\n\n" +
+                        // The service falls back to offline questions when the AI service is down
+                        boolean generatedOffline = result.isGeneratedOffline();
+                        sceneManager.showInfoDialog(generatedOffline ? "Quiz Generated Offline" : "AI Quiz Generated Successfully!", 
+                            (generatedOffline ? "The AI service is unavailable, so questions were built from your flashcards.\n\n" : "") +
+                            "Created " + (generatedOffline ? "" : "AI ") + "quiz '" + result.getQuiz().getTitle() + "' with " + 
+                            result.getQuiz().getQuestionCount() + " questions from your flashcards.\n\n" +
                             "The quiz is now available in your quiz list!");
                     });
                 } else {
@@ -1056,4 +1095,54 @@ public class QuizListView {
             }
         });
     }
+    
+    /**
+     * Scans all quizzes for near-duplicate questions and offers to merge them
+     */
+    private void handleFindDuplicateQuestions() {
+        DuplicateDetectionService duplicateService = new DuplicateDetectionService();
+        
+        javafx.concurrent.Task<List<List<DuplicateDetectionService.QuestionRef>>> task = 
+            new javafx.concurrent.Task<List<List<DuplicateDetectionService.QuestionRef>>>() {
+            @Override
+            protected List<List<DuplicateDetectionService.QuestionRef>> call() throws Exception {
+                return duplicateService.findQuestionDuplicates();
+            }
+        };
+        
+        task.setOnSucceeded(e -> {
+            List<List<DuplicateDetectionService.QuestionRef>> clusters = task.getValue();
+            if (clusters.isEmpty()) {
+                sceneManager.showInfoDialog("No Duplicates", "No near-duplicate questions were found in your quizzes.");
+                return;
+            }
+            
+            int extraQuestions = 0;
+            for (List<DuplicateDetectionService.QuestionRef> cluster : clusters) {
+                extraQuestions += cluster.size() - 1;
+            }
+            
+            boolean merge = sceneManager.showConfirmationDialog("Duplicate Questions",
+                "Found " + clusters.size() + " groups of near-identical questions (" + extraQuestions + " extra questions).\n\n" +
+                "Merge them? The first copy of each question is kept and quizzes are never left empty.");
+            if (!merge) {
+                return;
+            }
+            
+            int removed = duplicateService.mergeQuestionClusters(clusters);
+            dataStore.logUserActivity("QUIZ_DUPLICATES_MERGED", "Merged " + removed + " duplicate quiz questions");
+            refresh();
+            
+            sceneManager.showInfoDialog("Duplicates Merged", "Removed " + removed + " duplicate questions.");
+        });
+        
+        task.setOnFailed(e -> {
+            sceneManager.showErrorDialog("Duplicate Scan Failed", 
+                "An error occurred while scanning for duplicates: " + task.getException().getMessage());
+        });
+        
+        Thread scanThread = new Thread(task);
+        scanThread.setDaemon(true);
+        scanThread.start();
+    }
 }
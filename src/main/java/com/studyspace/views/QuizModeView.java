@@ -2,7 +2,9 @@ package com.studyspace.views;
 
 import com.studyspace.models.Question;
 import com.studyspace.models.Quiz;
+import com.studyspace.models.QuizAttempt;
 import com.studyspace.models.User;
+import com.studyspace.utils.AdaptiveQuestionPicker;
 import com.studyspace.utils.DataStore;
 import com.studyspace.utils.SceneManager;
 import com.studyspace.utils.IconUtils;
@@ -16,6 +18,8 @@ import javafx.util.Duration;
 import java.util.List;
 import java.util.Collections;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * QuizModeView - Interactive quiz taking interface with timer and scoring
@@ -48,19 +52,33 @@ public class QuizModeView {
     private int timeRemaining; // in seconds
     private List<String> shuffledOptions; // Store shuffled options for current question
     private int correctAnswerIndex; // Store the correct answer index after shuffling
+    private QuizAttempt attempt; // Answers given so far, saved when the quiz is finished
+    private long questionShownAt;
+    private final AdaptiveQuestionPicker picker; // Chooses each next question in adaptive mode, else null
     
     public QuizModeView(Quiz quiz, QuizListView parentView) {
+        this(quiz, parentView, null, 0);
+    }
+    
+    /**
+     * Adaptive mode: questions are drawn one at a time by the picker, weakest first,
+     * instead of following the quiz's own order
+     */
+    public QuizModeView(Quiz quiz, QuizListView parentView, AdaptiveQuestionPicker picker, int questionCount) {
         this.dataStore = DataStore.getInstance();
         this.sceneManager = SceneManager.getInstance();
         this.quiz = quiz;
         this.parentView = parentView;
-        this.questions = quiz.getQuestions();
+        this.picker = picker;
+        this.questions = picker != null ? new ArrayList<>() : quiz.getQuestions();
         this.currentQuestionIndex = 0;
         this.selectedOptionIndex = -1;
         this.isAnswered = false;
         this.correctAnswers = 0;
-        this.totalQuestions = questions.size();
+        this.totalQuestions = picker != null ? Math.min(questionCount, picker.size()) : questions.size();
         this.timeRemaining = quiz.getTimeLimit() * 60; // Convert minutes to seconds
+        this.attempt = newAttempt();
+        drawAdaptiveQuestion();
         
         initializeUI();
         showCurrentQuestion();
@@ -225,6 +243,7 @@ public class QuizModeView {
         }
         
         Question currentQuestion = questions.get(currentQuestionIndex);
+        questionShownAt = System.currentTimeMillis();
         
         // Update progress
         progressLabel.setText((currentQuestionIndex + 1) + " / " + totalQuestions);
@@ -317,6 +336,14 @@ public class QuizModeView {
             correctAnswers++;
         }
         
+        // Record the answer against the question's own option order
+        int chosenOption = currentQuestion.getOptions().indexOf(shuffledOptions.get(selectedOptionIndex));
+        int timeSpent = (int) Math.min(Integer.MAX_VALUE, System.currentTimeMillis() - questionShownAt);
+        attempt.addAnswer(new QuizAttempt.Answer(currentQuestion.getId(), chosenOption, isCorrect, timeSpent));
+        if (picker != null) {
+            picker.recordAnswer(currentQuestion, isCorrect);
+        }
+        
         isAnswered = true;
         
         // Update option buttons to show correct/incorrect
@@ -400,9 +427,21 @@ public class QuizModeView {
      */
     private void handleNextQuestion() {
         currentQuestionIndex++;
+        drawAdaptiveQuestion();
         showCurrentQuestion();
     }
     
+    /**
+     * In adaptive mode, draws the question for the current position if it has not been drawn yet
+     */
+    private void drawAdaptiveQuestion() {
+        if (picker == null || currentQuestionIndex < questions.size() || questions.size() >= totalQuestions) return;
+        Question next = picker.next();
+        if (next != null) {
+            questions.add(next);
+        }
+    }
+    
     /**
      * Handles finishing the quiz
      */
@@ -413,11 +452,17 @@ public class QuizModeView {
         double scorePercentage = (double) correctAnswers / totalQuestions * 100;
         int finalScore = (int) Math.round(scorePercentage);
         
+        if (picker != null) {
+            finishAdaptivePractice(finalScore);
+            return;
+        }
+        
         // Update quiz and user statistics
         quiz.recordScore(finalScore);
+        attempt.finish(finalScore);
         
-        // Save quiz to database with updated score
-        dataStore.saveQuiz(quiz);
+        // Store the answers and the new score in one background write
+        dataStore.recordQuizAttempt(quiz, attempt);
         
         User currentUser = dataStore.getCurrentUser();
         if (currentUser != null) {
@@ -436,6 +481,37 @@ public class QuizModeView {
         showResultsDialog(finalScore);
     }
     
+    /**
+     * Stores adaptive answers as one practice attempt per source quiz; the quizzes'
+     * best scores and the user's quiz count are not changed
+     */
+    private void finishAdaptivePractice(int finalScore) {
+        Map<String, QuizAttempt> attemptsByQuiz = new LinkedHashMap<>();
+        List<QuizAttempt.Answer> answers = attempt.getAnswers();
+        for (int i = 0; i < answers.size(); i++) {
+            // Answers are given in the order the questions were drawn
+            QuizAttempt.Answer answer = answers.get(i);
+            String sourceQuizId = picker.getQuizId(questions.get(i));
+            if (sourceQuizId == null) continue;
+            QuizAttempt part = attemptsByQuiz.computeIfAbsent(sourceQuizId, id -> {
+                QuizAttempt practice = new QuizAttempt(attempt.getUserId(), id);
+                practice.setStartedAt(attempt.getStartedAt());
+                practice.setPractice(true);
+                return practice;
+            });
+            part.addAnswer(answer);
+        }
+        List<QuizAttempt> practiceAttempts = new ArrayList<>(attemptsByQuiz.values());
+        for (QuizAttempt practice : practiceAttempts) {
+            practice.finish((int) Math.round((double) practice.getCorrectCount() / practice.getAnswers().size() * 100));
+        }
+        dataStore.recordPracticeAttempts(practiceAttempts);
+        
+        dataStore.logUserActivity("QUIZ_COMPLETED", "Completed adaptive practice with " + finalScore + "% score");
+        com.studyspace.components.SidebarView.refreshActivityHistoryGlobally();
+        showResultsDialog(finalScore);
+    }
+    
     /**
      * Shows the quiz results dialog
      */
@@ -498,11 +574,24 @@ public class QuizModeView {
         isAnswered = false;
         correctAnswers = 0;
         timeRemaining = quiz.getTimeLimit() * 60;
+        attempt = newAttempt();
+        if (picker != null) {
+            questions.clear();
+            drawAdaptiveQuestion();
+        }
         
         showCurrentQuestion();
         startTimer();
     }
     
+    /**
+     * Starts recording a fresh run through the quiz
+     */
+    private QuizAttempt newAttempt() {
+        User currentUser = dataStore.getCurrentUser();
+        return new QuizAttempt(currentUser != null ? currentUser.getId() : null, quiz.getId());
+    }
+    
     /**
      * Handles exiting the quiz
      */
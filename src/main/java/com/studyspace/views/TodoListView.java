@@ -1,14 +1,17 @@
 package com.studyspace.views;
 
+import com.studyspace.components.AutocompleteSupport;
 import com.studyspace.models.TodoItem;
 import com.studyspace.models.Activity;
 import com.studyspace.models.ActivityType;
+import com.studyspace.utils.AutocompleteIndex;
 import com.studyspace.utils.DataStore;
+import com.studyspace.utils.CompressedBitSet;
+import com.studyspace.utils.FacetIndex;
 import com.studyspace.utils.SceneManager;
 import com.studyspace.utils.IconUtils;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -27,7 +30,8 @@ public class TodoListView extends VBox {
     private final DataStore dataStore;
     private final SceneManager sceneManager;
     private final ObservableList<TodoItem> todoItems;
-    private final FilteredList<TodoItem> filteredItems;
+    private final FacetIndex<TodoItem> facetIndex;
+    private String currentFilter = "all";
     
     // UI Components
     private TextField taskInput;
@@ -46,7 +50,13 @@ public class TodoListView extends VBox {
         this.dataStore = DataStore.getInstance();
         this.sceneManager = SceneManager.getInstance();
         this.todoItems = FXCollections.observableArrayList(dataStore.getTodoItems());
-        this.filteredItems = new FilteredList<>(todoItems);
+        // Filters and badge counts are answered from per-facet bitsets instead of re-streaming todoItems
+        this.facetIndex = new FacetIndex<TodoItem>(TodoItem::getId)
+            .addFacet("completed", TodoItem::isCompleted)
+            .addFacet("priority", TodoItem::getPriority)
+            .addFacet("category", TodoItem::getCategory)
+            .addRangeFacet("dueDate", TodoItem::getDueDate);
+        facetIndex.putAll(todoItems);
         
         createView();
         setupEventHandlers();
@@ -285,38 +295,41 @@ public class TodoListView extends VBox {
     }
     
     private void applyFilter(String filter) {
+        currentFilter = filter;
+        updateTaskList();
+    }
+    
+    /**
+     * Resolves a filter name to the matching set of items
+     */
+    private CompressedBitSet selectionFor(String filter) {
         switch (filter) {
-            case "all":
-                filteredItems.setPredicate(item -> true);
-                break;
             case "active":
-                filteredItems.setPredicate(item -> !item.isCompleted());
-                break;
+                return facetIndex.bits("completed", false);
             case "completed":
-                filteredItems.setPredicate(item -> item.isCompleted());
-                break;
+                return facetIndex.bits("completed", true);
             case "overdue":
-                java.time.LocalDate today = java.time.LocalDate.now();
-                filteredItems.setPredicate(item -> !item.isCompleted() && 
-                    item.getDueDate() != null && item.getDueDate().isBefore(today));
-                break;
+                return overdueSelection();
+            default:
+                return facetIndex.all();
         }
-        updateTaskList();
+    }
+    
+    /**
+     * Active items due before today: OR over the earlier due dates, AND not completed
+     */
+    private CompressedBitSet overdueSelection() {
+        return facetIndex.range("dueDate", null, LocalDate.now()).and(facetIndex.bits("completed", false));
     }
     
     private void updateTaskList() {
         taskListContainer.getChildren().clear();
         
         // Update filter button labels
-        long totalCount = todoItems.size();
-        long activeCount = todoItems.stream().filter(item -> !item.isCompleted()).count();
-        long completedCount = todoItems.stream().filter(item -> item.isCompleted()).count();
-        
-        // Calculate overdue count
-        java.time.LocalDate today = java.time.LocalDate.now();
-        long overdueCount = todoItems.stream().filter(item -> 
-            !item.isCompleted() && item.getDueDate() != null && item.getDueDate().isBefore(today)
-        ).count();
+        int totalCount = facetIndex.size();
+        int activeCount = facetIndex.count("completed", false);
+        int completedCount = facetIndex.count("completed", true);
+        int overdueCount = overdueSelection().cardinality();
         
         allFilter.setText("All (" + totalCount + ")");
         activeFilter.setText("Active (" + activeCount + ")");
@@ -324,7 +337,7 @@ public class TodoListView extends VBox {
         overdueFilter.setText("Overdue (" + overdueCount + ")");
         
         // Create task cards
-        for (TodoItem item : filteredItems) {
+        for (TodoItem item : facetIndex.items(selectionFor(currentFilter))) {
             HBox taskCard = createTaskCard(item);
             taskListContainer.getChildren().add(taskCard);
         }
@@ -344,6 +357,7 @@ public class TodoListView extends VBox {
             boolean wasCompleted = item.isCompleted();
             item.setCompleted(checkbox.isSelected());
             dataStore.saveTodoItem(item); // Save to DataStore
+            facetIndex.put(item);
             
             // Log activity for completion status change
             if (checkbox.isSelected() && !wasCompleted) {
@@ -450,6 +464,7 @@ public class TodoListView extends VBox {
             e.consume();
             todoItems.remove(item);
             dataStore.deleteTodoItem(item.getId()); // Remove from DataStore
+            facetIndex.remove(item.getId());
             updateTaskList();
             updateProgress();
             refreshSidebarNotifications();
@@ -458,6 +473,7 @@ public class TodoListView extends VBox {
             e.consume();
             todoItems.remove(item);
             dataStore.deleteTodoItem(item.getId()); // Remove from DataStore
+            facetIndex.remove(item.getId());
             updateTaskList();
             updateProgress();
             refreshSidebarNotifications();
@@ -469,8 +485,8 @@ public class TodoListView extends VBox {
     }
     
     private void updateProgress() {
-        int totalTasks = todoItems.size();
-        int completedTasks = (int) todoItems.stream().filter(TodoItem::isCompleted).count();
+        int totalTasks = facetIndex.size();
+        int completedTasks = facetIndex.count("completed", true);
         
         if (totalTasks > 0) {
             double progress = (double) completedTasks / totalTasks;
@@ -540,11 +556,8 @@ public class TodoListView extends VBox {
      */
     private void updateNotificationButton(javafx.scene.control.Button notificationButton) {
         try {
-            // Count overdue items from DataStore to ensure consistency
-            java.time.LocalDate today = java.time.LocalDate.now();
-            long overdueCount = dataStore.getTodoItems().stream().filter(item -> 
-                !item.isCompleted() && item.getDueDate() != null && item.getDueDate().isBefore(today)
-            ).count();
+            // Kept up to date by the reminder scheduler as todos are saved, so nothing is scanned
+            int overdueCount = dataStore.getOverdueTodoCount();
             
             if (overdueCount > 0) {
                 notificationButton.setVisible(true);
@@ -586,6 +599,7 @@ public class TodoListView extends VBox {
         TextField categoryField = new TextField(item.getCategory());
         categoryField.setPromptText("Category (optional)");
         categoryField.setPrefWidth(200);
+        AutocompleteSupport.attach(categoryField, AutocompleteIndex.Field.CATEGORY);
         
         DatePicker dueDatePicker = new DatePicker();
         dueDatePicker.setValue(item.getDueDate());
@@ -623,7 +637,7 @@ public class TodoListView extends VBox {
                     titleField.getText().trim(),
                     descriptionField.getText().trim(),
                     priorityCombo.getValue(),
-                    categoryField.getText().trim(),
+                    AutocompleteIndex.getInstance().canonicalize(AutocompleteIndex.Field.CATEGORY, categoryField.getText()),
                     dueDatePicker.getValue()
                 );
                 updatedItem.setCompleted(item.isCompleted());
@@ -642,10 +656,12 @@ public class TodoListView extends VBox {
                     // Existing item - replace it
                     todoItems.set(index, updatedItem);
                     dataStore.saveTodoItem(updatedItem); // Save to DataStore
+                    facetIndex.put(updatedItem);
                 } else {
                     // New item - add it to the list
                     todoItems.add(updatedItem);
                     dataStore.saveTodoItem(updatedItem); // Save to DataStore
+                    facetIndex.put(updatedItem);
                     // Log activity for new todo item
                     logActivity(ActivityType.TODO_ITEM_ADDED, "Added task: " + updatedItem.getTitle());
                     
@@ -6,6 +6,8 @@ module studyspace {
     requires java.sql;
     requires java.logging;
     requires java.net.http;
+    requires java.management;
+    requires jdk.management;
 
     requires org.controlsfx.controls;
     requires com.dlsc.formsfx;
@@ -0,0 +1,70 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for AdaptiveQuestionPicker
+ */
+public class AdaptiveQuestionPickerTest {
+
+    private List<Quiz> quizzes(int quizCount, int questionsPerQuiz) {
+        List<Quiz> quizzes = new ArrayList<>();
+        for (int q = 0; q < quizCount; q++) {
+            Quiz quiz = new Quiz();
+            quiz.setId("quiz_" + q);
+            for (int i = 0; i < questionsPerQuiz; i++) {
+                Question question = new Question();
+                question.setId("question_" + q + "_" + i);
+                quiz.getQuestions().add(question);
+            }
+            quizzes.add(quiz);
+        }
+        return quizzes;
+    }
+
+    @Test
+    void testMissedQuestionsComeUpMoreOften() {
+        List<Quiz> quizzes = quizzes(1, 10);
+        AdaptiveQuestionPicker picker = new AdaptiveQuestionPicker(quizzes, id -> null, 0, new Random(2));
+        Question weak = quizzes.get(0).getQuestions().get(0);
+        Question strong = quizzes.get(0).getQuestions().get(1);
+        for (int i = 0; i < 5; i++) {
+            picker.recordAnswer(weak, false);
+            picker.recordAnswer(strong, true);
+        }
+        assertTrue(picker.getWeight(weak) > 5 * picker.getWeight(strong));
+        assertEquals("quiz_0", picker.getQuizId(weak));
+
+        // A drawn question rests for the next few picks
+        Map<Question, Integer> lastSeen = new HashMap<>();
+        for (int pick = 0; pick < 1000; pick++) {
+            Question question = picker.next();
+            Integer previous = lastSeen.put(question, pick);
+            if (previous != null) {
+                assertTrue(pick - previous > AdaptiveQuestionPicker.REST_PICKS);
+            }
+        }
+    }
+
+    @Test
+    void testLargePoolsKeepDrawingEveryQuestion() {
+        List<Quiz> quizzes = quizzes(200, 60);
+        AdaptiveQuestionPicker picker = new AdaptiveQuestionPicker(quizzes, id -> null, 0, new Random(4));
+        assertEquals(12_000, picker.size());
+
+        // Timing is left to the JMH module; here only the draws are checked
+        Random random = new Random(9);
+        Set<Question> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < 100_000; i++) {
+            Question question = picker.next();
+            assertNotNull(question);
+            seen.add(question);
+            picker.recordAnswer(question, random.nextBoolean());
+        }
+        assertTrue(seen.size() > 11_000);
+    }
+}
@@ -0,0 +1,65 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for AlgorithmBenchmark
+ */
+public class AlgorithmBenchmarkTest {
+
+    private static AlgorithmBenchmark.Result result(AlgorithmBenchmark.Report report, String algorithm) {
+        for (AlgorithmBenchmark.Result result : report.getResults()) {
+            if (result.getAlgorithm().equals(algorithm)) return result;
+        }
+        throw new AssertionError("no result for " + algorithm);
+    }
+
+    @Test
+    void testQuickSortIsSkippedOnInputThatDegradesIt() {
+        assertTrue(AlgorithmBenchmark.degradesQuickSort(new AlgorithmBenchmark.DatasetProfile("sorted", 1000, 1000, 1)));
+        assertTrue(AlgorithmBenchmark.degradesQuickSort(new AlgorithmBenchmark.DatasetProfile("reversed", 1000, 1000, 1000)));
+        assertTrue(AlgorithmBenchmark.degradesQuickSort(new AlgorithmBenchmark.DatasetProfile("repeats", 1000, 3, 400)));
+        assertFalse(AlgorithmBenchmark.degradesQuickSort(new AlgorithmBenchmark.DatasetProfile("random", 1000, 1000, 500)));
+
+        // Deep enough to overflow a worker thread's stack if it ran
+        List<Long> sorted = new ArrayList<>();
+        for (long i = 0; i < 50_000; i++) {
+            sorted.add(i);
+        }
+        AlgorithmBenchmark.Report report = new AlgorithmBenchmark(0, 1).run(
+            List.of(new AlgorithmBenchmark.Dataset<>("Sorted", sorted)), () -> false, message -> {});
+        assertTrue(result(report, "quickSort").isSkipped());
+        assertTrue(result(report, "bubbleSort").isSkipped());
+        assertFalse(result(report, "mergeSort").isSkipped());
+        assertTrue(result(report, "mergeSort").getComparisons() > 0);
+    }
+
+    @Test
+    void testRunLeavesTheSharedRecorderAlone() {
+        PerformanceRecorder shared = PerformanceRecorder.getInstance();
+        boolean wasEnabled = shared.isEnabled();
+        shared.setEnabled(true);
+        shared.reset();
+        try {
+            Random random = new Random(81);
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                values.add(random.nextInt());
+            }
+            AlgorithmBenchmark.Report report = new AlgorithmBenchmark(0, 1).run(
+                List.of(new AlgorithmBenchmark.Dataset<>("Random", values)), () -> false, message -> {});
+
+            assertFalse(result(report, "quickSort").isSkipped());
+            assertTrue(result(report, "quickSort").getComparisons() > 0);
+            assertTrue(shared.getSummaries().isEmpty());
+            assertTrue(shared.isEnabled());
+            assertSame(shared, PerformanceRecorder.current());
+        } finally {
+            shared.setEnabled(wasEnabled);
+            shared.reset();
+        }
+    }
+}
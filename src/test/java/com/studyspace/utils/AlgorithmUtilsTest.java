@@ -0,0 +1,190 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Test class for AlgorithmUtils
+ */
+public class AlgorithmUtilsTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private static LocalDateTime maybeTime(Random random) {
+        // Few distinct values so ties are common, sub-second apart to check the key is exact
+        return random.nextInt(5) == 0 ? null : BASE.plusSeconds(random.nextInt(20)).plusNanos(random.nextInt(3));
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<T> newestFirst() {
+        return Comparator.nullsLast(Comparator.reverseOrder());
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<T> oldestFirst() {
+        return Comparator.nullsLast(Comparator.naturalOrder());
+    }
+
+    // ===================================================================
+    // SORTING
+    // ===================================================================
+
+    @Test
+    void testDeckSortsMatchStableComparatorSorts() {
+        Random random = new Random(51);
+        for (int round = 0; round < 50; round++) {
+            List<FlashcardDeck> decks = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                FlashcardDeck deck = new FlashcardDeck("deck " + random.nextInt(30), "", "Subject", Flashcard.Difficulty.MEDIUM);
+                deck.setCreatedAt(maybeTime(random));
+                List<Flashcard> cards = new ArrayList<>();
+                for (int c = random.nextInt(5); c > 0; c--) {
+                    cards.add(new Flashcard("Q", "A", Flashcard.Difficulty.EASY));
+                }
+                deck.setFlashcards(cards);
+                decks.add(deck);
+            }
+
+            List<FlashcardDeck> expected = new ArrayList<>(decks);
+            expected.sort(Comparator.comparing(FlashcardDeck::getCreatedAt, newestFirst()));
+            assertEquals(expected, AlgorithmUtils.sortFlashcardDecks(decks, "Date Created (Newest)"));
+
+            expected = new ArrayList<>(decks);
+            expected.sort(Comparator.comparing(FlashcardDeck::getCreatedAt, oldestFirst()));
+            assertEquals(expected, AlgorithmUtils.sortFlashcardDecks(decks, "Date Created (Oldest)"));
+
+            expected = new ArrayList<>(decks);
+            expected.sort(Comparator.comparingInt(FlashcardDeck::getCardCount).reversed()
+                .thenComparing(FlashcardDeck::getTitle));
+            assertEquals(expected, AlgorithmUtils.sortFlashcardDecks(decks, "Card Count (High to Low)"));
+        }
+    }
+
+    @Test
+    void testQuizAndNoteSortsMatchStableComparatorSorts() {
+        Random random = new Random(52);
+        for (int round = 0; round < 50; round++) {
+            List<Quiz> quizzes = new ArrayList<>();
+            List<Note> notes = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                Quiz quiz = new Quiz("quiz " + random.nextInt(30), "", "Subject", Flashcard.Difficulty.MEDIUM, 10);
+                quiz.setCreatedAt(maybeTime(random));
+                List<Question> questions = new ArrayList<>();
+                for (int q = random.nextInt(5); q > 0; q--) {
+                    questions.add(new Question("Q", List.of("a", "b"), 0, "", Flashcard.Difficulty.EASY));
+                }
+                quiz.setQuestions(questions);
+                quizzes.add(quiz);
+
+                Note note = new Note("note " + i, "content", "Subject");
+                note.setModifiedAt(maybeTime(random));
+                notes.add(note);
+            }
+
+            // The quiz list's combo box labels carry an icon in front
+            List<Quiz> expectedQuizzes = new ArrayList<>(quizzes);
+            expectedQuizzes.sort(Comparator.comparing(Quiz::getCreatedAt, newestFirst()));
+            assertEquals(expectedQuizzes, AlgorithmUtils.sortQuizzes(quizzes, "📅 Date Created (Newest)"));
+
+            expectedQuizzes = new ArrayList<>(quizzes);
+            expectedQuizzes.sort(Comparator.comparingInt(Quiz::getQuestionCount).thenComparing(Quiz::getTitle));
+            assertEquals(expectedQuizzes, AlgorithmUtils.sortQuizzes(quizzes, "Question Count (Low to High)"));
+
+            List<Note> expectedNotes = new ArrayList<>(notes);
+            expectedNotes.sort(Comparator.comparing(Note::getModifiedAt, newestFirst()));
+            assertEquals(expectedNotes, AlgorithmUtils.sortNotes(notes, "Last Modified (Newest)"));
+        }
+    }
+
+    @Test
+    void testSortLeavesTheInputAlone() {
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Note note = new Note("note " + i, "content", "Subject");
+            note.setCreatedAt(BASE.plusDays(i));
+            notes.add(note);
+        }
+        List<Note> before = new ArrayList<>(notes);
+        List<Note> sorted = AlgorithmUtils.sortNotes(notes, "Date Created (Newest)");
+        assertEquals(before, notes);
+        assertEquals(notes.get(4), sorted.get(0));
+        // Unknown labels keep the input order, and a missing option is a no-op
+        assertEquals(before, AlgorithmUtils.sortNotes(notes, "No Such Order"));
+        assertSame(notes, AlgorithmUtils.sortNotes(notes, null));
+    }
+
+    // ===================================================================
+    // TOP-K SELECTION
+    // ===================================================================
+
+    @Test
+    void testTopKWrappersMatchTheSortedPrefix() {
+        Random random = new Random(53);
+        for (int round = 0; round < 100; round++) {
+            List<FlashcardDeck> decks = new ArrayList<>();
+            for (int i = 0, size = random.nextInt(80); i < size; i++) {
+                FlashcardDeck deck = new FlashcardDeck("deck " + random.nextInt(30), "", "Subject", Flashcard.Difficulty.MEDIUM);
+                deck.setCreatedAt(maybeTime(random));
+                List<Flashcard> cards = new ArrayList<>();
+                for (int c = random.nextInt(5); c > 0; c--) {
+                    cards.add(new Flashcard("Q", "A", Flashcard.Difficulty.EASY));
+                }
+                deck.setFlashcards(cards);
+                decks.add(deck);
+            }
+            int k = random.nextInt(decks.size() + 3);
+
+            for (String label : List.of("Card Count (High to Low)", "Date Created (Newest)", "Title (Z-A)")) {
+                List<FlashcardDeck> sorted = AlgorithmUtils.sortFlashcardDecks(decks, label);
+                List<FlashcardDeck> expected = sorted.subList(0, Math.min(k, sorted.size()));
+                assertEquals(expected, AlgorithmUtils.topK(decks, k, SortOptions.FLASHCARD_DECKS.get(label)), label);
+                assertEquals(expected, decks.stream().collect(
+                    AlgorithmUtils.topKCollector(k, SortOptions.FLASHCARD_DECKS.comparator(label))), label);
+
+                List<FlashcardDeck> selected = new ArrayList<>(decks);
+                AlgorithmUtils.selectTopK(selected, k, SortOptions.FLASHCARD_DECKS.comparator(label));
+                Comparator<FlashcardDeck> order = SortOptions.FLASHCARD_DECKS.comparator(label);
+                // Introselect is not stable, so equal keys may come in another order
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(0, order.compare(expected.get(i), selected.get(i)), label + " at " + i);
+                }
+                assertEquals(new HashSet<>(decks), new HashSet<>(selected));
+            }
+
+            List<FlashcardDeck> expected = new ArrayList<>(decks);
+            expected.sort(Comparator.comparingInt(FlashcardDeck::getCardCount));
+            assertEquals(expected.subList(0, Math.min(k, expected.size())),
+                AlgorithmUtils.topKByKey(decks, k, FlashcardDeck::getCardCount));
+        }
+        assertTrue(AlgorithmUtils.topK(null, 3, Comparator.<String>naturalOrder()).isEmpty());
+    }
+
+    @Test
+    void testHardestFlashcardsComeFirst() {
+        Flashcard easy = new Flashcard("Easy", "A", Flashcard.Difficulty.EASY);
+        Flashcard hardStudied = new Flashcard("Hard, studied", "A", Flashcard.Difficulty.HARD);
+        hardStudied.setTimesStudied(7);
+        Flashcard hardNew = new Flashcard("Hard, new", "A", Flashcard.Difficulty.HARD);
+        Flashcard medium = new Flashcard("Medium", "A", Flashcard.Difficulty.MEDIUM);
+        List<Flashcard> cards = List.of(easy, hardStudied, hardNew, medium);
+
+        assertEquals(List.of(hardNew, hardStudied, medium), AlgorithmUtils.hardestFlashcards(cards, 3));
+        assertEquals(List.of(hardNew, hardStudied, medium, easy), AlgorithmUtils.hardestFlashcards(cards, 10));
+    }
+
+    @Test
+    void testRecentlyStudiedDecksSkipsDecksNeverStudied() {
+        List<FlashcardDeck> decks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            FlashcardDeck deck = new FlashcardDeck("deck " + i, "", "Subject", Flashcard.Difficulty.MEDIUM);
+            // Odd decks were never studied
+            deck.setLastStudied(i % 2 == 0 ? BASE.plusHours(i) : null);
+            decks.add(deck);
+        }
+        assertEquals(List.of(decks.get(4), decks.get(2)), AlgorithmUtils.recentlyStudiedDecks(decks, 2));
+        // Asking for more than were studied gives only the studied ones
+        assertEquals(List.of(decks.get(4), decks.get(2), decks.get(0)), AlgorithmUtils.recentlyStudiedDecks(decks, 5));
+    }
+}
@@ -0,0 +1,78 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Test class for AutocompleteIndex
+ */
+public class AutocompleteIndexTest {
+
+    private AutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = AutocompleteIndex.getInstance();
+        index.clear();
+    }
+
+    private Note note(String id, String title, String subject) {
+        Note note = new Note(title, "content", subject);
+        note.setId(id);
+        return note;
+    }
+
+    @Test
+    void testCompletionsOrderedByFrequency() {
+        index.indexNote(note("n1", "Limits", "Math"));
+        index.indexNote(note("n2", "Derivatives", "Math"));
+        index.indexNote(note("n3", "Integrals", "Mathematics"));
+        index.indexNote(note("n4", "Chords", "Music"));
+
+        List<String> completions = index.complete(AutocompleteIndex.Field.SUBJECT, "m", 5);
+        assertEquals("Math", completions.get(0), "Most used subject should come first");
+        assertEquals(3, completions.size());
+
+        assertEquals(List.of("Math", "Mathematics"), index.complete(AutocompleteIndex.Field.SUBJECT, "MAT", 5));
+        assertTrue(index.complete(AutocompleteIndex.Field.SUBJECT, "x", 5).isEmpty());
+    }
+
+    @Test
+    void testResaveReplacesOldTerms() {
+        Note note = note("n1", "Limits", "Physics");
+        index.indexNote(note);
+        note.setCategory("Chemistry");
+        index.indexNote(note);
+
+        assertTrue(index.complete(AutocompleteIndex.Field.SUBJECT, "p", 5).isEmpty(), "Old subject should be gone");
+        assertEquals(List.of("Chemistry"), index.complete(AutocompleteIndex.Field.SUBJECT, "c", 5));
+
+        index.removeNote("n1");
+        assertTrue(index.getAll(AutocompleteIndex.Field.SUBJECT).isEmpty());
+    }
+
+    @Test
+    void testCanonicalizeReusesExistingSpelling() {
+        index.indexNote(note("n1", "Limits", "Math"));
+
+        assertEquals("Math", index.canonicalize(AutocompleteIndex.Field.SUBJECT, "math "));
+        assertEquals("Math", index.canonicalize(AutocompleteIndex.Field.SUBJECT, "  MATH"));
+        assertEquals("Biology", index.canonicalize(AutocompleteIndex.Field.SUBJECT, " Biology "));
+    }
+
+    @Test
+    void testTagsAndMergedSearch() {
+        Note note = note("n1", "Cell Biology", "Biology");
+        note.addTag("cells");
+        index.indexNote(note);
+
+        assertEquals(List.of("cells"), index.complete(AutocompleteIndex.Field.TAG, "ce", 5));
+        List<String> merged = index.complete("c", 5, AutocompleteIndex.Field.TITLE, AutocompleteIndex.Field.TAG);
+        assertTrue(merged.contains("Cell Biology"));
+        assertTrue(merged.contains("cells"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Flashcard;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for ClozeFlashcardGenerator
+ */
+public class ClozeFlashcardGeneratorTest {
+
+    private static final String NOTE =
+        "# Photosynthesis\n" +
+        "Photosynthesis is the process plants use to turn light into chemical energy. " +
+        "Chlorophyll absorbs light mostly in the blue and red parts of the spectrum. " +
+        "The light reactions take place in the thylakoid membranes of the chloroplast. " +
+        "Chlorophyll gives leaves their green colour because green light is reflected. " +
+        "The Calvin cycle fixes carbon dioxide into sugar in the stroma of the chloroplast. " +
+        "Short line.\n" +
+        "- Rubisco is the enzyme that captures carbon dioxide during the Calvin cycle\n";
+
+    // Words that appear in most of the library count for little
+    private static final Set<String> COMMON = Set.of("process", "light", "energy", "plants", "parts", "line", "short");
+
+    private static ClozeFlashcardGenerator generator() {
+        return new ClozeFlashcardGenerator(term -> COMMON.contains(term) ? 90 : 1, 100, Flashcard.Difficulty.HARD);
+    }
+
+    @Test
+    void testCardsBlankOutKeyTermsOncePerTerm() {
+        List<Flashcard> streamed = new ArrayList<>();
+        int made = generator().generate(List.of(NOTE), 10, streamed::add);
+        assertEquals(made, streamed.size());
+        assertTrue(made >= 4, "only " + made + " cards");
+
+        Set<String> answers = new HashSet<>();
+        for (Flashcard card : streamed) {
+            assertTrue(card.getQuestion().contains(ClozeFlashcardGenerator.BLANK), card.getQuestion());
+            assertFalse(card.getQuestion().toLowerCase().matches(".*\\b" + card.getAnswer().toLowerCase() + "\\b.*"),
+                card.getQuestion() + " still shows " + card.getAnswer());
+            assertFalse(COMMON.contains(card.getAnswer().toLowerCase()));
+            assertTrue(answers.add(card.getAnswer().toLowerCase()), "asked twice: " + card.getAnswer());
+            assertEquals(Flashcard.Difficulty.HARD, card.getDifficulty());
+            assertFalse(card.getQuestion().contains("\n"));
+        }
+        // The most characteristic term of the note is asked, with its casing kept
+        assertTrue(answers.contains("chlorophyll"));
+        assertTrue(streamed.stream().anyMatch(card -> card.getAnswer().equals("Chlorophyll")));
+        // Headings and short lines are not sentences worth asking
+        assertTrue(streamed.stream().noneMatch(card -> card.getQuestion().startsWith("#") || card.getQuestion().startsWith("Short")));
+    }
+
+    @Test
+    void testMaxCardsStopsTheStream() {
+        assertEquals(2, generator().generate(List.of(NOTE, NOTE), 2).size());
+        assertEquals(0, generator().generate(List.of(""), 10).size());
+    }
+
+    /**
+     * Note text that counts the characters read once the sink has had enough cards
+     */
+    private static class WatchedText implements CharSequence {
+        private final String text;
+        boolean sinkFull;
+        long readsAfterFull;
+
+        WatchedText(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (sinkFull) readsAfterFull++;
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    @Test
+    void testLargeNotesStopStreamingAtMaxCards() {
+        StringBuilder unit = new StringBuilder();
+        Random random = new Random(9);
+        for (int i = 0; i < 2000; i++) {
+            unit.append("Term").append(random.nextInt(5000)).append(" relates to concept").append(random.nextInt(5000))
+                .append(" through a mechanism studied in chapter ").append(i % 40).append(". ");
+        }
+        WatchedText first = new WatchedText(unit.toString().repeat(32));
+        WatchedText second = new WatchedText(unit.toString());
+        assertTrue(first.length() > 4_000_000);
+
+        int max = ClozeFlashcardGenerator.DEFAULT_MAX_CARDS;
+        List<Flashcard> streamed = new ArrayList<>();
+        int made = generator().generate(List.of(first, second), max, card -> {
+            streamed.add(card);
+            if (streamed.size() == max) {
+                first.sinkFull = true;
+                second.sinkFull = true;
+            }
+        });
+
+        assertEquals(max, made);
+        assertEquals(max, streamed.size());
+        Set<String> answers = new HashSet<>();
+        for (Flashcard card : streamed) {
+            assertTrue(answers.add(card.getAnswer().toLowerCase()), "asked twice: " + card.getAnswer());
+            assertTrue(card.getQuestion().contains(ClozeFlashcardGenerator.BLANK));
+        }
+        // Nothing past the sentence of the last card is read
+        assertEquals(0, first.readsAfterFull);
+        assertEquals(0, second.readsAfterFull);
+    }
+}
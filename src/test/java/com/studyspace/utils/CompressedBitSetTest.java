@@ -0,0 +1,102 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for CompressedBitSet
+ */
+public class CompressedBitSetTest {
+
+    private static int[] toArray(BitSet bits) {
+        return bits.stream().toArray();
+    }
+
+    /**
+     * Values spread over a few chunks, dense enough in one of them to switch it to a bitmap
+     */
+    private static int randomValue(Random random) {
+        int chunk = random.nextInt(3);
+        return chunk == 0 ? random.nextInt(8000) : chunk * 65536 + random.nextInt(200_000 / 3);
+    }
+
+    @Test
+    void testMatchesBitSetUnderRandomUpdates() {
+        Random random = new Random(61);
+        CompressedBitSet set = new CompressedBitSet();
+        BitSet expected = new BitSet();
+        for (int step = 0; step < 40_000; step++) {
+            int value = randomValue(random);
+            // Mostly adds at first, mostly removes later, so chunks grow past and shrink below the limit
+            if (random.nextInt(10) < (step < 25_000 ? 8 : 2)) {
+                set.add(value);
+                expected.set(value);
+            } else {
+                set.remove(value);
+                expected.clear(value);
+            }
+            if (step % 5000 == 0) {
+                assertEquals(expected.cardinality(), set.cardinality());
+            }
+        }
+        assertEquals(expected.cardinality(), set.cardinality());
+        assertArrayEquals(toArray(expected), set.toArray());
+        for (int i = 0; i < 1000; i++) {
+            int value = randomValue(random);
+            assertEquals(expected.get(value), set.contains(value));
+        }
+    }
+
+    @Test
+    void testSetOperationsMatchBitSet() {
+        Random random = new Random(62);
+        for (int round = 0; round < 20; round++) {
+            CompressedBitSet a = new CompressedBitSet();
+            CompressedBitSet b = new CompressedBitSet();
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            // One sparse and one dense operand on some rounds
+            int countA = round % 2 == 0 ? 300 : 9000;
+            for (int i = 0; i < countA; i++) {
+                int value = randomValue(random);
+                a.add(value);
+                expectedA.set(value);
+            }
+            for (int i = 0; i < 6000; i++) {
+                int value = randomValue(random);
+                b.add(value);
+                expectedB.set(value);
+            }
+
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+            BitSet andNot = (BitSet) expectedA.clone();
+            andNot.andNot(expectedB);
+
+            assertArrayEquals(toArray(and), a.and(b).toArray());
+            assertEquals(and.cardinality(), a.andCardinality(b));
+            assertArrayEquals(toArray(or), a.or(b).toArray());
+            assertArrayEquals(toArray(andNot), a.andNot(b).toArray());
+            // Operands are left alone
+            assertArrayEquals(toArray(expectedA), a.toArray());
+        }
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        CompressedBitSet set = new CompressedBitSet();
+        set.add(3);
+        set.add(70_000);
+        CompressedBitSet copy = set.copy();
+        copy.remove(3);
+        assertTrue(set.contains(3));
+        assertFalse(copy.contains(3));
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals(1, copy.cardinality());
+    }
+}
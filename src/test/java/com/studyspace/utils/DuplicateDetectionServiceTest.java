@@ -0,0 +1,153 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for DuplicateDetectionService
+ */
+public class DuplicateDetectionServiceTest {
+
+    /**
+     * Holds the library in memory and records what was saved
+     */
+    private static class MemoryStorage implements DuplicateDetectionService.Storage {
+        final List<FlashcardDeck> decks = new ArrayList<>();
+        final List<Quiz> quizzes = new ArrayList<>();
+        final List<FlashcardDeck> savedDecks = new ArrayList<>();
+        final List<Quiz> savedQuizzes = new ArrayList<>();
+
+        @Override
+        public List<FlashcardDeck> getAllFlashcardDecks() {
+            return decks;
+        }
+
+        @Override
+        public List<Quiz> getAllQuizzes() {
+            return quizzes;
+        }
+
+        @Override
+        public void saveFlashcardDeck(FlashcardDeck deck) {
+            savedDecks.add(deck);
+        }
+
+        @Override
+        public void saveQuiz(Quiz quiz) {
+            savedQuizzes.add(quiz);
+        }
+    }
+
+    private static FlashcardDeck deck(String id, Flashcard... cards) {
+        FlashcardDeck deck = new FlashcardDeck("Deck " + id, "", "Biology", Flashcard.Difficulty.MEDIUM);
+        deck.setId(id);
+        for (Flashcard card : cards) {
+            deck.addFlashcard(card);
+        }
+        return deck;
+    }
+
+    private static Flashcard card(String id, String question, int timesStudied) {
+        Flashcard card = new Flashcard(question, "The mitochondria", Flashcard.Difficulty.MEDIUM);
+        card.setId(id);
+        card.setTimesStudied(timesStudied);
+        return card;
+    }
+
+    private static Quiz quiz(String id, Question... questions) {
+        Quiz quiz = new Quiz();
+        quiz.setId(id);
+        for (Question question : questions) {
+            quiz.addQuestion(question);
+        }
+        return quiz;
+    }
+
+    private static Question question(String id, String text) {
+        Question question = new Question(text, List.of("A", "B", "C", "D"), 0, "", Flashcard.Difficulty.EASY);
+        question.setId(id);
+        return question;
+    }
+
+    @Test
+    void testMergeKeepsTheMostStudiedCard() {
+        MemoryStorage storage = new MemoryStorage();
+        Flashcard rarelyStudied = card("card_1", "What is the powerhouse of the cell?", 1);
+        Flashcard mostStudied = card("card_2", "What is the powerhouse of the cell??", 9);
+        Flashcard other = card("card_3", "Which organelle carries out photosynthesis?", 4);
+        Flashcard copy = card("card_4", "what is the powerhouse of the cell", 3);
+        FlashcardDeck first = deck("deck_1", rarelyStudied, other);
+        FlashcardDeck second = deck("deck_2", mostStudied, copy);
+        storage.decks.addAll(List.of(first, second));
+
+        DuplicateDetectionService service = new DuplicateDetectionService(storage, NearDuplicateIndex.DEFAULT_THRESHOLD);
+        List<List<DuplicateDetectionService.CardRef>> clusters = service.findFlashcardDuplicates();
+        assertEquals(1, clusters.size());
+        assertEquals(3, clusters.get(0).size());
+
+        assertEquals(2, service.mergeFlashcardClusters(clusters));
+        assertEquals(List.of(other), first.getFlashcards());
+        assertEquals(List.of(mostStudied), second.getFlashcards());
+        assertEquals(List.of(first, second), storage.savedDecks);
+        assertTrue(service.findFlashcardDuplicates().isEmpty());
+    }
+
+    @Test
+    void testMergeNeverEmptiesADeck() {
+        MemoryStorage storage = new MemoryStorage();
+        Flashcard kept = card("card_1", "What is the powerhouse of the cell?", 5);
+        Flashcard onlyCard = card("card_2", "What is the powerhouse of the cell?", 1);
+        Flashcard removable = card("card_3", "What is the powerhouse of the cell?", 2);
+        FlashcardDeck main = deck("deck_1", kept, removable);
+        FlashcardDeck single = deck("deck_2", onlyCard);
+        storage.decks.addAll(List.of(main, single));
+
+        DuplicateDetectionService service = new DuplicateDetectionService(storage, NearDuplicateIndex.DEFAULT_THRESHOLD);
+        assertEquals(1, service.mergeFlashcardClusters(service.findFlashcardDuplicates()));
+        assertEquals(List.of(kept), main.getFlashcards());
+        assertEquals(List.of(onlyCard), single.getFlashcards());
+        // Only the deck that lost a card is saved
+        assertEquals(List.of(main), storage.savedDecks);
+    }
+
+    @Test
+    void testMergeQuestionClustersKeepsTheFirstQuestion() {
+        MemoryStorage storage = new MemoryStorage();
+        Question original = question("question_1", "What is the capital city of Australia?");
+        Question repeat = question("question_2", "What is the capital city of Australia");
+        Question lone = question("question_3", "What is the capital city of Australia?!");
+        Question unrelated = question("question_4", "Which planet is closest to the sun?");
+        Quiz first = quiz("quiz_1", original, unrelated);
+        Quiz second = quiz("quiz_2", repeat, question("question_5", "Name the largest ocean on Earth"));
+        Quiz single = quiz("quiz_3", lone);
+        storage.quizzes.addAll(List.of(first, second, single));
+
+        DuplicateDetectionService service = new DuplicateDetectionService(storage, NearDuplicateIndex.DEFAULT_THRESHOLD);
+        List<List<DuplicateDetectionService.QuestionRef>> clusters = service.findQuestionDuplicates();
+        assertEquals(1, clusters.size());
+        assertSame(original, clusters.get(0).get(0).getQuestion());
+
+        assertEquals(1, service.mergeQuestionClusters(clusters));
+        assertEquals(List.of(original, unrelated), first.getQuestions());
+        assertEquals(1, second.getQuestionCount());
+        assertEquals(List.of(lone), single.getQuestions());
+        assertEquals(Set.of("question_2"), second.getRemovedQuestionIds());
+        assertEquals(List.of(second), storage.savedQuizzes);
+    }
+
+    @Test
+    void testFindExistingDuplicates() {
+        MemoryStorage storage = new MemoryStorage();
+        storage.decks.add(deck("deck_1", card("card_1", "What is the powerhouse of the cell?", 0)));
+
+        DuplicateDetectionService service = new DuplicateDetectionService(storage, NearDuplicateIndex.DEFAULT_THRESHOLD);
+        Flashcard repeatsLibrary = card("new_1", "What is the powerhouse of the cell", 0);
+        Flashcard fresh = card("new_2", "Which organelle carries out photosynthesis?", 0);
+        Flashcard repeatsBatch = card("new_3", "Which organelle carries out photosynthesis??", 0);
+        assertEquals(List.of(repeatsLibrary, repeatsBatch),
+            service.findExistingDuplicates(List.of(repeatsLibrary, fresh, repeatsBatch)));
+    }
+}
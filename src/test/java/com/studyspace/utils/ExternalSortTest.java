@@ -0,0 +1,153 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Test class for ExternalSort
+ */
+public class ExternalSortTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Activities generated on demand, so the input itself never sits in memory
+     */
+    private Iterator<Activity> activities(int count, long seed) {
+        Random random = new Random(seed);
+        return new Iterator<Activity>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public Activity next() {
+                Activity activity = new Activity("user_1", ActivityType.FLASHCARDS_REVIEWED, "Studied deck " + random.nextInt(500));
+                activity.setId(String.valueOf(next++));
+                // Coarse timestamps so many records tie and stability is exercised
+                activity.setTimestamp(BASE.plusMinutes(random.nextInt(5000)));
+                return activity;
+            }
+        };
+    }
+
+    private List<Activity> sortWithBudget(int count, long budget) throws IOException {
+        List<Activity> sorted = new ArrayList<>();
+        ExternalSort<Activity> sorter = new ExternalSort<>(
+            Comparator.comparing(Activity::getTimestamp), ExternalSort.ACTIVITY_CODEC, budget, tempDir);
+        sorter.sort(activities(count, 42), sorted::add);
+        return sorted;
+    }
+
+    private void assertStablySorted(List<Activity> sorted) {
+        for (int i = 1; i < sorted.size(); i++) {
+            Activity previous = sorted.get(i - 1);
+            Activity current = sorted.get(i);
+            int order = previous.getTimestamp().compareTo(current.getTimestamp());
+            assertTrue(order <= 0, "Out of order at " + i);
+            if (order == 0) {
+                assertTrue(Integer.parseInt(previous.getId()) < Integer.parseInt(current.getId()),
+                    "Equal timestamps should keep input order at " + i);
+            }
+        }
+    }
+
+    @Test
+    void testSmallInputSortsInMemory() throws IOException {
+        ExternalSort<Activity> sorter = new ExternalSort<>(
+            Comparator.comparing(Activity::getTimestamp), ExternalSort.ACTIVITY_CODEC, 10_000_000, tempDir);
+        List<Activity> sorted = new ArrayList<>();
+        sorter.sort(activities(1000, 1), sorted::add);
+
+        assertEquals(1000, sorted.size());
+        assertEquals(0, sorter.getSpilledRuns(), "Input within the budget should not spill");
+        assertStablySorted(sorted);
+    }
+
+    @Test
+    void testSpilledRunsMergeInOrder() throws IOException {
+        // A budget of ~60 records per run gives dozens of runs merged in one pass
+        List<Activity> sorted = sortWithBudget(3000, 60 * 200);
+
+        assertEquals(3000, sorted.size());
+        assertStablySorted(sorted);
+    }
+
+    @Test
+    void testMultiPassMergeWithManyRuns() throws IOException {
+        // Far more runs than the merge fan-in, so intermediate runs are merged too
+        List<Activity> sorted = sortWithBudget(20_000, 1);
+
+        assertEquals(20_000, sorted.size());
+        assertStablySorted(sorted);
+    }
+
+    @Test
+    void testInputLargerThanBudgetMatchesInMemorySort() throws IOException {
+        List<Activity> expected = new ArrayList<>();
+        activities(5000, 42).forEachRemaining(expected::add);
+        expected.sort(Comparator.comparing(Activity::getTimestamp));
+
+        List<Activity> sorted = sortWithBudget(5000, 20_000);
+
+        assertEquals(expected.size(), sorted.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), sorted.get(i).getId());
+            assertEquals(expected.get(i).getDescription(), sorted.get(i).getDescription());
+            assertEquals(expected.get(i).getTimestamp(), sorted.get(i).getTimestamp());
+        }
+    }
+
+    @Test
+    void testTempFilesAreRemoved() throws IOException {
+        sortWithBudget(5000, 1000);
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "Run files should be deleted after the sort");
+        }
+    }
+
+    @Test
+    void testFlashcardCodecRoundTrip() throws IOException {
+        Flashcard card = new Flashcard("What is étendue?", "Extent", Flashcard.Difficulty.HARD);
+        card.setTimesStudied(7);
+        card.setLastStudied(BASE);
+        card.setEaseFactor(2.36);
+        card.setIntervalDays(15.5);
+        card.setRepetitions(4);
+        card.setLapses(2);
+        card.setDueAt(BASE.plusDays(15));
+
+        List<Flashcard> sorted = new ArrayList<>();
+        new ExternalSort<Flashcard>(Comparator.comparing(Flashcard::getQuestion), ExternalSort.FLASHCARD_CODEC, 1, tempDir)
+            .sort(List.of(card, new Flashcard("Another", "Card", Flashcard.Difficulty.EASY)).iterator(), sorted::add);
+
+        Flashcard copy = sorted.get(1);
+        assertEquals(card.getId(), copy.getId());
+        assertEquals(card.getQuestion(), copy.getQuestion());
+        assertEquals(card.getDifficulty(), copy.getDifficulty());
+        assertEquals(7, copy.getTimesStudied());
+        assertEquals(BASE, copy.getLastStudied());
+        assertEquals(2.36, copy.getEaseFactor());
+        assertEquals(15.5, copy.getIntervalDays());
+        assertEquals(4, copy.getRepetitions());
+        assertEquals(2, copy.getLapses());
+        assertEquals(BASE.plusDays(15), copy.getDueAt());
+        assertNull(sorted.get(0).getDueAt());
+    }
+}
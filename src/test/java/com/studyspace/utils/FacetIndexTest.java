@@ -0,0 +1,83 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.TodoItem;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for FacetIndex
+ */
+public class FacetIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 10);
+
+    private static FacetIndex<TodoItem> newIndex() {
+        return new FacetIndex<TodoItem>(TodoItem::getId)
+            .addFacet("priority", TodoItem::getPriority)
+            .addFacet("completed", TodoItem::isCompleted)
+            .addRangeFacet("due", TodoItem::getDueDate);
+    }
+
+    private static TodoItem randomTodo(Random random, int id) {
+        TodoItem todo = new TodoItem();
+        todo.setId("todo_" + id);
+        todo.setTitle("Todo " + id);
+        todo.setPriority(TodoItem.Priority.values()[random.nextInt(3)]);
+        todo.setCompleted(random.nextBoolean());
+        todo.setDueDate(random.nextInt(4) == 0 ? null : TODAY.plusDays(random.nextInt(21) - 10));
+        return todo;
+    }
+
+    @Test
+    void testFiltersAndCountsMatchAScanAfterUpdates() {
+        Random random = new Random(71);
+        FacetIndex<TodoItem> index = newIndex();
+        Map<String, TodoItem> live = new LinkedHashMap<>();
+        for (int step = 0; step < 3000; step++) {
+            int id = random.nextInt(500);
+            if (random.nextInt(5) == 0) {
+                index.remove("todo_" + id);
+                live.remove("todo_" + id);
+            } else {
+                // Saving a changed todo re-indexes it under the same id
+                TodoItem todo = randomTodo(random, id);
+                index.put(todo);
+                live.put(todo.getId(), todo);
+            }
+        }
+        assertEquals(live.size(), index.size());
+
+        for (TodoItem.Priority priority : TodoItem.Priority.values()) {
+            Set<String> expected = live.values().stream()
+                .filter(todo -> todo.getPriority() == priority && !todo.isCompleted())
+                .map(TodoItem::getId).collect(Collectors.toSet());
+            CompressedBitSet bits = index.bits("priority", priority).and(index.bits("completed", false));
+            assertEquals(expected, index.items(bits).stream().map(TodoItem::getId).collect(Collectors.toSet()));
+            assertEquals(expected.size(), index.bits("priority", priority).andCardinality(index.bits("completed", false)));
+        }
+
+        // Overdue: open, due before today; todos without a due date never match
+        Set<String> overdue = live.values().stream()
+            .filter(todo -> !todo.isCompleted() && todo.getDueDate() != null && todo.getDueDate().isBefore(TODAY))
+            .map(TodoItem::getId).collect(Collectors.toSet());
+        CompressedBitSet bits = index.range("due", null, TODAY).andNot(index.bits("completed", true));
+        assertEquals(overdue, index.items(bits).stream().map(TodoItem::getId).collect(Collectors.toSet()));
+
+        long completed = live.values().stream().filter(TodoItem::isCompleted).count();
+        assertEquals((int) completed, index.count("completed", true));
+        assertEquals(live.size(), index.counts("priority").values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void testRejectsUnknownAndNonRangeFacets() {
+        FacetIndex<TodoItem> index = newIndex();
+        assertThrows(IllegalArgumentException.class, () -> index.bits("missing", "x"));
+        assertThrows(IllegalArgumentException.class, () -> index.range("priority", null, null));
+        index.put(randomTodo(new Random(72), 1));
+        assertThrows(IllegalStateException.class, () -> index.addFacet("late", TodoItem::getCategory));
+    }
+}
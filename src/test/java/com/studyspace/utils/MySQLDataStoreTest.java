@@ -0,0 +1,61 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Flashcard;
+import com.studyspace.models.FlashcardDeck;
+import com.studyspace.models.Question;
+import com.studyspace.models.Quiz;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test class for MySQLDataStore
+ */
+public class MySQLDataStoreTest {
+
+    private static Flashcard card(String id) {
+        Flashcard card = new Flashcard("Question " + id, "Answer " + id, Flashcard.Difficulty.MEDIUM);
+        card.setId(id);
+        return card;
+    }
+
+    @Test
+    void testOnlyRemovedIdsAreDeleted() {
+        // Rows missing from memory but never removed are not touched
+        assertEquals(List.of(), MySQLDataStore.idsToDelete(Set.of(), List.of("card_1")));
+        assertEquals(List.of("card_2"), MySQLDataStore.idsToDelete(Set.of("card_2"), List.of("card_1")));
+        // A merged duplicate sharing the kept card's id must not delete it
+        assertEquals(List.of(), MySQLDataStore.idsToDelete(Set.of("card_1"), List.of("card_1")));
+    }
+
+    @Test
+    void testDeckRecordsRemovedCards() {
+        FlashcardDeck deck = new FlashcardDeck("Biology", "", "Science", Flashcard.Difficulty.MEDIUM);
+        Flashcard first = card("card_1");
+        Flashcard second = card("card_2");
+        deck.addFlashcard(first);
+        deck.addFlashcard(second);
+
+        assertTrue(deck.removeFlashcard(second));
+        assertFalse(deck.removeFlashcard(card("card_3")));
+        assertEquals(Set.of("card_2"), deck.getRemovedFlashcardIds());
+
+        deck.clearRemovedFlashcardIds();
+        assertTrue(deck.getRemovedFlashcardIds().isEmpty());
+    }
+
+    @Test
+    void testQuizRecordsRemovedQuestions() {
+        Quiz quiz = new Quiz();
+        Question question = new Question("What is 2 + 2?", List.of("3", "4", "5", "6"), 1, "", Flashcard.Difficulty.EASY);
+        question.setId("question_1");
+        quiz.addQuestion(question);
+
+        assertTrue(quiz.removeQuestion(question));
+        assertEquals(Set.of("question_1"), quiz.getRemovedQuestionIds());
+        quiz.clearRemovedQuestionIds();
+        assertTrue(quiz.getRemovedQuestionIds().isEmpty());
+    }
+}
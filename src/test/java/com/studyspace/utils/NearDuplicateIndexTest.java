@@ -0,0 +1,122 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for NearDuplicateIndex
+ */
+public class NearDuplicateIndexTest {
+
+    /**
+     * An id and its text, as the index sees any item
+     */
+    private static class Item {
+        final String id;
+        final String text;
+
+        Item(String id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+
+    private static NearDuplicateIndex<Item> index() {
+        return new NearDuplicateIndex<>(item -> item.id, item -> item.text);
+    }
+
+    private static List<String> ids(List<Item> items) {
+        List<String> ids = new ArrayList<>();
+        for (Item item : items) {
+            ids.add(item.id);
+        }
+        return ids;
+    }
+
+    @Test
+    void testSimilarityOfNearIdenticalAndUnrelatedText() {
+        // Case, punctuation and spacing are normalized away
+        assertEquals(1.0, NearDuplicateIndex.similarity(
+            "What is the powerhouse of the cell? The mitochondria",
+            "what is the powerhouse of the cell??   the mitochondria."));
+        assertTrue(NearDuplicateIndex.similarity(
+            "What is the powerhouse of the cell?\nThe mitochondria produce ATP",
+            "What is the powerhouse of a cell?\nThe mitochondria produces ATP") >= NearDuplicateIndex.DEFAULT_THRESHOLD);
+        assertTrue(NearDuplicateIndex.similarity(
+            "What is the powerhouse of the cell?",
+            "Name the capital city of Australia") < 0.2);
+        // Nothing to hash is never similar to anything
+        assertEquals(0.0, NearDuplicateIndex.similarity("?!", "?!"));
+        assertEquals(0.0, NearDuplicateIndex.similarity(null, "text"));
+    }
+
+    @Test
+    void testFindSimilar() {
+        NearDuplicateIndex<Item> index = index();
+        index.put(new Item("a", "What is the powerhouse of the cell?\nThe mitochondria produce ATP"));
+        index.put(new Item("b", "Name the capital city of Australia\nCanberra"));
+        index.put(new Item("c", "What is the powerhouse of the cell?\nThe mitochondria produce ATP!"));
+
+        List<NearDuplicateIndex.Match<Item>> matches = index.findSimilar(
+            "What is the powerhouse of a cell?\nThe mitochondria produces ATP", NearDuplicateIndex.DEFAULT_THRESHOLD);
+        assertEquals(2, matches.size());
+        Set<String> found = new HashSet<>();
+        for (NearDuplicateIndex.Match<Item> match : matches) {
+            found.add(match.getItem().id);
+            assertTrue(match.getSimilarity() >= NearDuplicateIndex.DEFAULT_THRESHOLD);
+        }
+        assertEquals(Set.of("a", "c"), found);
+        assertTrue(index.findSimilar("Describe the water cycle", NearDuplicateIndex.DEFAULT_THRESHOLD).isEmpty());
+
+        // Removed and re-indexed items are looked up by their current text
+        index.remove("a");
+        index.put(new Item("c", "Describe the water cycle"));
+        assertEquals(2, index.size());
+        assertTrue(index.findSimilar("What is the powerhouse of the cell?\nThe mitochondria produce ATP",
+            NearDuplicateIndex.DEFAULT_THRESHOLD).isEmpty());
+        assertEquals("c", index.findSimilar("Describe the water cycle", 1.0).get(0).getItem().id);
+    }
+
+    @Test
+    void testFindClusters() {
+        NearDuplicateIndex<Item> index = index();
+        index.put(new Item("cell_1", "What is the powerhouse of the cell? The mitochondria"));
+        index.put(new Item("capital", "Name the capital city of Australia"));
+        index.put(new Item("cell_2", "what is the powerhouse of the cell?? the mitochondria."));
+        index.put(new Item("leaf_1", "Which organelle carries out photosynthesis in plant cells?"));
+        index.put(new Item("cell_3", "What is the powerhouse of the cell? The mitochondria!"));
+        index.put(new Item("leaf_2", "Which organelle carries out photosynthesis in plant cells"));
+        index.put(new Item("empty", "..."));
+
+        List<List<Item>> clusters = index.findClusters(NearDuplicateIndex.DEFAULT_THRESHOLD);
+        assertEquals(2, clusters.size());
+        // Clusters and their members follow insertion order
+        assertEquals(List.of("cell_1", "cell_2", "cell_3"), ids(clusters.get(0)));
+        assertEquals(List.of("leaf_1", "leaf_2"), ids(clusters.get(1)));
+
+        index.remove("cell_2");
+        index.remove("cell_3");
+        clusters = index.findClusters(NearDuplicateIndex.DEFAULT_THRESHOLD);
+        assertEquals(1, clusters.size());
+        assertEquals(List.of("leaf_1", "leaf_2"), ids(clusters.get(0)));
+    }
+
+    @Test
+    void testFindClustersOnManyCopies() {
+        // Every copy of a question sits in the same buckets as all the others
+        NearDuplicateIndex<Item> index = index();
+        for (int i = 0; i < 500; i++) {
+            index.put(new Item("q" + i, "Question " + (i % 50) + ": which enzyme unwinds the DNA helix?"));
+        }
+        List<List<Item>> clusters = index.findClusters(1.0);
+        assertEquals(50, clusters.size());
+        for (List<Item> cluster : clusters) {
+            assertEquals(10, cluster.size());
+            for (Item item : cluster) {
+                assertEquals(cluster.get(0).text, item.text);
+            }
+        }
+    }
+}
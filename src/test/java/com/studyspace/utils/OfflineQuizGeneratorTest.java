@@ -0,0 +1,101 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Flashcard;
+import com.studyspace.models.Question;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for OfflineQuizGenerator
+ */
+public class OfflineQuizGeneratorTest {
+
+    private static final String[] TOPICS = {"cell", "planet", "empire", "reaction", "poem", "theorem", "river", "enzyme"};
+
+    private static List<Flashcard> syntheticCards(int count, Random random) {
+        List<Flashcard> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String topic = TOPICS[i % TOPICS.length];
+            String question = "Which " + topic + " term matches clue " + i + " about " + topic + "group" + (i % 97) + "?";
+            String answer = i % 5 == 0
+                ? String.valueOf(1500 + random.nextInt(500))
+                : topic + "word" + i + " " + topic + "kind" + (i % 13);
+            cards.add(new Flashcard(question, answer, Flashcard.Difficulty.values()[i % 3]));
+        }
+        return cards;
+    }
+
+    @Test
+    void testQuestionsHaveOneCorrectAnswerAmongDistinctOptionsOfTheSameType() {
+        List<Flashcard> cards = syntheticCards(400, new Random(1));
+        OfflineQuizGenerator generator = new OfflineQuizGenerator(cards, new Random(2));
+        Map<String, String> answersByQuestion = new HashMap<>();
+        for (Flashcard card : cards) {
+            answersByQuestion.put(card.getQuestion(), card.getAnswer());
+        }
+
+        List<Question> questions = generator.generate(50, Flashcard.Difficulty.HARD);
+        assertEquals(50, questions.size());
+        Set<String> ids = new HashSet<>();
+        for (Question question : questions) {
+            assertTrue(ids.add(question.getId()));
+            assertEquals(Flashcard.Difficulty.HARD, question.getDifficulty());
+            List<String> options = question.getOptions();
+            assertEquals(OfflineQuizGenerator.OPTION_COUNT, options.size());
+            assertEquals(OfflineQuizGenerator.OPTION_COUNT, new HashSet<>(options).size());
+
+            String answer = answersByQuestion.get(question.getQuestionText());
+            assertEquals(answer, question.getCorrectAnswer());
+            boolean year = answer.matches("\\d{4}");
+            for (String option : options) {
+                assertEquals(year, option.matches("\\d{4}"), option + " as an option for " + answer);
+            }
+        }
+    }
+
+    @Test
+    void testDistractorsComeFromRelatedCards() {
+        List<Flashcard> cards = new ArrayList<>(List.of(
+            new Flashcard("Capital city of France?", "Paris", Flashcard.Difficulty.EASY),
+            new Flashcard("Capital city of Italy?", "Rome", Flashcard.Difficulty.EASY),
+            new Flashcard("Capital city of Spain?", "Madrid", Flashcard.Difficulty.EASY),
+            new Flashcard("Capital city of Germany?", "Berlin", Flashcard.Difficulty.EASY),
+            new Flashcard("Powerhouse organelle of the cell?", "Mitochondria", Flashcard.Difficulty.EASY),
+            new Flashcard("Organelle holding the cell DNA?", "Nucleus", Flashcard.Difficulty.EASY),
+            new Flashcard("Organelle making cell proteins?", "Ribosome", Flashcard.Difficulty.EASY),
+            new Flashcard("Organelle doing cell photosynthesis?", "Chloroplast", Flashcard.Difficulty.EASY),
+            new Flashcard("Is water wet?", "Yes", Flashcard.Difficulty.EASY)));
+        for (int i = 0; i < 40; i++) {
+            cards.add(new Flashcard("Filler question number " + i + " zebra" + i, "filler" + i, Flashcard.Difficulty.EASY));
+        }
+        OfflineQuizGenerator generator = new OfflineQuizGenerator(cards, new Random(4));
+
+        List<Question> questions = generator.generate(cards.size(), null);
+        Set<String> capitals = Set.of("Paris", "Rome", "Madrid", "Berlin");
+        Set<String> organelles = Set.of("Mitochondria", "Nucleus", "Ribosome", "Chloroplast");
+        for (Question question : questions) {
+            assertNotEquals("Is water wet?", question.getQuestionText());
+            if (question.getQuestionText().startsWith("Capital")) {
+                assertTrue(capitals.containsAll(question.getOptions()), question.getOptions().toString());
+            } else if (question.getQuestionText().startsWith("Organelle") || question.getQuestionText().startsWith("Powerhouse")) {
+                assertTrue(organelles.containsAll(question.getOptions()), question.getOptions().toString());
+            }
+        }
+    }
+
+    @Test
+    void testFiftyQuestionsFromFiveThousandCards() {
+        // Timing lives in the benchmarks module (OfflineQuizBenchmark); this checks the large case works
+        List<Flashcard> cards = syntheticCards(5000, new Random(7));
+        for (int run = 0; run < 5; run++) {
+            List<Question> questions = new OfflineQuizGenerator(cards, new Random(run)).generate(50, null);
+            assertEquals(50, questions.size());
+            Set<String> asked = new HashSet<>();
+            for (Question question : questions) {
+                assertTrue(asked.add(question.getQuestionText()), "asked twice: " + question.getQuestionText());
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test class for ParallelMergeSort
+ */
+public class ParallelMergeSortTest {
+
+    /**
+     * A sort key with its original position, so ties can be told apart
+     */
+    private static class Entry {
+        final int key;
+        final int position;
+
+        Entry(int key, int position) {
+            this.key = key;
+            this.position = position;
+        }
+    }
+
+    private static final Comparator<Entry> BY_KEY = Comparator.comparingInt(entry -> entry.key);
+
+    // About ten distinct keys, so nearly every element ties with thousands of others
+    private static List<Entry> entries(int size, long seed) {
+        Random random = new Random(seed);
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(random.nextInt(10), i));
+        }
+        return entries;
+    }
+
+    private static void assertSameOrder(List<Entry> expected, List<Entry> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i), "position " + i);
+        }
+    }
+
+    @Test
+    void testStableAboveTheDefaultThreshold() {
+        List<Entry> entries = entries(ParallelMergeSort.DEFAULT_THRESHOLD * 6 + 17, 1);
+        List<Entry> expected = new ArrayList<>(entries);
+        expected.sort(BY_KEY);
+
+        ParallelMergeSort.sort(entries, BY_KEY);
+        assertSameOrder(expected, entries);
+    }
+
+    @Test
+    void testStableWithATinyThreshold() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int size : new int[] { 2, 33, 1000, 20_000 }) {
+                List<Entry> entries = entries(size, size);
+                List<Entry> expected = new ArrayList<>(entries);
+                expected.sort(BY_KEY);
+
+                ParallelMergeSort.sort(entries, BY_KEY, 1, pool);
+                assertSameOrder(expected, entries);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSortsALinkedListInPlace() {
+        LinkedList<Entry> entries = new LinkedList<>(entries(ParallelMergeSort.DEFAULT_THRESHOLD * 2 + 1, 7));
+        List<Entry> expected = new ArrayList<>(entries);
+        expected.sort(BY_KEY);
+
+        ParallelMergeSort.sort(entries, BY_KEY, 64, ForkJoinPool.commonPool());
+        assertSameOrder(expected, entries);
+    }
+
+    @Test
+    void testNaturalOrderAndEdgeCases() {
+        List<Integer> values = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            values.add(random.nextInt());
+        }
+        List<Integer> expected = new ArrayList<>(values);
+        Collections.sort(expected);
+        ParallelMergeSort.sort(values);
+        assertEquals(expected, values);
+
+        // Already sorted input takes the merge short-cut and stays sorted
+        ParallelMergeSort.sort(values);
+        assertEquals(expected, values);
+
+        List<Integer> empty = new ArrayList<>();
+        ParallelMergeSort.sort(empty);
+        assertTrue(empty.isEmpty());
+        List<Integer> single = new ArrayList<>(List.of(5));
+        ParallelMergeSort.sort(single);
+        assertEquals(List.of(5), single);
+        ParallelMergeSort.sort((List<Integer>) null);
+    }
+}
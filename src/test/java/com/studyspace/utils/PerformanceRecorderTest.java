@@ -0,0 +1,225 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Test class for PerformanceRecorder and the instrumented AlgorithmUtils variants
+ */
+public class PerformanceRecorderTest {
+
+    /**
+     * Integer key whose compareTo counts its own calls, so the instrumented
+     * counts can be checked against a hand-kept tally
+     */
+    private static class Key implements Comparable<Key> {
+        static long compareCalls;
+        final int value;
+
+        Key(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            compareCalls++;
+            return Integer.compare(value, other.value);
+        }
+    }
+
+    private static List<Key> keys(int size, long seed) {
+        Random random = new Random(seed);
+        List<Key> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(new Key(random.nextInt(100)));
+        }
+        return keys;
+    }
+
+    private static void assertSorted(List<Key> keys) {
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).value <= keys.get(i).value, "position " + i);
+        }
+    }
+
+    /**
+     * Runs the work with a private recorder on this thread and puts the old one back
+     */
+    private static <R> R withRecorder(PerformanceRecorder recorder, Function<PerformanceRecorder, R> work) {
+        PerformanceRecorder previous = PerformanceRecorder.useOnCurrentThread(recorder);
+        try {
+            return work.apply(recorder);
+        } finally {
+            PerformanceRecorder.useOnCurrentThread(previous);
+        }
+    }
+
+    @Test
+    void testComparisonsMatchAHandCount() {
+        Map<String, Function<List<Key>, AlgorithmUtils.PerformanceMetrics>> sorts = new LinkedHashMap<>();
+        sorts.put("bubbleSort", AlgorithmUtils::bubbleSortWithMetrics);
+        sorts.put("insertionSort", AlgorithmUtils::insertionSortWithMetrics);
+        sorts.put("selectionSort", AlgorithmUtils::selectionSortWithMetrics);
+        sorts.put("heapSort", AlgorithmUtils::heapSortWithMetrics);
+        sorts.put("mergeSort", AlgorithmUtils::mergeSortWithMetrics);
+        sorts.put("quickSort", AlgorithmUtils::quickSortWithMetrics);
+
+        withRecorder(PerformanceRecorder.createPrivate(), recorder -> {
+            for (Map.Entry<String, Function<List<Key>, AlgorithmUtils.PerformanceMetrics>> sort : sorts.entrySet()) {
+                List<Key> keys = keys(300, 1);
+                Key.compareCalls = 0;
+                AlgorithmUtils.PerformanceMetrics metrics = sort.getValue().apply(keys);
+
+                assertSorted(keys);
+                assertEquals(sort.getKey(), metrics.getOperation());
+                assertEquals(300, metrics.getInputSize());
+                assertTrue(metrics.getComparisons() > 0, sort.getKey());
+                assertEquals(Key.compareCalls, metrics.getComparisons(), sort.getKey());
+                assertTrue(metrics.getSwaps() >= 0, sort.getKey());
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void testComparatorVariantCountsTheComparatorCalls() {
+        long[] calls = new long[1];
+        Comparator<Integer> byValue = (a, b) -> {
+            calls[0]++;
+            return Integer.compare(a, b);
+        };
+        List<Integer> values = new ArrayList<>();
+        Random random = new Random(2);
+        for (int i = 0; i < 5000; i++) {
+            values.add(random.nextInt());
+        }
+
+        AlgorithmUtils.PerformanceMetrics metrics = withRecorder(PerformanceRecorder.createPrivate(),
+            recorder -> AlgorithmUtils.smartSortWithMetrics(values, byValue));
+        assertEquals("smartSort", metrics.getOperation());
+        assertTrue(metrics.getComparisons() > 0);
+        assertEquals(calls[0], metrics.getComparisons());
+        for (int i = 1; i < values.size(); i++) {
+            assertTrue(values.get(i - 1) <= values.get(i));
+        }
+    }
+
+    @Test
+    void testSwapsAreEstimatedFromWrites() {
+        // Bubble sort swaps exactly once per inversion
+        List<Key> keys = keys(200, 3);
+        long inversions = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            for (int j = i + 1; j < keys.size(); j++) {
+                if (keys.get(i).value > keys.get(j).value) inversions++;
+            }
+        }
+        AlgorithmUtils.PerformanceMetrics bubble = withRecorder(PerformanceRecorder.createPrivate(),
+            recorder -> AlgorithmUtils.bubbleSortWithMetrics(keys));
+        assertEquals(inversions, bubble.getSwaps());
+
+        // The merge sorts write every element back once, whatever the input
+        AlgorithmUtils.PerformanceMetrics merge = withRecorder(PerformanceRecorder.createPrivate(),
+            recorder -> AlgorithmUtils.mergeSortWithMetrics(keys(201, 4)));
+        assertEquals(101, merge.getSwaps());
+    }
+
+    @Test
+    void testCountsAreMinusOneWhenDisabled() {
+        PerformanceRecorder disabled = PerformanceRecorder.createPrivate();
+        disabled.setEnabled(false);
+        List<Key> keys = keys(100, 5);
+
+        withRecorder(disabled, recorder -> {
+            AlgorithmUtils.PerformanceMetrics sort = AlgorithmUtils.heapSortWithMetrics(keys);
+            assertSorted(keys);
+            assertEquals(-1, sort.getComparisons());
+            assertEquals(-1, sort.getSwaps());
+            assertEquals(-1, sort.getAllocatedBytes());
+            assertTrue(sort.getExecutionNanos() >= 0);
+
+            AlgorithmUtils.MeasuredResult<Integer> search = AlgorithmUtils.binarySearchWithMetrics(keys, keys.get(40));
+            assertEquals(-1, search.getMetrics().getComparisons());
+            return null;
+        });
+        assertTrue(disabled.getSummaries().isEmpty());
+    }
+
+    @Test
+    void testSearchesReturnThePlainIndex() {
+        List<Integer> sorted = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            sorted.add(i * 3);
+        }
+        withRecorder(PerformanceRecorder.createPrivate(), recorder -> {
+            for (int target : new int[] { 0, 2997, 1500, 1501, -3, 5000 }) {
+                AlgorithmUtils.MeasuredResult<Integer> linear = AlgorithmUtils.linearSearchWithMetrics(sorted, target);
+                AlgorithmUtils.MeasuredResult<Integer> binary = AlgorithmUtils.binarySearchWithMetrics(sorted, target);
+                AlgorithmUtils.MeasuredResult<Integer> interpolation =
+                    AlgorithmUtils.interpolationSearchWithMetrics(sorted, target);
+
+                assertEquals(AlgorithmUtils.linearSearch(sorted, target), (int) linear.getResult());
+                assertEquals(AlgorithmUtils.binarySearch(sorted, target), (int) binary.getResult());
+                assertEquals(AlgorithmUtils.interpolationSearch(sorted, target), (int) interpolation.getResult());
+                assertTrue(binary.getMetrics().getComparisons() <= 11, "target " + target);
+                assertEquals(0, binary.getMetrics().getSwaps());
+            }
+            // A linear scan reads every element up to the match
+            assertEquals(501, AlgorithmUtils.linearSearchWithMetrics(sorted, 1500).getMetrics().getComparisons());
+            return null;
+        });
+    }
+
+    @Test
+    void testRecorderAggregatesPerOperation() {
+        PerformanceRecorder recorder = PerformanceRecorder.createPrivate();
+        long comparisons = withRecorder(recorder, r -> {
+            long total = AlgorithmUtils.insertionSortWithMetrics(keys(50, 6)).getComparisons();
+            total += AlgorithmUtils.insertionSortWithMetrics(keys(70, 7)).getComparisons();
+            AlgorithmUtils.linearSearchWithMetrics(List.of(1, 2, 3), 3);
+            return total;
+        });
+
+        List<PerformanceRecorder.Summary> summaries = recorder.getSummaries();
+        assertEquals(2, summaries.size());
+        PerformanceRecorder.Summary insertion = summaries.get(0);
+        assertEquals("insertionSort", insertion.getOperation());
+        assertEquals(2, insertion.getCalls());
+        assertEquals(120, insertion.getTotalElements());
+        assertEquals(comparisons, insertion.getComparisons());
+        assertTrue(insertion.getMaxNanos() <= insertion.getTotalNanos());
+        PerformanceRecorder.Summary linear = summaries.get(1);
+        assertEquals("linearSearch", linear.getOperation());
+        assertEquals(1, linear.getCalls());
+        assertEquals(3, linear.getComparisons());
+
+        // A private recorder leaves the app-wide one alone
+        assertNotSame(recorder, PerformanceRecorder.current());
+        recorder.reset();
+        assertTrue(recorder.getSummaries().isEmpty());
+    }
+
+    @Test
+    void testCountingWrappers() {
+        CountingComparator<Integer> comparator = CountingComparator.natural();
+        assertTrue(comparator.compare(1, 2) < 0);
+        assertEquals(0, comparator.compare(2, 2));
+        assertEquals(2, comparator.getComparisons());
+        comparator.reset();
+        assertEquals(0, comparator.getComparisons());
+
+        List<Integer> backing = new ArrayList<>(List.of(3, 1, 2));
+        CountingList<Integer> view = new CountingList<>(backing);
+        Collections.swap(view, 0, 1);
+        assertEquals(List.of(1, 3, 2), backing);
+        // Collections.swap is one read and two writes
+        assertEquals(1, view.getReads());
+        assertEquals(2, view.getWrites());
+        assertEquals(1, (int) view.get(0));
+        assertEquals(2, view.getReads());
+        assertEquals(3, view.size());
+    }
+}
@@ -0,0 +1,164 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for PrimitiveSearch
+ */
+public class PrimitiveSearchTest {
+
+    /**
+     * Even, exponential (skewed) and duplicate-heavy key sets, all sorted
+     */
+    private static List<long[]> keySets(Random random) {
+        List<long[]> sets = new ArrayList<>();
+        sets.add(new long[0]);
+        sets.add(new long[] {42});
+        long[] even = new long[1000];
+        for (int i = 0; i < even.length; i++) {
+            even[i] = 19_000L + 3L * i;
+        }
+        sets.add(even);
+        long[] exponential = new long[62];
+        for (int i = 0; i < exponential.length; i++) {
+            exponential[i] = 1L << i;
+        }
+        sets.add(exponential);
+        long[] duplicates = new long[500];
+        for (int i = 0; i < duplicates.length; i++) {
+            duplicates[i] = random.nextInt(8) * 1_000_000L;
+        }
+        Arrays.sort(duplicates);
+        sets.add(duplicates);
+        long[] extremes = {Long.MIN_VALUE, -5, 0, 7, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        sets.add(extremes);
+        return sets;
+    }
+
+    /**
+     * Keys to look up: every present key, its neighbours, and values past both ends
+     */
+    private static long[] queries(long[] keys, Random random) {
+        List<Long> queries = new ArrayList<>(List.of(Long.MIN_VALUE, Long.MAX_VALUE, 0L, 1L, -1L));
+        for (long key : keys) {
+            queries.add(key);
+            queries.add(key - 1);
+            queries.add(key + 1);
+        }
+        for (int i = 0; i < 50; i++) {
+            queries.add(random.nextLong());
+        }
+        return queries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static int naiveLowerBound(long[] keys, long key) {
+        int i = 0;
+        while (i < keys.length && keys[i] < key) i++;
+        return i;
+    }
+
+    private static int naiveUpperBound(long[] keys, long key) {
+        int i = 0;
+        while (i < keys.length && keys[i] <= key) i++;
+        return i;
+    }
+
+    @Test
+    void testInterpolationSearchAgreesWithArraysBinarySearch() {
+        Random random = new Random(91);
+        for (long[] keys : keySets(random)) {
+            for (long key : queries(keys, random)) {
+                int expected = Arrays.binarySearch(keys, key);
+                int found = PrimitiveSearch.interpolationSearch(keys, key);
+                if (expected >= 0) {
+                    // With duplicates any matching index will do
+                    assertTrue(found >= 0, "missed " + key);
+                    assertEquals(key, keys[found]);
+                } else {
+                    // The insertion point is the same whichever search finds it
+                    assertEquals(expected, found, "key " + key);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIntInterpolationSearchOnSkewedKeys() {
+        int[] keys = new int[31];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (1 << i) - 1;
+        }
+        for (int key = -2; key < 70_000; key += 7) {
+            int expected = Arrays.binarySearch(keys, key);
+            int found = PrimitiveSearch.interpolationSearch(keys, key);
+            assertEquals(expected >= 0, found >= 0, "key " + key);
+            if (expected < 0) assertEquals(expected, found);
+        }
+        assertEquals(30, PrimitiveSearch.interpolationSearch(keys, keys[30]));
+        assertEquals(-32, PrimitiveSearch.interpolationSearch(keys, Integer.MAX_VALUE));
+        assertEquals(-1, PrimitiveSearch.interpolationSearch(new int[0], 5));
+    }
+
+    @Test
+    void testBoundsMatchALinearScan() {
+        Random random = new Random(92);
+        for (long[] keys : keySets(random)) {
+            for (long key : queries(keys, random)) {
+                assertEquals(naiveLowerBound(keys, key), PrimitiveSearch.lowerBound(keys, key), "lower " + key);
+                assertEquals(naiveUpperBound(keys, key), PrimitiveSearch.upperBound(keys, key), "upper " + key);
+            }
+        }
+        // Only the filled prefix is searched
+        long[] partlyFilled = {1, 3, 5, 0, 0};
+        assertEquals(3, PrimitiveSearch.lowerBound(partlyFilled, 3, 9));
+    }
+
+    @Test
+    void testEytzingerLowerBoundMatchesArraysBinarySearch() {
+        Random random = new Random(93);
+        for (long[] keys : keySets(random)) {
+            long[] layout = PrimitiveSearch.eytzinger(keys);
+            int[] ranks = PrimitiveSearch.eytzingerRanks(keys.length);
+            for (long key : queries(keys, random)) {
+                int slot = PrimitiveSearch.eytzingerLowerBound(layout, key);
+                int expected = Arrays.binarySearch(keys, key);
+                int lowerBound = naiveLowerBound(keys, key);
+                if (lowerBound == keys.length) {
+                    assertEquals(0, slot, "key " + key);
+                } else {
+                    assertEquals(lowerBound, ranks[slot], "key " + key);
+                    assertEquals(keys[lowerBound], layout[slot]);
+                }
+                assertEquals(expected >= 0, AlgorithmUtils.eytzingerSearch(layout, key) != 0, "key " + key);
+            }
+        }
+    }
+
+    @Test
+    void testListInterpolationSearchHandlesSkewAbsentKeysAndOtherTypes() {
+        List<Long> skewed = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            skewed.add(1L << i);
+        }
+        for (int i = 0; i < skewed.size(); i++) {
+            assertEquals(i, AlgorithmUtils.interpolationSearch(skewed, skewed.get(i)));
+            // 2^i + 1 is absent for every i above 0 (1 + 1 is the next key)
+            if (i > 0) assertEquals(-1, AlgorithmUtils.interpolationSearch(skewed, skewed.get(i) + 1));
+        }
+        assertEquals(-1, AlgorithmUtils.interpolationSearch(skewed, 0L));
+        assertEquals(-1, AlgorithmUtils.interpolationSearch(skewed, Long.MAX_VALUE));
+        assertEquals(-1, AlgorithmUtils.interpolationSearch(new ArrayList<Long>(), 3L));
+
+        List<Integer> duplicates = List.of(1, 4, 4, 4, 4, 4, 9);
+        assertEquals(4, (int) duplicates.get(AlgorithmUtils.interpolationSearch(duplicates, 4)));
+        assertEquals(-1, AlgorithmUtils.interpolationSearch(duplicates, 5));
+
+        // Non-integral keys use binary search
+        List<String> words = List.of("apple", "kiwi", "pear");
+        assertEquals(1, AlgorithmUtils.interpolationSearch(words, "kiwi"));
+        assertEquals(-1, AlgorithmUtils.interpolationSearch(words, "fig"));
+    }
+}
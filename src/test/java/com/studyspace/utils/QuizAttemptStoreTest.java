@@ -0,0 +1,136 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Quiz;
+import com.studyspace.models.QuizAttempt;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Test class for QuizAttemptStore
+ */
+public class QuizAttemptStoreTest {
+
+    /**
+     * Keeps attempts in memory
+     */
+    private static class MemoryStorage implements QuizAttemptStore.Storage {
+        private final List<QuizAttempt> attempts = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void forEachAttempt(String userId, Consumer<QuizAttempt> visitor) {
+            new ArrayList<>(attempts).forEach(visitor);
+        }
+
+        @Override
+        public boolean saveAttempt(Quiz quiz, QuizAttempt attempt) {
+            attempts.add(attempt);
+            return true;
+        }
+    }
+
+    private QuizAttempt attempt(boolean... correct) {
+        QuizAttempt attempt = new QuizAttempt("user_1", "quiz_1");
+        for (int i = 0; i < correct.length; i++) {
+            attempt.addAnswer(new QuizAttempt.Answer("q" + i, correct[i] ? 0 : 1, correct[i], 1000 * (i + 1)));
+        }
+        attempt.finish(50);
+        return attempt;
+    }
+
+    @Test
+    void testStatisticsMatchAFullRecount() {
+        Random random = new Random(3);
+        List<QuizAttempt> attempts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // Stronger students get every question right more often
+            double skill = random.nextDouble();
+            boolean[] correct = new boolean[5];
+            for (int q = 0; q < 5; q++) {
+                correct[q] = random.nextDouble() < skill * (1 - q * 0.1);
+            }
+            attempts.add(attempt(correct));
+        }
+
+        MemoryStorage storage = new MemoryStorage();
+        QuizAttemptStore store = new QuizAttemptStore(storage);
+        store.load("user_1");
+        for (QuizAttempt attempt : attempts) {
+            store.record(new Quiz(), attempt);
+        }
+        store.flush();
+        assertEquals(200, storage.attempts.size());
+
+        // Pearson correlation of correctness with the rest score, computed directly
+        for (int q = 0; q < 5; q++) {
+            double[] x = new double[attempts.size()];
+            double[] y = new double[attempts.size()];
+            int correctCount = 0;
+            for (int i = 0; i < attempts.size(); i++) {
+                QuizAttempt attempt = attempts.get(i);
+                boolean right = attempt.getAnswers().get(q).isCorrect();
+                x[i] = right ? 1 : 0;
+                y[i] = (attempt.getCorrectCount() - x[i]) / 4.0;
+                if (right) correctCount++;
+            }
+            QuizAttemptStore.ItemStats stats = store.getStats("q" + q);
+            assertEquals(200, stats.getAnswered());
+            assertEquals(correctCount / 200.0, stats.getPValue(), 1e-12);
+            assertEquals(correlation(x, y), stats.getDiscrimination(), 1e-9);
+            assertTrue(stats.getDiscrimination() > 0.2);
+            assertEquals(1000.0 * (q + 1), stats.getAverageTimeMillis(), 1e-9);
+        }
+
+        // The same numbers come back when rebuilt from storage
+        QuizAttemptStore reloaded = new QuizAttemptStore(storage);
+        reloaded.load("user_1");
+        assertEquals(store.getStats("q2").getDiscrimination(), reloaded.getStats("q2").getDiscrimination(), 1e-12);
+        assertEquals(200, reloaded.getAttemptCount());
+    }
+
+    @Test
+    void testDiscriminationNeedsBothOutcomes() {
+        QuizAttemptStore store = new QuizAttemptStore(new MemoryStorage());
+        store.load("user_1");
+        store.record(new Quiz(), attempt(true, true));
+        store.record(new Quiz(), attempt(true, false));
+        assertEquals(1.0, store.getStats("q0").getPValue(), 1e-12);
+        assertEquals(0, store.getStats("q0").getDiscrimination(), 1e-12);
+        assertNull(store.getStats("missing"));
+    }
+
+    @Test
+    void testPracticeAttemptsStayOutOfItemStatistics() {
+        QuizAttemptStore store = new QuizAttemptStore(new MemoryStorage());
+        store.load("user_1");
+        store.record(new Quiz(), attempt(true, false));
+        QuizAttempt practice = attempt(false, false);
+        practice.setPractice(true);
+        store.record(null, practice);
+
+        QuizAttemptStore.ItemStats stats = store.getStats("q0");
+        assertEquals(1, stats.getAnswered());
+        assertEquals(1.0, stats.getPValue(), 1e-12);
+        assertEquals(1, stats.getPracticeAnswered());
+        assertEquals(0, stats.getPracticeCorrect());
+        assertEquals(1, store.getAttemptCount());
+    }
+
+    private static double correlation(double[] x, double[] y) {
+        int n = x.length;
+        double mx = 0, my = 0;
+        for (int i = 0; i < n; i++) {
+            mx += x[i] / n;
+            my += y[i] / n;
+        }
+        double sxy = 0, sxx = 0, syy = 0;
+        for (int i = 0; i < n; i++) {
+            sxy += (x[i] - mx) * (y[i] - my);
+            sxx += (x[i] - mx) * (x[i] - mx);
+            syy += (y[i] - my) * (y[i] - my);
+        }
+        return sxy / Math.sqrt(sxx * syy);
+    }
+}
@@ -128,4 +128,23 @@ public class QuizGenerationServiceTest {
         assertEquals("Failed", failureResult.getMessage());
         assertNull(failureResult.getQuiz());
     }
+    
+    @Test
+    void testOfflineGenerationIsFlagged() {
+        FlashcardDeck deck = new FlashcardDeck("Capitals", "", "Geography", Flashcard.Difficulty.MEDIUM);
+        String[][] capitals = {{"France", "Paris"}, {"Italy", "Rome"}, {"Spain", "Madrid"},
+                               {"Japan", "Tokyo"}, {"Egypt", "Cairo"}, {"Peru", "Lima"}};
+        for (String[] capital : capitals) {
+            deck.addFlashcard(new Flashcard("What is the capital of " + capital[0] + "?", capital[1], Flashcard.Difficulty.MEDIUM));
+        }
+        
+        QuizGenerationService.QuizGenerationResult result = quizGenerationService.generateQuizFromFlashcards(
+            List.of(deck), "Capitals", "Geography", Flashcard.Difficulty.MEDIUM, 10, 4, false);
+        
+        assertTrue(result.isSuccess(), result.getMessage());
+        assertTrue(result.isGeneratedOffline());
+        assertEquals(QuizGenerationService.Source.OFFLINE, result.getSource());
+        // Results built by hand default to the AI service
+        assertFalse(new QuizGenerationService.QuizGenerationResult(true, "Success", null).isGeneratedOffline());
+    }
 }
@@ -0,0 +1,73 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Test class for RadixSort
+ */
+public class RadixSortTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /**
+     * A value with its input position, so stability can be checked
+     */
+    private record Item(int position, LocalDateTime time, LocalDate day, long count) {}
+
+    private static List<Item> randomItems(Random random, int size) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            // Few distinct values, so ties are common; one in five is missing
+            LocalDateTime time = random.nextInt(5) == 0 ? null
+                : BASE.plusMinutes(random.nextInt(30) - 15).plusNanos(random.nextInt(3));
+            LocalDate day = random.nextInt(5) == 0 ? null : LocalDate.of(1969, 12, 25).plusDays(random.nextInt(14));
+            long count = random.nextInt(10) - 5 + (random.nextInt(50) == 0 ? Long.MAX_VALUE / 2 : 0);
+            items.add(new Item(i, time, day, count));
+        }
+        return items;
+    }
+
+    @Test
+    void testKeysOrderLikeNullSafeComparators() {
+        Random random = new Random(31);
+        for (int round = 0; round < 200; round++) {
+            List<Item> items = randomItems(random, random.nextInt(300));
+            for (boolean descending : new boolean[] {false, true}) {
+                // List.sort is stable, so the radix sort must match it element for element
+                Comparator<LocalDateTime> times = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+                List<Item> expected = new ArrayList<>(items);
+                expected.sort(Comparator.comparing(Item::time, Comparator.nullsLast(times)));
+                assertEquals(expected, RadixSort.sortByKey(items,
+                    item -> RadixSort.timeKey(item.time(), descending, RadixSort.NULLS_LAST)));
+
+                Comparator<LocalDate> days = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+                expected = new ArrayList<>(items);
+                expected.sort(Comparator.comparing(Item::day, Comparator.nullsFirst(days)));
+                assertEquals(expected, RadixSort.sortByKey(items,
+                    item -> RadixSort.dayKey(item.day(), descending, RadixSort.NULLS_FIRST)));
+
+                expected = new ArrayList<>(items);
+                Comparator<Item> counts = Comparator.comparingLong(Item::count);
+                expected.sort(descending ? counts.reversed() : counts);
+                assertEquals(expected, RadixSort.sortByKey(items,
+                    item -> RadixSort.countKey(item.count(), descending)));
+            }
+        }
+    }
+
+    @Test
+    void testSortedIndexesHandlesExtremeKeys() {
+        long[] keys = {5, Long.MAX_VALUE, -1, Long.MIN_VALUE, 0, -1, Long.MAX_VALUE};
+        long[] copy = keys.clone();
+        int[] order = RadixSort.sortedIndexes(copy);
+        assertArrayEquals(new int[] {3, 2, 5, 4, 0, 1, 6}, order);
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(sorted, copy);
+    }
+}
@@ -0,0 +1,65 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Note;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Test class for RelatedContentIndex
+ */
+public class RelatedContentIndexTest {
+
+    private static int nextId;
+
+    private static Note note(String title, String content) {
+        Note note = new Note(title, content, "Biology");
+        // Note ids come from the clock, so notes made in the same millisecond would collide
+        note.setId("note_test_" + nextId++);
+        return note;
+    }
+
+    @Test
+    void testRelatedNotesRankBySharedTerms() {
+        RelatedContentIndex index = new RelatedContentIndex();
+        Note cells = note("Cells", "mitochondria ribosome membrane nucleus cytoplasm");
+        Note organelles = note("Organelles", "mitochondria ribosome membrane vesicle");
+        Note membrane = note("Transport", "membrane diffusion osmosis gradient");
+        index.indexNote(cells);
+        index.indexNote(organelles);
+        index.indexNote(membrane);
+        for (int i = 0; i < 20; i++) {
+            index.indexNote(note("Filler " + i, "algebra geometry calculus topic" + i));
+        }
+
+        List<RelatedContentIndex.Recommendation> related = index.relatedToNote(cells.getId(), 2);
+        assertEquals(2, related.size());
+        assertEquals(organelles.getId(), related.get(0).getId());
+        assertEquals(membrane.getId(), related.get(1).getId());
+        assertTrue(related.get(0).getScore() > related.get(1).getScore());
+    }
+
+    @Test
+    void testSlotsAreReusedAfterUpdatesAndRemovals() {
+        RelatedContentIndex index = new RelatedContentIndex();
+        Note first = note("Genetics", "allele genotype phenotype dominant recessive");
+        Note second = note("Heredity", "allele genotype inheritance pedigree");
+        index.indexNote(first);
+        index.indexNote(second);
+
+        for (int i = 0; i < 1000; i++) {
+            first.setContent("allele genotype phenotype revision" + i);
+            index.indexNote(first);
+            Note scratch = note("Scratch", "temporary allele");
+            index.indexNote(scratch);
+            index.removeNote(scratch.getId());
+        }
+
+        assertEquals(2, index.size());
+        assertEquals(3, index.slotCount());
+        List<RelatedContentIndex.Recommendation> related = index.relatedToNote(first.getId(), 5);
+        assertEquals(1, related.size());
+        assertEquals(second.getId(), related.get(0).getId());
+    }
+}
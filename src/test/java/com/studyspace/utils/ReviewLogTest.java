@@ -0,0 +1,129 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Test class for ReviewLog
+ */
+public class ReviewLogTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    /**
+     * Keeps batches in memory and remembers how many were saved
+     */
+    private static class MemoryStorage implements ReviewLog.Storage {
+        final List<byte[]> batches = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public List<byte[]> loadBatches(String userId) {
+            return new ArrayList<>(batches);
+        }
+
+        @Override
+        public boolean saveBatch(String userId, byte[] records, long firstReviewedAt, long lastReviewedAt) {
+            batches.add(records);
+            return true;
+        }
+    }
+
+    @Test
+    void testEventsSurviveAReload() {
+        MemoryStorage storage = new MemoryStorage();
+        ReviewLog log = new ReviewLog(storage);
+        log.load("user_1");
+        for (int i = 0; i < 1000; i++) {
+            log.append("card_" + (i % 10), ReviewScheduler.Grade.values()[i % 4], BASE.plusMinutes(i), i);
+        }
+        log.flush(true);
+
+        assertEquals(4, storage.batches.size());
+        int bytes = 0;
+        for (byte[] batch : storage.batches) {
+            bytes += batch.length;
+        }
+        assertEquals(1000 * ReviewLog.RECORD_SIZE, bytes);
+
+        ReviewLog reloaded = new ReviewLog(storage);
+        reloaded.load("user_1");
+        assertEquals(1000, reloaded.size());
+        List<ReviewLog.ReviewEvent> events = reloaded.getEventsForCard("card_3");
+        assertEquals(100, events.size());
+        assertEquals(BASE.plusMinutes(3), events.get(0).getReviewedAt());
+        assertEquals(3, events.get(0).getResponseMillis());
+        assertEquals(ReviewScheduler.Grade.EASY, events.get(0).getGrade());
+    }
+
+    /**
+     * Refuses to save until told to work again
+     */
+    private static class FailingStorage extends MemoryStorage {
+        private volatile boolean failing = true;
+
+        @Override
+        public boolean saveBatch(String userId, byte[] records, long firstReviewedAt, long lastReviewedAt) {
+            return !failing && super.saveBatch(userId, records, firstReviewedAt, lastReviewedAt);
+        }
+    }
+
+    @Test
+    void testFailedBatchesSurviveAUserSwitch() {
+        FailingStorage storage = new FailingStorage();
+        ReviewLog log = new ReviewLog(storage);
+        log.load("user_1");
+        for (int i = 0; i < 300; i++) {
+            log.append("card", ReviewScheduler.Grade.GOOD, BASE.plusMinutes(i), 100);
+        }
+
+        // Switching users and signing out flush, fail, and must keep the batches
+        log.load("user_2");
+        assertEquals(0, log.size());
+        log.clear();
+        assertEquals(2, log.getUnsavedBatchCount());
+        assertTrue(storage.batches.isEmpty());
+
+        // The user's unsaved reviews are still part of their history
+        log.load("user_1");
+        assertEquals(300, log.size());
+
+        storage.failing = false;
+        log.flush(true);
+        assertEquals(0, log.getUnsavedBatchCount());
+        assertEquals(2, storage.batches.size());
+    }
+
+    @Test
+    void testRangeScans() {
+        ReviewLog log = new ReviewLog(new MemoryStorage());
+        log.load("user_1");
+        for (int i = 0; i < 100; i++) {
+            log.append(i % 2 == 0 ? "even" : "odd", ReviewScheduler.Grade.GOOD, BASE.plusHours(i), 500);
+        }
+
+        assertEquals(10, log.getEventsBetween(BASE.plusHours(10), BASE.plusHours(20)).size());
+        assertEquals(5, log.getEventsForCard("even", BASE.plusHours(10), BASE.plusHours(20)).size());
+        assertEquals(50, log.getReviewCount("odd"));
+        assertTrue(log.getEventsForCard("missing").isEmpty());
+
+        // A late event still shows up in time scans
+        log.append("odd", ReviewScheduler.Grade.AGAIN, BASE.plusHours(15).plusMinutes(30), 900);
+        assertEquals(11, log.getEventsBetween(BASE.plusHours(10), BASE.plusHours(20)).size());
+        List<ReviewLog.ReviewEvent> odd = log.getEventsForCard("odd", BASE.plusHours(15), BASE.plusHours(18));
+        assertEquals(List.of(15L * 60, 15L * 60 + 30, 17L * 60), odd.stream()
+            .map(event -> java.time.Duration.between(BASE, event.getReviewedAt()).toMinutes()).toList());
+    }
+
+    @Test
+    void testAppendsWithoutAUserAreIgnored() {
+        MemoryStorage storage = new MemoryStorage();
+        ReviewLog log = new ReviewLog(storage);
+        log.append("card", ReviewScheduler.Grade.GOOD, BASE, 100);
+        log.flush(true);
+        assertEquals(0, log.size());
+        assertTrue(storage.batches.isEmpty());
+    }
+}
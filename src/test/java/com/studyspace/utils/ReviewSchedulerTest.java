@@ -0,0 +1,112 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Test class for ReviewScheduler
+ */
+public class ReviewSchedulerTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private Flashcard card(String id, LocalDateTime createdAt) {
+        Flashcard card = new Flashcard();
+        card.setId(id);
+        card.setCreatedAt(createdAt);
+        return card;
+    }
+
+    private FlashcardDeck deck(String id, Flashcard... cards) {
+        FlashcardDeck deck = new FlashcardDeck();
+        deck.setId(id);
+        deck.getFlashcards().addAll(Arrays.asList(cards));
+        return deck;
+    }
+
+    @Test
+    void testGoodReviewsGrowTheInterval() {
+        Flashcard card = card("c1", BASE);
+
+        ReviewScheduler.schedule(card, ReviewScheduler.Grade.GOOD, BASE);
+        assertEquals(1, card.getIntervalDays(), 1e-9);
+        ReviewScheduler.schedule(card, ReviewScheduler.Grade.GOOD, BASE.plusDays(1));
+        assertEquals(6, card.getIntervalDays(), 1e-9);
+        ReviewScheduler.schedule(card, ReviewScheduler.Grade.GOOD, BASE.plusDays(7));
+        assertEquals(6 * card.getEaseFactor(), card.getIntervalDays(), 1e-9);
+
+        assertEquals(3, card.getRepetitions());
+        assertEquals(3, card.getTimesStudied());
+        assertTrue(card.isCorrect());
+        assertEquals(BASE.plusDays(7), card.getLastStudied());
+    }
+
+    @Test
+    void testAgainResetsAndCountsALapse() {
+        Flashcard card = card("c1", BASE);
+        ReviewScheduler.schedule(card, ReviewScheduler.Grade.GOOD, BASE);
+        ReviewScheduler.schedule(card, ReviewScheduler.Grade.AGAIN, BASE.plusDays(1));
+
+        assertEquals(0, card.getRepetitions());
+        assertEquals(1, card.getLapses());
+        assertFalse(card.isCorrect());
+        assertEquals(BASE.plusDays(1).plusSeconds(ReviewScheduler.RELEARN_SECONDS), card.getDueAt());
+        assertTrue(card.getEaseFactor() < Flashcard.DEFAULT_EASE_FACTOR);
+        assertTrue(card.getEaseFactor() >= ReviewScheduler.MIN_EASE_FACTOR);
+    }
+
+    @Test
+    void testNextDueSpansDecksAndDueCountsFollowReviews() {
+        Flashcard a1 = card("a1", BASE.plusHours(2));
+        Flashcard a2 = card("a2", BASE.plusHours(5));
+        Flashcard b1 = card("b1", BASE.plusHours(1));
+        ReviewScheduler scheduler = new ReviewScheduler();
+        scheduler.load(List.of(deck("a", a1, a2), deck("b", b1)));
+
+        assertNull(scheduler.nextDue(BASE));
+        assertSame(b1, scheduler.nextDue(BASE.plusHours(3)));
+        assertEquals(1, scheduler.getDueCount("a", BASE.plusHours(3)));
+        assertEquals(1, scheduler.getDueCount("b", BASE.plusHours(3)));
+
+        scheduler.review(b1, ReviewScheduler.Grade.GOOD, BASE.plusHours(3));
+        assertEquals(0, scheduler.getDueCount("b", BASE.plusHours(3)));
+        assertSame(a1, scheduler.nextDue(BASE.plusHours(3)));
+
+        assertEquals(2, scheduler.getDueCount("a", BASE.plusHours(6)));
+        assertEquals(2, scheduler.getTotalDueCount(BASE.plusHours(6)));
+        assertEquals(3, scheduler.getTotalDueCount(BASE.plusDays(2)));
+    }
+
+    @Test
+    void testDeckEditsAreReflected() {
+        Flashcard a1 = card("a1", BASE);
+        Flashcard a2 = card("a2", BASE);
+        FlashcardDeck deck = deck("a", a1, a2);
+        ReviewScheduler scheduler = new ReviewScheduler();
+        scheduler.load(List.of(deck));
+        assertEquals(2, scheduler.getDueCount("a", BASE));
+
+        deck.getFlashcards().remove(a1);
+        deck.getFlashcards().add(card("a3", BASE.plusDays(1)));
+        scheduler.indexDeck(deck);
+        assertEquals(2, scheduler.size());
+        assertEquals(1, scheduler.getDueCount("a", BASE));
+
+        scheduler.removeDeck("a");
+        assertEquals(0, scheduler.size());
+        assertEquals(0, scheduler.getTotalDueCount(BASE.plusDays(2)));
+        assertNull(scheduler.nextDue(BASE.plusDays(2)));
+    }
+
+    @Test
+    void testSimulatedYearFinishes() {
+        ReviewSimulator.Result result = new ReviewSimulator(5_000, 365, 7).run();
+        assertEquals(5_000, result.getCards());
+        assertTrue(result.getReviews() > 5_000);
+        assertTrue(result.getRetention() > 0.5);
+    }
+}
@@ -0,0 +1,69 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for SortEngine
+ */
+public class SortEngineTest {
+
+    private static List<Integer> input(Random random, int size, int shape) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            switch (shape) {
+                case 0 -> values.add(random.nextInt());
+                case 1 -> values.add(i);
+                case 2 -> values.add(size - i);
+                case 3 -> values.add(random.nextInt(4));
+                default -> values.add(random.nextInt(20) == 0 ? random.nextInt(size + 1) : i);
+            }
+        }
+        return values;
+    }
+
+    @Test
+    void testMatchesCollectionsSort() {
+        Random random = new Random(51);
+        for (int round = 0; round < 500; round++) {
+            List<Integer> values = input(random, random.nextInt(400), round % 5);
+            List<Integer> expected = new ArrayList<>(values);
+            Collections.sort(expected);
+
+            List<Integer> array = new ArrayList<>(values);
+            SortEngine.sort(array);
+            assertEquals(expected, array);
+
+            // LinkedLists take the same path through an array copy
+            List<Integer> linked = new LinkedList<>(values);
+            SortEngine.sort(linked, Comparator.reverseOrder());
+            Collections.reverse(expected);
+            assertEquals(expected, linked);
+        }
+    }
+
+    @Test
+    void testNullsWithANullSafeComparator() {
+        Random random = new Random(52);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(random.nextInt(5) == 0 ? null : random.nextInt(50));
+        }
+        Comparator<Integer> nullsLast = Comparator.nullsLast(Comparator.naturalOrder());
+        List<Integer> expected = new ArrayList<>(values);
+        expected.sort(nullsLast);
+        SortEngine.sort(values, nullsLast);
+        assertEquals(expected, values);
+    }
+
+    @Test
+    void testLongSortedInputDoesNotRecurseDeeply() {
+        List<Integer> values = input(new Random(53), 1_000_000, 2);
+        SortEngine.sort(values);
+        for (int i = 1; i < values.size(); i++) {
+            assertTrue(values.get(i - 1) <= values.get(i));
+        }
+    }
+}
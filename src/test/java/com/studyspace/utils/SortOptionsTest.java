@@ -0,0 +1,214 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test class for SortOptions
+ */
+public class SortOptionsTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final Pattern IS_NULL = Pattern.compile("(\\w+) IS NULL( DESC)?");
+    private static final Pattern COLUMN = Pattern.compile("(\\w+) (ASC|DESC)");
+
+    /**
+     * Orders rows the way MySQL does for an ORDER BY fragment: NULL is the smallest
+     * value, "col IS NULL" is 0 or 1 and ENUMs sort by declaration index
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Comparator<T> sqlOrder(String orderBy, Map<String, Function<T, Comparable>> columns) {
+        Comparator<T> order = (a, b) -> 0;
+        for (String term : orderBy.split(", ")) {
+            Matcher isNull = IS_NULL.matcher(term);
+            Comparator<T> next;
+            if (isNull.matches()) {
+                Function<T, Comparable> column = columns.get(isNull.group(1));
+                next = Comparator.comparingInt(row -> column.apply(row) == null ? 1 : 0);
+                if (isNull.group(2) != null) next = next.reversed();
+            } else {
+                Matcher plain = COLUMN.matcher(term);
+                assertTrue(plain.matches(), term);
+                Function<T, Comparable> column = columns.get(plain.group(1));
+                assertNotNull(column, plain.group(1));
+                next = Comparator.comparing(column, Comparator.nullsFirst(Comparator.naturalOrder()));
+                if (plain.group(2).equals("DESC")) next = next.reversed();
+            }
+            order = order.thenComparing(next);
+        }
+        return order;
+    }
+
+    /**
+     * Every option marked exact in SQL must give the database's order, through
+     * both the radix sort and the comparator; rows are compared by their key columns
+     * since equal keys may come back in any order from MySQL
+     */
+    @SuppressWarnings("rawtypes")
+    private static <T> int checkExactOptions(SortOptions.Registry<T> registry, List<T> items,
+                                             Map<String, Function<T, Comparable>> columns) {
+        int checked = 0;
+        for (String label : registry.getLabels()) {
+            SortOption<T> option = registry.get(label);
+            if (!option.isExactInSql()) continue;
+            Comparator<T> sql = sqlOrder(option.getSqlOrderBy(), columns);
+
+            List<T> expected = new ArrayList<>(items);
+            expected.sort(sql);
+            List<T> byComparator = new ArrayList<>(items);
+            byComparator.sort(option.comparator());
+            List<T> byRadix = option.sort(items);
+            for (int i = 0; i < items.size(); i++) {
+                assertEquals(0, sql.compare(expected.get(i), byRadix.get(i)), label + " (sort) at " + i);
+                assertEquals(0, sql.compare(expected.get(i), byComparator.get(i)), label + " (comparator) at " + i);
+            }
+            checked++;
+        }
+        return checked;
+    }
+
+    private static LocalDateTime maybeTime(Random random) {
+        return random.nextInt(5) == 0 ? null : BASE.plusHours(random.nextInt(40));
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void testTodoOrdersMatchMySql() {
+        Random random = new Random(21);
+        List<TodoItem> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            TodoItem item = new TodoItem();
+            item.setTitle("Todo " + random.nextInt(50));
+            item.setPriority(random.nextInt(6) == 0 ? null : TodoItem.Priority.values()[random.nextInt(3)]);
+            item.setDueDate(random.nextInt(4) == 0 ? null : LocalDate.of(2024, 3, 1).plusDays(random.nextInt(20)));
+            item.setCreatedAt(maybeTime(random));
+            items.add(item);
+        }
+        Map<String, Function<TodoItem, Comparable>> columns = Map.of(
+            "priority", TodoItem::getPriority,
+            "due_date", TodoItem::getDueDate,
+            "created_at", TodoItem::getCreatedAt);
+        // Priority both ways, due date both ways and creation date both ways
+        assertEquals(6, checkExactOptions(SortOptions.TODO_ITEMS, items, columns));
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void testNoteAndFlashcardOrdersMatchMySql() {
+        Random random = new Random(22);
+        List<Note> notes = new ArrayList<>();
+        List<Flashcard> cards = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Note note = new Note("Note " + i, "content", "Subject");
+            note.setCreatedAt(maybeTime(random));
+            note.setModifiedAt(maybeTime(random));
+            notes.add(note);
+
+            Flashcard card = new Flashcard("Question " + i, "Answer", Flashcard.Difficulty.MEDIUM);
+            card.setCreatedAt(maybeTime(random));
+            card.setLastStudied(maybeTime(random));
+            cards.add(card);
+        }
+
+        Map<String, Function<Note, Comparable>> noteColumns = Map.of(
+            "created_at", Note::getCreatedAt,
+            "modified_at", Note::getModifiedAt);
+        assertEquals(4, checkExactOptions(SortOptions.NOTES, notes, noteColumns));
+
+        Map<String, Function<Flashcard, Comparable>> cardColumns = Map.of(
+            "created_at", Flashcard::getCreatedAt,
+            "last_studied", Flashcard::getLastStudied);
+        assertEquals(4, checkExactOptions(SortOptions.FLASHCARDS, cards, cardColumns));
+    }
+
+    // ===================================================================
+    // AGAINST THE COMPARATORS THE OPTIONS REPLACED
+    // ===================================================================
+
+    private static <T extends Comparable<? super T>> Comparator<T> nulls(boolean first, boolean descending) {
+        Comparator<T> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return first ? Comparator.nullsFirst(order) : Comparator.nullsLast(order);
+    }
+
+    private static String randomWord(Random random) {
+        // Letters only, mixed case: compareToIgnoreCase and the collator agree there
+        String[] words = {"alpha", "Alpha", "beta", "Gamma", "gamma", "delta", "Epsilon"};
+        return words[random.nextInt(words.length)];
+    }
+
+    /**
+     * Both orders are stable, so the option must match the old comparator element for element
+     */
+    private static <T> void assertSameOrder(SortOptions.Registry<T> registry, String label,
+                                            List<T> items, Comparator<T> old) {
+        List<T> expected = new ArrayList<>(items);
+        expected.sort(old);
+        assertEquals(expected, registry.sort(items, label), label);
+        List<T> byComparator = new ArrayList<>(items);
+        byComparator.sort(registry.comparator(label));
+        assertEquals(expected, byComparator, label + " (comparator)");
+    }
+
+    @Test
+    void testFlashcardOptionsMatchTheOldComparators() {
+        Random random = new Random(23);
+        for (int round = 0; round < 50; round++) {
+            List<Flashcard> cards = new ArrayList<>();
+            for (int i = 0; i < 150; i++) {
+                Flashcard card = new Flashcard(randomWord(random), "Answer",
+                    Flashcard.Difficulty.values()[random.nextInt(3)]);
+                card.setCreatedAt(maybeTime(random));
+                card.setLastStudied(maybeTime(random));
+                card.setTimesStudied(random.nextInt(4));
+                cards.add(card);
+            }
+            assertSameOrder(SortOptions.FLASHCARDS, "Recently Studied", cards,
+                Comparator.comparing(Flashcard::getLastStudied, nulls(false, true)));
+            assertSameOrder(SortOptions.FLASHCARDS, "Least Recently Studied", cards,
+                Comparator.comparing(Flashcard::getLastStudied, nulls(true, false)));
+            assertSameOrder(SortOptions.FLASHCARDS, "Date Created (Newest)", cards,
+                Comparator.comparing(Flashcard::getCreatedAt, nulls(false, true)));
+            assertSameOrder(SortOptions.FLASHCARDS, "Date Created (Oldest)", cards,
+                Comparator.comparing(Flashcard::getCreatedAt, nulls(false, false)));
+            // Ties on the count are now broken by question, as the option chains it
+            assertSameOrder(SortOptions.FLASHCARDS, "Most Studied", cards,
+                Comparator.comparing(Flashcard::getTimesStudied, Comparator.reverseOrder())
+                    .thenComparing(Flashcard::getQuestion, String::compareToIgnoreCase));
+            assertSameOrder(SortOptions.FLASHCARDS, "Alphabetical (Z-A)", cards,
+                (a, b) -> b.getQuestion().compareToIgnoreCase(a.getQuestion()));
+        }
+    }
+
+    @Test
+    void testTodoOptionsMatchTheOldComparators() {
+        Random random = new Random(24);
+        for (int round = 0; round < 50; round++) {
+            List<TodoItem> items = new ArrayList<>();
+            for (int i = 0; i < 150; i++) {
+                TodoItem item = new TodoItem();
+                item.setTitle(randomWord(random));
+                item.setPriority(TodoItem.Priority.values()[random.nextInt(3)]);
+                item.setDueDate(random.nextInt(4) == 0 ? null : LocalDate.of(2024, 3, 1).plusDays(random.nextInt(10)));
+                item.setCreatedAt(maybeTime(random));
+                items.add(item);
+            }
+            assertSameOrder(SortOptions.TODO_ITEMS, "Due Date (Earliest)", items,
+                Comparator.comparing(TodoItem::getDueDate, nulls(false, false)));
+            assertSameOrder(SortOptions.TODO_ITEMS, "Due Date (Latest)", items,
+                Comparator.comparing(TodoItem::getDueDate, nulls(true, true)));
+            assertSameOrder(SortOptions.TODO_ITEMS, "Title (A-Z)", items,
+                (a, b) -> a.getTitle().compareToIgnoreCase(b.getTitle()));
+            assertSameOrder(SortOptions.TODO_ITEMS, "Priority (High to Low)", items,
+                Comparator.comparing(TodoItem::getPriority, Comparator.reverseOrder())
+                    .thenComparing(TodoItem::getDueDate, nulls(false, false)));
+        }
+    }
+}
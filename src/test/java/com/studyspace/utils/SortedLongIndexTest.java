@@ -0,0 +1,51 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for SortedLongIndex
+ */
+public class SortedLongIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 9, 1);
+
+    private record Item(int position, LocalDate day) {}
+
+    private static long key(Item item) {
+        return RadixSort.dayKey(item.day(), false, RadixSort.NULLS_LAST);
+    }
+
+    @Test
+    void testRangesMatchAFilterInKeyOrder() {
+        Random random = new Random(94);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            items.add(new Item(i, random.nextInt(6) == 0 ? null : START.plusDays(random.nextInt(60))));
+        }
+        SortedLongIndex<Item> index = SortedLongIndex.of(items, SortedLongIndexTest::key);
+        assertEquals(items.size(), index.size());
+
+        // Stable by key, so ties keep input order
+        Comparator<Item> byDay = Comparator.comparing(Item::day, Comparator.nullsLast(Comparator.naturalOrder()));
+        for (int offset = -1; offset <= 61; offset += 5) {
+            LocalDate from = START.plusDays(offset);
+            LocalDate to = from.plusDays(7);
+            List<Item> before = items.stream()
+                .filter(item -> item.day() != null && item.day().isBefore(from))
+                .sorted(byDay).collect(Collectors.toList());
+            assertEquals(before, index.below(RadixSort.dayKey(from, false, RadixSort.NULLS_LAST)));
+
+            List<Item> between = items.stream()
+                .filter(item -> item.day() != null && !item.day().isBefore(from) && item.day().isBefore(to))
+                .sorted(byDay).collect(Collectors.toList());
+            assertEquals(between, index.between(RadixSort.dayKey(from, false, RadixSort.NULLS_LAST),
+                RadixSort.dayKey(to, false, RadixSort.NULLS_LAST)));
+        }
+        assertTrue(SortedLongIndex.of(List.<Item>of(), SortedLongIndexTest::key).below(Long.MAX_VALUE).isEmpty());
+    }
+}
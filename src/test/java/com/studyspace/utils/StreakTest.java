@@ -1,11 +1,14 @@
 package com.studyspace.utils;
 
+import com.studyspace.models.ActivityCalendar;
 import com.studyspace.models.User;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Random;
 
 /**
  * Test class to demonstrate and verify streak functionality
@@ -124,4 +127,66 @@ public class StreakTest {
         
         System.out.println("=== Streak Test Complete ===\n");
     }
+    
+    @Test
+    void testActivityDaysDriveTheStreak() {
+        LocalDate today = LocalDate.now();
+        testUser.setCreatedAt(LocalDateTime.now().minusDays(10));
+        testUser.recordActivity(today.minusDays(3));
+        testUser.recordActivity(today.minusDays(2));
+        testUser.recordActivity(today.minusDays(1));
+        
+        // Still alive before today's first activity, one longer after it
+        testUser.updateStreakOnLogin();
+        assertEquals(3, testUser.getCurrentStreak());
+        testUser.updateStreakOnActivity();
+        assertEquals(4, testUser.getCurrentStreak());
+        assertTrue(testUser.isActiveOn(today));
+        assertEquals(2, testUser.getActiveDays(today.minusDays(1), today.plusDays(5)));
+        
+        // Days before registration (rebuilt history) move the origin back
+        testUser.recordActivity(today.minusDays(200));
+        assertTrue(testUser.isActiveOn(today.minusDays(200)));
+        assertEquals(4, testUser.getLongestStreak());
+        
+        ActivityCalendar copy = ActivityCalendar.fromBytes(testUser.getActivityDays().toBytes());
+        assertEquals(5, copy.countActiveDays(today.minusDays(400), today));
+        assertEquals(4, copy.currentStreak(today));
+    }
+    
+    @Test
+    void testActivityCalendarMatchesADayByDayScan() {
+        Random random = new Random(8);
+        LocalDate origin = LocalDate.of(2020, 1, 1);
+        ActivityCalendar calendar = new ActivityCalendar(origin);
+        boolean[] active = new boolean[1500];
+        for (int i = 0; i < active.length; i++) {
+            // Long runs and gaps so streaks cross word boundaries
+            active[i] = i > 0 && random.nextInt(10) < 9 ? active[i - 1] : random.nextBoolean();
+            if (active[i]) calendar.mark(origin.plusDays(i));
+        }
+        
+        int longest = 0;
+        int run = 0;
+        for (boolean day : active) {
+            run = day ? run + 1 : 0;
+            longest = Math.max(longest, run);
+        }
+        assertEquals(longest, calendar.longestStreak());
+        
+        for (int trial = 0; trial < 500; trial++) {
+            int from = random.nextInt(active.length);
+            int to = from + random.nextInt(active.length - from);
+            int count = 0;
+            for (int i = from; i <= to; i++) {
+                if (active[i]) count++;
+            }
+            assertEquals(count, calendar.countActiveDays(origin.plusDays(from), origin.plusDays(to)));
+            
+            int end = active[to] ? to : to - 1;
+            int streak = 0;
+            while (end - streak >= 0 && active[end - streak]) streak++;
+            assertEquals(streak, calendar.currentStreak(origin.plusDays(to)));
+        }
+    }
 }
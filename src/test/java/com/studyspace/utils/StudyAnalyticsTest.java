@@ -0,0 +1,77 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Quiz;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StudyAnalytics
+ */
+public class StudyAnalyticsTest {
+
+    private Quiz quiz(String id, String subject, int bestScore, int timesTaken) {
+        Quiz quiz = new Quiz();
+        quiz.setId(id);
+        quiz.setSubject(subject);
+        quiz.setBestScore(bestScore);
+        quiz.setTimesTaken(timesTaken);
+        return quiz;
+    }
+
+    @Test
+    void testColdStartMatchesTheBestScoreAverage() {
+        StudyAnalytics analytics = new StudyAnalytics();
+        analytics.start("user_1");
+        analytics.addTakenQuiz(quiz("q1", "Math", 80, 2));
+        analytics.addTakenQuiz(quiz("q2", "math ", 60, 1));
+        analytics.addTakenQuiz(quiz("q3", "History", 90, 1));
+        analytics.addTakenQuiz(quiz("q4", "History", 0, 0));
+
+        assertEquals(3, analytics.getBestScores().getCount());
+        assertEquals(230 / 3.0, analytics.getBestScores().getMean(), 1e-9);
+        assertEquals(70, analytics.getBestScores("MATH").getMean(), 1e-9);
+        assertEquals(90, analytics.getBestScores().getBest(), 1e-9);
+        assertEquals(0, analytics.getBestScores("Biology").getCount());
+    }
+
+    @Test
+    void testEventsUpdateTheTotals() {
+        StudyAnalytics analytics = new StudyAnalytics();
+        analytics.start("user_1");
+        Quiz math = quiz("q1", "Math", 50, 1);
+        analytics.addTakenQuiz(math);
+
+        math.recordScore(70);
+        analytics.recordQuizCompleted(math, 70);
+        assertEquals(2, analytics.getQuizScores().getCount());
+        assertEquals(60, analytics.getQuizScores().getMean(), 1e-9);
+        assertEquals(0.3 * 70 + 0.7 * 50, analytics.getQuizScores("Math").getRecent(), 1e-9);
+        assertEquals(1, analytics.getBestScores().getCount());
+        assertEquals(70, analytics.getBestScores().getMean(), 1e-9);
+
+        // Moving the quiz to another subject moves its best score with it
+        math.setSubject("Physics");
+        analytics.indexQuiz(math);
+        assertEquals(0, analytics.getBestScores("Math").getCount());
+        assertEquals(70, analytics.getBestScores("Physics").getMean(), 1e-9);
+
+        analytics.removeQuiz("q1");
+        assertEquals(0, analytics.getBestScores().getCount());
+
+        analytics.recordReview("Math", true);
+        analytics.recordReview("Math", false);
+        analytics.recordReview("Math", true);
+        assertEquals(3, analytics.getReviewAccuracy("Math").getCount());
+        assertEquals(200 / 3.0, analytics.getReviewAccuracy().getMean(), 1e-9);
+    }
+
+    @Test
+    void testNothingIsRecordedBeforeLoading() {
+        StudyAnalytics analytics = new StudyAnalytics();
+        analytics.recordQuizCompleted(quiz("q1", "Math", 80, 1), 80);
+        analytics.recordReview("Math", true);
+        assertFalse(analytics.isLoaded());
+        assertEquals(0, analytics.getQuizScores().getCount());
+        assertEquals(0, analytics.getReviewAccuracy().getCount());
+    }
+}
@@ -0,0 +1,216 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.Flashcard;
+import com.studyspace.models.FlashcardDeck;
+import com.studyspace.models.User;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for StudySession
+ */
+public class StudySessionTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    /**
+     * Grades cards in memory and records every write the session makes
+     */
+    private static class MemoryStorage implements StudySession.Storage {
+        final User user = new User("Test User", "test@example.com", "password");
+        final List<List<Flashcard>> savedBatches = Collections.synchronizedList(new ArrayList<>());
+        final List<String> activities = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger userUpdates = new AtomicInteger();
+        int reviews;
+
+        @Override
+        public User getCurrentUser() {
+            return user;
+        }
+
+        @Override
+        public void recordFlashcardReview(Flashcard card, ReviewScheduler.Grade grade) {
+            card.setTimesStudied(card.getTimesStudied() + 1);
+            card.setCorrect(grade != ReviewScheduler.Grade.AGAIN);
+            card.setLastStudied(BASE.plusMinutes(++reviews));
+        }
+
+        @Override
+        public void logFlashcardReview(Flashcard card, ReviewScheduler.Grade grade, int responseMillis) {
+        }
+
+        @Override
+        public void saveFlashcardSchedules(Collection<Flashcard> cards) {
+            savedBatches.add(new ArrayList<>(cards));
+        }
+
+        @Override
+        public void updateUser(User user) {
+            userUpdates.incrementAndGet();
+        }
+
+        @Override
+        public void logUserActivity(String activityType, String description) {
+            activities.add(activityType);
+        }
+
+        long ended() {
+            return activities.stream().filter("STUDY_SESSION_ENDED"::equals).count();
+        }
+    }
+
+    private static FlashcardDeck deck(int cards) {
+        FlashcardDeck deck = new FlashcardDeck("Cells", "", "Biology", Flashcard.Difficulty.MEDIUM);
+        deck.setId("deck_1");
+        for (int i = 0; i < cards; i++) {
+            Flashcard card = new Flashcard("Question " + i, "Answer " + i, Flashcard.Difficulty.MEDIUM);
+            card.setId("card_" + i);
+            deck.addFlashcard(card);
+        }
+        return deck;
+    }
+
+    private static List<String> ids(List<Flashcard> cards) {
+        List<String> ids = new ArrayList<>();
+        for (Flashcard card : cards) {
+            ids.add(card.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void testSavesEverySaveEveryAnswers() {
+        MemoryStorage storage = new MemoryStorage();
+        FlashcardDeck deck = deck(60);
+        StudySession session = new StudySession(storage, deck);
+        for (Flashcard card : deck.getFlashcards()) {
+            session.recordAnswer(card, true, 1000);
+        }
+        assertTrue(StudySession.awaitWrites(5));
+        assertEquals(2, storage.savedBatches.size());
+        assertEquals(StudySession.SAVE_EVERY, storage.savedBatches.get(0).size());
+        assertEquals(StudySession.SAVE_EVERY, storage.savedBatches.get(1).size());
+        assertEquals(0, storage.ended());
+
+        session.finish(null);
+        assertTrue(StudySession.awaitWrites(5));
+        assertEquals(3, storage.savedBatches.size());
+        assertEquals(60 - 2 * StudySession.SAVE_EVERY, storage.savedBatches.get(2).size());
+        assertEquals(3, storage.userUpdates.get());
+        assertEquals(1, storage.ended());
+        assertEquals(60, storage.user.getFlashcardsStudied());
+        assertEquals(60, session.getAnswered());
+    }
+
+    @Test
+    void testCardAnsweredTwiceIsSavedOnceWithItsLatestState() {
+        MemoryStorage storage = new MemoryStorage();
+        FlashcardDeck deck = deck(2);
+        Flashcard first = deck.getFlashcards().get(0);
+        Flashcard second = deck.getFlashcards().get(1);
+        StudySession session = new StudySession(storage, deck);
+        session.recordAnswer(first, false, 1000);
+        session.recordAnswer(second, true, 1000);
+        session.recordAnswer(first, true, 1000);
+        session.finish(null);
+        assertTrue(StudySession.awaitWrites(5));
+
+        assertEquals(1, storage.savedBatches.size());
+        List<Flashcard> saved = storage.savedBatches.get(0);
+        assertEquals(List.of("card_0", "card_1"), ids(saved));
+        assertEquals(2, saved.get(0).getTimesStudied());
+        assertTrue(saved.get(0).isCorrect());
+        assertEquals(first.getLastStudied(), saved.get(0).getLastStudied());
+        assertEquals(3, session.getAnswered());
+        assertEquals(2, session.getCorrect());
+    }
+
+    @Test
+    void testWriterGetsCopiesOfTheCards() {
+        MemoryStorage storage = new MemoryStorage();
+        FlashcardDeck deck = deck(1);
+        Flashcard card = deck.getFlashcards().get(0);
+        StudySession session = new StudySession(storage, deck);
+        session.recordAnswer(card, true, 1000);
+        session.finish(null);
+        // The FX thread keeps using the live card after the save was handed off
+        card.setTimesStudied(99);
+        assertTrue(StudySession.awaitWrites(5));
+
+        Flashcard saved = storage.savedBatches.get(0).get(0);
+        assertNotSame(card, saved);
+        assertEquals("card_0", saved.getId());
+        assertEquals(1, saved.getTimesStudied());
+    }
+
+    @Test
+    void testFinishIsIdempotent() {
+        MemoryStorage storage = new MemoryStorage();
+        FlashcardDeck deck = deck(1);
+        StudySession session = new StudySession(storage, deck);
+        session.recordAnswer(deck.getFlashcards().get(0), true, 1000);
+
+        AtomicInteger callbacks = new AtomicInteger();
+        session.finish(callbacks::incrementAndGet);
+        session.finish(callbacks::incrementAndGet);
+        StudySession.finishActive();
+        assertTrue(StudySession.awaitWrites(5));
+
+        assertEquals(1, callbacks.get());
+        assertEquals(1, storage.savedBatches.size());
+        assertEquals(1, storage.ended());
+    }
+
+    @Test
+    void testNewSessionFinishesTheActiveOne() {
+        MemoryStorage storage = new MemoryStorage();
+        FlashcardDeck deck = deck(3);
+        StudySession first = new StudySession(storage, deck);
+        first.recordAnswer(deck.getFlashcards().get(0), true, 1000);
+        first.recordAnswer(deck.getFlashcards().get(1), true, 1000);
+
+        StudySession second = new StudySession(storage, deck);
+        assertTrue(StudySession.awaitWrites(5));
+        assertEquals(1, storage.savedBatches.size());
+        assertEquals(List.of("card_0", "card_1"), ids(storage.savedBatches.get(0)));
+        assertEquals(1, storage.ended());
+
+        second.recordAnswer(deck.getFlashcards().get(2), false, 1000);
+        StudySession.finishActive();
+        assertTrue(StudySession.awaitWrites(5));
+        assertEquals(2, storage.savedBatches.size());
+        assertEquals(List.of("card_2"), ids(storage.savedBatches.get(1)));
+        assertEquals(2, storage.ended());
+        // The first session ends before the second one's start is logged
+        assertEquals(List.of("STUDY_SESSION_STARTED", "STUDY_SESSION_ENDED", "STUDY_SESSION_STARTED",
+            "STUDY_SESSION_ENDED"), storage.activities);
+    }
+
+    @Test
+    void testRestartStartsCountingAgain() {
+        MemoryStorage storage = new MemoryStorage();
+        FlashcardDeck deck = deck(2);
+        StudySession session = new StudySession(storage, deck);
+        session.recordAnswer(deck.getFlashcards().get(0), true, 1000);
+        session.recordAnswer(deck.getFlashcards().get(1), false, 1000);
+
+        session.restart();
+        assertEquals(0, session.getAnswered());
+        assertEquals(0, session.getCorrect());
+        assertTrue(StudySession.awaitWrites(5));
+        assertEquals(1, storage.savedBatches.size());
+        assertEquals(1, storage.ended());
+
+        // The restarted session is the open one again
+        session.recordAnswer(deck.getFlashcards().get(1), true, 1000);
+        StudySession.finishActive();
+        assertTrue(StudySession.awaitWrites(5));
+        assertEquals(2, storage.savedBatches.size());
+        assertEquals(2, storage.ended());
+        assertEquals(1, session.getAnswered());
+    }
+}
@@ -0,0 +1,67 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for TextHighlighter
+ */
+public class TextHighlighterTest {
+
+    private static List<String> matched(String text, List<TextHighlighter.Span> spans) {
+        List<String> result = new ArrayList<>();
+        for (TextHighlighter.Span span : spans) {
+            result.add(text.substring(span.getStart(), span.getEnd()));
+        }
+        return result;
+    }
+
+    @Test
+    void testFindAllReportsOverlappingMatchesIgnoringCase() {
+        TextHighlighter highlighter = new TextHighlighter(List.of("he", "she", "hers"));
+        String text = "USHERS";
+        assertEquals(List.of("SHE", "HE", "HERS"), matched(text, highlighter.findAll(text)));
+    }
+
+    @Test
+    void testHighlightsAreLeftmostLongestAndDisjoint() {
+        TextHighlighter highlighter = new TextHighlighter(List.of("cell", "cell membrane", "membrane"));
+        String text = "The cell membrane surrounds the cell. A membrane.";
+        List<TextHighlighter.Span> spans = highlighter.findHighlights(text);
+        assertEquals(List.of("cell membrane", "cell", "membrane"), matched(text, spans));
+        for (int i = 1; i < spans.size(); i++) {
+            assertTrue(spans.get(i).getStart() >= spans.get(i - 1).getEnd());
+        }
+    }
+
+    @Test
+    void testMatchesAgreeWithNaiveSearch() {
+        Random random = new Random(11);
+        List<String> terms = List.of("ab", "ba", "aab", "bbb");
+        TextHighlighter highlighter = new TextHighlighter(terms);
+        for (int round = 0; round < 200; round++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 40; i++) {
+                text.append(random.nextBoolean() ? 'a' : 'B');
+            }
+            String lower = text.toString().toLowerCase();
+            int expected = 0;
+            for (String term : terms) {
+                for (int at = lower.indexOf(term); at >= 0; at = lower.indexOf(term, at + 1)) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, highlighter.findAll(text.toString()).size());
+        }
+    }
+
+    @Test
+    void testParseTermsKeepsQuotedPhrases() {
+        assertEquals(List.of("mitosis", "cell division", "dna"),
+            TextHighlighter.parseTerms("mitosis \"cell division\"  dna"));
+        assertTrue(new TextHighlighter(TextHighlighter.parseTerms("   ")).isEmpty());
+        assertTrue(new TextHighlighter(List.of("x")).findAll(null).isEmpty());
+    }
+}
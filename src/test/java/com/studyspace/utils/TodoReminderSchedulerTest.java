@@ -0,0 +1,107 @@
+package com.studyspace.utils;
+
+import com.studyspace.models.TodoItem;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for TodoReminderScheduler
+ */
+public class TodoReminderSchedulerTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+
+    /**
+     * A clock that only moves when told to
+     */
+    private static class ManualClock extends Clock {
+        private Instant now;
+
+        ManualClock(Instant now) { this.now = now; }
+
+        void advanceDays(int days) { now = now.plus(Duration.ofDays(days)); }
+
+        @Override public ZoneId getZone() { return ZONE; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+    private static TodoItem todo(String id, LocalDate dueDate, boolean completed) {
+        TodoItem todo = new TodoItem("Task " + id, "", TodoItem.Priority.MEDIUM, "General", dueDate);
+        todo.setId(id);
+        todo.setCompleted(completed);
+        return todo;
+    }
+
+    private static long scanOverdue(Collection<TodoItem> todos, LocalDate today) {
+        return todos.stream()
+            .filter(t -> !t.isCompleted() && t.getDueDate() != null && t.getDueDate().isBefore(today))
+            .count();
+    }
+
+    @Test
+    void testCountMatchesAScanAsDaysPassAndTodosChange() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        ManualClock clock = new ManualClock(start.atTime(9, 0).atZone(ZONE).toInstant());
+        Random random = new Random(5);
+
+        Map<String, TodoItem> todos = new LinkedHashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDate due = random.nextInt(10) == 0 ? null : start.plusDays(random.nextInt(60) - 20);
+            todos.put("todo_" + i, todo("todo_" + i, due, random.nextInt(4) == 0));
+        }
+        TodoReminderScheduler scheduler = new TodoReminderScheduler(clock);
+        scheduler.load("user_1", todos.values());
+
+        for (int day = 0; day < 45; day++) {
+            for (int change = 0; change < 20; change++) {
+                String id = "todo_" + random.nextInt(2100);
+                if (random.nextInt(5) == 0) {
+                    todos.remove(id);
+                    scheduler.removeTodo(id);
+                } else {
+                    TodoItem updated = todo(id, start.plusDays(random.nextInt(80) - 20), random.nextInt(4) == 0);
+                    todos.put(id, updated);
+                    scheduler.indexTodo(updated);
+                }
+            }
+            LocalDate today = LocalDate.now(clock);
+            assertEquals(scanOverdue(todos.values(), today), scheduler.getOverdueCount(), "day " + day);
+            clock.advanceDays(1);
+        }
+        scheduler.clear();
+    }
+
+    @Test
+    void testTimerFiresWhenTheDayStarts() throws InterruptedException {
+        // A clock running in real time, 200ms before midnight
+        LocalDate today = LocalDate.of(2024, 3, 1);
+        Instant almostMidnight = today.plusDays(1).atStartOfDay(ZONE).toInstant().minusMillis(200);
+        Clock clock = Clock.offset(Clock.system(ZONE), Duration.between(Instant.now(), almostMidnight));
+
+        TodoReminderScheduler scheduler = new TodoReminderScheduler(clock);
+        scheduler.load("user_1", List.of(todo("a", today, false), todo("b", today, false), todo("c", today.plusDays(1), false)));
+        assertEquals(0, scheduler.getOverdueCount());
+        assertEquals(today.plusDays(1), scheduler.getNextOverdueDay());
+
+        CountDownLatch fired = new CountDownLatch(1);
+        int[] pushed = new int[1];
+        scheduler.setListener(count -> {
+            pushed[0] = count;
+            fired.countDown();
+        });
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals(2, pushed[0]);
+        assertEquals(today.plusDays(2), scheduler.getNextOverdueDay());
+
+        // Completing an overdue item pushes the lower count straight away
+        scheduler.indexTodo(todo("a", today, true));
+        assertEquals(1, pushed[0]);
+        scheduler.clear();
+    }
+}
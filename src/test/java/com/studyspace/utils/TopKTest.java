@@ -0,0 +1,64 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Test class for TopK
+ */
+public class TopKTest {
+
+    /**
+     * A key with its input position, so tie order can be checked
+     */
+    private record Item(int position, Integer key) {}
+
+    // Missing keys last, as the list views order them
+    private static final Comparator<Item> BY_KEY =
+        Comparator.comparing(Item::key, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static List<Item> randomItems(Random random, int size) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(i, random.nextInt(6) == 0 ? null : random.nextInt(20)));
+        }
+        return items;
+    }
+
+    @Test
+    void testTopKEqualsThePrefixOfAStableSort() {
+        Random random = new Random(41);
+        for (int round = 0; round < 300; round++) {
+            List<Item> items = randomItems(random, random.nextInt(200));
+            int k = random.nextInt(items.size() + 3);
+            List<Item> sorted = new ArrayList<>(items);
+            sorted.sort(BY_KEY);
+            List<Item> expected = sorted.subList(0, Math.min(k, sorted.size()));
+
+            assertEquals(expected, TopK.smallest(items, k, BY_KEY));
+            assertEquals(expected, TopK.smallestByKey(items, k,
+                item -> item.key() == null ? RadixSort.NULLS_LAST : item.key()));
+            assertEquals(expected, items.stream().collect(TopK.collector(k, BY_KEY)));
+        }
+    }
+
+    @Test
+    void testSelectPartitionsAroundTheKthElement() {
+        Random random = new Random(42);
+        for (int round = 0; round < 300; round++) {
+            Item[] array = randomItems(random, 1 + random.nextInt(200)).toArray(new Item[0]);
+            int k = random.nextInt(array.length);
+            Item[] sorted = array.clone();
+            Arrays.sort(sorted, BY_KEY);
+
+            TopK.select(array, k, BY_KEY);
+            assertEquals(0, BY_KEY.compare(sorted[k], array[k]));
+            for (int i = 0; i < array.length; i++) {
+                int side = BY_KEY.compare(array[i], array[k]);
+                assertTrue(i < k ? side <= 0 : side >= 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.studyspace.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Test class for WeightedSampler
+ */
+public class WeightedSamplerTest {
+
+    @Test
+    void testDrawsFollowTheWeights() {
+        WeightedSampler sampler = new WeightedSampler(new double[] { 1, 0, 3, 6 });
+        assertEquals(10, sampler.total(), 1e-12);
+
+        int[] counts = new int[4];
+        Random random = new Random(11);
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        assertEquals(0, counts[1]);
+        assertEquals(0.1, counts[0] / 100_000.0, 0.01);
+        assertEquals(0.3, counts[2] / 100_000.0, 0.01);
+        assertEquals(0.6, counts[3] / 100_000.0, 0.01);
+    }
+
+    @Test
+    void testUpdatesMatchABruteForceScan() {
+        Random random = new Random(5);
+        double[] weights = new double[1000];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = random.nextInt(5);
+        }
+        WeightedSampler sampler = new WeightedSampler(weights);
+
+        for (int round = 0; round < 5000; round++) {
+            int index = random.nextInt(weights.length);
+            weights[index] = random.nextInt(4) == 0 ? 0 : random.nextDouble() * 10;
+            sampler.setWeight(index, weights[index]);
+
+            // A target inside item k's slice of the running total must find k
+            double total = 0;
+            int k = random.nextInt(weights.length);
+            for (int i = 0; i < k; i++) total += weights[i];
+            if (weights[k] > 0) {
+                assertEquals(k, sampler.find(total + weights[k] / 2));
+            }
+        }
+
+        double expected = 0;
+        for (double weight : weights) expected += weight;
+        assertEquals(expected, sampler.total(), 1e-6);
+    }
+
+    @Test
+    void testAllZeroWeightsDrawNothing() {
+        WeightedSampler sampler = new WeightedSampler(new double[] { 0, 0 });
+        assertEquals(-1, sampler.sample(new Random(1)));
+        assertThrows(IllegalArgumentException.class, () -> sampler.setWeight(0, -1));
+    }
+}